@@ -730,6 +730,10 @@ public abstract class GLMTask  {
       _ymu = ymu;
       _validate = validate;
       _lambda = lambda;
+      // Gram (diagonal block plus lower triangle) and xy; large ones are
+      // summed across the cloud by reduce-scatter
+      long n = dinfo.fullN()+1, d = dinfo.largestCat();
+      if( denseReduceWorthIt(n + d + (n-d)*(n+d+1)/2) ) setDenseReduce();
     }
 
     @Override public boolean handlesSparseData(){return true;}
@@ -806,8 +810,11 @@ public abstract class GLMTask  {
 
     @Override
     public void reduce(GLMIterationTask git){
-      ArrayUtils.add(_xy, git._xy);
-      _gram.add(git._gram);
+      if( _xy == null ) { _xy = git._xy; _gram = git._gram; } // Dense-reduce mode: summed apart across nodes
+      else if( git._xy != null ) {
+        ArrayUtils.add(_xy, git._xy);
+        _gram.add(git._gram);
+      }
       _yy += git._yy;
       _nobs += git._nobs;
       if (_validate) _val.reduce(git._val);
@@ -815,6 +822,20 @@ public abstract class GLMTask  {
       super.reduce(git);
     }
 
+    // Dense-reduce mode: xy, then the gram
+    @Override protected double[] denseResult() {
+      double[] ds = MemoryManager.malloc8d(_xy.length + _gram.flatLen());
+      System.arraycopy(_xy,0,ds,0,_xy.length);
+      _gram.flatten(ds,_xy.length);
+      return ds;
+    }
+    @Override protected void denseResult(double[] ds) {
+      if( ds == null ) { _xy = null; _gram = null; return; }
+      _xy = Arrays.copyOf(ds, _dinfo.fullN()+1);
+      _gram = new Gram(_dinfo.fullN(), _dinfo.largestCat(), _dinfo._nums, _dinfo._cats,true);
+      _gram.unflatten(ds,_xy.length);
+    }
+
     @Override protected void postGlobal(){
       if(_sparse && _dinfo._normSub != null) { // need to adjust gram for missing centering!
         int ns = _dinfo.numStart();
@@ -340,6 +340,35 @@ public final class Gram extends Iced<Gram> {
     ArrayUtils.add(_diag,grm._diag);
   }
 
+  /** Number of doubles stored: the diagonal block, then the lower-triangle rows */
+  public int flatLen() {
+    int len = _diag.length;
+    for( double[] row : _xx ) len += row.length;
+    return len;
+  }
+  /** Copy the stored values into {@code ds} at {@code off}, in {@link #flatLen} order.
+   *  @return the offset past them */
+  public int flatten(double[] ds, int off) {
+    System.arraycopy(_diag,0,ds,off,_diag.length);
+    off += _diag.length;
+    for( double[] row : _xx ) {
+      System.arraycopy(row,0,ds,off,row.length);
+      off += row.length;
+    }
+    return off;
+  }
+  /** Overwrite the stored values from {@code ds} at {@code off}; the inverse of {@link #flatten}.
+   *  @return the offset past them */
+  public int unflatten(double[] ds, int off) {
+    System.arraycopy(ds,off,_diag,0,_diag.length);
+    off += _diag.length;
+    for( double[] row : _xx ) {
+      System.arraycopy(ds,off,row,0,row.length);
+      off += row.length;
+    }
+    return off;
+  }
+
   public final boolean hasNaNsOrInfs() {
     for( int i = 0; i < _xx.length; ++i )
       for( int j = 0; j < _xx[i].length; ++j )
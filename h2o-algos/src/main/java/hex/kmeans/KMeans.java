@@ -587,6 +587,7 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
   //   Compute total sqr distance
 
   private static class Lloyds extends MRTask<Lloyds> {
+    static final int BLOCK_ROWS = 1024; // Rows bulk loaded per column at a time
     // IN
     double[][] _centers;
     double[] _means, _mults;      // Standardization
@@ -627,25 +628,38 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
       // Find closest cluster center for each row
       double[] values = new double[N]; // Temp data to hold row as doubles
       ClusterDist cd = new ClusterDist();
-      for( int row = 0; row < cs[0]._len; row++ ) {
-        double weight = _hasWeight ? cs[N].atd(row) : 1;
-        if (weight == 0) continue; //skip holdout rows
-        assert(weight == 1); //K-Means only works for weight 1 (or weight 0 for holdout)
-        data(values, cs, row, _means, _mults); // Load row as doubles
-        closest(_centers, values, _isCats, cd); // Find closest cluster center
-        int clu = cd._cluster;
-        assert clu != -1;       // No broken rows
-        _cSqr[clu] += cd._dist;
-
-        // Add values and increment counter for chosen cluster
-        for( int col = 0; col < N; col++ )
-          if( _isCats[col] != null )
-            _cats[clu][col][(int)values[col]]++; // Histogram the cats
-          else 
-            _cMeans[clu][col] += values[col]; // Sum the column centers
-        _size[clu]++;
-        // Track worst row
-        if( cd._dist > _worst_err) { _worst_err = cd._dist; _worst_row = cs[0].start()+row; }
+      int[] cards = new int[N];
+      for( int col = 0; col < N; col++ ) cards[col] = cs[col].vec().cardinality();
+      // Bulk load a block of rows at a time, column by column
+      final int len = cs[0]._len;
+      final int blk = Math.min(len, BLOCK_ROWS);
+      double[][] cols = new double[N][blk];
+      double[] ws = _hasWeight ? new double[blk] : null;
+      for( int lo = 0; lo < len; lo += blk ) {
+        final int hi = Math.min(lo+blk, len);
+        for( int col = 0; col < N; col++ ) cs[col].getDoubles(cols[col], lo, hi);
+        if( _hasWeight ) cs[N].getDoubles(ws, lo, hi);
+        for( int row = lo; row < hi; row++ ) {
+          double weight = _hasWeight ? ws[row-lo] : 1;
+          if (weight == 0) continue; //skip holdout rows
+          assert(weight == 1); //K-Means only works for weight 1 (or weight 0 for holdout)
+          for( int col = 0; col < N; col++ ) // Load row as doubles
+            values[col] = data(cols[col][row-lo], col, _means, _mults, cards[col]);
+          closest(_centers, values, _isCats, cd); // Find closest cluster center
+          int clu = cd._cluster;
+          assert clu != -1;       // No broken rows
+          _cSqr[clu] += cd._dist;
+
+          // Add values and increment counter for chosen cluster
+          for( int col = 0; col < N; col++ )
+            if( _isCats[col] != null )
+              _cats[clu][col][(int)values[col]]++; // Histogram the cats
+            else
+              _cMeans[clu][col] += values[col]; // Sum the column centers
+          _size[clu]++;
+          // Track worst row
+          if( cd._dist > _worst_err) { _worst_err = cd._dist; _worst_row = cs[0].start()+row; }
+        }
       }
       // Scale back down to local mean
       for( int clu = 0; clu < _k; clu++ )
@@ -9,6 +9,8 @@ import water.util.ArrayUtils;
 import water.util.Log;
 import water.util.MathUtils;
 
+import java.util.Arrays;
+
 /** A Histogram, computed in parallel over a Vec.
  *
  *  <p>A {@code DHistogram} bins every value added to it, and computes a the
@@ -144,19 +146,33 @@ public abstract class DHistogram<TDH extends DHistogram> extends Iced {
   }
 
   // Merge two equal histograms together.  Done in a F/J reduce, so no
-  // synchronization needed.
+  // synchronization needed.  The min/max merge even without bins: a dense
+  // reduce sums the bins apart (see ScoreBuildHistogram).
   abstract void add0( TDH dsh );
   void add( TDH dsh ) {
     assert _isInt == dsh._isInt && _nbin == dsh._nbin && _step == dsh._step &&
       _min == dsh._min && _maxEx == dsh._maxEx;
     assert (_bins == null && dsh._bins == null) || (_bins != null && dsh._bins != null);
-    if( _bins == null ) return;
-    ArrayUtils.add(_bins,dsh._bins);
     if( _min2  > dsh._min2  ) _min2  = dsh._min2 ;
     if( _maxIn < dsh._maxIn ) _maxIn = dsh._maxIn;
+    if( _bins == null ) return;
+    ArrayUtils.add(_bins,dsh._bins);
     add0(dsh);
   }
 
+  // Dense reduce: the per-bin arrays, laid out flat.  Number of doubles;
+  // copy out at 'off'; replace from 'off' (or drop, for null).  Both return
+  // the offset past them.
+  int denseLen() { return _nbin; }
+  int denseGet( double[] ds, int off ) {
+    System.arraycopy(_bins,0,ds,off,_nbin);
+    return off+_nbin;
+  }
+  int denseSet( double[] ds, int off ) {
+    _bins = ds == null ? null : Arrays.copyOfRange(ds,off,off+_nbin);
+    return off+_nbin;
+  }
+
   // Inclusive min & max
   public float find_min  () { return _min2 ; }
   public float find_maxIn() { return _maxIn; }
@@ -6,6 +6,8 @@ import water.util.AtomicUtils;
 import water.util.IcedBitSet;
 import water.util.MathUtils;
 
+import java.util.Arrays;
+
 /** A Histogram, computed in parallel over a Vec.
  *
  *  <p>Sums and sums-of-squares of floats
@@ -55,6 +57,21 @@ public class DRealHistogram extends DHistogram<DRealHistogram> {
     ArrayUtils.add(_ssqs,dsh._ssqs);
   }
 
+  // Dense reduce: bins, then sums and square-sums
+  @Override int denseLen() { return 3*_nbin; }
+  @Override int denseGet( double[] ds, int off ) {
+    off = super.denseGet(ds,off);
+    System.arraycopy(_sums,0,ds,off,_nbin);
+    System.arraycopy(_ssqs,0,ds,off+_nbin,_nbin);
+    return off+2*_nbin;
+  }
+  @Override int denseSet( double[] ds, int off ) {
+    off = super.denseSet(ds,off);
+    _sums = ds == null ? null : Arrays.copyOfRange(ds,off,off+_nbin);
+    _ssqs = ds == null ? null : Arrays.copyOfRange(ds,off+_nbin,off+2*_nbin);
+    return off+2*_nbin;
+  }
+
   // Compute a "score" for a column; lower score "wins" (is a better split).
   // Score is the sum of the MSEs when the data is split at a single point.
   // mses[1] == MSE for splitting between bins  0  and 1.
@@ -2,11 +2,14 @@ package hex.tree;
 
 import hex.Distribution;
 import water.MRTask;
+import water.MemoryManager;
 import water.H2O.H2OCountedCompleter;
 import water.fvec.C0DChunk;
 import water.fvec.Chunk;
 import water.util.AtomicUtils;
 
+import java.util.ArrayList;
+
 /**  Score and Build Histogram
  * 
  * <p>Fuse 2 conceptual passes into one:
@@ -55,6 +58,10 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
     _subset = subset;
     _modifiesInputs = true;
     _family = family;
+    // Large histogram sets are summed across the cloud by reduce-scatter
+    long len = 0;
+    for( DHistogram h : tracked() ) len += h.denseLen();
+    if( denseReduceWorthIt(len) ) setDenseReduce();
   }
 
   /** Marker for already decided row. */
@@ -72,19 +79,43 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
     // Init all the internal tree fields after shipping over the wire
     _tree.init_tree();
     // Allocate local shared memory histograms
+    for( DHistogram h : tracked() )
+      h.init();
+  }
+
+  // The histograms built this pass, in the same order on every node
+  private ArrayList<DHistogram> tracked() {
+    ArrayList<DHistogram> tracked = new ArrayList<>();
     for( int l=_leaf; l<_tree._len; l++ ) {
       DTree.UndecidedNode udn = _tree.undecided(l);
       DHistogram hs[] = _hcs[l-_leaf];
       int sCols[] = udn._scoreCols;
       if( sCols != null ) { // Sub-selecting just some columns?
         for( int col : sCols ) // For tracked cols
-          hs[col].init();
+          tracked.add(hs[col]);
       } else {                 // Else all columns
         for( int j=0; j<_ncols; j++) // For all columns
           if( hs[j] != null )        // Tracking this column?
-            hs[j].init();
+            tracked.add(hs[j]);
       }
     }
+    return tracked;
+  }
+
+  // Dense-reduce mode: the per-bin arrays of all tracked histograms, while
+  // the min/max go up the tree through reduce()
+  @Override protected double[] denseResult() {
+    ArrayList<DHistogram> tracked = tracked();
+    int len = 0;
+    for( DHistogram h : tracked ) len += h.denseLen();
+    double[] ds = MemoryManager.malloc8d(len);
+    int off = 0;
+    for( DHistogram h : tracked ) off = h.denseGet(ds,off);
+    return ds;
+  }
+  @Override protected void denseResult( double[] ds ) {
+    int off = 0;
+    for( DHistogram h : tracked() ) off = h.denseSet(ds,off);
   }
 
   @Override public void map( Chunk[] chks ) {
@@ -209,21 +240,42 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
     accum_all2(chks,wrks,weight,nh,rows);
   }
 
+  // Scratch arrays for accum_all2: weights, targets and one column.  Each
+  // MRTask copy maps a single Chunk, so the arrays are kept per worker
+  // thread rather than per task, grown to the largest Chunk seen.
+  private static final ThreadLocal<double[][]> SCRATCH = new ThreadLocal<double[][]>() {
+    @Override protected double[][] initialValue() { return new double[3][0]; }
+  };
+  private static double[][] scratch( int len ) {
+    double[][] s = SCRATCH.get();
+    if( s[0].length < len )
+      for( int i=0; i<s.length; i++ ) s[i] = MemoryManager.malloc8d(len);
+    return s;
+  }
+
   // For all columns, for all NIDs, for all ROWS...
   private void accum_all2(Chunk chks[], Chunk wrks, Chunk weight, int nh[], int[] rows) {
     final DHistogram hcs[][] = _hcs;
     if( hcs.length==0 ) return; // Unlikely fast cutout
+    // Bulk load the weights & targets once, and each column once below,
+    // instead of a virtual call per element
+    final int len = wrks._len;
+    final double[][] scratch = scratch(len);
+    final double ws[] = weight.getDoubles(scratch[0],0,len);
+    final double ys[] = wrks  .getDoubles(scratch[1],0,len);
+    final double cs[] = scratch[2];
     // Local temp arrays, no atomic updates.
     double bins[] = new double[Math.max(_nbins, _nbins_cats)];
     double sums[] = new double[Math.max(_nbins, _nbins_cats)];
     double ssqs[] = new double[Math.max(_nbins, _nbins_cats)];
     // For All Columns
     for( int c=0; c<_ncols; c++) { // for all columns
-      Chunk chk = chks[c];
+      boolean loaded = false;   // Column loaded lazily, only if tracked
       // For All NIDs
       for( int n=0; n<hcs.length; n++ ) {
         final DRealHistogram rh = ((DRealHistogram)hcs[n][c]);
         if( rh==null ) continue; // Ignore untracked columns in this split
+        if( !loaded ) { chks[c].getDoubles(cs,0,len); loaded = true; }
         final int lo = n==0 ? 0 : nh[n-1];
         final int hi = nh[n];
         float min = rh._min2;
@@ -242,13 +294,13 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
         // Gather min/max, sums and sum-squares.
         for( int xrow=lo; xrow<hi; xrow++ ) {
           int row = rows[xrow];
-          double w = weight.atd(row);
+          double w = ws[row];
           if (w == 0) continue;
-          float col_data = (float)chk.atd(row);
+          float col_data = (float)cs[row];
           if( col_data < min ) min = col_data;
           if( col_data > max ) max = col_data;
           int b = rh.bin(col_data); // Compute bin# via linear interpolation
-          double resp = wrks.atd(row); // fitting target (residual)
+          double resp = ys[row]; // fitting target (residual)
           bins[b] += w;                // Bump count in bin
           sums[b] += w*resp;
           ssqs[b] += w*resp*resp;
@@ -142,11 +142,13 @@ public abstract class SharedTreeModel<M extends SharedTreeModel<M,P,O>, P extend
       _treeKeys = Arrays.copyOf(_treeKeys ,_ntrees+1);
       Key[] keys = _treeKeys[_ntrees] = new Key[trees.length];
       Futures fs = new Futures();
+      CompressedTree[] cts = new CompressedTree[trees.length];
       for( int i=0; i<nclasses(); i++ ) if( trees[i] != null ) {
-        CompressedTree ct = trees[i].compress(_ntrees,i);
-        DKV.put(keys[i]=ct._key,ct,fs);
+        cts[i] = trees[i].compress(_ntrees,i);
+        keys[i] = cts[i]._key;
         _treeStats.updateBy(trees[i]); // Update tree shape stats
       }
+      DKV.putAll(cts,fs);       // One push per home node for all K trees
       _ntrees++;
       // 1-based for errors; _scored_train[0] is for zero trees, not 1 tree
       _scored_train = ArrayUtils.copyAndFillOf(_scored_train, _ntrees+1, new ScoreKeeper());
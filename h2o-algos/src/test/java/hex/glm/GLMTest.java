@@ -835,6 +835,18 @@ public class GLMTest  extends TestUtil {
       }
       assertEquals(glmtDense2._xy[i], glmtSparse2._xy[i], 1e-8);
     }
+    // same again, with the gram and xy summed by reduce-scatter
+    final GLMIterationTask glmtSparse3 = new GLMIterationTask(null, dinfo, 1e-5, params, false, beta, 0, null, null).setSparse(true).setDenseReduce().doAll(dinfo._adaptedFrame);
+    final GLMIterationTask glmtDense3 = new GLMIterationTask(null, dinfo, 1e-5, params, false, beta, 0, null, null).setSparse(false).setDenseReduce().doAll(dinfo._adaptedFrame);
+    for (int i = 0; i < glmtDense2._xy.length; ++i) {
+      for (int j = 0; j <= i; ++j) {
+        assertEquals(glmtDense2._gram.get(i, j), glmtDense3._gram.get(i, j), 1e-8);
+        assertEquals(glmtDense2._gram.get(i, j), glmtSparse3._gram.get(i, j), 1e-8);
+      }
+      assertEquals(glmtDense2._xy[i], glmtDense3._xy[i], 1e-8);
+      assertEquals(glmtDense2._xy[i], glmtSparse3._xy[i], 1e-8);
+    }
+    assertEquals(glmtDense2._nobs, glmtDense3._nobs);
     dinfo.remove();
     DKV.remove(k);
     f.remove();
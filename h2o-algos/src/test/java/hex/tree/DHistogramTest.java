@@ -0,0 +1,45 @@
+package hex.tree;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.TestUtil;
+import water.util.ArrayUtils;
+
+public class DHistogramTest extends TestUtil {
+  @BeforeClass public static void stall() { stall_till_cloudsize(1); }
+
+  private static DRealHistogram make( float[] xs, double[] ys ) {
+    DRealHistogram h = new DRealHistogram("x", 20, 20, (byte)0, 0f, 10f);
+    h.init();
+    for( int i=0; i<xs.length; i++ ) h.incr(xs[i], ys[i], 1);
+    return h;
+  }
+
+  // The per-bin arrays summed apart, as by ScoreBuildHistogram's dense
+  // reduce, must give the same histogram as a plain merge
+  @Test public void testDenseMerge() {
+    float[] xs1 = {0.5f, 1.25f, 3f, 3.1f, 9.9f}, xs2 = {0.1f, 3.05f, 7f};
+    double[] ys1 = {1, 2, 3, 4, 5}, ys2 = {-1, 2.5, 6};
+    DRealHistogram a = make(xs1,ys1), b = make(xs2,ys2);
+    a.add(b);
+
+    DRealHistogram c = make(xs1,ys1), d = make(xs2,ys2);
+    Assert.assertEquals(3*c.nbins(), c.denseLen());
+    double[] cs = new double[c.denseLen()], ds = new double[d.denseLen()];
+    Assert.assertEquals(cs.length, c.denseGet(cs,0));
+    d.denseGet(ds,0);
+    c.denseSet(null,0);
+    d.denseSet(null,0);
+    c.add(d);                   // Min/max only
+    c.denseSet(ArrayUtils.add(cs,ds),0);
+
+    Assert.assertEquals(a.find_min(), c.find_min(), 0);
+    Assert.assertEquals(a.find_maxIn(), c.find_maxIn(), 0);
+    for( int i=0; i<a.nbins(); i++ ) {
+      Assert.assertEquals(a.bins(i), c.bins(i), 0);
+      Assert.assertEquals(a.mean(i), c.mean(i), 1e-12);
+      Assert.assertEquals(a.var(i), c.var(i), 1e-12);
+    }
+  }
+}
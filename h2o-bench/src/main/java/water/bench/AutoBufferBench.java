@@ -0,0 +1,54 @@
+package water.bench;
+
+import org.openjdk.jmh.annotations.*;
+import water.AutoBuffer;
+import water.Iced;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Round-trip cost of Iced objects through {@link AutoBuffer}, exercising the
+ *  generated (woven) {@code Icer} serializers. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AutoBufferBench {
+  /** A typical reduce payload: a few scalars, some dense arrays and a name. */
+  public static class Payload extends Iced {
+    long _nobs;
+    double _sum;
+    String _name;
+    int[] _counts;
+    double[] _sums;
+    double[][] _gram;
+    Payload() { }
+    Payload(int n, Random r) {
+      _nobs = r.nextLong(); _sum = r.nextDouble(); _name = "payload-"+n;
+      _counts = new int[n]; _sums = new double[n]; _gram = new double[n/16+1][];
+      for( int i=0; i<n; i++ ) { _counts[i] = r.nextInt(); _sums[i] = r.nextDouble(); }
+      for( int i=0; i<_gram.length; i++ ) {
+        _gram[i] = new double[i+1];
+        for( int j=0; j<=i; j++ ) _gram[i][j] = r.nextDouble();
+      }
+    }
+  }
+
+  @Param({"16","1024","65536"})
+  public int _size;
+
+  Payload _payload;
+  byte[] _bits;
+
+  @Setup public void setup() {
+    BenchUtil.startCloud();
+    _payload = new Payload(_size, new Random(0xDECAFL));
+    _bits = new AutoBuffer().put(_payload).buf();
+  }
+
+  @Benchmark public byte[] write() { return new AutoBuffer().put(_payload).buf(); }
+
+  @Benchmark public Payload read() { return new AutoBuffer(_bits).get(); }
+}
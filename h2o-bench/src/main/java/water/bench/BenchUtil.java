@@ -0,0 +1,20 @@
+package water.bench;
+
+import water.H2O;
+
+/** Shared support for the benchmarks: a private, single-node cloud per JMH fork. */
+public class BenchUtil {
+  private static boolean _started;
+
+  /** Boot a single H2O node (once per JVM) and wait for it to cloud up.  The
+   *  cloud name is unique per fork, so concurrently running benchmark JVMs do
+   *  not join each other and distort the numbers. */
+  public static synchronized void startCloud() {
+    if( !_started ) {
+      String name = "bench-" + System.nanoTime();
+      H2O.main(new String[]{"-name", name, "-ip", "127.0.0.1", "-ga_opt_out", "-quiet", "-log_level", "WARN"});
+      _started = true;
+    }
+    H2O.waitForCloudSize(1, 30000);
+  }
+}
@@ -0,0 +1,82 @@
+package water.bench;
+
+import water.fvec.*;
+
+import java.util.Random;
+
+/** Data generators shaped so that {@link NewChunk#compress} picks one specific
+ *  Chunk encoding each.  Used by the decode and compress benchmarks; the
+ *  expected class is checked at setup time so a change in the compression
+ *  heuristics shows up as a failed benchmark instead of a silently different
+ *  measurement. */
+public enum ChunkGen {
+  C0L(C0LChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(7,0); }
+  },
+  C0D(C0DChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(3.25); }
+  },
+  CBS(CBSChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(2),0); }
+  },
+  C1N(C1NChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(256),0); }
+  },
+  C1(C1Chunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) {
+      for( int i=0; i<len; i++ )
+        if( r.nextInt(100)==0 ) nc.addNA(); else nc.addNum(r.nextInt(255),0);
+    }
+  },
+  C1S(C1SChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(254)+1,-2); }
+  },
+  C2(C2Chunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(60000)-30000,0); }
+  },
+  C2S(C2SChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(60000)+1,-2); }
+  },
+  C4(C4Chunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(),0); }
+  },
+  C4S(C4SChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(1000000000)+1,-3); }
+  },
+  C8(C8Chunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextLong()>>4,0); }
+  },
+  C8D(C8DChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextDouble()); }
+  },
+  CX0(CX0Chunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(100)==0 ? 1 : 0,0); }
+  },
+  CXI(CXIChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(100)==0 ? r.nextInt(30000)+2 : 0,0); }
+  },
+  CXD(CXDChunk.class) {
+    @Override void fill(NewChunk nc, int len, Random r) { for( int i=0; i<len; i++ ) nc.addNum(r.nextInt(100)==0 ? r.nextDouble() : 0); }
+  };
+
+  final Class<? extends Chunk> _clz;
+  ChunkGen( Class<? extends Chunk> clz ) { _clz = clz; }
+
+  /** Append {@code len} rows of the shape matching this encoding. */
+  abstract void fill(NewChunk nc, int len, Random r);
+
+  /** A fresh, filled, not yet compressed NewChunk. */
+  NewChunk newChunk(int len, long seed) {
+    NewChunk nc = new NewChunk(null, 0);
+    fill(nc, len, new Random(seed));
+    return nc;
+  }
+
+  /** A compressed Chunk of the expected encoding. */
+  Chunk chunk(int len, long seed) {
+    Chunk c = newChunk(len, seed).compress();
+    if( c.getClass() != _clz )
+      throw new IllegalStateException("Expected "+_clz.getSimpleName()+" but compressed to "+c.getClass().getSimpleName());
+    return c;
+  }
+}
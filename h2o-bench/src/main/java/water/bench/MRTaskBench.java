@@ -0,0 +1,49 @@
+package water.bench;
+
+import org.openjdk.jmh.annotations.*;
+import water.MRTask;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+
+import java.util.concurrent.TimeUnit;
+
+/** Single-node {@link MRTask#doAll} cost: the empty task measures the pure
+ *  fan-out/reduce overhead per chunk, the sum task adds a trivial scan. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MRTaskBench {
+  @Param({"1000","1000000","10000000"})
+  public long _rows;
+
+  Vec _vec;
+
+  static class Empty extends MRTask<Empty> {
+    @Override public void map( Chunk c ) { }
+  }
+
+  static class Sum extends MRTask<Sum> {
+    double _sum;
+    @Override public void map( Chunk c ) {
+      double sum = 0;
+      for( int row=0; row < c._len; row++ )
+        sum += c.atd(row);
+      _sum = sum;
+    }
+    @Override public void reduce( Sum s ) { _sum += s._sum; }
+  }
+
+  @Setup public void setup() {
+    BenchUtil.startCloud();
+    _vec = Vec.makeSeq(_rows, true);
+  }
+
+  @TearDown public void tearDown() { _vec.remove(); }
+
+  @Benchmark public Empty empty() { return new Empty().doAll(_vec); }
+
+  @Benchmark public double sum() { return new Sum().doAll(_vec)._sum; }
+}
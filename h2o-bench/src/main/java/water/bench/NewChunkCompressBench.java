@@ -0,0 +1,35 @@
+package water.bench;
+
+import org.openjdk.jmh.annotations.*;
+import water.fvec.Chunk;
+import water.fvec.NewChunk;
+
+import java.util.concurrent.TimeUnit;
+
+/** Cost of {@link NewChunk#compress} choosing and writing each encoding.  The
+ *  NewChunk is consumed by compression, so a fresh one is built before every
+ *  invocation (outside the measured region). */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NewChunkCompressBench {
+  @Param({"C0L","C0D","CBS","C1N","C1","C1S","C2","C2S","C4","C4S","C8","C8D","CX0","CXI","CXD"})
+  public ChunkGen _type;
+
+  @Param({"65536"})
+  public int _rows;
+
+  NewChunk _nc;
+
+  @Setup(Level.Trial) public void checkType() {
+    BenchUtil.startCloud();
+    _type.chunk(_rows, 0xDECAFL);   // Fail fast if the heuristics changed
+  }
+
+  @Setup(Level.Invocation) public void fill() { _nc = _type.newChunk(_rows, 0xDECAFL); }
+
+  @Benchmark public Chunk compress() { return _nc.compress(); }
+}
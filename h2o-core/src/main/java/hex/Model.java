@@ -751,6 +751,8 @@ public abstract class Model<M extends Model<M,P,O>, P extends Model.Parameters,
     return bs._mb;
   }
 
+  private static final int BLOCK_ROWS = 1024; // Rows bulk loaded per column at a time by BigScore
+
   private class BigScore extends MRTask<BigScore> {
     final String[] _domain; // Prediction domain; union of test and train classes
     final int _npredcols;  // Number of columns in prediction; nclasses+1 - can be less than the prediction domain
@@ -783,29 +785,47 @@ public abstract class Model<M extends Model<M,P,O>, P extends Model.Parameters,
       }
       double[] preds = _mb._work;  // Sized for the union of test and train classes
       int len = chks[0]._len;
-      for (int row = 0; row < len; row++) {
-        double weight = weightsChunk.atd(row);
-        if (weight == 0) {
+      // Bulk load a block of rows at a time, column by column; models that
+      // score straight from the Chunks get called per row instead
+      final boolean bulk = !scoresChunks();
+      final int blk = Math.min(len, BLOCK_ROWS);
+      double[][] cols = bulk ? new double[tmp.length][blk] : null;
+      double[] ws = new double[blk], os = new double[blk];
+      double[] ys = responseChunk == null ? null : new double[blk];
+      for (int lo = 0; lo < len; lo += blk) {
+        final int hi = Math.min(lo + blk, len);
+        if (bulk) for (int i = 0; i < tmp.length; i++) chks[i].getDoubles(cols[i], lo, hi);
+        weightsChunk.getDoubles(ws, lo, hi);
+        offsetChunk.getDoubles(os, lo, hi);
+        if (ys != null) responseChunk.getDoubles(ys, lo, hi);
+        for (int row = lo; row < hi; row++) {
+          double weight = ws[row - lo];
+          if (weight == 0) {
+            if (_makePreds) {
+              for (int c = 0; c < _npredcols; c++)  // Output predictions; sized for train only (excludes extra test classes)
+                cpreds[c].addNum(0);
+            }
+            continue;
+          }
+          double offset = os[row - lo];
+          double [] p;
+          if (bulk) {
+            for (int i = 0; i < tmp.length; i++) tmp[i] = cols[i][row - lo];
+            p = score0Row(tmp, preds, weight, offset);
+          } else p = score0(chks, weight, offset, row, tmp, preds);
+          if (_computeMetrics) {
+            if(isSupervised()) {
+              actual[0] = (float)ys[row - lo];
+            } else {
+              for(int i = 0; i < actual.length; ++i)
+                actual[i] = (float)chks[i].atd(row);
+            }
+            _mb.perRow(preds, actual, weight, offset, Model.this);
+          }
           if (_makePreds) {
             for (int c = 0; c < _npredcols; c++)  // Output predictions; sized for train only (excludes extra test classes)
-              cpreds[c].addNum(0);
+              cpreds[c].addNum(p[c]);
           }
-          continue;
-        }
-        double offset = offsetChunk.atd(row);
-        double [] p = score0(chks, weight, offset, row, tmp, preds);
-        if (_computeMetrics) {
-          if(isSupervised()) {
-            actual[0] = (float)responseChunk.atd(row);
-          } else {
-            for(int i = 0; i < actual.length; ++i)
-              actual[i] = (float)chks[i].atd(row);
-          }
-          _mb.perRow(preds, actual, weight, offset, Model.this);
-        }
-        if (_makePreds) {
-          for (int c = 0; c < _npredcols; c++)  // Output predictions; sized for train only (excludes extra test classes)
-            cpreds[c].addNum(p[c]);
         }
       }
     }
@@ -814,6 +834,17 @@ public abstract class Model<M extends Model<M,P,O>, P extends Model.Parameters,
     @Override protected void postGlobal() { if(_mb != null)_mb.postGlobal(); }
   }
 
+  // True if a subclass overrides the Chunk scoring call; BigScore must then
+  // go through it rather than load the features itself
+  private boolean scoresChunks() {
+    try {
+      return getClass().getMethod("score0", Chunk[].class, double.class, double.class, int.class, double[].class, double[].class)
+        .getDeclaringClass() != Model.class;
+    } catch( NoSuchMethodException e ) {
+      throw H2O.fail("Model.score0 lookup", e);
+    }
+  }
+
   /** Bulk scoring API for one row.  Chunks are all compatible with the model,
    *  and expect the last Chunks are for the final distribution and prediction.
    *  Default method is to just load the data into the tmp array, then call
@@ -825,6 +856,11 @@ public abstract class Model<M extends Model<M,P,O>, P extends Model.Parameters,
     assert(_output.nfeatures() == tmp.length);
     for( int i=0; i< tmp.length; i++ )
       tmp[i] = chks[i].atd(row_in_chunk);
+    return score0Row(tmp, preds, weight, offset);
+  }
+  // Score a row already loaded into tmp, then correct the probabilities and
+  // pick the label for classifiers
+  private double[] score0Row( double[] tmp, double[] preds, double weight, double offset ) {
     double [] scored = score0(tmp, preds, weight, offset);
     if(isSupervised()) {
       // Correct probabilities obtained from training on oversampled data back to original distribution
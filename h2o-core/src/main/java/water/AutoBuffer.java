@@ -1,5 +1,6 @@
 package water;
 
+import water.util.LZ4;
 import water.util.Log;
 import water.util.TwoDimTable;
 
@@ -52,6 +53,17 @@ public /* final */ class AutoBuffer {
   // TRUE for read-mode.  FALSE for write-mode.  Can be flipped for rapid turnaround.
   private boolean _read;
 
+  // TRUE if this message travels over the selector transport: shipped (or
+  // received) as a stream of buffer-sized chunks on the peer's shared
+  // connection, instead of streamed over a private socket.
+  private boolean _framed;
+  private SelectorTransport.Stream _stream; // Writers: the message's chunk stream, once opened
+
+  // TRUE if this TCP stream is a sequence of compressed blocks; see
+  // TCPCompression.  Readers keep the decoded block being handed out.
+  private boolean _lz;
+  private ByteBuffer _lzBlock;
+
   // TRUE if this AutoBuffer has never advanced past the first "page" of data.
   // The UDP-flavor, port# and task fields are only valid until we read over
   // them when flipping the ByteBuffer to the next chunk of data.  Used in
@@ -108,6 +120,11 @@ public /* final */ class AutoBuffer {
   AutoBuffer( SocketChannel sock ) throws IOException {
     _chan = sock;
     raisePriority();            // Make TCP priority high
+    // Every TCP message starts with its stream mode: 1 for compressed blocks
+    ByteBuffer mode = ByteBuffer.allocate(1);
+    while( mode.hasRemaining() )
+      if( sock.read(mode) == -1 ) { restorePriority(); throw new EOFException("TCP stream closed"); }
+    _lz = mode.get(0) == 1;
     _bb = BBP_BIG.make();       // Get a big / TPC-sized ByteBuffer
     _bb.flip();
     _read = true;               // Reading by default
@@ -120,6 +137,23 @@ public /* final */ class AutoBuffer {
     _persist = Value.TCP;
   }
 
+  // Incoming message streamed by the selector transport.  Make a read-mode
+  // AutoBuffer over its chunks as they arrive, figure the originating H2ONode
+  // from the first few bytes.
+  AutoBuffer( InetAddress addr, ByteChannel chunks ) {
+    _chan = chunks;
+    _bb = BBP_BIG.make();       // Get a big / TPC-sized ByteBuffer
+    _bb.flip();
+    _read = true;
+    _firstPage = true;
+    _framed = true;
+    _h2o = H2ONode.intern(addr, getPort());
+    _firstPage = true;
+    assert _h2o != null && _h2o != H2O.SELF;
+    _time_start_ms = System.currentTimeMillis();
+    _persist = Value.TCP;
+  }
+
   // Make an AutoBuffer to write to an H2ONode.  Requests for full buffer will
   // open a TCP socket and roll through writing to the target.  Smaller
   // requests will send via UDP.
@@ -320,6 +354,25 @@ public /* final */ class AutoBuffer {
     if( isClosed() ) return 0;            // Already closed
     assert _h2o != null || _chan != null; // Byte-array backed should not be closed
     try {
+      // Too big for UDP, yet never overflowed its first buffer: a one-chunk
+      // selector-transport message.
+      if( !_read && !_framed && _chan == null && _h2o != null && _h2o != H2O.SELF &&
+          _bb.position() >= MTU && SelectorTransport.enabled() ) {
+        TimeLine.record_send(this,true);
+        _framed = true;
+      }
+      if( _framed ) {           // Selector transport?
+        // Same closing sentinel as a socket stream, but no handshake byte:
+        // the last chunk only returns once the reader has the whole message.
+        if( _read ) {
+          int x = get1U();
+          assert x == 0xab : "AB.close instead of 0xab sentinel got "+x+", "+this;
+        } else {
+          put1(0xab);
+          frame(true);
+        }
+        return 0;
+      }
       if( _chan == null ) {     // No channel?
         if( _read ) return 0;
         // For small-packet write, send via UDP.  Since nothing is sent until
@@ -383,6 +436,10 @@ public /* final */ class AutoBuffer {
     assert _bb.position()==0;
     _chan = _h2o.getTCPSocket();
     raisePriority();
+    _lz = TCPCompression.to(_h2o);
+    ByteBuffer mode = ByteBuffer.allocate(1).put((byte)(_lz ? 1 : 0));
+    mode.flip();
+    while( mode.hasRemaining() ) _chan.write(mode);
   }
 
   // Just close the channel here without reading anything.  Without the task
@@ -394,6 +451,7 @@ public /* final */ class AutoBuffer {
   void drainClose() {
     if( isClosed() ) return;              // Already closed
     assert _h2o != null || _chan != null; // Byte-array backed should not be closed
+    if( _stream != null ) { _stream.abort(); _stream = null; } // Half-sent selector-transport message
     if( _chan != null ) {                 // Channel assumed sick from prior IOException
       ByteChannel chan = _chan;           // Read before closing
       try { chan.close(); } catch( IOException ignore ) {} // Silently close
@@ -408,7 +466,7 @@ public /* final */ class AutoBuffer {
   }
 
   // True if we opened a TCP channel, or will open one to close-and-send
-  boolean hasTCP() { assert !isClosed(); return _chan instanceof SocketChannel || (_h2o!=null && _bb.position() >= MTU); }
+  boolean hasTCP() { assert !isClosed(); return _chan instanceof SocketChannel || _framed || (_h2o!=null && _bb.position() >= MTU); }
 
   // True if we are in read-mode
   boolean readMode() { return _read; }
@@ -526,7 +584,7 @@ public /* final */ class AutoBuffer {
     long ns = System.nanoTime();
     while( _bb.position() < sz ) { // Read until we got enuf
       try {
-        int res = _chan.read(_bb); // Read more
+        int res = _lz ? readBlock() : _chan.read(_bb); // Read more
         // Readers are supposed to be strongly typed and read the exact expected bytes.
         // However, if a TCP connection fails mid-read we'll get a short-read.
         // This is indistinguishable from a mis-alignment between the writer and reader!
@@ -551,6 +609,52 @@ public /* final */ class AutoBuffer {
     return _bb;
   }
 
+  // Ship the flipped ByteBuffer as one block of a compressed TCP stream: the
+  // raw length, the compressed length (0 if stored as-is), then the bytes.
+  private void writeBlock() throws IOException {
+    int len = _bb.remaining();
+    byte[] raw = MemoryManager.malloc1(len);
+    _bb.get(raw);
+    byte[] blk = MemoryManager.malloc1(8+LZ4.maxCompressedLength(len));
+    int clen = TCPCompression.compress(raw, 0, len, blk, 8);
+    if( clen < 0 ) { System.arraycopy(raw, 0, blk, 8, len); clen = 0; }
+    ByteBuffer bb = ByteBuffer.wrap(blk, 0, 8+(clen == 0 ? len : clen));
+    bb.putInt(0, len).putInt(4, clen);
+    while( bb.hasRemaining() ) _chan.write(bb);
+  }
+
+  // Hand out bytes of the current decoded block of a compressed TCP stream,
+  // reading and decoding the next block once this one is used up.
+  private int readBlock() throws IOException {
+    if( _lzBlock == null || !_lzBlock.hasRemaining() ) {
+      ByteBuffer hdr = readFully(8);
+      if( hdr == null ) return -1;
+      int len = hdr.getInt(0), clen = hdr.getInt(4);
+      ByteBuffer blk = readFully(clen == 0 ? len : clen);
+      if( blk == null ) return -1;
+      if( clen == 0 ) _lzBlock = blk;
+      else {
+        byte[] raw = MemoryManager.malloc1(len);
+        TCPCompression.decompress(blk.array(), 0, clen, raw, 0, len);
+        _lzBlock = ByteBuffer.wrap(raw);
+      }
+    }
+    int n = Math.min(_lzBlock.remaining(), _bb.remaining());
+    ByteBuffer src = _lzBlock.duplicate();
+    src.limit(src.position()+n);
+    _bb.put(src);
+    _lzBlock.position(_lzBlock.position()+n);
+    return n;
+  }
+
+  private ByteBuffer readFully( int n ) throws IOException {
+    ByteBuffer bb = ByteBuffer.wrap(MemoryManager.malloc1(n));
+    while( bb.hasRemaining() )
+      if( _chan.read(bb) == -1 ) return null;
+    bb.flip();
+    return bb;
+  }
+
   /** Put as needed to keep from overflowing the ByteBuffer. */
   private ByteBuffer putSp( int sz ) {
     assert !_read;
@@ -571,6 +675,13 @@ public /* final */ class AutoBuffer {
         .order(ByteOrder.nativeOrder());
       return _bb;
     }
+    // Bound for the selector transport: ship the full buffer as the next
+    // chunk of the message.
+    if( _chan == null && _h2o != H2O.SELF && SelectorTransport.enabled() ) {
+      if( !_framed ) TimeLine.record_send(this,true);
+      _framed = true;
+      return frame(false);
+    }
     // Doing I/O with the full ByteBuffer - ship partial results
     _size += _bb.position();
     if( _chan == null )
@@ -581,6 +692,7 @@ public /* final */ class AutoBuffer {
         tcpOpen(); // This is a big operation.  Open a TCP socket as-needed.
       //for( int i=0; i < _bb.limit(); i++ ) if( _bb.get(i)==0 ) _zeros++;
       long ns = System.nanoTime();
+      if( _lz ) writeBlock();
       while( _bb.hasRemaining() ) {
         _chan.write(_bb);
         if( RANDOM_TCP_DROP != null &&_chan instanceof SocketChannel && RANDOM_TCP_DROP.nextInt(100) == 0 )
@@ -602,6 +714,29 @@ public /* final */ class AutoBuffer {
     return _bb;
   }
 
+  // Ship the buffer as the next selector-transport chunk of this message,
+  // opening the message stream on the first one.  Blocks until the chunk is
+  // on the socket, then hands back the emptied buffer; the last chunk blocks
+  // until the reader has the whole message.
+  private ByteBuffer frame( boolean last ) {
+    _size += _bb.position();
+    _bb.flip();
+    long ns = System.nanoTime();
+    try {
+      if( _stream == null ) _stream = SelectorTransport.open(_h2o, TCPCompression.to(_h2o));
+      _stream.send(_bb, last);
+    } catch( IOException e ) {  // Connection failed; RPC retries at a higher level
+      _stream = null;
+      throw new AutoBufferException(e);
+    }
+    _time_io_ns += (System.nanoTime()-ns);
+    if( last ) { _stream = null; return _bb; }
+    if( _bb.capacity() < BBP_BIG._size ) { BBP_SML.free(_bb); _bb = BBP_BIG.make(); }
+    _firstPage = false;
+    _bb.clear();
+    return _bb;
+  }
+
   @SuppressWarnings("unused")  public String getStr(int off, int len) {
     return new String(_bb.array(), _bb.arrayOffset()+off, len);
   }
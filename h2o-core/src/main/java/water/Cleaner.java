@@ -1,7 +1,10 @@
 package water;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import water.fvec.Chunk;
 import water.util.Log;
 
@@ -67,6 +70,7 @@ class Cleaner extends Thread {
 
 
   @Override synchronized public void run() {
+    if( MemoryManager.offHeapEnabled() ) offHeapSweeps();
     return;
 
 //    boolean diskFull = false;
@@ -196,6 +200,86 @@ class Cleaner extends Thread {
 //    }
   }
 
+  private long _offHeapGC;      // Last GC nudge for spilled off-heap copies
+  // Off-heap tier sweeper; runs alone while swap-to-disk above is disabled.
+  // Moves cold Chunks out of the heap using the same age rules as the
+  // swap-to-disk sweep, then spills the eldest off-heap Chunks to ICE until
+  // the tier is back under its limit.
+  private void offHeapSweeps() {
+    ArrayList<Value> offs = new ArrayList<>();
+    while( true ) {
+      MemoryManager.freeDeadOffHeap();
+      Histo h = _myHisto.histo(false);
+      long now = System.currentTimeMillis();
+      if( h._cached < DESIRED && (now-_dirty < 5000) &&
+          MemoryManager.OFF_HEAP_USED.get() <= MemoryManager.offHeapMax() ) {
+        block_store_cleaner();
+        continue;
+      }
+      _dirty = Long.MAX_VALUE;
+      final boolean force = (h._cached >= DESIRED);
+      long clean_to_age = h.clean_to(force ? DESIRED : (DESIRED>>1));
+      if( !force ) clean_to_age = Math.max(clean_to_age,now-5000);
+      if( DESIRED == -1 ) clean_to_age = now;  // Test mode: clean all
+
+      long moved = 0;
+      offs.clear();
+      Object[] kvs = H2O.STORE.raw_array();
+      for( int i=2; i<kvs.length; i += 2 ) {
+        Object ok = kvs[i], ov = kvs[i+1];
+        if( !(ok instanceof Key  ) ) continue; // Ignore tombstones and Primes and null's
+        if( !(ov instanceof Value) ) continue; // Ignore tombstones and Primes and null's
+        Value val = (Value)ov;
+        if( !((Key)ok).isChunkKey() ) continue; // Only data Chunks leave the heap
+        long touched = val._lastAccessedTime;
+        if( val.isOffHeap() ) {   // Already out; drop any POJO read back since
+          if( touched <= clean_to_age ) val.storeOffHeap();
+          if( !val.isMapped() && !DKVCache.pinned((Key)ok) ) offs.add(val); // Mapped files are not in the tier; pinned replicas stay in memory
+          continue;
+        }
+        if( touched > clean_to_age ) { dirty_store(touched); continue; } // Too young
+        int sz = val.storeOffHeap();
+        if( sz > 0 ) { moved += sz; if( !DKVCache.pinned((Key)ok) ) offs.add(val); }
+      }
+
+      // Over the limit: spill the eldest to disk
+      long spilled = 0;
+      long over = MemoryManager.OFF_HEAP_USED.get() - (MemoryManager.offHeapMax() - (MemoryManager.offHeapMax()>>3));
+      if( over > 0 ) {
+        Collections.sort(offs, new Comparator<Value>() {
+          @Override public int compare(Value a, Value b) { return Long.compare(a._lastAccessedTime,b._lastAccessedTime); }
+        });
+        for( Value val : offs ) {
+          if( spilled >= over ) break;
+          if( !val.isOffHeap() ) continue; // Already spilled
+          try {
+            val.spillOffHeap();
+            spilled += val._max;
+          } catch( IOException e ) {
+            Log.warn("Off-heap spill to disk failed! " + e.getMessage());
+            break;
+          }
+        }
+      }
+      offs.clear();
+      // Spilled copies are freed once no Chunk reads them; ask the GC to
+      // find them rather than wait for heap pressure, at most every 10sec.
+      if( spilled > 0 && now - _offHeapGC > 10000 ) {
+        _offHeapGC = now;
+        System.gc();
+      }
+      _did_sweep = true;
+      if( DESIRED == -1 ) DESIRED = 0; // Turn off test-mode after 1 sweep
+      notifyAll();                     // Wake up testing thread
+      MemoryManager.set_goals("offheap",false);
+      // No logging if under memory pressure: can deadlock the cleaner thread
+      String s = "Off-heap: moved="+(moved>>20)+"M, spilled="+(spilled>>20)+"M, used="+(MemoryManager.OFF_HEAP_USED.get()>>20)+"M";
+      if( MemoryManager.canAlloc() ) Log.debug(s);
+      else                           System.err.println(s);
+      block_store_cleaner();
+    }
+  }
+
   // Rules on when to write & free a Key, when not under memory pressure.
   boolean lazy_clean( Key key ) {
     // Only data chunks are worth tossing out even lazily.
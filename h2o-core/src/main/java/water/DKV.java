@@ -1,5 +1,9 @@
 package water;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
 /** A Distributed Key/Value Store.
  *  <p>
  *  Functions to Get and Put Values into the K/V store by Key.
@@ -85,6 +89,42 @@ public abstract class DKV {
     }
   }
 
+  /** Make the mappings <em>keyed._key -&gt; keyed</em> for all of
+   *  <em>keyeds</em>.  Caching.  See {@link #putAll(Key[],Value[],Futures)}. */
+  static public void putAll( Keyed[] keyeds, Futures fs ) {
+    Key[] keys = new Key[keyeds.length];
+    Value[] vals = new Value[keyeds.length];
+    for( int i=0; i<keyeds.length; i++ )
+      if( keyeds[i] != null ) vals[i] = new Value(keys[i]=keyeds[i]._key,keyeds[i]);
+    putAll(keys,vals,fs);
+  }
+  /** Make the mappings <em>keys[i] -&gt; vals[i]</em>, skipping null keys.
+   *  Caching.  Puts to Keys homed remotely are pushed with one RPC per home
+   *  node rather than one per Key; if a Key repeats, its last Value wins. */
+  static public void putAll( Key[] keys, Value[] vals, Futures fs ) {
+    assert keys.length == vals.length;
+    HashMap<Key,Integer> last = new HashMap<>();
+    for( int i=0; i<keys.length; i++ ) if( keys[i] != null ) last.put(keys[i],i);
+    ArrayList<TaskPutKey>[] batch = new ArrayList[H2O.CLOUD.size()];
+    for( int i=0; i<keys.length; i++ ) {
+      Key key = keys[i];
+      Value val = vals[i];
+      if( key == null || last.get(key) != i ) continue;
+      assert val==null || val._key == key:"non-matching keys " + key.toString() + " != " + val._key.toString();
+      while( true ) {
+        Value old = H2O.raw_get(key); // Raw-get: do not lazy-manifest if overwriting
+        if( DputIfMatch(key,val,old,fs,false,batch) == old ) break;
+        if( val != null && val._key != key ) key = val._key;
+      }
+    }
+    for( int i=0; i<batch.length; i++ ) {
+      if( batch[i] == null ) continue;
+      TaskPutKey[] tpks = batch[i].toArray(new TaskPutKey[batch[i].size()]);
+      for( int lo=0; lo<tpks.length; lo+=TaskPutKeys.MAX_KEYS )
+        TaskPutKeys.put(H2O.CLOUD._memary[i], Arrays.copyOfRange(tpks,lo,Math.min(tpks.length,lo+TaskPutKeys.MAX_KEYS)), fs);
+    }
+  }
+
   /** Remove any mapping for <em>key</em>.  Blocking.  */
   static public Value remove( Key key ) { return put(key,null); }
   /** Remove any mapping for <em>key</em>.  */
@@ -108,6 +148,12 @@ public abstract class DKV {
    *  Value.equals(old) then the update succeeded, else it failed.
    */
   static public Value DputIfMatch( Key key, Value val, Value old, Futures fs, boolean dontCache ) {
+    return DputIfMatch(key,val,old,fs,dontCache,null);
+  }
+
+  // As above; a non-null 'batch' collects the pushes to remote homes, by
+  // home node index, instead of sending them.
+  static private Value DputIfMatch( Key key, Value val, Value old, Futures fs, boolean dontCache, ArrayList<TaskPutKey>[] batch ) {
     // For debugging where keys are created from
 //    try { System.err.flush(); System.err.println(key); Thread.dumpStack(); System.err.flush(); } catch (Throwable t) {}
 
@@ -139,7 +185,12 @@ public abstract class DKV {
       if( old != null ) old.lockAndInvalidate(H2O.SELF,fs);
     } else {                    // On non-HOME?
       // Start a write, but do not block for it
-      TaskPutKey.put(key.home_node(),key,val,fs, dontCache);
+      if( batch == null ) TaskPutKey.put(key.home_node(),key,val,fs, dontCache);
+      else {
+        int home = key.home(H2O.CLOUD);
+        if( batch[home] == null ) batch[home] = new ArrayList<>();
+        batch[home].add(new TaskPutKey(key,val,dontCache));
+      }
     }
     return old;
   }
@@ -149,7 +200,7 @@ public abstract class DKV {
   static void write_barrier() {
     for( H2ONode h2o : H2O.CLOUD._memary )
       for( RPC rpc : h2o.tasks() )
-        if( rpc._dt instanceof TaskPutKey || rpc._dt instanceof Atomic )
+        if( rpc._dt instanceof TaskPutKey || rpc._dt instanceof TaskPutKeys || rpc._dt instanceof Atomic )
           rpc.get();
   }
 
@@ -176,6 +227,26 @@ public abstract class DKV {
   /** Prefetch and cache the Value for Key formed by <em>key_name</em>.
    *  Non-blocking. */
   static public void prefetch( String key_name ) {        get(Key.make(key_name),false); }
+  /** Prefetch and cache the Values for all <em>keys</em>, with one fetch per
+   *  home node rather than one per Key.  Non-blocking. */
+  static public void prefetch( Key[] keys ) { TaskGetKeys.start(keys); }
+
+  /** Return the {@link Value}s mapped to all <em>keys</em>, null for unmapped
+   *  (or null) Keys.  Blocks till data available, always caches.  Keys homed
+   *  remotely are fetched with one RPC per home node rather than one per Key.
+   *  @return The {@link Value}s mapped to <em>keys</em> */
+  static public Value[] getAll( Key[] keys ) {
+    HashMap<Key,Value> fetched = new HashMap<>();
+    for( RPC<TaskGetKeys> rpc : TaskGetKeys.start(keys) ) {
+      TaskGetKeys tgks = rpc.get();
+      for( int i=0; i<tgks._nvals; i++ ) fetched.put(tgks._xkeys[i],tgks._vals[i]); // Left over: in a follow-up batch
+    }
+    Value[] vals = new Value[keys.length];
+    for( int i=0; i<keys.length; i++ )
+      if( keys[i] != null )
+        vals[i] = fetched.containsKey(keys[i]) ? fetched.get(keys[i]) : get(keys[i]);
+    return vals;
+  }
 
   static private Value get( Key key, boolean blocking ) {
     // Read the Cloud once per put-attempt, to keep a consistent snapshot.
@@ -183,7 +254,10 @@ public abstract class DKV {
     Value val = H2O.get(key);
     // Hit in local cache?
     if( val != null ) {
-      if( val.rawMem() != null || val.rawPOJO() != null || val.isPersisted() ) return val;
+      if( val.rawMem() != null || val.rawPOJO() != null || val.isOffHeap() || val.isPersisted() ) {
+        if( !key.home() ) DKVCache.hit(key,val);
+        return val;
+      }
       assert !key.home(); // Master must have *something*; we got nothing & need to fetch
     }
 
@@ -205,6 +279,10 @@ public abstract class DKV {
     TaskPutKey tpk = home.pendingPutKey(key);
     if( tpk != null ) return tpk._xval;
 
+    // Being fetched in a batch?  Wait for that instead.
+    RPC<TaskGetKeys> tgks = TaskGetKeys.inFlight(key);
+    if( tgks != null ) return blocking ? tgks.get().value(key) : null;
+
     // Get data "the hard way"
     RPC<TaskGetKey> tgk = TaskGetKey.start(home,key);
     return blocking ? TaskGetKey.get(tgk) : null;
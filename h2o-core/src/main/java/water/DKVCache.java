@@ -0,0 +1,154 @@
+package water;
+
+import water.nbhm.NonBlockingHashMap;
+import water.nbhm.NonBlockingHashSet;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded read cache of remote Values.
+ *
+ * A {@link DKV#get} on a non-home node caches the fetched Value in the local
+ * store.  This class tracks those cached copies and, once they add up to more
+ * than {@code -dkv_cache_mb}, drops the least recently used ones (or, with
+ * {@code -dkv_cache_lfu}, the least frequently used ones) from the local
+ * store.  A dropped copy is simply fetched again on its next use; the home
+ * node still counts this node as a replica and may send it a harmless extra
+ * invalidate.
+ *
+ * Values written by this node, and copies {@link #pin}ned by their user, are
+ * not tracked and never evicted.  A pinned copy invalidated by its home node
+ * is fetched again at once, so it stays a replica across writes; the Cleaner
+ * does not spill it to disk either.  It is unpinned once its Value is gone.
+ *
+ * Counters are reported by {@link water.util.WaterMeterCache}.
+ */
+public final class DKVCache {
+  // Hits on tracked copies, fetches from the home node, invalidates from the
+  // home node, and copies dropped to stay under the limit
+  public static final AtomicLong HITS = new AtomicLong(), MISSES = new AtomicLong();
+  public static final AtomicLong INVALIDATES = new AtomicLong(), EVICTIONS = new AtomicLong();
+  // Bytes held by the tracked copies
+  private static final AtomicLong BYTES = new AtomicLong();
+
+  private static final NonBlockingHashMap<Key,Entry> CACHED = new NonBlockingHashMap<>();
+  private static final NonBlockingHashSet<Key> PINNED = new NonBlockingHashSet<>();
+  private static final AtomicBoolean EVICTING = new AtomicBoolean();
+
+  private DKVCache() {}
+
+  private static final class Entry {
+    final Key _key;
+    final Value _val;
+    final long _bytes;
+    volatile long _touched;     // Last use
+    volatile int _uses;         // Uses, halved at every eviction sweep
+    Entry( Key key, Value val ) {
+      _key = key;
+      _val = val;
+      _bytes = Math.max(val._max,0);
+      _touched = System.currentTimeMillis();
+    }
+  }
+
+  /** Cache bound in bytes, or 0 for no bound */
+  public static long limit() {
+    int mb = H2O.ARGS.dkv_cache_mb;
+    return mb < 0 ? MemoryManager.MEM_MAX>>3 : (long)mb<<20;
+  }
+
+  /** Number of tracked copies */
+  public static int entries() { return CACHED.size(); }
+  /** Bytes held by the tracked copies */
+  public static long bytes() { return BYTES.get(); }
+
+  /** A remote Value was fetched and installed in the local store */
+  static void cached( Key key, Value val ) {
+    if( val == null || key.home() || PINNED.contains(key) ) return;
+    Entry e = new Entry(key,val);
+    Entry old = CACHED.put(key,e);
+    BYTES.addAndGet(e._bytes - (old == null ? 0 : old._bytes));
+    long limit = limit();
+    if( limit > 0 && BYTES.get() > limit ) evict(limit);
+  }
+
+  /** A local lookup found {@code val}; count it if it is a tracked copy */
+  static void hit( Key key, Value val ) {
+    Entry e = CACHED.get(key);
+    if( e == null ) return;
+    if( e._val != val ) { drop(e); return; } // Overwritten locally since
+    HITS.incrementAndGet();
+    e._touched = System.currentTimeMillis();
+    e._uses++;                  // Racy, but only a hint
+  }
+
+  /** The home node invalidated our copy; a pinned copy is fetched again */
+  static void invalidated( final Key key ) {
+    INVALIDATES.incrementAndGet();
+    Entry e = CACHED.get(key);
+    if( e != null ) drop(e);
+    if( !PINNED.contains(key) ) return;
+    H2O.submitTask(new H2O.H2OCountedCompleter() {
+        @Override protected void compute2() {
+          if( DKV.get(key) == null ) PINNED.remove(key); // Removed, not rewritten
+          tryComplete();
+        }
+      });
+  }
+
+  /** Keep the local copy of {@code key} out of eviction and off disk, and
+   *  fetch it again whenever it is invalidated.  Used for copies placed on
+   *  purpose, such as the chunk replicas of
+   *  {@link water.fvec.Frame#replicate}. */
+  public static void pin( Key key ) {
+    if( key.home() ) return;
+    PINNED.add(key);
+    Entry e = CACHED.get(key);
+    if( e != null ) drop(e);
+  }
+  /** Is the local copy of {@code key} pinned? */
+  static boolean pinned( Key key ) { return PINNED.contains(key); }
+
+  private static boolean drop( Entry e ) {
+    if( !CACHED.remove(e._key,e) ) return false;
+    BYTES.addAndGet(-e._bytes);
+    return true;
+  }
+
+  // Drop copies till under 7/8 of the limit, so sweeps are not back to back.
+  // One sweeper at a time; racing callers leave it the work.
+  private static void evict( long limit ) {
+    if( !EVICTING.compareAndSet(false,true) ) return;
+    try {
+      Entry[] es = CACHED.values().toArray(new Entry[0]);
+      boolean lfu = H2O.ARGS.dkv_cache_lfu;
+      // Snapshot the sort keys, they change under us
+      final long[] touched = new long[es.length];
+      final int[] uses = new int[es.length];
+      Integer[] order = new Integer[es.length];
+      for( int i=0; i<es.length; i++ ) { touched[i] = es[i]._touched; uses[i] = es[i]._uses; order[i] = i; }
+      Arrays.sort(order, lfu ? new Comparator<Integer>() {
+          @Override public int compare( Integer a, Integer b ) {
+            int c = Integer.compare(uses[a],uses[b]);
+            return c != 0 ? c : Long.compare(touched[a],touched[b]);
+          }
+        } : new Comparator<Integer>() {
+          @Override public int compare( Integer a, Integer b ) { return Long.compare(touched[a],touched[b]); }
+        });
+      long target = limit - (limit>>3);
+      for( Integer i : order ) {
+        if( BYTES.get() <= target ) break;
+        Entry e = es[i];
+        if( drop(e) && H2O.putIfMatch(e._key,null,e._val) == e._val )
+          EVICTIONS.incrementAndGet();
+      }
+      if( lfu )                 // Age the use counts of the survivors
+        for( Entry e : es ) e._uses >>= 1;
+    } finally {
+      EVICTING.set(false);
+    }
+  }
+}
@@ -110,6 +110,56 @@ final public class H2O {
             "          Maximum number of threads in the low priority batch-work queue.\n" +
             "          (The default is 99.)\n" +
             "\n" +
+            "    -ice_mmap\n" +
+            "          Reload data chunks spilled to ice_root by memory-mapping\n" +
+            "          their files and reading them in place.\n" +
+            "\n" +
+            "    -off_heap_mb <megabytes>\n" +
+            "          Size of the off-heap tier holding cold data chunks outside\n" +
+            "          the Java heap; chunks beyond it are spilled to ice_root.\n" +
+            "          (The default is 0, which disables the tier.)\n" +
+            "\n" +
+            "    -nio_threads <#threads>\n" +
+            "          Move node-to-node TCP traffic onto a selector-driven transport\n" +
+            "          served by this many I/O threads, with one multiplexed\n" +
+            "          connection per peer.  Every node of the cloud must use it.\n" +
+            "          (The default is 0, which keeps a reader thread per socket.)\n" +
+            "\n" +
+            "    -mr_fanout <#children>\n" +
+            "          Number of nodes each node forwards a distributed map/reduce\n" +
+            "          task to, and collects its results from.  Higher values make\n" +
+            "          the reduction tree shallower on large clouds.\n" +
+            "          (The default is 2.)\n" +
+            "\n" +
+            "    -mr_prefetch <#chunks>\n" +
+            "          Number of chunks homed on other nodes that a node mapping\n" +
+            "          them fetches ahead of the map calls, per F/J thread.\n" +
+            "          (The default is 4; 0 fetches each chunk when mapped.)\n" +
+            "\n" +
+            "    -dkv_cache_mb <megabytes>\n" +
+            "          Bound on the copies of remote keys a node keeps after reading\n" +
+            "          them; the least recently used ones are dropped beyond it.\n" +
+            "          (The default is 1/8th of the Java heap; 0 is unbounded.)\n" +
+            "\n" +
+            "    -dkv_cache_lfu\n" +
+            "          Drop the least frequently used copies of remote keys first,\n" +
+            "          instead of the least recently used ones.\n" +
+            "\n" +
+            "    -max_jobs <#jobs>\n" +
+            "          Number of jobs started from REST calls or user code that\n" +
+            "          run at once on a node; later ones wait in a queue.\n" +
+            "          (The default is 0, which runs every job at once.)\n" +
+            "\n" +
+            "    -job_slots <#slots>\n" +
+            "          Number of jobs whose map/reduce passes run at once when\n" +
+            "          launched from a node; jobs share the slots in proportion\n" +
+            "          to their weights.  Work outside jobs is not limited.\n" +
+            "          (The default is 0, which leaves passes unscheduled.)\n" +
+            "\n" +
+            "    -tcp_compress\n" +
+            "          Compress large node-to-node messages with a fast LZ4-style\n" +
+            "          codec, to peers that have it turned on as well.\n" +
+            "\n" +
             "    -client\n" +
             "          Launch H2O node in client mode.\n" +
             "\n" +
@@ -194,6 +244,36 @@ final public class H2O {
     /** -nthreads=nthreads; Max number of F/J threads in the low-priority batch queue */
     public int nthreads=Runtime.getRuntime().availableProcessors();
 
+    /** -off_heap_mb=megabytes; Size of the off-heap Chunk tier; 0 disables it */
+    public int off_heap_mb = 0;
+
+    /** -ice_mmap, -ice_mmap=true; reload spilled Chunks by mapping their ICE files */
+    public boolean ice_mmap = false;
+
+    /** -nio_threads=nio_threads; I/O threads of the selector TCP transport; 0 keeps thread-per-socket */
+    public int nio_threads = 0;
+
+    /** -mr_fanout=mr_fanout; number of child nodes per node in the MRTask distribution tree */
+    public int mr_fanout = 2;
+
+    /** -mr_prefetch=mr_prefetch; remote chunks an MRTask fetches ahead of its map calls; 0 disables */
+    public int mr_prefetch = 4;
+
+    /** -dkv_cache_mb=megabytes; bound on cached copies of remote keys; -1 is 1/8th of the heap, 0 unbounded */
+    public int dkv_cache_mb = -1;
+
+    /** -dkv_cache_lfu, -dkv_cache_lfu=true; evict cached remote keys least frequently used first */
+    public boolean dkv_cache_lfu = false;
+
+    /** -max_jobs=max_jobs; jobs started outside F/J threads running at once; 0 is unlimited */
+    public int max_jobs = 0;
+
+    /** -job_slots=job_slots; jobs whose map/reduce passes run at once; 0 disables fair sharing */
+    public int job_slots = 0;
+
+    /** -tcp_compress, -tcp_compress=true; compress large node-to-node messages */
+    public boolean tcp_compress = false;
+
     /** -log_dir=/path/to/dir; directory to save logs in */
     public String log_dir;
 
@@ -393,6 +473,43 @@ final public class H2O {
         i = s.incrementAndCheck(i, args);
         ARGS.nthreads = s.parseInt(args[i]);
       }
+      else if (s.matches("off_heap_mb")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.off_heap_mb = s.parseInt(args[i]);
+      }
+      else if (s.matches("ice_mmap")) {
+        ARGS.ice_mmap = true;
+      }
+      else if (s.matches("nio_threads")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.nio_threads = s.parseInt(args[i]);
+      }
+      else if (s.matches("mr_fanout")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.mr_fanout = s.parseInt(args[i]);
+      }
+      else if (s.matches("mr_prefetch")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.mr_prefetch = s.parseInt(args[i]);
+      }
+      else if (s.matches("dkv_cache_mb")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.dkv_cache_mb = s.parseInt(args[i]);
+      }
+      else if (s.matches("dkv_cache_lfu")) {
+        ARGS.dkv_cache_lfu = true;
+      }
+      else if (s.matches("max_jobs")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.max_jobs = s.parseInt(args[i]);
+      }
+      else if (s.matches("job_slots")) {
+        i = s.incrementAndCheck(i, args);
+        ARGS.job_slots = s.parseInt(args[i]);
+      }
+      else if (s.matches("tcp_compress")) {
+        ARGS.tcp_compress = true;
+      }
       else if (s.matches("hdfs_config")) {
         i = s.incrementAndCheck(i, args);
         ARGS.hdfs_config = args[i];
@@ -884,6 +1001,7 @@ final public class H2O {
   // made public for ddply
   public static class FJWThr extends ForkJoinWorkerThread {
     public int _priority;
+    Job _job;                   // Job of the task running now, if any; see JobScheduler
     FJWThr(ForkJoinPool pool) {
       super(pool);
       _priority = ((PrioritizedForkJoinPool)pool)._priority;
@@ -973,6 +1091,7 @@ final public class H2O {
       // Drain the high priority queues before the normal F/J queue
       H2OCountedCompleter h2o = null;
       boolean set_t_prior = false;
+      Job outer = t._job;         // Job of a task this thread is helping, if any
       try {
         assert  priority() == pp:" wrong priority for task " + getClass().getSimpleName() + ", expected " + priority() + ", but got " + pp; // Job went to the correct queue?
         assert t._priority <= pp; // Thread attempting the job is only a low-priority?
@@ -984,6 +1103,7 @@ final public class H2O {
             t._priority = p;      // Set & do it now!
             t.setPriority(Thread.MAX_PRIORITY-1);
             set_t_prior = true;
+            t._job = h2o._job;
             h2o.compute2();       // Do it ahead of normal F/J work
             p++;                  // Check again the same queue
           }
@@ -997,10 +1117,16 @@ final public class H2O {
         t._priority = pp;
         if( pp == MIN_PRIORITY && set_t_prior ) t.setPriority(Thread.NORM_PRIORITY-1);
       }
-      // Now run the task as planned
-      compute2();
+      // Now run the task as planned, charging any passes it launches to its
+      // own job, not to the job of a task this thread is helping
+      t._job = _job;
+      try { compute2(); }
+      finally { t._job = outer; }
     }
 
+    // The Job this is the top-level task of, if any
+    transient Job _job;
+
     /** Override to specify actual work to do */
     protected abstract void compute2();
     /** Exceptional completion path; mostly does printing if the exception was
@@ -1244,6 +1370,10 @@ final public class H2O {
     new UDPTimeOutThread().start();
     new H2ONode.AckAckTimeOutThread().start();
 
+    // Start the selector transport I/O threads, if asked for; accepted TCP
+    // connections are then handed to them instead of to per-socket readers.
+    if( ARGS.nio_threads > 0 ) SelectorTransport.start(ARGS.nio_threads);
+
     // Start the TCPReceiverThread, to listen for TCP requests from other Cloud
     // Nodes. There should be only 1 of these, and it never shuts down.
     new TCPReceiverThread().start();
@@ -1439,7 +1569,10 @@ final public class H2O {
   public static Value get( Key key ) { return STORE.get(key); }
   public static boolean containsKey( Key key ) { return STORE.get(key) != null; }
   public static Value raw_get(Key key) { return STORE.get(key); }
-  public static void raw_remove(Key key) { STORE.remove(key); }
+  public static void raw_remove(Key key) {
+    Value old = STORE.remove(key);
+    if( old != null ) old.removePersist();
+  }
   public static void raw_clear() { STORE.clear(); }
   static Key getk( Key key ) { return STORE.getk(key); }
   public static Set<Key> localKeySet( ) { return STORE.keySet(); }
@@ -234,6 +234,15 @@ public class H2ONode extends Iced<H2ONode> implements Comparable {
     TCPS.incrementAndGet();     // Cluster-wide counting
     return sock2;
   }
+  // The one multiplexed connection to this node when the selector transport
+  // is on; reopened on demand after a failure.
+  private SelectorTransport.Conn _selectorConn;
+  synchronized SelectorTransport.Conn getSelectorConn() throws IOException {
+    if( _selectorConn == null || !_selectorConn.isOpen() )
+      _selectorConn = SelectorTransport.connect(this);
+    return _selectorConn;
+  }
+
   synchronized void freeTCPSocket( SocketChannel sock ) {
     assert 0 <= _socksAvail && _socksAvail < _socks.length;
     if( sock != null && !sock.isOpen() ) sock = null;
@@ -248,7 +257,7 @@ public class H2ONode extends Iced<H2ONode> implements Comparable {
   private final NonBlockingHashMapLong<RPC> _tasks = new NonBlockingHashMapLong<>();
   void taskPut(int tnum, RPC rpc ) { 
     _tasks.put(tnum,rpc); 
-    if( rpc._dt instanceof TaskPutKey ) _tasksPutKey.put(tnum,(TaskPutKey)rpc._dt);
+    if( rpc._dt instanceof TaskPutKey || rpc._dt instanceof TaskPutKeys ) _tasksPutKey.put(tnum,rpc._dt);
   }
   RPC taskGet(int tnum) { return _tasks.get(tnum); }
   void taskRemove(int tnum) { 
@@ -262,11 +271,13 @@ public class H2ONode extends Iced<H2ONode> implements Comparable {
   // optimization in the case of a large number of pending Gets are flooding
   // the tasks() queue, each needing to scan the tasks queue for pending
   // PutKeys to the same Key.  Legal to always 
-  private final NonBlockingHashMapLong<TaskPutKey> _tasksPutKey = new NonBlockingHashMapLong<>();
+  private final NonBlockingHashMapLong<DTask> _tasksPutKey = new NonBlockingHashMapLong<>();
   TaskPutKey pendingPutKey( Key k ) {
-    for( TaskPutKey tpk : _tasksPutKey.values() )
-      if( k.equals(tpk._key) )
+    for( DTask dt : _tasksPutKey.values() ) {
+      TaskPutKey tpk = dt instanceof TaskPutKeys ? ((TaskPutKeys)dt).pending(k) : (TaskPutKey)dt;
+      if( tpk != null && k.equals(tpk._key) )
         return tpk;
+    }
     return null;
   }
 
@@ -128,6 +128,7 @@ public class HeartBeatThread extends Thread {
         hb._cpus_allowed = H2O.ARGS.nthreads;
       }
       hb._nthreads = H2O.ARGS.nthreads;
+      hb._tcp_compress = H2O.ARGS.tcp_compress;
       hb._pid = lpfr.getProcessID();
 
       // Announce what Cloud we think we are in.
@@ -108,6 +108,11 @@ public class Job<T extends Keyed> extends Keyed {
 
   transient H2OCountedCompleter _fjtask; // Top-level task to do
   transient H2OCountedCompleter _barrier;// Top-level task you can block on
+  transient boolean _admitted;           // Counted against -max_jobs
+
+  /** Relative share of the -job_slots this job gets when competing with
+   *  other jobs; see {@link JobScheduler}. */
+  public int _weight = 1;
 
   /** Jobs produce a single DKV result into Key _dest */
   public Key<T> _dest;   // Key for result
@@ -210,8 +215,10 @@ public class Job<T extends Keyed> extends Keyed {
     // runs the onCompletion or onExceptionCompletion code.
     _barrier = new H2OCountedCompleter() {
         @Override public void compute2() { }
+        @Override public void onCompletion(CountedCompleter caller) { JobScheduler.done(Job.this); }
         @Override public boolean onExceptionalCompletion(Throwable ex, CountedCompleter caller) {
-          if( getCompleter() == null ) { // nobody else to handle this exception, so print it out
+          JobScheduler.done(Job.this);
+          if( getCompleter() == null && !(ex instanceof JobCancelledException) ) { // nobody else to handle this exception, so print it out
             System.err.println("barrier onExCompletion for "+fjtask);
             ex.printStackTrace();
           }
@@ -234,7 +241,7 @@ public class Job<T extends Keyed> extends Keyed {
         return old;
       }
     }.invoke(LIST);
-    H2O.submitTask(fjtask);
+    JobScheduler.submit(this);
     return this;
   }
 
@@ -336,6 +343,8 @@ public class Job<T extends Keyed> extends Keyed {
     // Remove on cancel/fail/done, only used whilst Job is Running
     if (deleteProgressKey())
       DKV.remove(_progressKey);
+    // A job stopped while queued for admission never starts
+    if( resultingState != JobState.DONE ) JobScheduler.dequeue(_key);
   }
 
   /** Returns a float from 0 to 1 representing progress.  Polled periodically.
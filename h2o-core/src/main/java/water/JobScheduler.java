@@ -0,0 +1,267 @@
+package water;
+
+import jsr166y.CountedCompleter;
+import jsr166y.ForkJoinPool;
+import water.nbhm.NonBlockingHashMap;
+import water.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Job-aware scheduling on top of the priority F/J pools, per node.
+ *
+ * <p>Admission: with {@code -max_jobs N}, at most N jobs started from outside
+ * the F/J pools (REST calls, user threads) run at once; later ones queue, in
+ * start order, until a running one completes.  Jobs started from F/J threads
+ * are parts of running work (e.g. the models of a grid search) and are never
+ * queued, as their parent may be blocked on them.
+ *
+ * <p>Fair sharing: with {@code -job_slots K}, a map/reduce pass launched from
+ * a job's top-level task needs one of K slots on the launching node.  A job
+ * holds at most one slot, shared by all of its passes in flight, so nested
+ * passes never wait.  A freed slot goes to the waiting job that has had the
+ * least service so far - slot time divided by the job's weight - so jobs get
+ * slot time in proportion to their weights (start-time fair queueing).  Work
+ * outside jobs, such as interactive Rapids calls, never waits for a slot.  A
+ * pass launched from a completer is charged to the job of the first task up
+ * its completer chain that has one.  Slots are taken and given back with CAS
+ * on per-job counters; only passes that must wait touch a monitor.
+ *
+ * <p>Counters are reported by {@link water.util.WaterMeterScheduler}.
+ */
+public final class JobScheduler {
+  private JobScheduler() {}
+
+  // Guards the admission queue and count below
+  private static final Object LOCK = new Object();
+
+  // ---
+  // Admission of jobs started from outside the F/J pools
+  private static final ArrayDeque<Job> QUEUED = new ArrayDeque<>();
+  private static int ADMITTED;  // Admitted jobs still running
+
+  /** Submit the top-level task of a job just started, or queue the job while
+   *  {@code -max_jobs} admitted jobs are running. */
+  static void submit( Job job ) {
+    job._fjtask._job = job;
+    if( H2O.ARGS.max_jobs > 0 && !(Thread.currentThread() instanceof H2O.FJWThr) ) {
+      synchronized( LOCK ) {
+        if( ADMITTED >= H2O.ARGS.max_jobs ) {
+          QUEUED.add(job);
+          Log.info("Job "+job._key+" ("+job._description+") queued behind "+ADMITTED+" running jobs");
+          return;
+        }
+        ADMITTED++;
+      }
+      job._admitted = true;
+    }
+    H2O.submitTask(job._fjtask);
+  }
+
+  /** The top-level task of a job completed, normally or not */
+  static void done( Job job ) {
+    SHARES.remove(job._key);
+    if( !job._admitted ) return;
+    job._admitted = false;
+    // Start the next queued job.  Jobs cancelled while queued never start;
+    // their task completes exceptionally, releasing anyone blocked on them.
+    // The queue head is admitted under the lock, and checked for a stop
+    // (a DKV get, maybe remote) outside it.
+    synchronized( LOCK ) { ADMITTED--; }
+    while( true ) {
+      Job next;
+      synchronized( LOCK ) {
+        if( ADMITTED >= H2O.ARGS.max_jobs || (next = QUEUED.poll()) == null ) return;
+        ADMITTED++;
+      }
+      Job j = DKV.getGet(next._key);
+      if( j != null && !j.isStopped() ) {
+        next._admitted = true;
+        H2O.submitTask(next._fjtask);
+        return;
+      }
+      synchronized( LOCK ) { ADMITTED--; }
+      next._fjtask.completeExceptionally(new Job.JobCancelledException());
+    }
+  }
+
+  /** Drop a job stopped while queued on this node; its task completes
+   *  exceptionally, releasing anyone blocked on it.  Jobs stopped from other
+   *  nodes are dropped when they reach the head of the queue. */
+  static void dequeue( Key key ) {
+    Job job = null;
+    synchronized( LOCK ) {
+      for( Job j : QUEUED )
+        if( j._key.equals(key) ) { job = j; break; }
+      if( job != null ) QUEUED.remove(job);
+    }
+    if( job != null ) job._fjtask.completeExceptionally(new Job.JobCancelledException());
+  }
+
+  /** Jobs waiting for admission */
+  public static int queued() { synchronized( LOCK ) { return QUEUED.size(); } }
+  /** Admitted jobs running */
+  public static int admitted() { synchronized( LOCK ) { return ADMITTED; } }
+
+  // ---
+  // Fair sharing of slots between the map/reduce passes of running jobs
+
+  // The job whose top-level task is running on this thread, if any.  Set per
+  // task by H2OCountedCompleter.compute, so tasks of other jobs (or of none)
+  // run while this thread helps join are not charged to it.
+  private static Job current() {
+    Thread t = Thread.currentThread();
+    return t instanceof H2O.FJWThr ? ((H2O.FJWThr)t)._job : null;
+  }
+
+  // The job a pass is launched for: that of the first task up its completer
+  // chain with one, so passes launched asynchronously from completers are
+  // charged too; else the current thread's
+  private static Job owner( CountedCompleter task ) {
+    for( CountedCompleter c = task; c != null; c = c.getCompleter() )
+      if( c instanceof H2O.H2OCountedCompleter && ((H2O.H2OCountedCompleter)c)._job != null )
+        return ((H2O.H2OCountedCompleter)c)._job;
+    return current();
+  }
+
+  /** Scheduling state of one job on this node */
+  static final class Share {
+    final int _weight;
+    final long _seq = SEQ.incrementAndGet(); // Ties in the wait order
+    final AtomicLong _vtime;    // Service so far: slot usecs per unit weight
+    final AtomicInteger _passes = new AtomicInteger(); // Passes in flight, sharing the job's slot
+    volatile long _since;       // When the job took its slot
+    int _waiters;               // Threads waiting for the job's slot; guarded by the Share
+    long _qtime;                // Service when it started waiting; guarded by the Share
+    Share( int weight, long vtime ) { _weight = Math.max(1,weight); _vtime = new AtomicLong(vtime); }
+  }
+  private static final AtomicLong SEQ = new AtomicLong();
+  private static final NonBlockingHashMap<Key,Share> SHARES = new NonBlockingHashMap<>();
+  // Jobs with passes waiting, least service first
+  private static final ConcurrentSkipListSet<Share> WAITING = new ConcurrentSkipListSet<>(new Comparator<Share>() {
+      @Override public int compare( Share a, Share b ) {
+        int c = Long.compare(a._qtime,b._qtime);
+        return c != 0 ? c : Long.compare(a._seq,b._seq);
+      }
+    });
+  private static final AtomicInteger HOLDERS = new AtomicInteger(); // Jobs holding a slot
+  private static final AtomicLong VCLOCK = new AtomicLong(); // Service of the job last given a slot
+  // Waiting passes sleep on this, and are woken when a slot may be free
+  private static final Object WAKE = new Object();
+  // Passes that had to wait for a slot, and their total wait
+  public static final AtomicLong WAITS = new AtomicLong(), WAIT_MS = new AtomicLong();
+
+  /** Take a slot for pass {@code task}, about to be launched.  Blocks while
+   *  no slot is free, or while jobs with less service wait.
+   *  @return The share to {@link #release} once the pass is done, or null if
+   *  the pass is not scheduled */
+  static Share acquire( CountedCompleter task ) {
+    if( H2O.ARGS.job_slots <= 0 ) return null;
+    Job job = owner(task);
+    if( job == null ) return null;
+    Share s = SHARES.get(job._key);
+    if( s == null ) {
+      Share s2 = new Share(job._weight, VCLOCK.get());
+      s = SHARES.putIfAbsent(job._key, s2);
+      if( s == null ) s = s2;
+    }
+    final Share share = s;
+    if( take(share) ) return share; // Uncontended: no wait
+    synchronized( share ) {
+      if( share._waiters++ == 0 ) { share._qtime = share._vtime.get(); WAITING.add(share); }
+    }
+    WAITS.incrementAndGet();
+    long start = System.currentTimeMillis();
+    try {
+      while( !take(share) ) {
+        try {
+          ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+              @Override public boolean isReleasable() { return canTake(share); }
+              @Override public boolean block() throws InterruptedException {
+                synchronized( WAKE ) { while( !canTake(share) ) WAKE.wait(); }
+                return true;
+              }
+            });
+        } catch( InterruptedException ignore ) { }
+      }
+    } finally {
+      synchronized( share ) {
+        if( --share._waiters == 0 ) WAITING.remove(share);
+      }
+      WAIT_MS.addAndGet(System.currentTimeMillis()-start);
+    }
+    wake();                     // Others may now be first, with slots to spare
+    return share;
+  }
+
+  /** The pass holding the share is done */
+  static void release( Share s ) {
+    long since = s._since;      // Stable while this pass holds the slot
+    if( s._passes.decrementAndGet() > 0 ) return;
+    s._vtime.addAndGet((System.currentTimeMillis()-since)*1000/s._weight);
+    HOLDERS.decrementAndGet();
+    wake();
+  }
+
+  private static void wake() {
+    if( WAITING.isEmpty() ) return;
+    synchronized( WAKE ) { WAKE.notifyAll(); }
+  }
+
+  // A pass of share s may run if the job already holds its slot, or a slot
+  // is free and no waiting job without a slot has had less service.  Only
+  // the jobs ahead of s in the wait order are looked at.
+  private static boolean canTake( Share s ) {
+    if( s._passes.get() > 0 ) return true;
+    if( HOLDERS.get() >= H2O.ARGS.job_slots ) return false;
+    long vtime = s._vtime.get();
+    for( Share w : WAITING ) {
+      if( w == s || w._qtime >= vtime ) return true;
+      if( w._passes.get() == 0 ) return false; // Waits with less service
+    }
+    return true;
+  }
+  // Take the slot if allowed: join the job's slot, or claim a free one
+  private static boolean take( Share s ) {
+    while( true ) {
+      int p = s._passes.get();
+      if( p > 0 ) {
+        if( s._passes.compareAndSet(p,p+1) ) return true;
+        continue;
+      }
+      if( !canTake(s) ) return false;
+      int h = HOLDERS.get();
+      if( h >= H2O.ARGS.job_slots ) return false;
+      if( !HOLDERS.compareAndSet(h,h+1) ) continue;
+      if( s._passes.compareAndSet(0,1) ) {
+        s._since = System.currentTimeMillis();
+        long vtime = s._vtime.get(), vc;
+        while( (vc = VCLOCK.get()) < vtime && !VCLOCK.compareAndSet(vc,vtime) ) ;
+        return true;
+      }
+      HOLDERS.decrementAndGet(); // Another pass of the job took the slot first; join it
+    }
+  }
+
+  /** Tasks queued in the F/J pools below (or, if {@code hi}, at and above)
+   *  {@link H2O#MIN_HI_PRIORITY} */
+  public static int queuedTasks( boolean hi ) {
+    int n = 0;
+    for( int i = hi ? H2O.MIN_HI_PRIORITY : H2O.MIN_PRIORITY; i < (hi ? H2O.MAX_PRIORITY+1 : H2O.MIN_HI_PRIORITY); i++ )
+      n += Math.max(H2O.getWrkQueueSize(i),0);
+    return n;
+  }
+
+  /** Jobs holding a slot */
+  public static int holders() { return HOLDERS.get(); }
+  /** Jobs waiting for a slot */
+  public static int waiting() {
+    int n = 0;
+    for( Share s : WAITING ) if( s._passes.get() == 0 ) n++;
+    return n;
+  }
+}
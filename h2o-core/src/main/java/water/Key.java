@@ -195,6 +195,13 @@ final public class Key<T extends Keyed> extends Iced<Key<T>> implements Comparab
     H2O cloud = H2O.CLOUD;
     return cloud._memary[home(cloud)];
   }
+  /** The node of desired replica #{@code repl} of this Key; replica #0 is
+   *  the home node.  Replicas wrap around clouds smaller than repl+1.
+   *  @return The node of replica #repl, or null if there is no cloud */
+  public H2ONode replica_node( int repl ) {
+    int idx = D(repl);
+    return idx < 0 ? null : H2O.CLOUD._memary[idx];
+  }
 
   // Update the cache, but only to strictly newer Clouds
   private boolean set_cache( long cache ) {
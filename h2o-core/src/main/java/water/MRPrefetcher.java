@@ -0,0 +1,111 @@
+package water;
+
+import water.fvec.Vec;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-ahead of the remote chunks one node maps for an MRTask.
+ *
+ * A node maps chunks homed elsewhere when the task runs locally over a
+ * distributed Frame, maps chunks placed on it from replicated Vecs, or is a
+ * speculative copy of a straggler.  Each such chunk would otherwise cost one
+ * blocking fetch per column inside the map.  Instead, as a chunk is about to
+ * be mapped, all its columns are fetched in one batch per home node, together
+ * with the next {@code -mr_prefetch} remote chunks below it: the F/J
+ * divide-and-conquer has each thread map its range from the top down, so
+ * those are the chunks the thread is likely to map next.  Their arrival
+ * overlaps the map call.
+ *
+ * Chunks fetched ahead reserve their (estimated, uncompressed) size in the
+ * {@link MemoryManager} task memory until they arrive; without room the
+ * read-ahead stops, and the chunk is fetched when mapped as before.
+ */
+final class MRPrefetcher {
+  // Chunks fetched ahead of their map call, and read-aheads cut short for
+  // want of task memory
+  static final AtomicLong FETCHED = new AtomicLong(), DEFERRED = new AtomicLong();
+
+  private final Vec[] _vecs;
+  private final int[] _todo;             // Remote chunks mapped here, ascending
+  private final AtomicIntegerArray _issued; // Fetch started, per _todo entry
+  private final ArrayDeque<Fetch> _inflight = new ArrayDeque<>(); // Reserved bytes not yet released
+
+  private static final class Fetch {
+    final RPC[] _rpcs;
+    final long _bytes;
+    Fetch( RPC[] rpcs, long bytes ) { _rpcs = rpcs; _bytes = bytes; }
+    boolean isDone() {
+      for( RPC rpc : _rpcs ) if( !rpc.isDone() ) return false;
+      return true;
+    }
+  }
+
+  private MRPrefetcher( Vec[] vecs, int[] todo ) {
+    _vecs = vecs;
+    _todo = todo;
+    _issued = new AtomicIntegerArray(todo.length);
+  }
+
+  /** A read-ahead over the chunks {@code todo} of {@code vecs}, or null if
+   *  there is nothing to read ahead */
+  static MRPrefetcher make( Vec[] vecs, int[] todo ) {
+    return H2O.ARGS.mr_prefetch <= 0 || todo.length == 0 ? null : new MRPrefetcher(vecs,todo);
+  }
+
+  /** Chunk {@code cidx} is about to be mapped: fetch it, along with the
+   *  next remote chunks this thread is likely to map */
+  void ahead( int cidx ) {
+    reap();
+    ArrayList<Key> keys = new ArrayList<>();
+    int i = Arrays.binarySearch(_todo,cidx);
+    if( i >= 0 && _issued.compareAndSet(i,0,1) ) addKeys(cidx,keys); // Needed now: nothing reserved
+    long bytes = 0;
+    int at = i >= 0 ? i-1 : -i-2;
+    for( int n=0; n < H2O.ARGS.mr_prefetch && at >= 0; n++, at-- ) {
+      if( _issued.get(at) != 0 ) continue;
+      long b = estimate(_todo[at]);
+      if( !MemoryManager.tryReserveTaskMem(b) ) { DEFERRED.incrementAndGet(); break; }
+      if( !_issued.compareAndSet(at,0,1) ) { MemoryManager.freeTaskMem(b); continue; }
+      bytes += b;
+      addKeys(_todo[at],keys);
+      FETCHED.incrementAndGet();
+    }
+    if( keys.isEmpty() ) return;
+    RPC[] rpcs = TaskGetKeys.start(keys.toArray(new Key[keys.size()]));
+    if( bytes == 0 ) return;
+    if( rpcs.length == 0 ) { MemoryManager.freeTaskMem(bytes); return; } // All local already
+    synchronized( this ) { _inflight.add(new Fetch(rpcs,bytes)); }
+  }
+
+  /** The task is done on this node: release what is still reserved */
+  synchronized void done() {
+    for( Fetch f : _inflight ) MemoryManager.freeTaskMem(f._bytes);
+    _inflight.clear();
+  }
+
+  // Release the reservations of fetches that arrived
+  private synchronized void reap() {
+    for( Iterator<Fetch> it = _inflight.iterator(); it.hasNext(); ) {
+      Fetch f = it.next();
+      if( f.isDone() ) { it.remove(); MemoryManager.freeTaskMem(f._bytes); }
+    }
+  }
+
+  private void addKeys( int cidx, ArrayList<Key> keys ) {
+    for( Vec v : _vecs ) if( v != null ) keys.add(v.chunkKey(cidx));
+  }
+
+  // Upper bound on the chunk's size once fetched: 8 bytes per row and column
+  private long estimate( int cidx ) {
+    long rows = 0;
+    for( Vec v : _vecs )
+      if( v != null ) { rows = v._espc[cidx+1] - v._espc[cidx]; break; }
+    return rows * 8 * _vecs.length;
+  }
+}
@@ -0,0 +1,199 @@
+package water;
+
+import jsr166y.CountedCompleter;
+import water.H2O.H2OCountedCompleter;
+import water.nbhm.NonBlockingHashMap;
+import water.util.Log;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Straggler detection and speculative execution for speculative MRTasks
+ * (see {@link MRTask#setSpeculative}).
+ *
+ * One speculator watches the child nodes of one node's part of an MRTask.
+ * Once at least half of them, counting this node's own map work, are done, a
+ * single-node child still running {@link #SLOWDOWN} times longer than the
+ * median of the finished ones (and at least {@link #MIN_MS}) is a
+ * straggler: its chunks are then mapped again on the least loaded other
+ * nodes holding replicas of them, and this node takes whichever of the two
+ * results arrives first.  The loser is told to stop mapping further chunks;
+ * its RPCs are cancelled and their late answers dropped.  Tasks over Vecs
+ * without replicas are not speculated on at all.
+ *
+ * Children spanning several nodes are not speculated on; their own
+ * single-node children are, one level down.
+ */
+final class MRSpeculator {
+  /** A child is a straggler once this many times slower than the median */
+  static final int SLOWDOWN = 3;
+  /** ...and only after running this long */
+  static final long MIN_MS = 1000;
+  private static final long TICK_MS = 100;
+
+  private static final byte RUNNING = 0, REMOTE = 1, COPY = 2;
+
+  private final MRTask _mrt;     // The node-local top task, waiting on its children
+  private final long _start;     // When the children were started
+  private final RPC[] _rpcs;     // The children
+  private final H2ONode[] _leaf; // Node of each single-node child, else null
+  private final MRTask[] _copies;// Spare copy of the task for each single-node child
+  private final AtomicLongArray _done; // Completion time of each child
+  private final AtomicIntegerArray _won; // Who answered first, for each child
+  private final boolean[] _launched; // Copies started; touched by the watcher only
+  private final AtomicInteger _maps = new AtomicInteger(); // Local chunks still to map
+  private volatile long _localDone; // When the local map work was done
+
+  MRSpeculator( MRTask mrt, int nkids ) {
+    _mrt = mrt;
+    _start = System.currentTimeMillis();
+    _rpcs = new RPC[nkids];
+    _leaf = new H2ONode[nkids];
+    _copies = new MRTask[nkids];
+    _done = new AtomicLongArray(nkids);
+    _won = new AtomicIntegerArray(nkids);
+    _launched = new boolean[nkids];
+  }
+
+  /** This node has n chunks (or keys) of its own to map */
+  void local( int n ) {
+    if( n <= 0 ) _localDone = System.currentTimeMillis();
+    else _maps.set(n);
+  }
+  /** One local chunk mapped (or skipped) */
+  void mapped() { if( _maps.decrementAndGet() == 0 ) _localDone = System.currentTimeMillis(); }
+
+  /** Completer of the RPC to child i */
+  H2OCountedCompleter completer( int i ) { return new KidDone(i, false); }
+
+  /** Record the RPC to child i, running on the single node 'leaf' (or null),
+   *  with a clean copy of the task to speculate with. */
+  void child( int i, RPC rpc, H2ONode leaf, MRTask copy ) {
+    _rpcs[i] = rpc;
+    _leaf[i] = leaf;
+    _copies[i] = copy;
+  }
+
+  /** The copy whose result won for child i, or null if the remote's did */
+  MRTask winner( int i ) { return _won.get(i) == COPY ? _copies[i] : null; }
+
+  // Child i answered, from the remote or the local copy.  Only the first
+  // answer counts towards the waiting task.
+  private void claim( int i, boolean copy ) {
+    _done.compareAndSet(i, 0, System.currentTimeMillis());
+    if( !_won.compareAndSet(i, RUNNING, copy ? COPY : REMOTE) ) return;
+    if( copy ) {                // Straggler lost: drop its answer, stop its work
+      _rpcs[i].cancel(true);
+      cancel(_leaf[i], _mrt.specKey());
+      Log.info("Speculative copy of "+_mrt.getClass().getSimpleName()+" beat "+_leaf[i]+" after "+(_done.get(i)-_start)+"ms");
+    } else if( _copies[i] != null )
+      _copies[i].stop();        // Copy lost (or never ran)
+    _mrt.tryComplete();
+  }
+
+  private class KidDone extends H2OCountedCompleter {
+    final int _i;
+    final boolean _copy;
+    KidDone( int i, boolean copy ) { _i = i; _copy = copy; }
+    @Override protected void compute2() { throw H2O.fail(); }
+    @Override public byte priority() { return _mrt.priority(); }
+    @Override public void onCompletion( CountedCompleter caller ) { claim(_i, _copy); }
+    @Override public boolean onExceptionalCompletion( Throwable ex, CountedCompleter caller ) {
+      if( _copy )               // A failed copy leaves the straggler to finish
+        Log.warn("Speculative copy of "+_mrt.getClass().getSimpleName()+" failed: "+ex);
+      else if( _won.compareAndSet(_i, RUNNING, REMOTE) ) {
+        _done.compareAndSet(_i, 0, System.currentTimeMillis());
+        _mrt.completeExceptionally(ex);
+      }
+      return false;
+    }
+  }
+
+  // Called by the watcher every tick.  Start copies for stragglers.
+  // Returns false once there is nothing left to watch.
+  private boolean check( long now ) {
+    if( _mrt.isDone() ) return false;
+    int n = 1, ndone = 0, nwatch = 0; // This node counts too
+    long[] times = new long[_rpcs.length+1];
+    long local = _localDone;
+    if( local != 0 ) times[ndone++] = local - _start;
+    for( int i=0; i<_rpcs.length; i++ ) {
+      if( _rpcs[i] == null ) continue;
+      n++;
+      if( _won.get(i) != RUNNING ) times[ndone++] = _done.get(i) - _start;
+      else if( _leaf[i] != null && !_launched[i] ) nwatch++;
+    }
+    if( nwatch == 0 ) return false; // Nothing (more) to speculate on
+    if( ndone*2 < n ) return true;  // Too early to tell
+    Arrays.sort(times, 0, ndone);
+    long limit = Math.max(MIN_MS, SLOWDOWN*times[ndone>>1]);
+    if( now - _start < limit ) return true;
+    for( int i=0; i<_rpcs.length; i++ )
+      if( _rpcs[i] != null && _leaf[i] != null && !_launched[i] && _won.get(i) == RUNNING ) {
+        _launched[i] = true;
+        String what = _mrt.getClass().getSimpleName()+" for "+(now-_start)+"ms, median "+times[ndone>>1]+"ms";
+        if( _copies[i].specLaunch(new KidDone(i, true)) )
+          Log.info("Straggler "+_leaf[i]+" running "+what+"; speculating");
+        else
+          Log.info("Straggler "+_leaf[i]+" running "+what+"; no other replica holders to speculate on");
+      }
+    return false;
+  }
+
+  // ---
+  // Watched speculators, checked by one daemon thread.
+  private static final ConcurrentLinkedQueue<MRSpeculator> WATCHED = new ConcurrentLinkedQueue<>();
+  private static Thread WATCHER;
+
+  /** Start watching the children for stragglers */
+  void watch() {
+    WATCHED.add(this);
+    synchronized( MRSpeculator.class ) {
+      if( WATCHER != null ) return;
+      WATCHER = new Thread("MRSpeculator") {
+          @Override public void run() {
+            while( true ) {
+              try { Thread.sleep(TICK_MS); } catch( InterruptedException ignore ) { }
+              long now = System.currentTimeMillis();
+              for( Iterator<MRSpeculator> it = WATCHED.iterator(); it.hasNext(); ) {
+                MRSpeculator s = it.next();
+                try { if( !s.check(now) ) it.remove(); }
+                catch( Throwable t ) { Log.err(t); it.remove(); }
+              }
+            }
+          }
+        };
+      WATCHER.setDaemon(true);
+      WATCHER.start();
+    }
+  }
+
+  // ---
+  // Stop flags of the speculative tasks running on this node, so a remote
+  // winner can stop a straggler.
+  private static final NonBlockingHashMap<Key,AtomicBoolean> STOPS = new NonBlockingHashMap<>();
+  static void register( Key key, AtomicBoolean stop ) { STOPS.put(key, stop); }
+  static void unregister( Key key ) { STOPS.remove(key); }
+
+  /** Tell 'node' to stop its part of the speculative task 'key' */
+  static void cancel( H2ONode node, Key key ) { new RPC<>(node, new Cancel(key)).call(); }
+
+  /** Stop the straggler's part of a speculative task; it skips its remaining
+   *  chunks and answers early, to a cancelled RPC. */
+  private static class Cancel extends DTask<Cancel> {
+    final Key _key;
+    Cancel( Key key ) { _key = key; }
+    @Override public byte priority() { return H2O.GET_KEY_PRIORITY; }
+    @Override public void compute2() {
+      AtomicBoolean stop = STOPS.get(_key);
+      if( stop != null ) stop.set(true);
+      tryComplete();
+    }
+  }
+}
@@ -6,6 +6,9 @@ import water.fvec.*;
 import water.util.PrettyPrint;
 import water.fvec.Vec.VectorGroup;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Map/Reduce style distributed computation.
  * <p>
@@ -59,7 +62,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   *
   *    internal "top-level" fields
   *    ---------------------------
-  *     - RPC<T> _nleft, _nrite: "child" node/JVMs that are doing work
+  *     - RPC<T>[] _nkids      : "child" node/JVMs that are doing work (_fanout of them at most)
   *     - boolean _topLocal    : "root" MRTask on a local machine
   *     - boolean _topGlobal   : "root" MRTask on the "root" node
   *     - T _left, _rite       : "child" MRTasks on a local machine
@@ -72,7 +75,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   *              3 node cloud              Inside one of the 'N' nodes:
   *                   N1                               T  _topLocal**
   *                 /   \                            /  \
-  *         N2 (_nleft)  N3 (_nrite)         T (_left)   T (_rite)
+  *         N2 (_nkids[0]) N3 (_nkids[1])    T (_left)   T (_rite)
   *
   *                  **: T is also _topGlobal if N==N1
   *
@@ -90,9 +93,9 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   *                ==>       setupLocal0 on N1
   *                            - topLocal=true
   *                            - _fs = new Futures()
-  *                            - nmid = (_nlo + _nhi) >> 1 => split the range of nodes (divide-conquer)
-  *                            - _nleft = remote_compute(_nlo,nmid) => chooses a node in range and does new RPC().call()
-  *                            - _nrite = remote_compute(nmid,_nhi)    serializing MRTask and call dinvoke on remote.
+  *                            - split the range of nodes _fanout ways (divide-conquer; 2 ways shown)
+  *                            - _nkids[0] = remote_compute(_nlo,nmid) => chooses a node in range and does new RPC().call()
+  *                            - _nkids[1] = remote_compute(nmid,_nhi)    serializing MRTask and call dinvoke on remote.
   *                           /                                 \
   *                         /                                     \
   *                       /                                         \
@@ -146,8 +149,14 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   /** Appendables are treated separately (roll-ups computed in map/reduce style, can not be passed via K/V store).*/
   protected AppendableVec[] _appendables;
 
-  /** Internal field to track the left &amp; right remote nodes/JVMs to work on */
-  transient protected RPC<T> _nleft, _nrite;
+  /** Read-ahead of the remote chunks mapped on this node, if any */
+  transient private MRPrefetcher _prefetch;
+
+  /** Slot of the job this top-level pass runs for, if scheduled */
+  transient private JobScheduler.Share _share;
+
+  /** Internal field to track the child remote nodes/JVMs to work on */
+  transient protected RPC<T>[] _nkids;
 
   /** Internal field to track if this is a top-level local call */
   transient protected boolean _topLocal; // Top-level local call, returning results over the wire
@@ -164,6 +173,85 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   /** The range of Nodes to work on remotely */
   protected short _nlo, _nhi;
 
+  /** Number of child nodes each node hands the task to and reduces results
+   *  from; 0 until the top-level call picks up the cloud's -mr_fanout. */
+  private byte _fanout;
+
+  /** Set the number of child nodes each node hands this task to, and reduces
+   *  results from.  Larger fan-outs make the distribution tree shallower,
+   *  trading fewer sequential hops for more results arriving at each node.
+   *  Defaults to the -mr_fanout command-line option.
+   *  @return this */
+  public T setFanout( int fanout ) { _fanout = (byte)Math.max(2,Math.min(fanout,Byte.MAX_VALUE)); return self(); }
+
+  /** Non-null in dense-reduce mode; names this task's node-local partials */
+  private Key _denseKey;
+
+  /** Reduce the {@link #denseResult} of this task by a reduce-scatter across
+   *  the cloud, instead of passing it up the distribution tree.  Worth it for
+   *  large dense arrays (Gram matrices, histograms, weights) on large clouds:
+   *  every node sends and receives about one copy of the array, rather than
+   *  the full array crossing log(N) sequential hops.
+   *  <p>
+   *  Within a node, results are reduced as usual; across nodes, the dense
+   *  result is nulled out before {@link #reduce} is called, so the reduction
+   *  must accept null arrays (as {@link water.util.ArrayUtils#add(double[],double[])}
+   *  does).  Other fields are reduced normally.
+   *  @return this */
+  public T setDenseReduce() { _denseKey = Key.make(); return self(); }
+
+  /** Smallest dense result, in doubles, worth a reduce-scatter */
+  public static final int DENSE_REDUCE_MIN = 1<<14;
+  /** True if a dense result of {@code len} doubles is worth a reduce-scatter
+   *  on this cloud: at least {@link #DENSE_REDUCE_MIN} long, and more nodes
+   *  than one level of the distribution tree holds.  For tasks that turn on
+   *  {@link #setDenseReduce} by themselves. */
+  public static boolean denseReduceWorthIt( long len ) {
+    return len >= DENSE_REDUCE_MIN && H2O.CLOUD.size() > H2O.ARGS.mr_fanout+1;
+  }
+
+  /** Override in dense-reduce mode: the dense numeric result of this task,
+   *  to be summed element-wise across nodes.  */
+  protected double[] denseResult() { throw H2O.unimpl(); }
+  /** Override in dense-reduce mode: replace the dense numeric result. */
+  protected void denseResult( double[] ds ) { throw H2O.unimpl(); }
+
+  /** Non-null in speculative mode; names this task's node-local parts */
+  private Key _specKey;
+
+  /** Let this task speculatively re-execute the chunks of straggling nodes.
+   *  When one node's part runs several times longer than those of its
+   *  siblings in the distribution tree, the straggler's chunks are mapped
+   *  again on the least loaded other nodes holding replicas of them, and the
+   *  first of the two results to arrive is used; the other is stopped.
+   *  Stragglers are only detected once 2 or more nodes are done; see
+   *  {@link MRSpeculator}.
+   *  <p>
+   *  Only for tasks whose map, setupLocal and closeLocal calls may safely run
+   *  twice for the same chunks: no output Vecs, no writes to chunks or the
+   *  DKV.  Only used over Frames of replicated Vecs (see
+   *  {@link Frame#replicate}); not for output-producing, dense-reduce,
+   *  run-local or once-per-node tasks, nor from clients.
+   *  @return this */
+  public T setSpeculative() { _specKey = Key.make(); return self(); }
+
+  Key specKey() { return _specKey; }
+
+  /** Speculative spare: the straggler whose chunks it maps again elsewhere */
+  transient H2ONode _specHome;
+  /** Speculative spare: the parts mapping those chunks, once launched */
+  transient private RPC<T>[] _specParts;
+
+  /** Set to stop mapping further chunks; shared by all local copies */
+  transient private AtomicBoolean _stop;
+
+  /** Straggler tracking of the child nodes, in speculative mode; shared by all local copies */
+  transient MRSpeculator _spec;
+
+  /** Node index mapping each chunk, for Frames of replicated Vecs; else null
+   *  and chunks are mapped on their home node */
+  private short[] _owners;
+
   /** Internal field to track a range of local Chunks to work on */
   transient protected int _lo, _hi;
 
@@ -395,7 +483,8 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     _topGlobal = true;
     _keys = keys;
     _nlo = selfidx(); _nhi = (short)H2O.CLOUD.size(); // Do Whole Cloud
-    setupLocal0();              // Local setup
+    _share = JobScheduler.acquire(this); // Wait for the job's turn, if any
+    setupTop();                 // Local setup
     H2O.submitTask(this);       // Begin normal execution on a FJ thread
     return getResult();         // Block For All
   }
@@ -475,7 +564,9 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     _fr = fr;                   // Record vectors to work on
     _nlo = selfidx(); _nhi = (short)H2O.CLOUD.size(); // Do Whole Cloud
     _run_local = run_local;     // Run locally by copying data, or run globally?
-    setupLocal0();              // Local setup
+    if( !run_local ) placeChunks(); // Pick replicas to map chunks on, if any
+    _share = JobScheduler.acquire(this); // Wait for the job's turn, if any
+    setupTop();                 // Local setup
     H2O.submitTask(this);       // Begin normal execution on a FJ thread
   }
 
@@ -521,67 +612,264 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       _profile._localstart = System.currentTimeMillis();
     }
     _topLocal = true;
+    if( _topGlobal && _fanout == 0 ) setFanout(H2O.ARGS.mr_fanout);
+    if( _run_local ) _denseKey = null;
+    if( _run_local || _noutputs > 0 || _denseKey != null || _owners == null || H2O.ARGS.client )
+      _specKey = null;          // No replicas to speculate on, or not safe to
+    _stop = new AtomicBoolean();
+    if( _specKey != null ) MRSpeculator.register(_specKey,_stop);
     // Check for global vs local work
     int selfidx = selfidx();
     int nlo = subShift(selfidx);
     assert nlo < _nhi;
-    final int nmid = (nlo+_nhi)>>>1; // Mid-point
-    // Client mode: split left & right, but no local work
+    // Client mode: split the whole range, but no local work
     if( H2O.ARGS.client ) {
-      if(_doProfile)
-        _profile._rpcLstart = System.currentTimeMillis();
-      _nleft = _run_local ? null : remote_compute(nlo ,nmid);
-      if(_doProfile)
-        _profile._rpcRstart = System.currentTimeMillis();
-      _nrite = _run_local ? null : remote_compute(nmid,_nhi);
-      if(_doProfile)
-        _profile._rpcRdone  = System.currentTimeMillis();
+      if( !_run_local ) remote_compute_all(nlo,nlo);
       setupLocal();               // Setup any user's shared local structures; want this for possible reduction ONTO client
       if(_doProfile)
         _profile._localdone = System.currentTimeMillis();
       return;
     }
-    // Normal server mode: split left & right excluding self
-    if( !_run_local && nlo+1 < _nhi ) { // Have global work?
-      if(_doProfile)
-        _profile._rpcLstart = System.currentTimeMillis();
-      _nleft = remote_compute(nlo+1,nmid);
-      if(_doProfile)
-        _profile._rpcRstart = System.currentTimeMillis();
-      _nrite = remote_compute( nmid,_nhi);
-      if(_doProfile)
-        _profile._rpcRdone  = System.currentTimeMillis();
-    }
+    // Normal server mode: split the range excluding self
+    if( !_run_local && nlo+1 < _nhi ) // Have global work?
+      remote_compute_all(nlo,nlo+1);
     if( _fr != null ) {                       // Doing a Frame
       _lo = 0;  _hi = _fr.numCols()==0 ? 0 : _fr.anyVec().nChunks(); // Do All Chunks
       // If we have any output vectors, make a blockable Futures for them to
       // block on.
       // get the Vecs from the K/V store, to avoid racing fetches from the map calls
       _fr.vecs();
+      if( _run_local || _owners != null )
+        _prefetch = MRPrefetcher.make(_fr.vecs(),remoteChunks());
     } else if( _keys != null ) {    // Else doing a set of Keys
       _lo = 0;  _hi = _keys.length; // Do All Keys
     }
+    if( _spec != null ) _spec.local(_hi-_lo);
     setupLocal();               // Setup any user's shared local structures
     if(_doProfile)
       _profile._localdone = System.currentTimeMillis();
   }
 
+  // Split the node range [nlo,_nhi) into _fanout sub-ranges, the first one
+  // starting at 'start' (past self, unless a client), and hand each to a
+  // child node.  With a fan-out of 2 this is the classic binary split at
+  // (nlo+_nhi)/2.
+  private void remote_compute_all( int nlo, int start ) {
+    int k = _fanout;
+    _nkids = new RPC[k];
+    if( _specKey != null ) _spec = new MRSpeculator(this,k);
+    if(_doProfile)
+      _profile._rpcLstart = System.currentTimeMillis();
+    int lo = start;
+    for( int i=1; i<=k; i++ ) {
+      int hi = i==k ? _nhi : Math.max(start, nlo + (_nhi-nlo)*i/k);
+      _nkids[i-1] = remote_compute(lo,hi,i-1);
+      lo = hi;
+      if(_doProfile && i==1)
+        _profile._rpcRstart = System.currentTimeMillis();
+    }
+    if(_doProfile)
+      _profile._rpcRdone  = System.currentTimeMillis();
+    if( _spec != null ) _spec.watch();
+  }
+
   // Make an RPC call to some node in the middle of the given range.  Add a
   // pending completion to self, so that we complete when the RPC completes.
-  private RPC<T> remote_compute( int nlo, int nhi ) {
+  private RPC<T> remote_compute( int nlo, int nhi, int kid ) {
     if( nlo < nhi ) {  // have remote work
       int node = addShift(nlo);
       assert node != H2O.SELF.index(); // Not the same as selfidx() if this is a client
+      H2ONode target = H2O.CLOUD._memary[node];
       T mrt = copyAndInit();
       mrt._nhi = (short) nhi;
+      // In speculative mode, keep a clean copy to redo a single node's work
+      T spare = _spec != null && nhi-nlo == 1 ? specCopy(target) : null;
+      H2O.H2OCountedCompleter cc = _spec == null ? this : _spec.completer(kid);
+      mrt.setCompleter(cc);
       addToPendingCount(1);       // Not complete until the RPC returns
       // Set self up as needing completion by this RPC: when the ACK comes back
       // we'll get a wakeup.
-      return new RPC<>(H2O.CLOUD._memary[node], mrt).addCompleter(this).call();
+      RPC<T> rpc = new RPC<>(target, mrt).addCompleter(cc).call();
+      if( _spec != null ) _spec.child(kid, rpc, spare==null ? null : target, spare);
+      return rpc;
     }
     return null; // nlo >= nhi => no remote work
   }
 
+  // A spare copy of this task, to map the chunks given to 'home' on other
+  // nodes should 'home' straggle.
+  private T specCopy( H2ONode home ) {
+    T x = copyAndInit();
+    x._profile = null;
+    x._spec = null;
+    ((MRTask)x)._stop = null;
+    x._specHome = home;
+    return x;
+  }
+
+  // Launch a speculative spare, completing into 'cc' instead of the parent:
+  // each of the straggler's chunks goes to its least loaded other holder,
+  // with one part per node, and the parts' results are reduced into this
+  // spare.  False, launching nothing, if some chunk has no other holder.
+  boolean specLaunch( final H2O.H2OCountedCompleter cc ) {
+    short[] alt = specPlace(_specHome.index());
+    if( alt == null ) return false;
+    H2ONode[] nodes = H2O.CLOUD._memary;
+    boolean[] used = new boolean[nodes.length];
+    int nparts = 0;
+    for( short a : alt )
+      if( a >= 0 && !used[a] ) { used[a] = true; nparts++; }
+    final RPC<T>[] parts = new RPC[nparts];
+    H2O.H2OCountedCompleter join = new H2O.H2OCountedCompleter(cc) {
+      @Override protected void compute2() { throw H2O.fail(); }
+      @Override public byte priority() { return MRTask.this.priority(); }
+      @Override public void onCompletion( CountedCompleter caller ) {
+        T res = null;
+        for( RPC<T> rpc : parts ) {
+          T mrt = rpc.get();
+          if( mrt == null || mrt._nhi == -1 ) continue;
+          if( res == null ) res = mrt;
+          else res.reduce4(mrt);
+        }
+        if( res == null ) _nhi = -1; // No results at all
+        else copyOver(res);
+      }
+      @Override public boolean onExceptionalCompletion( Throwable ex, CountedCompleter caller ) {
+        stop();                 // Stop the other parts
+        return true;
+      }
+    };
+    join.setPendingCount(Math.max(0,nparts-1));
+    _specParts = parts;
+    if( nparts == 0 ) { _nhi = -1; join.tryComplete(); return true; } // Straggler was given no chunks
+    int n = 0;
+    for( int a=0; a<nodes.length; a++ ) {
+      if( !used[a] ) continue;
+      T x = copyAndInit();
+      x._specHome = null;
+      ((MRTask)x)._specKey = Key.make();  // Its own stop flag, on its own node
+      x._nlo = (short)a;        // No remote work of its own
+      x._nhi = 1;
+      short[] owners = new short[alt.length];
+      for( int c=0; c<alt.length; c++ ) owners[c] = alt[c] == a ? (short)a : -1;
+      ((MRTask)x)._owners = owners;
+      x.setCompleter(join);
+      parts[n++] = new RPC<>(nodes[a], x).addCompleter(join).call();
+    }
+    return true;
+  }
+
+  // Stop mapping further chunks; a launched spare stops its parts
+  void stop() {
+    AtomicBoolean stop = _stop;
+    if( stop != null ) stop.set(true);
+    RPC<T>[] parts = _specParts;
+    if( parts != null )
+      for( RPC<T> rpc : parts ) {
+        if( rpc == null ) continue;
+        H2ONode target = rpc._target; // Nulled by the cancel
+        if( target != null && rpc.cancel(true) ) MRSpeculator.cancel(target, rpc._dt.specKey());
+      }
+  }
+
+  // Stopped: map nothing more
+  private boolean stopped() { return _stop != null && _stop.get(); }
+  // Node mapping chunk cidx: its home, or for replicated Vecs the holder
+  // picked by placeChunks (null if the chunk is not mapped at all, in a
+  // speculative part)
+  private H2ONode chunkNode( int cidx ) {
+    if( _owners == null ) return _fr.anyVec().chunkKey(cidx).home_node();
+    return _owners[cidx] < 0 ? null : H2O.CLOUD._memary[_owners[cidx]];
+  }
+
+  // Chunks mapped here with some column not held here, ascending
+  private int[] remoteChunks() {
+    Vec[] vecs = _fr.vecs();
+    int[] todo = new int[_hi-_lo];
+    int n = 0;
+    for( int c=_lo; c<_hi; c++ ) {
+      if( !_run_local && chunkNode(c) != H2O.SELF ) continue;
+      for( Vec v : vecs )
+        if( v != null && H2O.get(v.chunkKey(c)) == null ) { todo[n++] = c; break; }
+    }
+    return Arrays.copyOf(todo,n);
+  }
+
+  // For Frames of replicated Vecs, spread the chunks over the nodes holding
+  // copies: each chunk goes to its least loaded holder, by the chunks it was
+  // given so far scaled up by the node's load average per CPU.  Not for
+  // tasks making or writing Vecs: new chunks must be made, and writes done,
+  // on the home node.
+  private void placeChunks() {
+    if( _noutputs > 0 ) return;
+    for( Vec v : _fr.vecs() ) if( v instanceof AppendableVec ) return;
+    int rf = replicas();
+    Vec v0 = _fr.anyVec();
+    if( v0 == null || rf <= 1 ) return;
+    double[] busy = busy();
+    int[] given = new int[busy.length];
+    short[] owners = new short[v0.nChunks()];
+    for( int c=0; c<owners.length; c++ ) {
+      Key ck = v0.chunkKey(c);
+      int best = ck.D(0);       // Ties go to the home node
+      if( best < 0 ) return;    // No cloud to place on: map on the homes
+      for( int r=1; r<rf; r++ ) {
+        int idx = ck.D(r);
+        if( idx < 0 ) continue;
+        if( (given[idx]+1)*busy[idx] < (given[best]+1)*busy[best] ) best = idx;
+      }
+      given[best]++;
+      owners[c] = (short)best;
+    }
+    _owners = owners;
+  }
+
+  // Copies of each chunk of the Frame: the least replicated Vec's, capped
+  // at the cloud size
+  private int replicas() {
+    int rf = Integer.MAX_VALUE;
+    for( Vec v : _fr.vecs() ) if( v != null ) rf = Math.min(rf,v.replicas());
+    return Math.min(rf,H2O.CLOUD.size());
+  }
+
+  // Load of every node: 1 plus its load average per CPU
+  private static double[] busy() {
+    H2ONode[] nodes = H2O.CLOUD._memary;
+    double[] busy = new double[nodes.length];
+    for( int i=0; i<nodes.length; i++ ) {
+      HeartBeat hb = nodes[i]._heartbeat;
+      busy[i] = hb == null ? 1 : 1 + Math.max(0,hb._system_load_average)/Math.max(1,(int)hb._num_cpus);
+    }
+    return busy;
+  }
+
+  // Where to map the chunks placeChunks gave to straggler 's' instead: their
+  // least loaded other holder, by the same measure; -1 for all other chunks.
+  // Null if some chunk has no other holder.
+  private short[] specPlace( int s ) {
+    if( _owners == null || s < 0 ) return null;
+    int rf = replicas();
+    double[] busy = busy();
+    int[] given = new int[busy.length];
+    Vec v0 = _fr.anyVec();
+    short[] alt = new short[_owners.length];
+    for( int c=0; c<alt.length; c++ ) {
+      alt[c] = -1;
+      if( _owners[c] != s ) continue;
+      Key ck = v0.chunkKey(c);
+      int best = -1;
+      for( int r=0; r<rf; r++ ) {
+        int idx = ck.D(r);
+        if( idx < 0 || idx == s ) continue;
+        if( best == -1 || (given[idx]+1)*busy[idx] < (given[best]+1)*busy[best] ) best = idx;
+      }
+      if( best == -1 ) return null;
+      given[best]++;
+      alt[c] = (short)best;
+    }
+    return alt;
+  }
+
   /** Called from FJ threads to do local work.  The first called Task (which is
    *  also the last one to Complete) also reduces any global work.  Called
    *  internal by F/J.  Not expected to be user-called.  */
@@ -603,7 +891,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     // Zero or 1 chunks, and further chunk might not be homed here
     if( _fr==null ) {           // No Frame, so doing Keys?
       if( _keys == null ||     // Once-per-node mode
-          _hi > _lo && _keys[_lo].home() ) {
+          _hi > _lo && !stopped() && _keys[_lo].home_node() == H2O.SELF ) {
         if(_doProfile) _profile._userstart = System.currentTimeMillis();
         if( _keys != null ) map(_keys[_lo]);
         _res = self();        // Save results since called map() at least once!
@@ -611,15 +899,16 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       }
     } else if( _hi > _lo ) {    // Frame, Single chunk?
       Vec v0 = _fr.anyVec();
-      if( _run_local || v0.chunkKey(_lo).home() ) { // And chunk is homed here?
+      if( _run_local || (!stopped() && chunkNode(_lo) == H2O.SELF) ) { // And chunk is mapped here?
 
         // Make decompression chunk headers for these chunks
         Vec vecs[] = _fr.vecs();
         Chunk bvs[] = new Chunk[vecs.length];
         NewChunk [] appendableChunks = null;
+        if( _prefetch != null ) _prefetch.ahead(_lo);
         for( int i=0; i<vecs.length; i++ )
           if( vecs[i] != null ) {
-            assert _run_local || vecs[i].chunkKey(_lo).home()
+            assert _run_local || vecs[i].chunkKey(_lo).home_node() == v0.chunkKey(_lo).home_node()
               : "Chunk="+_lo+" v0="+v0+", k="+v0.chunkKey(_lo)+"   v["+i+"]="+vecs[i]+", k="+vecs[i].chunkKey(_lo);
             bvs[i] = vecs[i].chunkForChunkIdx(_lo);
           }
@@ -664,6 +953,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     }
     if(_doProfile)
       _profile._mapdone = System.currentTimeMillis();
+    if( _spec != null ) _spec.mapped();
     tryComplete();
   }
 
@@ -707,8 +997,24 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   // Block for other queued pending tasks.
   // Copy any final results into 'this', such that a return of 'this' has the results.
   protected void postLocal() {
-    reduce3(_nleft);            // Reduce global results from neighbors.
-    reduce3(_nrite);
+    // Dense-reduce mode: the node-local dense result waits for the
+    // reduce-scatter; the rest goes up the tree
+    if( _denseKey != null && _res != null ) {
+      ReduceScatter.stash(_denseKey,_res.denseResult());
+      _res.denseResult(null);
+    }
+    if( _nkids != null )
+      for( int i=0; i<_nkids.length; i++ ) {
+        T copy = _spec == null ? null : (T)_spec.winner(i);
+        if( copy != null ) reduce3(copy,0); // A speculative copy beat the straggler
+        else reduce3(_nkids[i]);            // Reduce global results from neighbors.
+      }
+    _nkids = null;
+    _spec = null;
+    if( _specKey != null ) MRSpeculator.unregister(_specKey);
+    if( _prefetch != null ) { _prefetch.done(); _prefetch = null; }
+    if( _denseKey != null && _topGlobal && _res != null )
+      _res.denseResult(ReduceScatter.reduce(_denseKey,nextThrPriority()));
     if(_doProfile)
       _profile._remoteBlkDone = System.currentTimeMillis();
     _fs.blockForPending();
@@ -728,20 +1034,38 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       if (_fr != null)      // Do any post-writing work (zap rollup fields, etc)
         _fr.postWrite(_fs).blockForPending();
       postGlobal();             // User's continuation work
+      releaseShare();
     }
 
   }
 
+  // Local setup of a top-level pass.  The task never runs if setup throws,
+  // so give up the job's slot here.
+  private void setupTop() {
+    boolean ok = false;
+    try { setupLocal0(); ok = true; }
+    finally { if( !ok ) releaseShare(); }
+  }
+
+  // Give the job's slot to the next pass, once
+  private void releaseShare() {
+    JobScheduler.Share share = _share;
+    _share = null;
+    if( share != null ) JobScheduler.release(share);
+  }
+
   // Block for RPCs to complete, then reduce global results into self results
   private void reduce3( RPC<T> rpc ) {
     if( rpc == null ) return;
-    T mrt = rpc.get();          // This is a blocking remote call
+    reduce3(rpc.get(), rpc.size_rez()); // This is a blocking remote call
+  }
+  private void reduce3( T mrt, int size_rez ) {
     // Note: because _fs is transient it is not set or cleared by the RPC.
     // Because the MRT object is a clone of 'self' it's likely to contain a ptr
     // to the self _fs which will be not-null and still have local pending
     // blocks.  Not much can be asserted there.
     if(_doProfile)
-      _profile.gather(mrt._profile, rpc.size_rez());
+      _profile.gather(mrt._profile, size_rez);
     // Unlike reduce2, results are in mrt directly not mrt._res.
     if( mrt._nhi != -1L ) {     // Any results at all?
       if( _res == null ) _res = mrt;
@@ -782,8 +1106,19 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
 
     // Since blocking can throw (generally the same exception, again and again)
     // catch & ignore, keeping only the first one we already got.
-    if( _nleft != null ) try { _nleft.get(); } catch( Throwable ignore ) { } _nleft = null;
-    if( _nrite != null ) try { _nrite.get(); } catch( Throwable ignore ) { } _nrite = null;
+    RPC<T>[] nkids = _nkids;
+    if( nkids != null )
+      for( RPC<T> rpc : nkids )
+        if( rpc != null ) try { rpc.get(); } catch( Throwable ignore ) { }
+    _nkids = null;
+    if( _specKey != null && _topLocal ) MRSpeculator.unregister(_specKey);
+    if( _prefetch != null && _topLocal ) _prefetch.done();
+    // Dense-reduce mode: no reduce-scatter will fetch the stashed partials
+    if( _denseKey != null ) {
+      if( _topGlobal ) try { ReduceScatter.clear(_denseKey); } catch( Throwable ignore ) { }
+      else if( _topLocal ) ReduceScatter.drop(_denseKey);
+    }
+    if( _topGlobal ) releaseShare();
 
     return super.onExceptionalCompletion(ex, caller);
   }
@@ -794,7 +1129,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     x._topGlobal = false;
     x.setCompleter(this); // Set completer, what used to be a final field
     x._topLocal = false;  // Not a top job
-    x._nleft = x._nrite = null;
+    x._nkids = null;
     x. _left = x. _rite = null;
     x._fs = _fs;
     if( _doProfile )  x._profile = new MRProfile(this);
@@ -1,7 +1,13 @@
 package water;
 
 import java.lang.management.*;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.management.Notification;
 import javax.management.NotificationEmitter;
@@ -9,6 +15,7 @@ import jsr166y.ForkJoinPool.ManagedBlocker;
 import jsr166y.ForkJoinPool;
 import water.util.Log;
 import water.util.PrettyPrint;
+import water.util.UnsafeUtils;
 
 /**
  * Manages memory assigned to key/value pairs. All byte arrays used in
@@ -284,6 +291,57 @@ abstract public class MemoryManager {
   public static long   [] arrayCopyOf( long  [] orig, int sz) { return arrayCopyOfRange(orig,0,sz); }
   public static double [] arrayCopyOf( double[] orig, int sz) { return arrayCopyOfRange(orig,0,sz); }
 
+  // Off-heap tier: serialized Chunks of cold Values held outside the Java
+  // heap, so they are neither scanned nor copied by the GC.  Sized by
+  // -off_heap_mb; the Cleaner moves cold Chunks here and spills the eldest
+  // to ICE when the tier is full.  Fixed-width Chunks read their copy in
+  // place; the rest deserialize from a heap copy.
+  static final AtomicLong OFF_HEAP_USED = new AtomicLong();
+  static long offHeapMax() { return (long)H2O.ARGS.off_heap_mb << 20; }
+  static boolean offHeapEnabled() { return H2O.ARGS.off_heap_mb > 0; }
+
+  // Copy mem into the off-heap tier; returns null if the tier is full (or the
+  // OS refuses more memory).
+  static OffHeap mallocOffHeap( byte[] mem ) {
+    final int len = mem.length;
+    if( OFF_HEAP_USED.addAndGet(len) > offHeapMax() ) {
+      OFF_HEAP_USED.addAndGet(-len);
+      return null;
+    }
+    long adr;
+    try { adr = UnsafeUtils.malloc(len); }
+    catch( OutOfMemoryError e ) { // Native memory exhausted; no logging here
+      OFF_HEAP_USED.addAndGet(-len);
+      return null;
+    }
+    UnsafeUtils.copyOut(mem,adr);
+    OffHeap oh = new OffHeap(adr,len);
+    OFF_HEAP_LIVE.add(new OffHeapRef(oh));
+    return oh;
+  }
+
+  // Off-heap copies are never freed explicitly: Values and the Chunks reading
+  // in place both hold the OffHeap, so a copy is freed only after the GC
+  // finds its OffHeap unreachable.  The refs are kept strongly reachable
+  // until then, and drained by the Cleaner and by each new allocation.
+  private static final ReferenceQueue<OffHeap> OFF_HEAP_DEAD = new ReferenceQueue<>();
+  private static final Set<OffHeapRef> OFF_HEAP_LIVE = Collections.newSetFromMap(new ConcurrentHashMap<OffHeapRef,Boolean>());
+  private static final class OffHeapRef extends PhantomReference<OffHeap> {
+    final long _adr;
+    final int _len;
+    OffHeapRef( OffHeap oh ) { super(oh,OFF_HEAP_DEAD); _adr = oh._adr; _len = oh._len; }
+  }
+  static void freeDeadOffHeap() {
+    Reference<? extends OffHeap> ref;
+    while( (ref = OFF_HEAP_DEAD.poll()) != null ) {
+      OffHeapRef r = (OffHeapRef)ref;
+      if( OFF_HEAP_LIVE.remove(r) ) {
+        UnsafeUtils.free(r._adr);
+        OFF_HEAP_USED.addAndGet(-r._len);
+      }
+    }
+  }
+
   // Memory available for tasks (we assume 3/4 of the heap is available for tasks)
   static final AtomicLong _taskMem = new AtomicLong(MEM_MAX-(MEM_MAX>>2));
 
@@ -0,0 +1,33 @@
+package water;
+
+import java.nio.MappedByteBuffer;
+
+import water.util.UnsafeUtils;
+
+/**
+ * Serialized Chunk bytes held outside the Java heap: either in the off-heap
+ * tier (see {@link MemoryManager}), or in a memory-mapped ICE file (see
+ * {@code -ice_mmap}).  Fixed-width Chunks read them in place at {@link #_adr};
+ * every reader holds this object, and the memory is freed or unmapped only
+ * after the GC finds it unreachable.
+ */
+public final class OffHeap {
+  /** Address of the first byte; never moved by the GC */
+  public final long _adr;
+  /** Number of bytes */
+  public final int _len;
+  // The mapping backing _adr, or null for tier memory.  Held only to keep
+  // the file mapped; the JDK unmaps it once this OffHeap is unreachable.
+  private final MappedByteBuffer _map;
+  OffHeap( long adr, int len ) { _adr = adr; _len = len; _map = null; }
+  public OffHeap( MappedByteBuffer map, int len ) { _adr = UnsafeUtils.address(map); _len = len; _map = map; }
+  /** @return true if the bytes are a mapped file, not tier memory */
+  public boolean isMapped() { return _map != null; }
+
+  /** @return A fresh heap copy of the bytes */
+  public byte[] toBytes() {
+    byte[] mem = MemoryManager.malloc1(_len);
+    UnsafeUtils.copyIn(_adr,mem);
+    return mem;
+  }
+}
@@ -0,0 +1,131 @@
+package water;
+
+import water.nbhm.NonBlockingHashMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reduce-scatter of the dense {@code double[]} result of an MRTask.
+ *
+ * Every node stashes its node-local partial result under the task's key
+ * instead of shipping it up the reduction tree.  Once all nodes are done the
+ * root asks each of the N nodes to sum one N-th of the array; node i fetches
+ * segment i from every node, adds them up, and returns just that segment.
+ * Each node thus sends and receives about one full array in total, and the
+ * root receives the result once - where the tree reduction moves the full
+ * array across log(N) sequential hops, and into the root once per child.
+ */
+final class ReduceScatter {
+  // Node-local partials, by task key, until all segment owners fetched them
+  private static final NonBlockingHashMap<Key,Partial> PARTIALS = new NonBlockingHashMap<>();
+
+  private static final class Partial {
+    final double[] _ds;
+    final AtomicInteger _fetches;   // Segment owners still to fetch
+    Partial( double[] ds, int n ) { _ds = ds; _fetches = new AtomicInteger(n); }
+  }
+
+  private ReduceScatter() {}
+
+  /** Stash this node's partial result of the task keyed by {@code key} */
+  static void stash( Key key, double[] ds ) {
+    if( ds != null ) PARTIALS.put(key, new Partial(ds, H2O.CLOUD.size()));
+  }
+
+  /** Drop this node's partial of the task keyed by {@code key}, if any */
+  static void drop( Key key ) { PARTIALS.remove(key); }
+
+  /** Drop the partials of the failed task keyed by {@code key} on every node.
+   *  Blocking; called on the root once the whole task has stopped, so no
+   *  node stashes after this. */
+  static void clear( Key key ) {
+    drop(key);
+    Futures fs = new Futures();
+    for( H2ONode node : H2O.CLOUD._memary )
+      if( node != H2O.SELF ) fs.add(new RPC<>(node, new Drop(key)).call());
+    fs.blockForPending();
+  }
+
+  /** Reduce-scatter the partials stashed under {@code key} across the cloud,
+   *  and gather the summed segments.  Blocking; called on the root once every
+   *  node has stashed.
+   *  @return The summed array, or null if no node had a partial */
+  static double[] reduce( Key key, byte priority ) {
+    final int n = H2O.CLOUD.size();
+    RPC<SumSegment>[] rpcs = new RPC[n];
+    for( int i=0; i<n; i++ )
+      rpcs[i] = new RPC<>(H2O.CLOUD._memary[i], new SumSegment(key, i, n, priority)).call();
+    double[][] segs = new double[n][];
+    int len = 0;
+    boolean any = false;
+    for( int i=0; i<n; i++ ) {
+      segs[i] = rpcs[i].get()._ds;
+      if( segs[i] != null ) { any = true; len += segs[i].length; }
+    }
+    if( !any ) return null;
+    double[] res = new double[len];
+    int off = 0;
+    for( double[] seg : segs ) {
+      if( seg == null ) continue;
+      System.arraycopy(seg, 0, res, off, seg.length);
+      off += seg.length;
+    }
+    return res;
+  }
+
+  // Bounds of segment 'seg' of 'nsegs' in an array of 'len'
+  static int segStart( int len, int seg, int nsegs ) { return (int)((long)len*seg/nsegs); }
+
+  /** Runs on the owner of one segment: fetch it from every node and sum */
+  private static class SumSegment extends DTask<SumSegment> {
+    final Key _key;
+    final int _seg, _nsegs;
+    final byte _prior;
+    double[] _ds;               // Result: the summed segment
+    SumSegment( Key key, int seg, int nsegs, byte prior ) { _key = key; _seg = seg; _nsegs = nsegs; _prior = prior; }
+    @Override public byte priority() { return _prior; }
+    @Override public void compute2() {
+      RPC<FetchSegment>[] rpcs = new RPC[H2O.CLOUD.size()];
+      for( int i=0; i<rpcs.length; i++ )
+        rpcs[i] = new RPC<>(H2O.CLOUD._memary[i], new FetchSegment(_key, _seg, _nsegs)).call();
+      for( RPC<FetchSegment> rpc : rpcs ) {
+        double[] ds = rpc.get()._ds;
+        if( ds == null ) continue;
+        if( _ds == null ) _ds = ds;
+        else {
+          assert _ds.length == ds.length : "Dense results of differing lengths";
+          for( int i=0; i<ds.length; i++ ) _ds[i] += ds[i];
+        }
+      }
+      tryComplete();
+    }
+  }
+
+  /** Runs on each node: drop the local partial of a failed task */
+  private static class Drop extends DTask<Drop> {
+    final Key _key;
+    Drop( Key key ) { _key = key; }
+    @Override public byte priority() { return H2O.GET_KEY_PRIORITY; }
+    @Override public void compute2() { drop(_key); tryComplete(); }
+  }
+
+  /** Runs on each node: return one segment of the local partial, dropping the
+   *  partial once every segment has been handed out.  Never blocks. */
+  private static class FetchSegment extends DTask<FetchSegment> {
+    final Key _key;
+    final int _seg, _nsegs;
+    double[] _ds;               // Result: the segment of the local partial
+    FetchSegment( Key key, int seg, int nsegs ) { _key = key; _seg = seg; _nsegs = nsegs; }
+    @Override public byte priority() { return H2O.GET_KEY_PRIORITY; }
+    @Override public void compute2() {
+      Partial p = PARTIALS.get(_key);
+      if( p != null ) {
+        int lo = segStart(p._ds.length, _seg, _nsegs), hi = segStart(p._ds.length, _seg+1, _nsegs);
+        _ds = new double[hi-lo];
+        System.arraycopy(p._ds, lo, _ds, 0, hi-lo);
+        if( p._fetches.decrementAndGet() == 0 ) PARTIALS.remove(_key);
+      }
+      tryComplete();
+    }
+  }
+}
@@ -0,0 +1,464 @@
+package water;
+
+import jsr166y.ForkJoinPool;
+import water.util.LZ4;
+import water.util.Log;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selector-driven transport for large node-to-node messages.
+ *
+ * The default transport opens a private socket per in-flight large message
+ * (pooling two per peer) and starts a reader thread per accepted socket.
+ * This one keeps a single long-lived connection to each peer and multiplexes
+ * every large message to that peer over it, with a small fixed set of I/O
+ * threads doing all the socket work for all connections.
+ *
+ * A message is a stream of chunks, each at most one {@link AutoBuffer} buffer
+ * (64K) long, shipped as it fills: neither end ever holds a message whole.
+ * Each chunk travels as a frame: a 4-byte length, the 4-byte stream id, the
+ * 4-byte uncompressed length (0 if not compressed, see {@link TCPCompression}),
+ * a flags byte ({@link #LAST} or {@link #ABORT}), the message's control byte,
+ * then the bytes.  A sender has at most one chunk queued, and fills the next
+ * only once that one is on the socket, so the chunks of all the messages to
+ * a peer interleave: a small message waits behind one chunk of a large one,
+ * not behind all of it.
+ *
+ * The reader answers the last chunk of every message with its stream id, and
+ * the sender blocks in {@link AutoBuffer#close} until that answer comes back -
+ * the same delivery guarantee as the 0xab/0xcd handshake of the
+ * socket-per-message path, so RPC retry logic is unchanged.  A broken
+ * connection fails all messages in flight on it; the next send reconnects.
+ *
+ * A connection starts with a {@link #MAGIC} preamble.  Every node of a cloud
+ * must run the same transport; a node on the default transport cannot parse
+ * frames.
+ *
+ * Received messages are decoded off the I/O threads, on the F/J pool at the
+ * priority of their message type.  Decoding starts with the first chunk and
+ * blocks (as a managed blocker) for the rest, so a large deserialization
+ * never stalls other connections.
+ */
+final class SelectorTransport {
+  static final int MAGIC = 0x48324F53; // "H2OS"
+  static final int HDR = 14;           // Frame header bytes
+  static final byte LAST = 1;          // Frame flag: final chunk of its message
+  static final byte ABORT = 2;         // Frame flag: sender gave up on the message
+
+  private static IOThread[] THREADS;
+  private static final AtomicInteger NEXT = new AtomicInteger();
+
+  private SelectorTransport() {}
+
+  /** True if large messages go over the selector transport */
+  static boolean enabled() { return THREADS != null; }
+
+  /** Start the I/O threads; called once at startup. */
+  static synchronized void start( int nthreads ) {
+    assert THREADS == null;
+    IOThread[] ts = new IOThread[nthreads];
+    try {
+      for( int i = 0; i < nthreads; i++ ) ts[i] = new IOThread(i);
+    } catch( IOException e ) {
+      throw Log.throwErr(e);
+    }
+    for( IOThread t : ts ) t.start();
+    THREADS = ts;
+    Log.info("TCP transport: selector with " + nthreads + " I/O threads");
+  }
+
+  private static IOThread pick() { return THREADS[(NEXT.getAndIncrement() & Integer.MAX_VALUE) % THREADS.length]; }
+
+  /** Take over a freshly accepted inbound connection. */
+  static void accept( SocketChannel sock ) throws IOException {
+    sock.socket().setTcpNoDelay(true);
+    sock.configureBlocking(false);
+    new Conn(sock, null, pick()).register();
+  }
+
+  /** Open the outbound connection to a peer. */
+  static Conn connect( H2ONode h2o ) throws IOException {
+    SocketChannel sock = SocketChannel.open();
+    try {
+      sock.socket().setReuseAddress(true);
+      sock.socket().setSendBufferSize(AutoBuffer.BBP_BIG.size());
+      sock.socket().setTcpNoDelay(true);
+      sock.connect(h2o._key);
+      ByteBuffer bb = ByteBuffer.allocate(4).putInt(MAGIC);
+      bb.flip();
+      while( bb.hasRemaining() ) sock.write(bb);
+      sock.configureBlocking(false);
+    } catch( IOException e ) {
+      try { sock.close(); } catch( IOException ignore ) { }
+      throw e;
+    }
+    Conn c = new Conn(sock, h2o, pick());
+    c.register();
+    return c;
+  }
+
+  /** Start a message to a peer, optionally compressed chunk by chunk. */
+  static Stream open( H2ONode h2o, boolean compress ) throws IOException {
+    Conn c = h2o.getSelectorConn();
+    return new Stream(c, c._ids.incrementAndGet(), compress);
+  }
+
+  // One outbound message: its chunks go out in order over one connection
+  static final class Stream {
+    final Conn _conn;
+    final int _id;
+    final boolean _compress;
+    private int _ctrl = -1;     // Control byte, from the first chunk
+    private boolean _done;
+    Stream( Conn conn, int id, boolean compress ) { _conn = conn; _id = id; _compress = compress; }
+
+    /** Ship the next chunk (between position and limit); block until it is
+     *  on the socket, so the caller may refill the buffer.  The last chunk
+     *  instead blocks until the peer has read the whole message.
+     *  @throws IOException if the connection fails before that */
+    void send( ByteBuffer chunk, boolean last ) throws IOException {
+      assert !_done;
+      if( _ctrl == -1 ) _ctrl = chunk.get(chunk.position()) & 0xFF;
+      Frame f = new Frame(_id, last ? LAST : 0, _ctrl, chunk, _compress);
+      _done = last;
+      _conn.enqueue(f);
+      f.await();
+    }
+
+    /** Tell the peer to drop a message that will not be finished */
+    void abort() {
+      if( _done ) return;
+      _done = true;
+      try { _conn.enqueue(new Frame(_id, ABORT, _ctrl, ByteBuffer.allocate(0), false)); }
+      catch( IOException ignore ) { } // Connection gone; the peer drops the message anyway
+    }
+  }
+
+  // One chunk in flight: header and body, and the sender waiting on it
+  static final class Frame {
+    final int _id;
+    final boolean _last;
+    final ByteBuffer[] _bufs;
+    private boolean _done;
+    private IOException _err;
+    Frame( int id, byte flags, int ctrl, ByteBuffer chunk, boolean compress ) {
+      _id = id;
+      _last = flags == LAST;
+      int rawlen = 0, len = chunk.remaining();
+      if( compress && len >= TCPCompression.MIN_BYTES ) {
+        byte[] raw = chunk.hasArray() ? chunk.array() : null;
+        int off = chunk.hasArray() ? chunk.arrayOffset()+chunk.position() : 0;
+        if( raw == null ) chunk.duplicate().get(raw = MemoryManager.malloc1(len));
+        byte[] z = MemoryManager.malloc1(LZ4.maxCompressedLength(len));
+        int zlen = TCPCompression.compress(raw, off, len, z, 0);
+        if( zlen >= 0 ) { chunk = ByteBuffer.wrap(z, 0, zlen); rawlen = len; }
+      }
+      ByteBuffer hdr = ByteBuffer.allocate(HDR).putInt(chunk.remaining()).putInt(id).putInt(rawlen).put(flags).put((byte)ctrl);
+      hdr.flip();
+      _bufs = new ByteBuffer[]{hdr, chunk};
+    }
+    boolean written() { return !_bufs[1].hasRemaining(); }
+    synchronized void finish( IOException err ) { _err = err; _done = true; notifyAll(); }
+    synchronized void await() throws IOException {
+      while( !_done )
+        try { wait(); } catch( InterruptedException ignore ) { }
+      if( _err != null ) throw _err;
+    }
+  }
+
+  // One socket.  Outbound connections send chunks and read stream ids back;
+  // inbound connections read chunks and write the ids back.  All socket work
+  // and all state below, except the send queue, belong to the connection's
+  // I/O thread.
+  static final class Conn {
+    final SocketChannel _sock;
+    final H2ONode _peer;        // Node we send to, or null if inbound
+    final InetAddress _addr;    // Remote address, for interning senders
+    final IOThread _io;
+    private SelectionKey _key;
+    private volatile boolean _closed;
+
+    // Outbound
+    private final AtomicInteger _ids = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Frame> _sendQ = new ConcurrentLinkedQueue<>();
+    private final HashMap<Integer,Frame> _inflight = new HashMap<>(); // Last chunks awaiting their ack
+    private Frame _writing;     // Frame partially written
+    private final ByteBuffer _ackIn = ByteBuffer.allocate(4);
+
+    // Inbound
+    private final ByteBuffer _hdr = (ByteBuffer)ByteBuffer.allocate(HDR).limit(4); // Magic first
+    private boolean _magic = true;
+    private int _id, _rawlen;
+    private byte _flags, _ctrl;
+    private ByteBuffer _body;   // Chunk being read
+    private final HashMap<Integer,InStream> _streams = new HashMap<>(); // Messages being received
+    private final ArrayDeque<Integer> _acks = new ArrayDeque<>();
+    private ByteBuffer _ackOut;
+
+    Conn( SocketChannel sock, H2ONode peer, IOThread io ) {
+      _sock = sock; _peer = peer; _io = io;
+      _addr = sock.socket().getInetAddress();
+    }
+
+    boolean isOpen() { return !_closed; }
+
+    void register() { _io.wake(this); }
+
+    void enqueue( Frame f ) throws IOException {
+      _sendQ.add(f);
+      // Lost a race with close(), which may have drained the queue already
+      if( _closed && _sendQ.remove(f) ) throw new IOException("Connection to " + _peer + " closed");
+      _io.wake(this);
+    }
+
+    // I/O thread: register, or update interest after new sends were queued
+    void update() throws IOException {
+      if( _closed ) return;
+      if( _key == null ) _key = _sock.register(_io._sel, SelectionKey.OP_READ, this);
+      if( !_sendQ.isEmpty() ) _key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    void read() throws IOException {
+      if( _peer != null ) readAcks();
+      else readFrames();
+    }
+
+    private void readAcks() throws IOException {
+      while( true ) {
+        if( _sock.read(_ackIn) == -1 ) throw new EOFException("Connection closed by " + _peer);
+        if( _ackIn.hasRemaining() ) return;
+        _ackIn.flip();
+        int id = _ackIn.getInt();
+        _ackIn.clear();
+        Frame f = _inflight.remove(id);
+        if( f == null ) throw new IOException("Unexpected message ack " + id + " from " + _peer);
+        f.finish(null);
+      }
+    }
+
+    private void readFrames() throws IOException {
+      while( true ) {
+        ByteBuffer bb = _body == null ? _hdr : _body;
+        if( _sock.read(bb) == -1 ) {
+          if( _body == null && _hdr.position() == 0 ) throw new EOFException(); // Peer done with us, between frames
+          throw new EOFException("Connection closed by " + _addr + " mid-frame");
+        }
+        if( bb.hasRemaining() ) return;
+        if( _body == null ) {
+          _hdr.flip();
+          if( _magic ) {
+            int m = _hdr.getInt();
+            if( m != MAGIC )
+              throw new IOException("Not a selector transport peer: " + _addr + "; all nodes must use the same -nio_threads setting");
+            _magic = false;
+          } else {
+            int len = _hdr.getInt();
+            _id = _hdr.getInt();
+            _rawlen = _hdr.getInt();
+            _flags = _hdr.get();
+            _ctrl = _hdr.get();
+            if( len < 0 || len > LZ4.maxCompressedLength(AutoBuffer.BBP_BIG.size()) )
+              throw new IOException("Bad chunk length " + len + " from " + _addr);
+            _body = ByteBuffer.wrap(MemoryManager.malloc1(len));
+          }
+          _hdr.clear();
+        } else {
+          byte[] chunk = _body.array();
+          _body = null;
+          InStream s = _streams.get(_id);
+          if( _flags == ABORT ) {
+            if( s != null ) { _streams.remove(_id); s.fail(new EOFException("Message aborted by " + _addr)); }
+            continue;
+          }
+          if( s == null ) {     // First chunk: start decoding now
+            _streams.put(_id, s = new InStream());
+            H2O.submitTask(new FrameTask(_addr, s, _ctrl & 0xFF));
+          }
+          s.add(chunk, _rawlen, _flags == LAST);
+          if( _flags == LAST ) {
+            _streams.remove(_id);
+            _acks.add(_id);
+            _key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+          }
+        }
+      }
+    }
+
+    void write() throws IOException {
+      while( true ) {
+        if( _ackOut == null && !_acks.isEmpty() ) {
+          _ackOut = ByteBuffer.allocate(_acks.size() << 2);
+          while( !_acks.isEmpty() ) _ackOut.putInt(_acks.poll());
+          _ackOut.flip();
+        }
+        if( _ackOut != null ) {
+          _sock.write(_ackOut);
+          if( _ackOut.hasRemaining() ) return; // Socket full; stay interested in writes
+          _ackOut = null;
+          continue;
+        }
+        if( _writing == null && (_writing = _sendQ.poll()) == null ) break;
+        _sock.write(_writing._bufs);
+        if( !_writing.written() ) return; // Socket full; stay interested in writes
+        if( _writing._last ) _inflight.put(_writing._id, _writing);
+        else _writing.finish(null); // Sender may refill its buffer
+        _writing = null;
+      }
+      _key.interestOps(SelectionKey.OP_READ);
+    }
+
+    // I/O thread: drop the socket and fail everything in flight on it
+    void close( Throwable cause ) {
+      if( _closed ) return;
+      _closed = true;
+      if( _key != null ) _key.cancel();
+      try { _sock.close(); } catch( IOException ignore ) { }
+      IOException e = cause instanceof IOException ? (IOException)cause : new IOException(cause);
+      int n = 0;
+      if( _writing != null ) { _writing.finish(e); _writing = null; n++; }
+      for( Frame f : _inflight.values() ) { f.finish(e); n++; }
+      _inflight.clear();
+      Frame f;
+      while( (f = _sendQ.poll()) != null ) { f.finish(e); n++; }
+      EOFException eof = new EOFException("Connection closed by " + _addr + " mid-message");
+      for( InStream s : _streams.values() ) { s.fail(eof); n++; }
+      _streams.clear();
+      if( _peer != null || !(cause instanceof EOFException) || cause.getMessage() != null )
+        Log.info("TCP connection " + (_peer != null ? "to " + _peer : "from " + _addr) + " closed, " + n + " messages failed: " + cause);
+    }
+  }
+
+  // The chunks of one inbound message, handed from the I/O thread to the
+  // decoding AutoBuffer; compressed chunks are expanded by the reader.
+  static final class InStream implements ByteChannel, ForkJoinPool.ManagedBlocker {
+    private final ArrayDeque<Piece> _chunks = new ArrayDeque<>();
+    private boolean _eof, _closed;
+    private IOException _err;
+    private ByteBuffer _cur;    // Chunk being handed out; reader only
+
+    synchronized void add( byte[] bytes, int rawlen, boolean last ) {
+      if( !_closed ) _chunks.add(new Piece(bytes, rawlen));
+      _eof |= last;
+      notifyAll();
+    }
+    synchronized void fail( IOException e ) { _err = e; _eof = true; notifyAll(); }
+
+    @Override public synchronized boolean isReleasable() { return _eof || !_chunks.isEmpty(); }
+    @Override public synchronized boolean block() throws InterruptedException {
+      while( !isReleasable() ) wait();
+      return true;
+    }
+
+    @Override public int read( ByteBuffer dst ) throws IOException {
+      while( _cur == null || !_cur.hasRemaining() ) {
+        Piece c;
+        synchronized( this ) {
+          if( (c = _chunks.poll()) == null && _eof ) {
+            if( _err != null ) throw _err;
+            return -1;
+          }
+        }
+        if( c == null ) {
+          try { ForkJoinPool.managedBlock(this); } catch( InterruptedException ignore ) { }
+          continue;
+        }
+        byte[] bytes = c._bytes;
+        if( c._rawlen > 0 ) {
+          bytes = MemoryManager.malloc1(c._rawlen);
+          TCPCompression.decompress(c._bytes, 0, c._bytes.length, bytes, 0, c._rawlen);
+        }
+        _cur = ByteBuffer.wrap(bytes);
+      }
+      int n = Math.min(_cur.remaining(), dst.remaining());
+      ByteBuffer src = _cur.duplicate();
+      src.limit(src.position()+n);
+      dst.put(src);
+      _cur.position(_cur.position()+n);
+      return n;
+    }
+    @Override public int write( ByteBuffer src ) { throw new UnsupportedOperationException(); }
+    @Override public synchronized boolean isOpen() { return !_closed; }
+    // Reader gave up: drop what is queued and whatever else arrives
+    @Override public synchronized void close() { _closed = true; _chunks.clear(); }
+
+    private static final class Piece {
+      final byte[] _bytes;
+      final int _rawlen;        // Uncompressed length, or 0
+      Piece( byte[] bytes, int rawlen ) { _bytes = bytes; _rawlen = rawlen; }
+    }
+  }
+
+  // Decode and handle one received message, as a TCP reader thread would
+  private static final class FrameTask extends H2O.H2OCountedCompleter {
+    final InetAddress _addr;
+    final InStream _in;
+    final int _ctrl;
+    FrameTask( InetAddress addr, InStream in, int ctrl ) { _addr = addr; _in = in; _ctrl = ctrl; }
+    @Override protected void compute2() {
+      AutoBuffer ab = new AutoBuffer(_addr, _in);
+      try {
+        ab._h2o._last_heard_from = System.currentTimeMillis();
+        TimeLine.record_recv(ab, true, 0);
+        TCPReceiverThread.handle(ab);
+      } catch( IOException e ) {
+        Log.err("IO error on TCP message from " + ab._h2o + ": ", e);
+      }
+      tryComplete();
+    }
+    @Override protected byte priority() { return UDP.udp.UDPS[_ctrl < UDP.udp.UDPS.length ? _ctrl : 0]._prior; }
+  }
+
+  // One selector and the connections registered with it
+  static final class IOThread extends Thread {
+    final Selector _sel;
+    private final ConcurrentLinkedQueue<Conn> _pending = new ConcurrentLinkedQueue<>();
+    IOThread( int i ) throws IOException {
+      super("TCP-IO-" + i);
+      setDaemon(true);
+      setPriority(MAX_PRIORITY-1);
+      _sel = Selector.open();
+    }
+
+    // Any thread: have the I/O thread (re)examine a connection
+    void wake( Conn c ) { _pending.add(c); _sel.wakeup(); }
+
+    @Override public void run() {
+      while( true ) {
+        try {
+          _sel.select();
+          Conn c;
+          while( (c = _pending.poll()) != null )
+            try { c.update(); } catch( IOException | CancelledKeyException e ) { c.close(e); }
+          Iterator<SelectionKey> it = _sel.selectedKeys().iterator();
+          while( it.hasNext() ) {
+            SelectionKey k = it.next();
+            it.remove();
+            c = (Conn)k.attachment();
+            try {
+              if( k.isValid() && k.isReadable() ) c.read();
+              if( k.isValid() && k.isWritable() ) c.write();
+            } catch( IOException | CancelledKeyException e ) {
+              c.close(e);
+            }
+          }
+        } catch( Throwable t ) {
+          Log.err("Error in TCP I/O thread " + getName() + ": ", t);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package water;
+
+import water.util.LZ4;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional compression of large node-to-node messages.
+ *
+ * Turned on per node with {@code -tcp_compress}, and advertised in the
+ * heartbeat; a node compresses what it sends to a peer only when both ends
+ * have it on.  Either end can always decode, so nodes may enable it
+ * independently.  Streamed TCP messages are compressed per 64K block, and
+ * selector-transport messages per chunk; pieces under {@link #MIN_BYTES}, or
+ * that do not shrink, are sent as they are.
+ *
+ * Counters are reported by {@link water.util.WaterMeterIo} as the "tcp"
+ * backend: store for sends, load for receives.
+ */
+public final class TCPCompression {
+  /** Pieces smaller than this are not worth compressing */
+  static final int MIN_BYTES = 4096;
+
+  // Compressed pieces, and their bytes before and after compression
+  public static final AtomicLong SENT_COUNT = new AtomicLong(), SENT_RAW = new AtomicLong(), SENT_WIRE = new AtomicLong();
+  public static final AtomicLong RECV_COUNT = new AtomicLong(), RECV_RAW = new AtomicLong(), RECV_WIRE = new AtomicLong();
+
+  private TCPCompression() {}
+
+  /** True if messages to this node should be compressed */
+  static boolean to( H2ONode h2o ) {
+    return H2O.ARGS.tcp_compress && h2o._heartbeat != null && h2o._heartbeat._tcp_compress;
+  }
+
+  /** Compress {@code src[off,off+len)} into {@code dst} at {@code doff}.
+   *  @return Compressed length, or -1 if the piece is too small or does not shrink */
+  static int compress( byte[] src, int off, int len, byte[] dst, int doff ) {
+    if( len < MIN_BYTES ) return -1;
+    int clen = LZ4.compress(src, off, len, dst, doff);
+    if( clen >= len ) return -1;
+    SENT_COUNT.incrementAndGet(); SENT_RAW.addAndGet(len); SENT_WIRE.addAndGet(clen);
+    return clen;
+  }
+
+  /** Decompress a piece of {@code clen} bytes into exactly {@code len} bytes */
+  static void decompress( byte[] src, int off, int clen, byte[] dst, int doff, int len ) {
+    LZ4.decompress(src, off, clen, dst, doff, len);
+    RECV_COUNT.incrementAndGet(); RECV_RAW.addAndGet(len); RECV_WIRE.addAndGet(clen);
+  }
+}
@@ -46,8 +46,10 @@ public class TCPReceiverThread extends Thread {
         // Block for TCP connection and setup to read from it.
         SocketChannel sock = SOCK.accept();
 
-        // Pass off the TCP connection to a separate reader thread
-        new TCPReaderThread(sock,new AutoBuffer(sock)).start();
+        // Pass off the TCP connection to the selector transport, or else to a
+        // separate reader thread
+        if( SelectorTransport.enabled() ) SelectorTransport.accept(sock);
+        else new TCPReaderThread(sock,new AutoBuffer(sock)).start();
 
       } catch( java.nio.channels.AsynchronousCloseException ex ) {
         break;                  // Socket closed for shutdown
@@ -60,6 +62,20 @@ public class TCPReceiverThread extends Thread {
     }
   }
 
+  // Hand off a TCP request to the proper handler.  Shared by the reader
+  // threads and the selector transport.
+  static void handle( AutoBuffer ab ) throws java.io.IOException {
+    int ctrl = ab.getCtrl();
+    int x = ctrl;
+    if( ctrl < 0 || ctrl >= UDP.udp.UDPS.length ) x = 0;
+    switch( UDP.udp.UDPS[x] ) {
+    case exec:     RPC.remote_exec  (ab); break;
+    case ack:      RPC.tcp_ack      (ab); break;
+    case timeline: TimeLine.tcp_call(ab); break;
+    default: throw new RuntimeException("Unknown TCP Type: " + ctrl+" "+ab._h2o);
+    }
+  }
+
   // A private thread for reading from this open socket.
   static class TCPReaderThread extends Thread {
     public SocketChannel _sock;
@@ -78,15 +94,7 @@ public class TCPReceiverThread extends Thread {
           _ab._h2o._last_heard_from = System.currentTimeMillis();
           TimeLine.record_recv(_ab, true, 0);
           // Hand off the TCP connection to the proper handler
-          int ctrl = _ab.getCtrl();
-          int x = ctrl;
-          if( ctrl < 0 || ctrl >= UDP.udp.UDPS.length ) x = 0;
-          switch( UDP.udp.UDPS[x] ) {
-          case exec:     RPC.remote_exec  (_ab); break;
-          case ack:      RPC.tcp_ack      (_ab); break;
-          case timeline: TimeLine.tcp_call(_ab); break;
-          default: throw new RuntimeException("Unknown TCP Type: " + ctrl+" "+_ab._h2o);
-          }
+          handle(_ab);
         } catch( java.nio.channels.AsynchronousCloseException ex ) {
           break;                // Socket closed for shutdown
         } catch( Throwable e ) {
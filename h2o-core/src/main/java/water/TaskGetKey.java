@@ -19,7 +19,7 @@ public class TaskGetKey extends DTask<TaskGetKey> {
   // Unify multiple Key/Value fetches for the same Key from the same Node at
   // the "same time".  Large key fetches are slow, and we'll get multiple
   // requests close in time.  Batch them up.
-  private static final NonBlockingHashMap<Key,RPC<TaskGetKey>> TGKS = new NonBlockingHashMap();
+  static final NonBlockingHashMap<Key,RPC<TaskGetKey>> TGKS = new NonBlockingHashMap();
 
   // Get a value from a named remote node
   static Value get( H2ONode target, Key key ) { return get(start(target,key)); }
@@ -36,6 +36,7 @@ public class TaskGetKey extends DTask<TaskGetKey> {
     RPC<TaskGetKey> rpc = new RPC(target,new TaskGetKey(key),1.0f);
     if( (old=TGKS.putIfMatchUnlocked(key,rpc,null)) != null )
       return old;               // Failed because an old exists
+    DKVCache.MISSES.incrementAndGet();
     rpc.setTaskNum().call();    // Start the op
     return rpc;                 // Successful install of a fresh RPC
   }
@@ -59,9 +60,16 @@ public class TaskGetKey extends DTask<TaskGetKey> {
 
   // Received an ACK; executes on the node asking&receiving the Value
   @Override public void onAck() {
-    if( _val != null ) {        // Set transient fields after deserializing
-      assert !_xkey.home() && _val._key == null;
-      _val._key = _xkey;
+    _val = install(_xkey,_val);
+    TGKS.remove(_xkey); // Clear from dup cache
+  }
+
+  // Install a Value fetched from the home node in the local store, caching
+  // the result.  Returns the Value to report.
+  static Value install( Key key, Value val ) {
+    if( val != null ) {         // Set transient fields after deserializing
+      assert !key.home() && val._key == null;
+      val._key = key;
     }
     // Now update the local store, caching the result.
 
@@ -74,11 +82,12 @@ public class TaskGetKey extends DTask<TaskGetKey> {
 
     // Hence we can do a blind putIfMatch here over a null or empty Value
     // If it fails, what is there is also the TGK result.
-    Value old = H2O.raw_get(_xkey);
+    Value old = H2O.raw_get(key);
     if( old != null && !old.isEmpty() ) old=null;
-    Value res = H2O.putIfMatch(_xkey,_val,old);
-    if( res != old ) _val = res;
-    TGKS.remove(_xkey); // Clear from dup cache
+    Value res = H2O.putIfMatch(key,val,old);
+    if( res != old ) return res;
+    DKVCache.cached(key,val);
+    return val;
   }
 
   // Received an ACKACK; executes on the node sending the Value
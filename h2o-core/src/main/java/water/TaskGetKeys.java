@@ -0,0 +1,137 @@
+package water;
+
+import water.nbhm.NonBlockingHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Get a batch of keys homed on one remote node, in a single RPC.
+ *
+ * The batch counterpart of {@link TaskGetKey}: the home node tracks this
+ * node as a replica of every Value shipped, and the Values are installed in
+ * the local store as they arrive.  Keys already cached locally, homed here,
+ * or already being fetched are left out of the batch; a {@link DKV#get} of a
+ * key in flight waits for its batch.
+ *
+ * Batches are bounded by bytes rather than keys: the home node stops adding
+ * Values once they reach {@link #MAX_BYTES}, and the keys left over are
+ * asked for again in a follow-up batch.
+ */
+class TaskGetKeys extends DTask<TaskGetKeys> {
+  /** Most Value bytes shipped in one RPC, past the first Value */
+  static final long MAX_BYTES = 4L<<20;
+
+  Key[] _keys;                // Set by client/sender JVM, cleared by server JVM
+  Value[] _vals;              // Set by server JVM, read by client JVM
+  int _nvals;                 // Keys answered, a prefix; the rest were left over
+  transient Key[] _xkeys;     // Set by client, read by client
+  transient H2ONode _h2o;     // Set by server JVM, read by server JVM on ACKACK
+
+  // Keys being fetched by a batch, so single-key gets can wait on the batch
+  private static final NonBlockingHashMap<Key,RPC<TaskGetKeys>> INFLIGHT = new NonBlockingHashMap<>();
+
+  private TaskGetKeys( Key[] keys ) { _keys = _xkeys = keys; }
+
+  /** The batch fetching Key {@code key}, or null */
+  static RPC<TaskGetKeys> inFlight( Key key ) { return INFLIGHT.get(key); }
+
+  /** The Value this batch fetched for Key {@code key}, after the ACK; for a
+   *  key left over to a follow-up batch, waits for that one instead */
+  Value value( Key key ) {
+    for( int i=0; i<_xkeys.length; i++ )
+      if( key.equals(_xkeys[i]) )
+        return i < _nvals ? _vals[i] : DKV.get(key);
+    return null;
+  }
+
+  /** Start fetching every key not available locally, with one RPC per home
+   *  node and, where the sizes are known here, up to {@link #MAX_BYTES}.
+   *  @return The RPCs started; possibly none */
+  static RPC<TaskGetKeys>[] start( Key[] keys ) {
+    H2O cloud = H2O.CLOUD;
+    ArrayList<Key>[] byNode = new ArrayList[cloud.size()];
+    for( Key key : keys ) {
+      if( key == null ) continue;
+      Value val = H2O.get(key);
+      if( val != null && (val.rawMem() != null || val.rawPOJO() != null || val.isOffHeap() || val.isPersisted()) ) continue;
+      int home = key.home(cloud);
+      H2ONode h2o = cloud._memary[home];
+      if( h2o == H2O.SELF || h2o.pendingPutKey(key) != null || TaskGetKey.TGKS.containsKey(key) || INFLIGHT.containsKey(key) ) continue;
+      if( byNode[home] == null ) byNode[home] = new ArrayList<>();
+      byNode[home].add(key);
+    }
+    ArrayList<RPC<TaskGetKeys>> rpcs = new ArrayList<>();
+    for( int i=0; i<byNode.length; i++ ) {
+      if( byNode[i] == null ) continue;
+      Key[] ks = byNode[i].toArray(new Key[byNode[i].size()]);
+      DKVCache.MISSES.addAndGet(ks.length);
+      // Split by the sizes of the empty local shells; unknown sizes count
+      // nothing here, and are capped by the home node
+      long bytes = 0;
+      int lo = 0;
+      for( int k=0; k<ks.length; k++ ) {
+        Value val = H2O.get(ks[k]);
+        long b = val == null ? 0 : Math.max(val._max,0);
+        if( k > lo && bytes+b > MAX_BYTES ) { rpcs.add(call(cloud._memary[i],Arrays.copyOfRange(ks,lo,k))); lo = k; bytes = 0; }
+        bytes += b;
+      }
+      rpcs.add(call(cloud._memary[i],Arrays.copyOfRange(ks,lo,ks.length)));
+    }
+    return rpcs.toArray(new RPC[rpcs.size()]);
+  }
+
+  private static RPC<TaskGetKeys> call( H2ONode h2o, Key[] batch ) {
+    RPC<TaskGetKeys> rpc = new RPC<>(h2o, new TaskGetKeys(batch));
+    for( Key k : batch ) INFLIGHT.put(k,rpc);
+    return rpc.call();
+  }
+
+  // Top-level non-recursive invoke
+  @Override public void dinvoke( H2ONode sender ) {
+    _h2o = sender;
+    Key[] ks = _keys;
+    _keys = null;          // Not part of the return result
+    _vals = new Value[ks.length];
+    long bytes = 0;
+    int i = 0;
+    for( ; i<ks.length && (i == 0 || bytes < MAX_BYTES); i++ ) {
+      assert ks[i].home();
+      // Track replicas so we can invalidate; retry a Value deleted under us
+      Value val;
+      do  val = H2O.get(ks[i]);
+      while( val != null && !val.setReplica(sender) );
+      _vals[i] = val;
+      if( val != null ) bytes += Math.max(val._max,0);
+    }
+    _nvals = i;
+    tryComplete();
+  }
+  @Override public void compute2() { throw H2O.fail(); }
+
+  // Received an ACK; executes on the node asking&receiving the Values
+  @Override public void onAck() {
+    for( int i=0; i<_nvals; i++ ) {
+      _vals[i] = TaskGetKey.install(_xkeys[i],_vals[i]);
+      INFLIGHT.remove(_xkeys[i]);
+    }
+    // Ask the same home node again for the keys left over; a get waiting on
+    // this batch then waits on the follow-up.  Sent from a worker thread,
+    // not from this reader of the answer.
+    if( _nvals == _xkeys.length ) return;
+    Key[] rest = Arrays.copyOfRange(_xkeys,_nvals,_xkeys.length);
+    final RPC<TaskGetKeys> rpc = new RPC<>(H2O.CLOUD._memary[rest[0].home(H2O.CLOUD)], new TaskGetKeys(rest));
+    for( Key k : rest ) INFLIGHT.put(k,rpc);
+    H2O.submitTask(new H2O.H2OCountedCompleter() {
+        @Override protected void compute2() { rpc.call(); tryComplete(); }
+        @Override public byte priority() { return H2O.GET_KEY_PRIORITY; }
+      });
+  }
+
+  // Received an ACKACK; executes on the node sending the Values
+  @Override public void onAckAck() {
+    for( int i=0; i<_nvals; i++ )
+      if( _vals[i] != null ) _vals[i].lowerActiveGetCount(_h2o);
+  }
+  @Override protected byte priority() { return H2O.GET_KEY_PRIORITY; }
+}
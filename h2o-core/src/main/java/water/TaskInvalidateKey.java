@@ -4,6 +4,10 @@ package water;
 class TaskInvalidateKey extends TaskPutKey {
   private TaskInvalidateKey(Key key){super(key,null);}
   @Override public byte priority(){return H2O.INVALIDATE_PRIORITY;}
+  @Override public void dinvoke( H2ONode sender ) {
+    DKVCache.invalidated(_key);
+    super.dinvoke(sender);
+  }
   static void invalidate( H2ONode h2o, Key key, Futures fs ) {
     fs.add(RPC.call(h2o,new TaskInvalidateKey(key)));
   }
@@ -21,6 +21,17 @@ public class TaskPutKey extends DTask<TaskPutKey> {
   protected TaskPutKey( Key key, Value val, boolean removeCache ) { _xkey = _key = key; _xval = _val = val; _dontCache = removeCache;}
 
   @Override public void dinvoke( H2ONode sender ) {
+    // Invalidate remote caches.  Block, so that all invalidates are done
+    // before we return to the remote caller.
+    Futures fs = new Futures();
+    putHome(sender,fs);
+    fs.blockForPending();
+    tryComplete();
+  }
+
+  // Install the Value on its home node; the invalidates of remote caches go
+  // on 'fs'.  Also run for each key of a batched TaskPutKeys.
+  void putHome( H2ONode sender, Futures fs ) {
     assert _key.home() || _val==null; // Only PUT to home for keys, or remote invalidation from home
     Paxos.lockCloud(_key);
     // Initialize Value for having a single known replica (the sender)
@@ -29,14 +40,11 @@ public class TaskPutKey extends DTask<TaskPutKey> {
     Value old = H2O.raw_get(_key); // Raw-get: do not lazy-manifest if overwriting
     while( H2O.putIfMatch(_key,_val,old) != old )
       old = H2O.raw_get(_key);  // Repeat until we update something.
-    // Invalidate remote caches.  Block, so that all invalidates are done
-    // before we return to the remote caller.
     if( _key.home() && old != null )
-      old.lockAndInvalidate(sender,new Futures()).blockForPending();
+      old.lockAndInvalidate(sender,fs);
     // No return result
     _key = null;
     _val = null;
-    tryComplete();
   }
   @Override public void compute2() { throw H2O.fail(); }
 
@@ -0,0 +1,48 @@
+package water;
+
+/**
+ * Push a batch of keys homed on one remote node, in a single RPC.
+ *
+ * The batch counterpart of {@link TaskPutKey}: each key travels as its own
+ * TaskPutKey, installed on the home node in order; the invalidates of all of
+ * them are sent together and awaited once before replying.  Until the reply,
+ * the puts show as pending to {@link H2ONode#pendingPutKey}.
+ */
+class TaskPutKeys extends DTask<TaskPutKeys> {
+  /** Most keys pushed in one RPC; larger batches are split */
+  static final int MAX_KEYS = 256;
+
+  TaskPutKey[] _tpks;           // Set by client/sender JVM, cleared by server JVM
+  transient TaskPutKey[] _xtpks;// Set by client, read by client
+
+  private TaskPutKeys( TaskPutKey[] tpks ) { _tpks = _xtpks = tpks; }
+
+  static void put( H2ONode h2o, TaskPutKey[] tpks, Futures fs ) {
+    fs.add(RPC.call(h2o,new TaskPutKeys(tpks)));
+  }
+
+  /** The pending put of Key {@code k} in this batch, or null */
+  TaskPutKey pending( Key k ) {
+    for( TaskPutKey tpk : _xtpks )
+      if( k.equals(tpk._key) )
+        return tpk;
+    return null;
+  }
+
+  @Override public void dinvoke( H2ONode sender ) {
+    Futures fs = new Futures();
+    for( TaskPutKey tpk : _tpks ) tpk.putHome(sender,fs);
+    fs.blockForPending();
+    _tpks = null;               // No return result
+    tryComplete();
+  }
+  @Override public void compute2() { throw H2O.fail(); }
+
+  // Received an ACK
+  @Override public void onAck() {
+    for( TaskPutKey tpk : _xtpks ) tpk.onAck();
+  }
+  @Override public byte priority() {
+    return H2O.PUT_KEY_PRIORITY;
+  }
+}
@@ -19,8 +19,8 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
  *  Requests to extract the POJO from the Value object first try to return the
  *  cached POJO.  If that is missing, then they will re-inflate the POJO from
  *  the {@link Iced} byte[].  If that is missing it is only because the byte[]
- *  was swapped to disk by the {@link Cleaner}.  It will be reloaded from disk
- *  and then inflated as normal.
+ *  was moved to the off-heap tier or swapped to disk by the {@link Cleaner}.
+ *  It will be reloaded from there and then inflated as normal.
  *  <p>
  *  The H2O {@link DKV} supports the full <em>Java Memory Model</em> coherency
  *  but only with Gets and Puts.  Normal Java updates to the cached POJO are
@@ -108,23 +108,65 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     _pojo = null;
   }
 
+  // ---
+  // Off-heap copy of _mem (see MemoryManager), or null.  The Cleaner moves
+  // cold Chunks out, dropping both heap forms; the copy then stays resident
+  // until spilled.  With -ice_mmap a spilled Chunk is reloaded by mapping
+  // its ICE file here instead.  Fixed-width Chunks read it in place, other
+  // types deserialize from a heap copy that is not kept in _mem.  Readers
+  // hold the OffHeap itself, and it is freed only once unreachable, so a
+  // racing spill or delete never frees memory under a reader.
+  private transient volatile OffHeap _offHeap;
+  final boolean isOffHeap() { return _offHeap != null; }
+  final boolean isMapped() { OffHeap oh = _offHeap; return oh != null && oh.isMapped(); }
+  OffHeap rawOffHeap() { return _offHeap; }
+
+  /** Move the serialized Chunk into the off-heap tier, dropping both heap
+   *  forms.  Called by the Cleaner; for a Value already off-heap it drops
+   *  the POJO read back since.
+   *  @return bytes moved, or 0 if nothing moved */
+  synchronized int storeOffHeap() {
+    if( _offHeap != null ) { _pojo = null; _mem = null; return 0; }
+    byte[] mem = _mem;
+    if( mem == null || mem.length == 0 ) return 0;
+    OffHeap oh = MemoryManager.mallocOffHeap(mem);
+    if( oh == null ) return 0;  // Tier is full
+    _offHeap = oh;
+    _pojo = null;
+    _mem = null;
+    return mem.length;
+  }
+  /** Spill an off-heap Value to its persistence backend, dropping the copy;
+   *  the tier reclaims it once no Chunk reads it.  Called by the Cleaner when
+   *  the tier is over its limit. */
+  synchronized void spillOffHeap() throws IOException {
+    if( _offHeap == null ) return;
+    storePersist();             // Reads back through memOrLoad if not yet on disk
+    _offHeap = null;
+    _pojo = null;
+    _mem = null;
+  }
+
   /** The FAST path get-byte-array - final method for speed.  Will (re)build
    *  the mem array from either the POJO or disk.  Never returns NULL.
    *  @return byte[] holding the serialized POJO  */
   public final byte[] memOrLoad() {
     byte[] mem = _mem;          // Read once!
     if( mem != null ) return mem;
+    OffHeap oh = _offHeap;      // Cold Chunk in the off-heap tier?  Stays there
+    if( oh != null ) return oh.toBytes();
     Freezable pojo = _pojo;     // Read once!
     if( pojo != null )          // Has the POJO, make raw bytes
       // Chunks have custom serializer here that skips all steps; just the chunk itself
       if( pojo instanceof Chunk ) return (_mem = ((Chunk)pojo).getBytes());
       else return (_mem = pojo.write(new AutoBuffer()).buf());
     if( _max == 0 ) return (_mem = new byte[0]);
+    if( (oh = mapPersist()) != null ) return oh.toBytes();
     return (_mem = loadPersist());
   }
   // Just an empty shell of a Value, no local data but the Value is "real".
   // Any attempt to look at the Value will require a remote fetch.
-  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && !isPersisted(); }
+  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && _offHeap == null && !isPersisted(); }
 
   /** The FAST path get-POJO as an {@link Iced} subclass - final method for
    *  speed.  Will (re)build the POJO from the _mem array.  Never returns NULL.
@@ -134,7 +176,7 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     Iced pojo = (Iced)_pojo;    // Read once!
     if( pojo != null ) return (T)pojo;
     pojo = TypeMap.newInstance(_type);
-    pojo.read(new AutoBuffer(memOrLoad()));
+    if( !readOffHeap(pojo) ) pojo.read(new AutoBuffer(memOrLoad()));
     return (T)(_pojo = pojo);
   }
   /** The FAST path get-POJO as a {@link Freezable} - final method for speed.
@@ -154,9 +196,29 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     Freezable pojo = _pojo;     // Read once!
     if( pojo != null ) return (T)pojo;
     pojo = TypeMap.newFreezable(_type);
-    pojo.read(new AutoBuffer(memOrLoad()));
+    if( !readOffHeap(pojo) ) pojo.read(new AutoBuffer(memOrLoad()));
     return (T)(_pojo = pojo);
   }
+  // Point a fresh Chunk at the off-heap copy, if its type reads in place
+  private boolean readOffHeap( Freezable pojo ) {
+    if( !(pojo instanceof Chunk) ) return false;
+    OffHeap oh = _offHeap;      // Read once!
+    if( oh == null && _mem == null ) oh = mapPersist();
+    return oh != null && ((Chunk)pojo).readOffHeap(oh);
+  }
+  // With -ice_mmap, map the ICE file of a spilled Chunk rather than read it
+  // into the heap.  The mapping is kept until the Value is freed.
+  private OffHeap mapPersist() {
+    if( !H2O.ARGS.ice_mmap || !_key.isChunkKey() ) return null;
+    synchronized( this ) {
+      OffHeap oh = _offHeap;
+      if( oh != null ) return oh;
+      if( !isPersisted() || !onICE() ) return null;
+      try { oh = H2O.getPM().loadMapped(backend(), this); }
+      catch( IOException ioe ) { throw Log.throwErr(ioe); }
+      return (_offHeap = oh);
+    }
+  }
 
   // ---
   // Time of last access to this value.
@@ -4,7 +4,6 @@ import water.DKV;
 import water.exceptions.H2OKeyNotFoundArgumentException;
 import water.fvec.Frame;
 
-import java.io.InputStream;
 
 public class DownloadDataHandler extends Handler { // TODO: recursive generics seem to prevent more specific types here
 
@@ -14,9 +13,9 @@ public class DownloadDataHandler extends Handler { // TODO: recursive generics s
     if (DKV.get(server.frame_id.key()) == null) throw new H2OKeyNotFoundArgumentException("key", server.frame_id.key());
     Frame value = server.frame_id.key().get();
 
-    InputStream is = value.toCSV(true, server.hex_string);
-    java.util.Scanner scanner = new java.util.Scanner(is).useDelimiter("\\A");
-    server.csv = (scanner.hasNext() ? scanner.next() : "");
+    // Hand the lazy CSV stream to the web server, which pulls it row by row
+    // while writing the response; the frame is never buffered as one String.
+    server.csv = value.toCSV(true, server.hex_string);
 
     // Clean up Key name back to something resembling a file system name.  Hope
     // the user's browser actually asks for what to do with the suggested
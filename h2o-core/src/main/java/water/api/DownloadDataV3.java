@@ -3,6 +3,8 @@ package water.api;
 import water.Iced;
 import water.api.KeyV3.FrameKeyV3;
 
+import java.io.InputStream;
+
 public class DownloadDataV3 extends RequestSchema<Iced, DownloadDataV3> {
 
   // Input fields
@@ -11,6 +13,7 @@ public class DownloadDataV3 extends RequestSchema<Iced, DownloadDataV3> {
   @API(help="Emit double values in a machine readable lossless format with Double.toHexString().") boolean hex_string;
 
   // Output
-  @API(help="CSV Stream", direction=API.Direction.OUTPUT) String csv;
+  // CSV Stream, served directly as the response body
+  transient InputStream csv;
   @API(help="Suggested Filename", direction=API.Direction.OUTPUT) String filename;
 }
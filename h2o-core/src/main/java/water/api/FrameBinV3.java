@@ -0,0 +1,21 @@
+package water.api;
+
+import water.Iced;
+
+/**
+ * Binary frame snapshot export/import REST end-point.
+ */
+public class FrameBinV3 extends RequestSchema<Iced, FrameBinV3> {
+
+  /** Frame to export, or key to import the frame under. */
+  @API(help="Name of Frame of interest", json=false)
+  public KeyV3.FrameKeyV3 frame_id;
+
+  /** Snapshot directory. */
+  @API(help="Snapshot directory (hdfs, s3, local)")
+  public String dir;
+
+  /** Overwrite an existing snapshot on export. */
+  @API(help="Overwrite destination snapshot in case it exists or throw exception if set to false.")
+  public boolean force = true;
+}
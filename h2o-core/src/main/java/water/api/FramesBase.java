@@ -33,6 +33,9 @@ class FramesBase<I extends Frames, S extends FramesBase<I, S>> extends RequestSc
   @API(help="Overwrite existing file",json=false)
   public boolean force;
 
+  @API(help="Export as a directory of part-files, one per chunk, written in parallel across the cloud",json=false)
+  public boolean parallel;
+
   @API(help="Job for export file",direction=API.Direction.OUTPUT)
   public JobV3 job;
 
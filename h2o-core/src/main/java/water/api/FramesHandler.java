@@ -5,11 +5,15 @@ import jsr166y.CountedCompleter;
 import water.*;
 import water.api.ModelsHandler.Models;
 import water.exceptions.*;
+import water.fvec.Chunk;
 import water.fvec.Frame;
+import water.fvec.FrameSnapshot;
 import water.fvec.Vec;
 import water.persist.PersistManager;
+import water.util.FileUtils;
 import water.util.Log;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.*;
@@ -18,7 +22,8 @@ import java.util.*;
  * FramesHandler deals with all REST API endpoints that start with /Frames.
  * <p>
  * GET /3/Frames/(?<frameid>.*)/export/(?<path>.*)/overwrite/(?<force>.*)
- * <p> export(): Export a Frame to the given path with optional overwrite.
+ * <p> export(): Export a Frame to the given path with optional overwrite; with parallel=true the path is a directory
+ * of per-chunk part-files written concurrently across the cloud.
  * <p>
  * GET /3/Frames/(?<frameid>.*)/columns/(?<column>.*)/summary
  * <p> columnSummary(): Return the summary metrics for a column, e.g. mins, maxes, mean, sigma, percentiles, etc.
@@ -48,6 +53,12 @@ import java.util.*;
  * DELETE /3/Frames
  * <p> deleteAll(): Delete all Frames from the H2O distributed K/V store.
  * <p>
+ * GET /99/Frames.bin/(?<frameid>.*)
+ * <p> exportBinary(): Save a Frame's compressed chunks and metadata into a binary snapshot directory.
+ * <p>
+ * POST /99/Frames.bin/(?<frameid>.*)
+ * <p> importBinary(): Load a Frame from a binary snapshot directory without re-parsing.
+ * <p>
  */
 class FramesHandler<I extends FramesHandler.Frames, S extends FramesBase<I, S>> extends Handler {
 
@@ -258,7 +269,7 @@ class FramesHandler<I extends FramesHandler.Frames, S extends FramesBase<I, S>>
   public FramesV3 export(int version, FramesV3 s) {
     Frame fr = getFromDKV("key", s.frame_id.key());
     Log.info("ExportFiles processing (" + s.path + ")");
-    s.job =  (JobV3)Schema.schema(version, Job.class).fillFromImpl(ExportDataset.export(fr, s.path, s.frame_id.key().toString(),s.force));
+    s.job =  (JobV3)Schema.schema(version, Job.class).fillFromImpl(ExportDataset.export(fr, s.path, s.frame_id.key().toString(),s.force,s.parallel));
     return s;
   }
 
@@ -266,14 +277,78 @@ class FramesHandler<I extends FramesHandler.Frames, S extends FramesBase<I, S>>
 
     private ExportDataset(Key dest) { super(dest,"Export"); }
 
-    private static ExportDataset export(Frame fr, String path, String frameName, boolean force) {
-      InputStream is = (fr).toCSV(true,false);
+    private static ExportDataset export(Frame fr, String path, String frameName, boolean force, boolean parallel) {
       ExportDataset job = new ExportDataset(null);
-      ExportTask t = new ExportTask(is,path,frameName,force,job);
+      H2O.H2OCountedCompleter t = parallel
+        ? new ExportPartsDriver(fr,path,frameName,force,job)
+        : new ExportTask((fr).toCSV(true,false),path,frameName,force,job);
       job.start(t, fr.anyVec().nChunks(), true);
       return job;
     }
 
+    /** Name of the part-file holding chunk {@code cidx} in a parallel export. */
+    static String partFile(String dir, int cidx) { return dir + "/part-" + String.format("%05d", cidx) + ".csv"; }
+
+    // Parallel export: the path is a directory, and each chunk index is
+    // formatted and written as its own part-file by the node homing it.  The
+    // header goes into the first part only, so concatenating the parts in
+    // name order gives the same text as the serial export.
+    private static class ExportPartsDriver extends H2O.H2OCountedCompleter<ExportPartsDriver> {
+      final Frame _fr;
+      final String _path;
+      final String _frameName;
+      final boolean _force;
+      final Job _j;
+      ExportPartsDriver(Frame fr, String path, String frameName, boolean force, Job j) {
+        _fr=fr; _path=path; _frameName=frameName; _force=force; _j=j;
+      }
+
+      @Override public void compute2() {
+        if( !H2O.getPM().mkdirs(_path) )
+          Log.warn("Directory " + _path + " already exists.");
+        new ExportParts(_path, _force, _fr.csvHeader(), _j).doAll(_fr);
+        Log.info("Key '" + _frameName +  "' was written to " + _path + " in " + _fr.anyVec().nChunks() + " parts.");
+        tryComplete();
+      }
+      @Override public boolean onExceptionalCompletion(Throwable ex, CountedCompleter caller){
+        if( _j != null ) {
+          _j.cancel();
+          _j.failed(ex);
+        }
+        return true;
+      }
+
+      @Override public void onCompletion(CountedCompleter caller) { _j.done(); }
+    }
+
+    private static class ExportParts extends MRTask<ExportParts> {
+      final String _path;
+      final boolean _force;
+      final byte[] _header;
+      final Job _j;
+      ExportParts(String path, boolean force, byte[] header, Job j) { _path=path; _force=force; _header=header; _j=j; }
+
+      @Override public void map(Chunk[] cs) {
+        String path = partFile(_path, cs[0].cidx());
+        OutputStream os = null;
+        try {
+          os = H2O.getPM().create(path, _force);
+          if( cs[0].cidx() == 0 ) os.write(_header);
+          StringBuilder sb = new StringBuilder();
+          for( int row = 0; row < cs[0]._len; row++ ) {
+            Frame.appendCSVRow(sb, cs, row, false);
+            if( sb.length() >= 1<<20 ) { os.write(sb.toString().getBytes()); sb.setLength(0); }
+          }
+          os.write(sb.toString().getBytes());
+        } catch( IOException e ) {
+          throw new RuntimeException("Cannot write " + path, e);
+        } finally {
+          FileUtils.close(os);
+        }
+        _j.update(1);
+      }
+    }
+
     private static class ExportTask extends H2O.H2OCountedCompleter<ExportTask> {
       final InputStream _csv;
       final String _path;
@@ -356,6 +431,30 @@ class FramesHandler<I extends FramesHandler.Frames, S extends FramesBase<I, S>>
     return doFetch(version, s, FrameV3.ColV3.FORCE_SUMMARY);
   }
 
+  /** Save a frame as a binary snapshot. */
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public FrameBinV3 exportBinary(int version, FrameBinV3 s) {
+    Frame fr = getFromDKV("frame_id", s.frame_id.key());
+    try {
+      FrameSnapshot.save(fr, FileUtils.getURI(s.dir), s.force);
+    } catch (IOException e) {
+      throw new H2OIllegalArgumentException("dir", "exportBinary", e);
+    }
+    return s;
+  }
+
+  /** Load a frame from a binary snapshot. */
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public FrameBinV3 importBinary(int version, FrameBinV3 s) {
+    try {
+      Frame fr = FrameSnapshot.load(FileUtils.getURI(s.dir), s.frame_id == null ? null : s.frame_id.key());
+      s.frame_id = new KeyV3.FrameKeyV3(fr._key);
+    } catch (IOException e) {
+      throw new H2OIllegalArgumentException("dir", "importBinary", e);
+    }
+    return s;
+  }
+
   /** Remove an unlocked frame.  Fails if frame is in-use. */
   @SuppressWarnings("unused") // called through reflection by RequestServer
   public FramesV3 delete(int version, FramesV3 frames) {
@@ -14,6 +14,13 @@ class ParseHandler extends Handler {
   @SuppressWarnings("unused") // called through reflection by RequestServer
   public ParseV3 parse(int version, ParseV3 parse) {
     ParseSetup setup = new ParseSetup(parse.parse_type, parse.separator, parse.single_quotes, parse.check_header, parse.number_columns, delNulls(parse.column_names), ParseSetup.strToColumnTypes(parse.column_types), parse.domains, parse.na_strings, null, parse.chunk_size);
+    setup.setChunksPerCore(parse.chunks_per_core);
+    setup.setFloat32(parse.float32);
+    setup.setSkippedColumns(parse.skipped_columns);
+    if( parse.filter_column >= 0 ) {
+      if( parse.filter_value != null ) setup.setRowFilter(parse.filter_column, parse.filter_value);
+      else setup.setRowFilter(parse.filter_column, parse.filter_min, parse.filter_max);
+    }
 
     Key[] srcs = new Key[parse.source_frames.length];
     for (int i = 0; i < parse.source_frames.length; i++)
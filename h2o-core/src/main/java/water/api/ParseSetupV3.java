@@ -14,7 +14,7 @@ public class ParseSetupV3 extends RequestSchema<ParseSetup,ParseSetupV3> {
   @API(help="Source frames", required=true, direction=API.Direction.INOUT)
   public FrameKeyV3[] source_frames;
 
-  @API(help="Parser type", values = {"GUESS", "ARFF", "XLS", "XLSX", "CSV", "SVMLight"}, direction=API.Direction.INOUT)
+  @API(help="Parser type", values = {"GUESS", "ARFF", "XLS", "XLSX", "CSV", "SVMLight", "PARQUET"}, direction=API.Direction.INOUT)
   public ParserType parse_type = ParserType.GUESS;
 
   @API(help="Field separator", direction=API.Direction.INOUT)
@@ -38,6 +38,15 @@ public class ParseSetupV3 extends RequestSchema<ParseSetup,ParseSetupV3> {
   @API(help="Regex for names of columns to return", direction=API.Direction.INOUT)
   public String column_name_filter;
 
+  @API(help="Rebalance the parsed frame to this many chunks per core in the cloud; 0 keeps the parse chunking", direction=API.Direction.INOUT)
+  public int chunks_per_core;
+
+  @API(help="Round non-integral numeric columns to 4-byte floats instead of storing doubles", direction=API.Direction.INOUT)
+  public boolean float32;
+
+  @API(help="Indices of the columns to leave out of the parsed frame", direction=API.Direction.INOUT)
+  public int[] skipped_columns;
+
   @API(help="Column offset to return", direction=API.Direction.INOUT)
   public int column_offset;
 
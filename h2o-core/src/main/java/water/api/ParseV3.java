@@ -16,7 +16,7 @@ public class ParseV3 extends RequestSchema<Iced, ParseV3> {
   @API(help="Source frames",required=true)
   FrameKeyV3[] source_frames;
 
-  @API(help="Parser type", values = {"GUESS", "ARFF", "XLS", "XLSX", "CSV", "SVMLight"})
+  @API(help="Parser type", values = {"GUESS", "ARFF", "XLS", "XLSX", "CSV", "SVMLight", "PARQUET"})
   ParserType parse_type;
 
   @API(help="Field separator")
@@ -46,6 +46,27 @@ public class ParseV3 extends RequestSchema<Iced, ParseV3> {
   @API(help="Size of individual parse tasks", direction=API.Direction.INPUT)
   int chunk_size;
 
+  @API(help="Rebalance the parsed frame to this many chunks per core in the cloud; 0 keeps the parse chunking", direction=API.Direction.INPUT)
+  int chunks_per_core;
+
+  @API(help="Round non-integral numeric columns to 4-byte floats instead of storing doubles", direction=API.Direction.INPUT)
+  boolean float32;
+
+  @API(help="Indices of the columns to leave out of the parsed frame", direction=API.Direction.INPUT)
+  int[] skipped_columns;
+
+  @API(help="Index of the column to filter rows on; -1 keeps all rows", direction=API.Direction.INPUT)
+  int filter_column = -1;
+
+  @API(help="Smallest value kept by the row filter", direction=API.Direction.INPUT)
+  double filter_min = Double.NEGATIVE_INFINITY;
+
+  @API(help="Largest value kept by the row filter", direction=API.Direction.INPUT)
+  double filter_max = Double.POSITIVE_INFINITY;
+
+  @API(help="String value kept by the row filter, in place of the numeric range", direction=API.Direction.INPUT)
+  String filter_value;
+
   @API(help="Delete input key after parse")
   boolean delete_on_done;
 
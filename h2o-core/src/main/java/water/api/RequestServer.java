@@ -162,6 +162,12 @@ public class RequestServer extends NanoHTTPD {
       "Delete the specified Frame from the H2O distributed K/V store.");
     register("/3/Frames"                                         ,"DELETE",FramesHandler.class, "deleteAll", null,
       "Delete all Frames from the H2O distributed K/V store.");
+
+    // Frame snapshots - binary import/export calls
+    register("/99/Frames.bin/(?<frame_id>.*)"                        ,"POST"  ,FramesHandler.class, "importBinary", null,
+            "Import a binary frame snapshot into H2O.");
+    register("/99/Frames.bin/(?<frame_id>.*)"                        ,"GET"   ,FramesHandler.class, "exportBinary", null,
+            "Export given frame as a binary snapshot.");
     register("/3/Models/(?<model_id>.*)/preview"                      ,"GET"   ,ModelsHandler.class, "fetchPreview", null,
       "Return potentially abridged model suitable for viewing in a browser (currently only used for java model code).");
     register("/3/Models/(?<model_id>.*?)(\\.java)?"                  ,"GET"   ,ModelsHandler.class, "fetch", null,
@@ -224,6 +230,14 @@ public class RequestServer extends NanoHTTPD {
             "Return IO usage snapshot of all nodes in the H2O cluster.");
     register("/3/WaterMeterIo"                                            ,"GET"   ,WaterMeterIoHandler.class, "fetch_all", null,
             "Return IO usage snapshot of all nodes in the H2O cluster.");
+    register("/3/WaterMeterCache/(?<nodeidx>.*)"                          ,"GET"   ,WaterMeterCacheHandler.class, "fetch", null,
+            "Return the remote key cache stats of one node in the H2O cluster.");
+    register("/3/WaterMeterCache"                                         ,"GET"   ,WaterMeterCacheHandler.class, "fetch_all", null,
+            "Return the remote key cache stats of all nodes in the H2O cluster.");
+    register("/3/WaterMeterScheduler/(?<nodeidx>.*)"                      ,"GET"   ,WaterMeterSchedulerHandler.class, "fetch", null,
+            "Return the job scheduler stats of one node in the H2O cluster.");
+    register("/3/WaterMeterScheduler"                                     ,"GET"   ,WaterMeterSchedulerHandler.class, "fetch_all", null,
+            "Return the job scheduler stats of all nodes in the H2O cluster.");
 
     // Node persistent storage
     register("/3/NodePersistentStorage/categories/(?<category>.*)/names/(?<name>.*)/exists", "GET", NodePersistentStorageHandler.class, "exists", null, "Return true or false.");
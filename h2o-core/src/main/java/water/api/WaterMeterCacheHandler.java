@@ -0,0 +1,19 @@
+package water.api;
+
+import water.util.WaterMeterCache;
+
+public class WaterMeterCacheHandler extends Handler {
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public WaterMeterCacheV3 fetch(int version, WaterMeterCacheV3 s) {
+    WaterMeterCache impl = s.createAndFillImpl();
+    impl.doIt(false);
+    return s.fillFromImpl(impl);
+  }
+
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public WaterMeterCacheV3 fetch_all(int version, WaterMeterCacheV3 s) {
+    WaterMeterCache impl = s.createAndFillImpl();
+    impl.doIt(true);
+    return s.fillFromImpl(impl);
+  }
+}
@@ -0,0 +1,25 @@
+package water.api;
+
+import water.util.PojoUtils;
+import water.util.WaterMeterCache;
+
+public class WaterMeterCacheV3 extends RequestSchema<WaterMeterCache, WaterMeterCacheV3> {
+  @API(help="Index of node to query cache stats for (0-based)", direction = API.Direction.INPUT)
+  public int nodeidx;
+
+  @API(help="array of per-node cache stats", direction = API.Direction.OUTPUT)
+  public WaterMeterCache.CacheStatsEntry cache_stats[];
+
+  // Version&Schema-specific filling into the implementation object
+  public WaterMeterCache createImpl() {
+    WaterMeterCache obj = new WaterMeterCache();
+    PojoUtils.copyProperties(obj, this, PojoUtils.FieldNaming.CONSISTENT);
+    return obj;
+  }
+
+  // Version&Schema-specific filling from the implementation object
+  public WaterMeterCacheV3 fillFromImpl(WaterMeterCache i) {
+    PojoUtils.copyProperties(this, i, PojoUtils.FieldNaming.CONSISTENT);
+    return this;
+  }
+}
@@ -0,0 +1,19 @@
+package water.api;
+
+import water.util.WaterMeterScheduler;
+
+public class WaterMeterSchedulerHandler extends Handler {
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public WaterMeterSchedulerV3 fetch(int version, WaterMeterSchedulerV3 s) {
+    WaterMeterScheduler impl = s.createAndFillImpl();
+    impl.doIt(false);
+    return s.fillFromImpl(impl);
+  }
+
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public WaterMeterSchedulerV3 fetch_all(int version, WaterMeterSchedulerV3 s) {
+    WaterMeterScheduler impl = s.createAndFillImpl();
+    impl.doIt(true);
+    return s.fillFromImpl(impl);
+  }
+}
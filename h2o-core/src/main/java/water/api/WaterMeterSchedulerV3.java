@@ -0,0 +1,25 @@
+package water.api;
+
+import water.util.PojoUtils;
+import water.util.WaterMeterScheduler;
+
+public class WaterMeterSchedulerV3 extends RequestSchema<WaterMeterScheduler, WaterMeterSchedulerV3> {
+  @API(help="Index of node to query scheduler stats for (0-based)", direction = API.Direction.INPUT)
+  public int nodeidx;
+
+  @API(help="array of per-node scheduler stats", direction = API.Direction.OUTPUT)
+  public WaterMeterScheduler.SchedulerStatsEntry scheduler_stats[];
+
+  // Version&Schema-specific filling into the implementation object
+  public WaterMeterScheduler createImpl() {
+    WaterMeterScheduler obj = new WaterMeterScheduler();
+    PojoUtils.copyProperties(obj, this, PojoUtils.FieldNaming.CONSISTENT);
+    return obj;
+  }
+
+  // Version&Schema-specific filling from the implementation object
+  public WaterMeterSchedulerV3 fillFromImpl(WaterMeterScheduler i) {
+    PojoUtils.copyProperties(this, i, PojoUtils.FieldNaming.CONSISTENT);
+    return this;
+  }
+}
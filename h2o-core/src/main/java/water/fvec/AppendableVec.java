@@ -52,6 +52,7 @@ public class AppendableVec extends Vec {
   long _totalCnt;
 
   public int _chunkOff;         // Public so the parser can find it
+  public boolean _float32;      // NewChunks round floating point values to 4-byte floats (a float32 parse)
 
 
   public AppendableVec( Key key){
@@ -219,7 +220,11 @@ public class AppendableVec extends Vec {
   // Default read/write behavior for AppendableVecs
   @Override protected boolean readable() { return false; }
   @Override protected boolean writable() { return true ; }
-  @Override public NewChunk chunkForChunkIdx(int cidx) { return new NewChunk(this,cidx); }
+  @Override public NewChunk chunkForChunkIdx(int cidx) {
+    NewChunk nc = new NewChunk(this,cidx);
+    nc._float32 = nc._float32Round = _float32;
+    return nc;
+  }
   // None of these are supposed to be called while building the new vector
   @Override public Value chunkIdx( int cidx ) { throw H2O.fail(); }
   @Override public long length() { throw H2O.fail(); }
@@ -26,7 +26,33 @@ public class ByteVec extends Vec {
    *  length Vec.DFLT_CHUNK_SIZE but no guarantees.  Useful for previewing the start
    *  of large files.
    *  @return array of initial bytes */
-  public byte[] getFirstBytes() { return chunkForChunkIdx(0)._mem; }
+  public byte[] getFirstBytes() { return chunkForChunkIdx(0).getBytes(); }
+
+  /** Get the bytes at offsets [off,off+len) of the file, across Chunks.
+   *  @return array of len bytes */
+  public byte[] getBytes( long off, int len ) {
+    byte[] bs = new byte[len];
+    int cidx = elem2ChunkIdx(off);
+    for( int n = 0; n < len; cidx++ ) {
+      C1NChunk c = chunkForChunkIdx(cidx);
+      int from = (int)(off+n-chunk2StartElem(cidx));
+      int cnt = Math.min(len-n, c._len-from);
+      System.arraycopy(c.getBytes(),from,bs,n,cnt);
+      n += cnt;
+    }
+    return bs;
+  }
+
+  /** Get the file offset of every Chunk start, then the file length.
+   *  FileVecs compute their Chunk layout rather than keep an espc array.
+   *  @return array of nChunks()+1 offsets */
+  public long[] chunkOffsets() {
+    int n = nChunks();
+    long[] offs = new long[n+1];
+    for( int i = 0; i < n; i++ ) offs[i] = chunk2StartElem(i);
+    offs[n] = length();
+    return offs;
+  }
 
   static final byte CHAR_CR = 13;
   static final byte CHAR_LF = 10;
@@ -40,10 +66,10 @@ public class ByteVec extends Vec {
     if (chkIdx >= nChunks())
       throw new H2OIllegalArgumentException("Asked for chunk index beyond the number of chunks.");
     if (chkIdx == 0)
-      return chunkForChunkIdx(chkIdx)._mem;
+      return chunkForChunkIdx(chkIdx).getBytes();
     else { //must eat partial lines
       // FIXME: a hack to consume partial lines since each preview chunk is seen as cidx=0
-      byte[] mem = chunkForChunkIdx(chkIdx)._mem;
+      byte[] mem = chunkForChunkIdx(chkIdx).getBytes();
       int i = 0, j = mem.length-1;
       while (i < mem.length && mem[i] != CHAR_CR && mem[i] != CHAR_LF) i++;
       while (j > i && mem[j] != CHAR_CR && mem[j] != CHAR_LF) j--;
@@ -58,20 +84,22 @@ public class ByteVec extends Vec {
       final long [] sz = new long[1];
       private int _cidx, _sz;
       private C1NChunk _c0;
+      private byte[] _mem;      // _c0 bytes, copied once if off-heap
       @Override public int available() {
         if( _c0 == null || _sz >= _c0._len) {
           sz[0] += _c0 != null? _c0._len :0;
           if( _cidx >= nChunks() ) return 0;
           _c0 = chunkForChunkIdx(_cidx++);
+          _mem = _c0.getBytes();
           _sz = C1NChunk._OFF;
           if (job_key != null)
             Job.update(_c0._len,job_key);
         }
         return _c0._len -_sz;
       }
-      @Override public void close() { _cidx = nChunks(); _c0 = null; _sz = 0;}
+      @Override public void close() { _cidx = nChunks(); _c0 = null; _mem = null; _sz = 0;}
       @Override public int read() throws IOException {
-        return available() == 0 ? -1 : 0xFF&_c0._mem[_sz++];
+        return available() == 0 ? -1 : 0xFF&_mem[_sz++];
       }
       @Override public int read(byte[] b, int off, int len) {
         if( b==null ) return _cidx;// Back-channel read of cidx
@@ -79,7 +107,7 @@ public class ByteVec extends Vec {
         if( sz == 0 )
           return -1;
         len = Math.min(len,sz);
-        System.arraycopy(_c0._mem,_sz,b,off,len);
+        System.arraycopy(_mem,_sz,b,off,len);
         _sz += len;
         return len;
       }
@@ -27,6 +27,14 @@ public class C0LChunk extends Chunk {
   @Override boolean set_impl (int idx, String str) { return false; }
   @Override double min() { return _con; }
   @Override double max() { return _con; }
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    Arrays.fill(vals,0,to-from,_con);
+    return vals;
+  }
+  @Override long[] getLongs_impl(long[] vals, int from, int to, long NA) {
+    Arrays.fill(vals,0,to-from,_con);
+    return vals;
+  }
   @Override public NewChunk inflate_impl(NewChunk nc) {
     if(_con != 0) {
       nc.alloc_mantissa(_len);
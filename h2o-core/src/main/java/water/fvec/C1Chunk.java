@@ -11,15 +11,15 @@ public class C1Chunk extends Chunk {
   static protected final long _NA = 0xFF;
   C1Chunk(byte[] bs) { _mem=bs; _start = -1; set_len(_mem.length); }
   @Override protected final long at8_impl( int i ) {
-    long res = 0xFF&_mem[i+_OFF];
+    long res = 0xFF&mem1(i+_OFF);
     if( res == _NA ) throw new IllegalArgumentException("at8_abs but value is missing");
     return res;
   }
   @Override protected final double atd_impl( int i ) {
-    long res = 0xFF&_mem[i+_OFF];
+    long res = 0xFF&mem1(i+_OFF);
     return (res == _NA)?Double.NaN:res;
   }
-  @Override protected final boolean isNA_impl( int i ) { return (0xFF&_mem[i+_OFF]) == _NA; }
+  @Override protected final boolean isNA_impl( int i ) { return (0xFF&mem1(i+_OFF)) == _NA; }
   @Override boolean set_impl(int i, long l) {
     if( !(0 <= l && l < 255) ) return false;
     _mem[i+_OFF] = (byte)l;
@@ -28,24 +28,44 @@ public class C1Chunk extends Chunk {
   @Override boolean set_impl(int i, double d) { return false; }
   @Override boolean set_impl(int i, float f ) { return false; }
   @Override boolean setNA_impl(int idx) { _mem[idx+_OFF] = (byte)_NA; return true; }
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    for( int i=from; i<to; i++ ) {
+      int res = 0xFF&mem1(i+_OFF);
+      vals[i-from] = res == _NA ? Double.NaN : res;
+    }
+    return vals;
+  }
+  @Override long[] getLongs_impl(long[] vals, int from, int to, long NA) {
+    for( int i=from; i<to; i++ ) {
+      int res = 0xFF&mem1(i+_OFF);
+      vals[i-from] = res == _NA ? NA : res;
+    }
+    return vals;
+  }
   @Override public NewChunk inflate_impl(NewChunk nc) {
     nc.set_sparseLen(0);
     nc.set_len(0);
     final int len = _len;
     for( int i=0; i<len; i++ ) {
-      int res = 0xFF&_mem[i+_OFF];
+      int res = 0xFF&mem1(i+_OFF);
       if( res == _NA ) nc.addNA();
       else             nc.addNum(res,0);
     }
     return nc;
   }
-  @Override final public AutoBuffer write_impl(AutoBuffer bb) { return bb.putA1(_mem,_mem.length); }
+  @Override final public AutoBuffer write_impl(AutoBuffer bb) { byte[] mem = getBytes(); return bb.putA1(mem,mem.length); }
   @Override final public C1Chunk read_impl(AutoBuffer bb) {
     _mem = bb.bufClose();
     _start = -1;  _cidx = -1;
     set_len(_mem.length);
     return this;
   }
+  @Override public boolean readOffHeap(OffHeap mem) {
+    setOffHeap(mem);
+    _start = -1;  _cidx = -1;
+    set_len(mem._len);
+    return true;
+  }
   @Override
   public boolean hasFloat() {return false;}
 }
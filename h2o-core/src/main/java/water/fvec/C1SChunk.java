@@ -18,15 +18,15 @@ public class C1SChunk extends Chunk {
     UnsafeUtils.set8 (_mem,8,bias );
   }
   @Override protected final long at8_impl( int i ) {
-    long res = 0xFF&_mem[i+_OFF];
+    long res = 0xFF&mem1(i+_OFF);
     if( res == C1Chunk._NA ) throw new IllegalArgumentException("at8_abs but value is missing");
     return (long)((res+_bias)*_scale);
   }
   @Override protected final double atd_impl( int i ) {
-    long res = 0xFF&_mem[i+_OFF];
+    long res = 0xFF&mem1(i+_OFF);
     return (res == C1Chunk._NA)?Double.NaN:(res+_bias)*_scale;
   }
-  @Override protected final boolean isNA_impl( int i ) { return (0xFF&_mem[i+_OFF]) == C1Chunk._NA; }
+  @Override protected final boolean isNA_impl( int i ) { return (0xFF&mem1(i+_OFF)) == C1Chunk._NA; }
   @Override boolean set_impl(int i, long l) {
     long res = (long)(l/_scale)-_bias; // Compressed value
     double d = (res+_bias)*_scale;     // Reverse it
@@ -38,6 +38,13 @@ public class C1SChunk extends Chunk {
   @Override boolean set_impl(int i, double d) { return false; }
   @Override boolean set_impl(int i, float f ) { return false; }
   @Override boolean setNA_impl(int idx) { _mem[idx+_OFF] = (byte)C1Chunk._NA; return true; }
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    for( int i=from; i<to; i++ ) {
+      long res = 0xFF&mem1(i+_OFF);
+      vals[i-from] = res == C1Chunk._NA ? Double.NaN : (res+_bias)*_scale;
+    }
+    return vals;
+  }
   @Override public NewChunk inflate_impl(NewChunk nc) {
     double dx = Math.log10(_scale);
     assert water.util.PrettyPrint.fitsIntoInt(dx);
@@ -45,7 +52,7 @@ public class C1SChunk extends Chunk {
     nc.set_len(0);
     final int len = _len;
     for( int i=0; i<len; i++ ) {
-      int res = 0xFF&_mem[i+_OFF];
+      int res = 0xFF&mem1(i+_OFF);
       if( res == C1Chunk._NA ) nc.addNA();
       else nc.addNum((res+_bias),(int)dx);
     }
@@ -54,7 +61,7 @@ public class C1SChunk extends Chunk {
   //public int pformat_len0() { return hasFloat() ? pformat_len0(_scale,3) : super.pformat_len0(); }
   //public String  pformat0() { return hasFloat() ? "% 8.2e" : super.pformat0(); }
   @Override public byte precision() { return (byte)Math.max(-Math.log10(_scale),0); }
-  @Override public AutoBuffer write_impl(AutoBuffer bb) { return bb.putA1(_mem,_mem.length); }
+  @Override public AutoBuffer write_impl(AutoBuffer bb) { byte[] mem = getBytes(); return bb.putA1(mem,mem.length); }
   @Override public C1SChunk read_impl(AutoBuffer bb) {
     _mem = bb.bufClose();
     _start = -1;  _cidx = -1;
@@ -63,4 +70,12 @@ public class C1SChunk extends Chunk {
     _bias = UnsafeUtils.get8 (_mem,8);
     return this;
   }
+  @Override public boolean readOffHeap(OffHeap mem) {
+    setOffHeap(mem);
+    _start = -1;  _cidx = -1;
+    set_len(mem._len-_OFF);
+    _scale= mem8d(0);
+    _bias = mem8 (8);
+    return true;
+  }
 }
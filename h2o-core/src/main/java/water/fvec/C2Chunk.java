@@ -11,15 +11,15 @@ public class C2Chunk extends Chunk {
   static protected final int _OFF=0;
   C2Chunk( byte[] bs ) { _mem=bs; _start = -1; set_len(_mem.length>>1); }
   @Override protected final long at8_impl( int i ) {
-    int res = UnsafeUtils.get2(_mem,(i<<1)+_OFF);
+    int res = mem2((i<<1)+_OFF);
     if( res == _NA ) throw new IllegalArgumentException("at8_abs but value is missing");
     return res;
   }
   @Override protected final double atd_impl( int i ) {
-    int res = UnsafeUtils.get2(_mem,(i<<1)+_OFF);
+    int res = mem2((i<<1)+_OFF);
     return res == _NA?Double.NaN:res;
   }
-  @Override protected final boolean isNA_impl( int i ) { return UnsafeUtils.get2(_mem,(i<<1)+_OFF) == _NA; }
+  @Override protected final boolean isNA_impl( int i ) { return mem2((i<<1)+_OFF) == _NA; }
   @Override boolean set_impl(int idx, long l) {
     if( !(Short.MIN_VALUE < l && l <= Short.MAX_VALUE) ) return false;
     UnsafeUtils.set2(_mem,(idx<<1)+_OFF,(short)l);
@@ -32,18 +32,32 @@ public class C2Chunk extends Chunk {
   }
   @Override boolean set_impl(int i, float f ) { return set_impl(i,(double)f); }
   @Override boolean setNA_impl(int idx) { UnsafeUtils.set2(_mem,(idx<<1)+_OFF,(short)_NA); return true; }
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    for( int i=from; i<to; i++ ) {
+      int res = mem2((i<<1)+_OFF);
+      vals[i-from] = res == _NA ? Double.NaN : res;
+    }
+    return vals;
+  }
+  @Override long[] getLongs_impl(long[] vals, int from, int to, long NA) {
+    for( int i=from; i<to; i++ ) {
+      int res = mem2((i<<1)+_OFF);
+      vals[i-from] = res == _NA ? NA : res;
+    }
+    return vals;
+  }
   @Override public NewChunk inflate_impl(NewChunk nc) {
     nc.set_sparseLen(0);
     nc.set_len(0);
     final int len = _len;
     for( int i=0; i<len; i++ ) {
-      int res = UnsafeUtils.get2(_mem,(i<<1)+_OFF);
+      int res = mem2((i<<1)+_OFF);
       if( res == _NA ) nc.addNA();
       else             nc.addNum(res,0);
     }
     return nc;
   }
-  @Override public AutoBuffer write_impl(AutoBuffer bb) { return bb.putA1(_mem,_mem.length); }
+  @Override public AutoBuffer write_impl(AutoBuffer bb) { byte[] mem = getBytes(); return bb.putA1(mem,mem.length); }
   @Override public C2Chunk read_impl(AutoBuffer bb) {
     _mem = bb.bufClose();
     _start = -1;  _cidx = -1;
@@ -51,6 +65,12 @@ public class C2Chunk extends Chunk {
     assert _mem.length == _len <<1;
     return this;
   }
+  @Override public boolean readOffHeap(OffHeap mem) {
+    setOffHeap(mem);
+    _start = -1;  _cidx = -1;
+    set_len(mem._len>>1);
+    return true;
+  }
   @Override
   public boolean hasFloat() {return false;}
 }
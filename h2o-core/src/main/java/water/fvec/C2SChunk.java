@@ -18,15 +18,15 @@ public class C2SChunk extends Chunk {
     UnsafeUtils.set8 (_mem,8,bias );
   }
   @Override protected final long at8_impl( int i ) {
-    long res = UnsafeUtils.get2(_mem,(i<<1)+_OFF);
+    long res = mem2((i<<1)+_OFF);
     if( res == C2Chunk._NA ) throw new IllegalArgumentException("at8_abs but value is missing");
     return (long)((res + _bias)*_scale);
   }
   @Override protected final double atd_impl( int i ) {
-    long res = UnsafeUtils.get2(_mem,(i<<1)+_OFF);
+    long res = mem2((i<<1)+_OFF);
     return (res == C2Chunk._NA)?Double.NaN:(res + _bias)*_scale;
   }
-  @Override protected final boolean isNA_impl( int i ) { return UnsafeUtils.get2(_mem,(i<<1)+_OFF) == C2Chunk._NA; }
+  @Override protected final boolean isNA_impl( int i ) { return mem2((i<<1)+_OFF) == C2Chunk._NA; }
   @Override boolean set_impl(int idx, long l) {
     long res = (long)(l/_scale)-_bias; // Compressed value
     double d = (res+_bias)*_scale;     // Reverse it
@@ -45,6 +45,13 @@ public class C2SChunk extends Chunk {
   }
   @Override boolean set_impl(int i, float f ) { return false; }
   @Override boolean setNA_impl(int idx) { UnsafeUtils.set2(_mem,(idx<<1)+_OFF,(short)C2Chunk._NA); return true; }
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    for( int i=from; i<to; i++ ) {
+      long res = mem2((i<<1)+_OFF);
+      vals[i-from] = res == C2Chunk._NA ? Double.NaN : (res + _bias)*_scale;
+    }
+    return vals;
+  }
   @Override public NewChunk inflate_impl(NewChunk nc) {
     double dx = Math.log10(_scale);
     assert water.util.PrettyPrint.fitsIntoInt(dx);
@@ -52,7 +59,7 @@ public class C2SChunk extends Chunk {
     nc.set_len(0);
     final int len = _len;
     for( int i=0; i<len; i++ ) {
-      int res = UnsafeUtils.get2(_mem,(i<<1)+_OFF);
+      int res = mem2((i<<1)+_OFF);
       if( res == C2Chunk._NA ) nc.addNA();
       else nc.addNum((res+_bias),(int)dx);
     }
@@ -69,7 +76,7 @@ public class C2SChunk extends Chunk {
 //    //return hasFloat() ? "% 10.4e" : super.pformat0();
 //  }
   @Override public byte precision() { return (byte)Math.max(-Math.log10(_scale),0); }
-  @Override public AutoBuffer write_impl(AutoBuffer bb) { return bb.putA1(_mem,_mem.length); }
+  @Override public AutoBuffer write_impl(AutoBuffer bb) { byte[] mem = getBytes(); return bb.putA1(mem,mem.length); }
   @Override public C2SChunk read_impl(AutoBuffer bb) {
     _mem = bb.bufClose();
     _start = -1;  _cidx = -1;
@@ -78,4 +85,12 @@ public class C2SChunk extends Chunk {
     _bias = UnsafeUtils.get8 (_mem,8);
     return this;
   }
+  @Override public boolean readOffHeap(OffHeap mem) {
+    setOffHeap(mem);
+    _start = -1;  _cidx = -1;
+    set_len((mem._len-_OFF)>>1);
+    _scale= mem8d(0);
+    _bias = mem8 (8);
+    return true;
+  }
 }
@@ -19,15 +19,15 @@ public class C4SChunk extends Chunk {
     UnsafeUtils.set8 (_mem,8,bias );
   }
   @Override protected final long at8_impl( int i ) {
-    long res = UnsafeUtils.get4(_mem,(i<<2)+_OFF);
+    long res = mem4((i<<2)+_OFF);
     if( res == _NA ) throw new IllegalArgumentException("at8_abs but value is missing");
     return (long)((res + _bias)*_scale);
   }
   @Override protected final double atd_impl( int i ) {
-    long res = UnsafeUtils.get4(_mem,(i<<2)+_OFF);
+    long res = mem4((i<<2)+_OFF);
     return (res == _NA)?Double.NaN:(res + _bias)*_scale;
   }
-  @Override protected final boolean isNA_impl( int i ) { return UnsafeUtils.get4(_mem,(i<<2)+_OFF) == _NA; }
+  @Override protected final boolean isNA_impl( int i ) { return mem4((i<<2)+_OFF) == _NA; }
   @Override boolean set_impl(int idx, long l) {
     long res = (long)(l/_scale)-_bias; // Compressed value
     double d = (res+_bias)*_scale;     // Reverse it
@@ -39,6 +39,13 @@ public class C4SChunk extends Chunk {
   @Override boolean set_impl(int i, double d) { return false; }
   @Override boolean set_impl(int i, float f ) { return false; }
   @Override boolean setNA_impl(int idx) { UnsafeUtils.set4(_mem,(idx<<2)+_OFF,(int)_NA); return true; }
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    for( int i=from; i<to; i++ ) {
+      long res = mem4((i<<2)+_OFF);
+      vals[i-from] = res == _NA ? Double.NaN : (res + _bias)*_scale;
+    }
+    return vals;
+  }
   @Override public NewChunk inflate_impl(NewChunk nc) {
     double dx = Math.log10(_scale);
     assert water.util.PrettyPrint.fitsIntoInt(dx);
@@ -46,7 +53,7 @@ public class C4SChunk extends Chunk {
     nc.set_len(0);
     final int len = _len;
     for( int i=0; i<len; i++ ) {
-      int res = UnsafeUtils.get4(_mem,(i<<2)+_OFF);
+      int res = mem4((i<<2)+_OFF);
       if( res == _NA ) nc.addNA();
       else nc.addNum(res+_bias,(int)dx);
     }
@@ -55,7 +62,7 @@ public class C4SChunk extends Chunk {
 //  public int pformat_len0() { return pformat_len0(_scale,5); }
 //  public String pformat0() { return "% 10.4e"; }
   @Override public byte precision() { return (byte)Math.max(-Math.log10(_scale),0); }
-  @Override public AutoBuffer write_impl(AutoBuffer bb) { return bb.putA1(_mem,_mem.length); }
+  @Override public AutoBuffer write_impl(AutoBuffer bb) { byte[] mem = getBytes(); return bb.putA1(mem,mem.length); }
   @Override public C4SChunk read_impl(AutoBuffer bb) {
     _mem = bb.bufClose();
     _start = -1;  _cidx = -1;
@@ -64,4 +71,12 @@ public class C4SChunk extends Chunk {
     _bias = UnsafeUtils.get8 (_mem,8);
     return this;
   }
+  @Override public boolean readOffHeap(OffHeap mem) {
+    setOffHeap(mem);
+    _start = -1;  _cidx = -1;
+    set_len((mem._len-_OFF)>>2);
+    _scale= mem8d(0);
+    _bias = mem8 (8);
+    return true;
+  }
 }
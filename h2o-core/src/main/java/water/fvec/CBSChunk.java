@@ -65,6 +65,20 @@ public class CBSChunk extends Chunk {
   @Override boolean set_impl(int idx, double d) { return false; }
   @Override boolean set_impl(int idx, float f ) { return false; }
   @Override boolean setNA_impl(int idx) {  return false; }
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    for( int i=from; i<to; i++ ) {
+      byte b = atb(i);
+      vals[i-from] = b == _NA ? Double.NaN : b;
+    }
+    return vals;
+  }
+  @Override long[] getLongs_impl(long[] vals, int from, int to, long NA) {
+    for( int i=from; i<to; i++ ) {
+      byte b = atb(i);
+      vals[i-from] = b == _NA ? NA : b;
+    }
+    return vals;
+  }
   @Override public NewChunk inflate_impl(NewChunk nc) {
     nc.set_sparseLen(nc.set_len(0));
     for (int i=0; i< _len; i++) {
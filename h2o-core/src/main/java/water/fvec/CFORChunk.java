@@ -0,0 +1,104 @@
+package water.fvec;
+
+import water.*;
+import water.util.UnsafeUtils;
+
+/**
+ * Blocked frame-of-reference 'long's.  Rows are grouped in blocks of {@link
+ * #BLK} rows; each block stores a base value and every row as an unsigned
+ * 0, 1, 2 or 4 byte offset from that base.  Sorted or slowly drifting columns
+ * (timestamps, counters, sensor readings) have a small range within a block
+ * even when the range over the whole chunk needs a C8Chunk.
+ *
+ * <p>Layout of {@code _mem}: the row count, then a 16-byte header per block
+ * {base, data offset, bytes per row}, then the packed block data.  The
+ * largest offset of each width marks a missing value; a 0-width block whose
+ * base is {@link C8Chunk#_NA} is all missing.
+ */
+public class CFORChunk extends Chunk {
+  static protected final int _OFF=4;
+  static final int LOG_BLK=8, BLK=1<<LOG_BLK;
+  CFORChunk( byte[] bs ) { _mem=bs; _start = -1; set_len(UnsafeUtils.get4(_mem,0)); }
+
+  static int nblocks( int len ) { return (len+BLK-1)>>LOG_BLK; }
+
+  private long val( int i ) {
+    final int h = _OFF+((i>>LOG_BLK)<<4);
+    final long base = UnsafeUtils.get8(_mem,h);
+    final int off = UnsafeUtils.get4(_mem,h+8);
+    switch( UnsafeUtils.get4(_mem,h+12) ) {
+    case 0: return base;
+    case 1: { int  d = 0xFF      &_mem[off+(i&(BLK-1))];                          return d==0xFF      ? C8Chunk._NA : base+d; }
+    case 2: { int  d = 0xFFFF    &UnsafeUtils.get2(_mem,off+((i&(BLK-1))<<1));     return d==0xFFFF    ? C8Chunk._NA : base+d; }
+    case 4: { long d = 0xFFFFFFFFL&UnsafeUtils.get4(_mem,off+((i&(BLK-1))<<2));     return d==0xFFFFFFFFL? C8Chunk._NA : base+d; }
+    default: throw H2O.fail();
+    }
+  }
+
+  @Override protected final long at8_impl( int i ) {
+    long res = val(i);
+    if( res == C8Chunk._NA ) throw new IllegalArgumentException("at8_abs but value is missing");
+    return res;
+  }
+  @Override protected final double atd_impl( int i ) {
+    long res = val(i);
+    return res == C8Chunk._NA ? Double.NaN : res;
+  }
+  @Override protected final boolean isNA_impl( int i ) { return val(i) == C8Chunk._NA; }
+  @Override boolean set_impl(int idx, long l) { return false; }
+  @Override boolean set_impl(int i, double d) { return false; }
+  @Override boolean set_impl(int i, float f ) { return false; }
+  @Override boolean setNA_impl(int idx) { return false; }
+  @Override public boolean hasFloat() { return false; }
+  // Bulk loaders decode a block at a time, hoisting the block header
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    for( int i=from; i<to; ) {
+      final int h = _OFF+((i>>LOG_BLK)<<4);
+      final long base = UnsafeUtils.get8(_mem,h);
+      final int off = UnsafeUtils.get4(_mem,h+8);
+      final int e = Math.min(((i>>LOG_BLK)+1)<<LOG_BLK,to);
+      switch( UnsafeUtils.get4(_mem,h+12) ) {
+      case 0: { double v = base == C8Chunk._NA ? Double.NaN : base; for( ; i<e; i++ ) vals[i-from] = v; break; }
+      case 1: for( ; i<e; i++ ) { int  d = 0xFF      &_mem[off+(i&(BLK-1))];                      vals[i-from] = d==0xFF       ? Double.NaN : base+d; } break;
+      case 2: for( ; i<e; i++ ) { int  d = 0xFFFF    &UnsafeUtils.get2(_mem,off+((i&(BLK-1))<<1)); vals[i-from] = d==0xFFFF     ? Double.NaN : base+d; } break;
+      case 4: for( ; i<e; i++ ) { long d = 0xFFFFFFFFL&UnsafeUtils.get4(_mem,off+((i&(BLK-1))<<2)); vals[i-from] = d==0xFFFFFFFFL ? Double.NaN : base+d; } break;
+      default: throw H2O.fail();
+      }
+    }
+    return vals;
+  }
+  @Override long[] getLongs_impl(long[] vals, int from, int to, long NA) {
+    for( int i=from; i<to; ) {
+      final int h = _OFF+((i>>LOG_BLK)<<4);
+      final long base = UnsafeUtils.get8(_mem,h);
+      final int off = UnsafeUtils.get4(_mem,h+8);
+      final int e = Math.min(((i>>LOG_BLK)+1)<<LOG_BLK,to);
+      switch( UnsafeUtils.get4(_mem,h+12) ) {
+      case 0: { long v = base == C8Chunk._NA ? NA : base; for( ; i<e; i++ ) vals[i-from] = v; break; }
+      case 1: for( ; i<e; i++ ) { int  d = 0xFF      &_mem[off+(i&(BLK-1))];                      vals[i-from] = d==0xFF       ? NA : base+d; } break;
+      case 2: for( ; i<e; i++ ) { int  d = 0xFFFF    &UnsafeUtils.get2(_mem,off+((i&(BLK-1))<<1)); vals[i-from] = d==0xFFFF     ? NA : base+d; } break;
+      case 4: for( ; i<e; i++ ) { long d = 0xFFFFFFFFL&UnsafeUtils.get4(_mem,off+((i&(BLK-1))<<2)); vals[i-from] = d==0xFFFFFFFFL ? NA : base+d; } break;
+      default: throw H2O.fail();
+      }
+    }
+    return vals;
+  }
+
+  @Override public NewChunk inflate_impl(NewChunk nc) {
+    nc.set_sparseLen(0);
+    nc.set_len(0);
+    for( int i=0; i<_len; i++ ) {
+      long v = val(i);
+      if( v == C8Chunk._NA ) nc.addNA();
+      else nc.addNum(v,0);
+    }
+    return nc;
+  }
+  @Override public AutoBuffer write_impl(AutoBuffer bb) { return bb.putA1(_mem,_mem.length); }
+  @Override public CFORChunk read_impl(AutoBuffer bb) {
+    _mem = bb.bufClose();
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem,0));
+    return this;
+  }
+}
@@ -0,0 +1,122 @@
+package water.fvec;
+
+import water.*;
+import water.util.UnsafeUtils;
+
+/**
+ * Run-length encoded 'long's: slowly-changing integer columns (status codes,
+ * sensor states, sorted categoricals) collapse into a short list of runs.
+ *
+ * <p>Layout of {@code _mem}: row count and run count, then the exclusive end
+ * row of every run, then the value of every run ({@link C8Chunk#_NA} for
+ * missing).  Random access is a binary search over the run ends; in-order
+ * scans hit the last-used run first and so cost O(1) per row.
+ */
+public class CRLEChunk extends Chunk {
+  static protected final int _OFF=4+4;
+  private int _nruns;
+  private int _valoff;          // Start of the run values
+  // Last run visited; a benign race when the Chunk is shared between threads
+  // since it is only a hint and always re-validated.
+  private transient int _run;
+
+  CRLEChunk( int len, int nruns, int[] ends, long[] vals ) {
+    _start = -1; set_len(len);
+    _nruns = nruns;
+    _valoff = _OFF+(nruns<<2);
+    _mem = MemoryManager.malloc1(_valoff+(nruns<<3));
+    UnsafeUtils.set4(_mem,0,len);
+    UnsafeUtils.set4(_mem,4,nruns);
+    for( int r=0; r<nruns; r++ ) {
+      UnsafeUtils.set4(_mem,_OFF+(r<<2),ends[r]);
+      UnsafeUtils.set8(_mem,_valoff+(r<<3),vals[r]);
+    }
+  }
+
+  private int end( int r ) { return UnsafeUtils.get4(_mem,_OFF+(r<<2)); }
+  private int beg( int r ) { return r==0 ? 0 : end(r-1); }
+
+  // Run holding row i
+  private int run( int i ) {
+    int r = _run;
+    if( r < _nruns && beg(r) <= i ) {
+      if( i < end(r) ) return r;
+      if( r+1 < _nruns && i < end(r+1) ) return _run = r+1; // Next run, in-order scan
+    }
+    int lo=0, hi=_nruns-1;      // Smallest run with end > i
+    while( lo < hi ) {
+      int mid = (lo+hi)>>>1;
+      if( end(mid) <= i ) lo = mid+1; else hi = mid;
+    }
+    return _run = lo;
+  }
+  private long val( int i ) { return UnsafeUtils.get8(_mem,_valoff+(run(i)<<3)); }
+
+  /** Number of runs; exposed for testing. */
+  public int nruns() { return _nruns; }
+
+  @Override protected final long at8_impl( int i ) {
+    long res = val(i);
+    if( res == C8Chunk._NA ) throw new IllegalArgumentException("at8_abs but value is missing");
+    return res;
+  }
+  @Override protected final double atd_impl( int i ) {
+    long res = val(i);
+    return res == C8Chunk._NA ? Double.NaN : res;
+  }
+  @Override protected final boolean isNA_impl( int i ) { return val(i) == C8Chunk._NA; }
+  @Override boolean set_impl(int idx, long l) { return false; }
+  @Override boolean set_impl(int i, double d) { return false; }
+  @Override boolean set_impl(int i, float f ) { return false; }
+  @Override boolean setNA_impl(int idx) { return false; }
+  @Override public boolean hasFloat() { return false; }
+
+  // Zero runs are skipped whole; NA runs count as non-zero
+  @Override public int nextNZ( int rid ) {
+    int i = rid+1;
+    if( i >= _len ) return _len;
+    for( int r = run(i); r < _nruns; r++ )
+      if( UnsafeUtils.get8(_mem,_valoff+(r<<3)) != 0 )
+        return Math.max(i,beg(r));
+    return _len;
+  }
+
+  // Bulk loaders fill a whole run at a time
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    for( int r = from < to ? run(from) : _nruns, i=from; i<to; r++ ) {
+      long v = UnsafeUtils.get8(_mem,_valoff+(r<<3));
+      double d = v == C8Chunk._NA ? Double.NaN : v;
+      for( int e=Math.min(end(r),to); i<e; i++ ) vals[i-from] = d;
+    }
+    return vals;
+  }
+  @Override long[] getLongs_impl(long[] vals, int from, int to, long NA) {
+    for( int r = from < to ? run(from) : _nruns, i=from; i<to; r++ ) {
+      long v = UnsafeUtils.get8(_mem,_valoff+(r<<3));
+      if( v == C8Chunk._NA ) v = NA;
+      for( int e=Math.min(end(r),to); i<e; i++ ) vals[i-from] = v;
+    }
+    return vals;
+  }
+
+  @Override public NewChunk inflate_impl(NewChunk nc) {
+    nc.set_sparseLen(0);
+    nc.set_len(0);
+    for( int r=0, i=0; r<_nruns; r++ ) {
+      long v = UnsafeUtils.get8(_mem,_valoff+(r<<3));
+      for( int e=end(r); i<e; i++ )
+        if( v == C8Chunk._NA ) nc.addNA();
+        else nc.addNum(v,0);
+    }
+    return nc;
+  }
+  @Override public AutoBuffer write_impl(AutoBuffer bb) { return bb.putA1(_mem,_mem.length); }
+  @Override public CRLEChunk read_impl(AutoBuffer bb) {
+    _mem = bb.bufClose();
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem,0));
+    _nruns = UnsafeUtils.get4(_mem,4);
+    _valoff = _OFF+(_nruns<<2);
+    return this;
+  }
+}
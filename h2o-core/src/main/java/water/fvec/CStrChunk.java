@@ -9,6 +9,9 @@ public class CStrChunk extends Chunk {
   static protected final int _OFF=4;
   private int _valstart;
 
+  /** For subclasses with their own layout */
+  CStrChunk() { }
+
   public CStrChunk(int sslen, byte[] ss, int sparseLen, int idxLen, int[] strIdx) {
     _start = -1;
     _valstart = _OFF + (idxLen<<2);
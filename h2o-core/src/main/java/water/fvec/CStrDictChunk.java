@@ -0,0 +1,114 @@
+package water.fvec;
+
+import water.AutoBuffer;
+import water.MemoryManager;
+import water.parser.ValueString;
+import water.util.UnsafeUtils;
+
+/**
+ * Dictionary-encoded string chunk.  Each distinct string is stored once, and
+ * every row holds a 1- or 2-byte index into the dictionary (all-ones for NA).
+ * Picked by {@link NewChunk#compress} over a plain {@link CStrChunk} when the
+ * chunk has few distinct values, as is common for log-style columns.
+ *
+ * <p>Layout of {@code _mem}: a header of {row count, dictionary size, log2 of
+ * the index width}, then the per-row indices, then the dictionary offsets
+ * (relative to the start of the string bytes), then the 0-terminated string
+ * bytes themselves.
+ *
+ * <p>Subclasses CStrChunk so that all the code dispatching on string chunks
+ * keeps working; none of the CStrChunk fields are used.
+ */
+public class CStrDictChunk extends CStrChunk {
+  static protected final int _OFF=12;
+  /** Largest dictionary that is still encoded; bigger ones stay CStrChunk */
+  static final int MAX_DICT = 65535-1;
+  private int _ndict, _log, _dictoff, _valstart;
+
+  CStrDictChunk(int len, int[] ids, int ndict, int[] dictOffs, int dictBytes, byte[] ss) {
+    _start = -1;
+    set_len(len);
+    _ndict = ndict;
+    _log = ndict < 255 ? 0 : 1;
+    _dictoff = _OFF + (len<<_log);
+    _valstart = _dictoff + (ndict<<2);
+    _mem = MemoryManager.malloc1(_valstart + dictBytes, false);
+    UnsafeUtils.set4(_mem, 0, len);
+    UnsafeUtils.set4(_mem, 4, ndict);
+    UnsafeUtils.set4(_mem, 8, _log);
+    for( int i = 0; i < len; ++i )
+      if( _log==0 ) _mem[_OFF+i] = (byte)ids[i];
+      else UnsafeUtils.set2(_mem, _OFF+(i<<1), (short)ids[i]);
+    // Copy each dictionary entry (with trailing 0) out of the NewChunk bytes
+    int off = 0;
+    for( int d = 0; d < ndict; ++d ) {
+      UnsafeUtils.set4(_mem, _dictoff+(d<<2), off);
+      int src = dictOffs[d];
+      do { _mem[_valstart+off++] = ss[src]; } while( ss[src++] != 0 );
+    }
+    assert off == dictBytes;
+  }
+
+  /** Number of distinct (non-NA) strings in this chunk. */
+  public int dictSize() { return _ndict; }
+
+  /** Dictionary index for a row, or -1 if the row is missing. */
+  public int dictIdx(int idx) {
+    int id = _log==0 ? 0xFF&_mem[_OFF+idx] : 0xFFFF&UnsafeUtils.get2(_mem, _OFF+(idx<<1));
+    return id == (_log==0 ? 0xFF : 0xFFFF) ? -1 : id;
+  }
+
+  /** Dictionary entry, by dictionary index. */
+  public ValueString dictStr(ValueString vstr, int d) {
+    int off = _valstart+UnsafeUtils.get4(_mem, _dictoff+(d<<2));
+    int len = 0;
+    while( _mem[off+len] != 0 ) len++;
+    return vstr.set(_mem,off,len);
+  }
+
+  @Override public boolean isNA_impl(int idx) { return dictIdx(idx) == -1; }
+
+  @Override public ValueString atStr_impl(ValueString vstr, int idx) {
+    int d = dictIdx(idx);
+    return d == -1 ? null : dictStr(vstr,d);
+  }
+
+  @Override public AutoBuffer write_impl(AutoBuffer bb) { return bb.putA1(_mem, _mem.length); }
+  @Override public CStrDictChunk read_impl(AutoBuffer bb) {
+    _mem = bb.bufClose();
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem,0));
+    _ndict = UnsafeUtils.get4(_mem,4);
+    _log = UnsafeUtils.get4(_mem,8);
+    _dictoff = _OFF + (_len<<_log);
+    _valstart = _dictoff + (_ndict<<2);
+    return this;
+  }
+
+  /** Inflates back to the plain string layout, one copy of the string per row. */
+  @Override public NewChunk inflate_impl(NewChunk nc) {
+    nc.set_len(_len);
+    nc.set_sparseLen(_len);
+    nc._is = MemoryManager.malloc4(_len);
+    int[] slen = new int[_ndict];
+    for( int d = 0; d < _ndict; d++ ) {
+      int off = _valstart+UnsafeUtils.get4(_mem, _dictoff+(d<<2));
+      while( _mem[off+slen[d]] != 0 ) slen[d]++;
+    }
+    int sslen = 0;
+    for( int i = 0; i < _len; i++ ) {
+      int d = dictIdx(i);
+      if( d != -1 ) sslen += slen[d]+1;
+    }
+    nc._ss = MemoryManager.malloc1(sslen);
+    nc._sslen = 0;
+    for( int i = 0; i < _len; i++ ) {
+      int d = dictIdx(i);
+      if( d == -1 ) { nc._is[i] = NA; continue; }
+      nc._is[i] = nc._sslen;
+      System.arraycopy(_mem,_valstart+UnsafeUtils.get4(_mem, _dictoff+(d<<2)),nc._ss,nc._sslen,slen[d]+1);
+      nc._sslen += slen[d]+1;
+    }
+    return nc;
+  }
+}
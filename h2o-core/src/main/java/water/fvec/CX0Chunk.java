@@ -14,6 +14,9 @@ public final class CX0Chunk extends CXIChunk {
   @Override double min() { return 0; }
   @Override double max() { return 1; }
 
+  @Override double dValue(int off) { return 1; }
+  @Override long lValue(int off, long NA) { return 1; }
+
   @Override public NewChunk inflate_impl(NewChunk nc) {
     final int slen = sparseLen();
     nc.set_len(_len);
@@ -11,6 +11,7 @@ public class CXDChunk extends CXIChunk {
   // extract fp value from an (byte)offset
   protected final double getFValue(int off){
     if(valsz() == 8) return UnsafeUtils.get8d(_mem, off + ridsz());
+    if(valsz() == 4) return UnsafeUtils.get4f(_mem, off + ridsz());
     throw H2O.fail();
   }
 
@@ -33,8 +34,15 @@ public class CXDChunk extends CXIChunk {
     return Double.isNaN(getFValue(off));
   }
 
+  @Override final double dValue(int off) { return getFValue(off); }
+  @Override final long lValue(int off, long NA) {
+    double d = getFValue(off);
+    return Double.isNaN(d) ? NA : (long)d;
+  }
+
   @Override public NewChunk inflate_impl(NewChunk nc) {
     final int slen = sparseLen();
+    nc._float32 = valsz() == 4;      // Keep float storage when rewritten
     nc.set_len(_len);
     nc.set_sparseLen(slen);
     nc.alloc_doubles(slen);
@@ -4,6 +4,7 @@ import water.AutoBuffer;
 import water.H2O;
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 // Sparse chunk.
@@ -75,6 +76,46 @@ public class CXIChunk extends Chunk {
     return getIValue(off) == NAS[_valsz_log];
   }
 
+  // Bulk loaders: zero-fill, then scatter just the stored non-zeros
+  @Override double[] getDoubles_impl(double[] vals, int from, int to) {
+    Arrays.fill(vals,0,to-from,0);
+    final int inc = _ridsz + _valsz;
+    for( int off = from == 0 || sparseLen() == 0 ? _OFF : findOffset(from); off < _mem.length; off += inc ) {
+      int id = getId(off);
+      if( id >= to ) break;
+      if( id >= from ) vals[id-from] = dValue(off);
+    }
+    return vals;
+  }
+  @Override long[] getLongs_impl(long[] vals, int from, int to, long NA) {
+    Arrays.fill(vals,0,to-from,0);
+    final int inc = _ridsz + _valsz;
+    for( int off = from == 0 || sparseLen() == 0 ? _OFF : findOffset(from); off < _mem.length; off += inc ) {
+      int id = getId(off);
+      if( id >= to ) break;
+      if( id >= from ) vals[id-from] = lValue(off,NA);
+    }
+    return vals;
+  }
+  @Override int getSparseDoubles_impl(double[] vals, int[] ids) {
+    final int slen = sparseLen(), inc = _ridsz + _valsz;
+    for( int i = 0, off = _OFF; i < slen; ++i, off += inc ) {
+      ids[i] = getId(off);
+      vals[i] = dValue(off);
+    }
+    return slen;
+  }
+  // Stored element at a (byte)offset as a double, NaN for missing
+  double dValue(int off) {
+    long v = getIValue(off);
+    return v == NAS[_valsz_log] ? Double.NaN : v;
+  }
+  // Stored element at a (byte)offset as a long, NA for missing
+  long lValue(int off, long NA) {
+    long v = getIValue(off);
+    return v == NAS[_valsz_log] ? NA : v;
+  }
+
   @Override public NewChunk inflate_impl(NewChunk nc) {
     final int slen = sparseLen();
     nc.set_len(_len);
@@ -98,7 +98,9 @@ public class Frame extends Lockable<Frame> {
     super(key);
 
     // Require all Vecs already be installed in the K/V store
-    for( Vec vec : vecs ) DKV.prefetch(vec._key);
+    Key[] vkeys = new Key[vecs.length];
+    for( int i=0; i<vecs.length; i++ ) vkeys[i] = vecs[i]._key;
+    DKV.prefetch(vkeys);
     for( Vec vec : vecs ) assert DKV.get(vec._key) != null : " null vec: "+vec._key;
 
     // Always require names
@@ -281,7 +283,7 @@ public class Frame extends Lockable<Frame> {
   // Compute vectors for caching
   private Vec[] vecs_impl() {
     // Load all Vec headers; load them all in parallel by starting prefetches
-    for( Key<Vec> key : _keys ) DKV.prefetch(key);
+    DKV.prefetch(_keys);
     Vec [] vecs = new Vec[_keys.length];
     for( int i=0; i<_keys.length; i++ ) vecs[i] = _keys[i].get();
     return vecs;
@@ -429,6 +431,57 @@ public class Frame extends Lockable<Frame> {
     return sum;
   }
 
+  /** Keep a copy of every chunk on {@code rf-1} more nodes besides its home,
+   *  the chunk key's next desired replicas.  MRTasks over the Frame may then
+   *  map each chunk on whichever node holding it is least loaded.  Copies are
+   *  cached values {@link DKVCache#pin}ned against eviction and spilling:
+   *  writing a chunk invalidates its copies, and each holder fetches it again
+   *  at once, so replication is meant for read-mostly Frames.  MRTasks making
+   *  or writing Vecs still map every chunk on its home.  The factor is capped
+   *  at the cloud size.
+   *  @return this */
+  public Frame replicate( int rf ) {
+    rf = Math.max(1,Math.min(rf,H2O.CLOUD.size()));
+    Vec[] vecs = vecs();
+    if( rf > 1 ) new ReplicateChunks(_keys,rf).doAllNodes();
+    Futures fs = new Futures();
+    for( Vec v : vecs ) v._replicas = (byte)rf;
+    DKV.putAll(vecs,fs);
+    fs.blockForPending();
+    return this;
+  }
+
+  // Pull in the chunks this node is a replica of
+  private static class ReplicateChunks extends MRTask<ReplicateChunks> {
+    final Key[] _vecs;
+    final int _rf;
+    ReplicateChunks( Key[] vecs, int rf ) { _vecs = vecs; _rf = rf; }
+    @Override protected void setupLocal() {
+      final int BATCH = 64;     // Fetches in flight
+      Key[] batch = new Key[BATCH];
+      int n = 0;
+      for( Key vk : _vecs ) {
+        Vec v = DKV.getGet(vk);
+        for( int c=0; c<v.nChunks(); c++ ) {
+          Key ck = v.chunkKey(c);
+          for( int r=1; r<_rf; r++ )
+            if( ck.replica_node(r) == H2O.SELF ) {
+              batch[n++] = ck;
+              if( n == BATCH ) { fetch(batch,n); n = 0; }
+              break;
+            }
+        }
+      }
+      fetch(batch,n);
+    }
+    // Fetch with one batched get per home node, and keep the copies
+    private static void fetch( Key[] batch, int n ) {
+      Key[] ks = Arrays.copyOf(batch,n);
+      DKV.prefetch(ks);
+      for( Key k : ks ) { DKV.get(k); DKVCache.pin(k); }
+    }
+  }
+
   /** 64-bit checksum of the checksums of the vecs.  SHA-265 checksums of the
    *  chunks are XORed together.  Since parse always parses the same pieces of
    *  files into the same offsets in some chunk this checksum will be
@@ -746,6 +799,7 @@ public class Frame extends Lockable<Frame> {
     _names = new String[0];
     _keys  = new Key   [0];
     _vecs  = new Vec   [0];
+    _col0  = null;
     add(names,vecs,cols);
   }
 
@@ -803,15 +857,15 @@ public class Frame extends Lockable<Frame> {
     _vecs = new Vec[_keys.length];
     for( int i=0; i<_keys.length; i++ ) {
       // Insert Vec header
-      Vec vec = _vecs[i] = new Vec( _keys[i],
-                                    espc2,
-                                    domains!=null ? domains[i] : null,
-                                    types[i]);
-      // Here we have to save vectors since
-      // saving during unlock will invoke Frame vector
-      // refresh
-      DKV.put(_keys[i],vec,fs);
+      _vecs[i] = new Vec( _keys[i],
+                          espc2,
+                          domains!=null ? domains[i] : null,
+                          types[i]);
     }
+    // Here we have to save vectors since
+    // saving during unlock will invoke Frame vector
+    // refresh
+    DKV.putAll(_vecs,fs);
     fs.blockForPending();
     unlock(null);
   }
@@ -1151,7 +1205,7 @@ public class Frame extends Lockable<Frame> {
         c2._vec=null;
         c2._start=-1;
         c2._cidx=-1;
-        c2._mem = c2._mem.clone();
+        c2._mem = c2.copyBytes();
         DKV.put(_vecs[i++].chunkKey(c.cidx()), c2, _fs, true);
       }
     }
@@ -1241,6 +1295,45 @@ public class Frame extends Lockable<Frame> {
     }
   }
 
+  /** @return The quoted, comma separated column names as a CSV header line */
+  public byte[] csvHeader() {
+    StringBuilder sb = new StringBuilder();
+    sb.append('"').append(_names[0]).append('"');
+    for( int i = 1; i < _names.length; i++ )
+      sb.append(',').append('"').append(_names[i]).append('"');
+    return sb.append('\n').toString().getBytes();
+  }
+
+  /** Append one row, given as an offset into a set of aligned Chunks, to a
+   *  CSV line.  Shared by the serial {@link CSVStream} and the distributed
+   *  part-file export, so both produce the same text. */
+  public static void appendCSVRow(StringBuilder sb, Chunk[] cs, int row, boolean hex_string) {
+    for( int i = 0; i < cs.length; i++ ) {
+      if( i > 0 ) sb.append(',');
+      Chunk c = cs[i];
+      if( c.isNA(row) ) continue;
+      Vec v = c.vec();
+      if( v.isEnum() ) sb.append('"').append(v.factor(c.at8(row))).append('"');
+      else if( v.isUUID() ) sb.append(PrettyPrint.UUID(c.at16l(row), c.at16h(row)));
+      else if( v.isInt() ) sb.append(c.at8(row));
+      else if( v.isString() ) sb.append('"').append(c.atStr(new ValueString(), row)).append('"');
+      else {
+        double d = c.atd(row);
+        // R 3.1 unfortunately changed the behavior of read.csv().
+        // (Really type.convert()).
+        //
+        // Numeric values with too much precision now trigger a type conversion in R 3.1 into a factor.
+        //
+        // See these discussions:
+        //   https://bugs.r-project.org/bugzilla/show_bug.cgi?id=15751
+        //   https://stat.ethz.ch/pipermail/r-devel/2014-April/068778.html
+        //   http://stackoverflow.com/questions/23072988/preserve-old-pre-3-1-0-type-convert-behavior
+        sb.append(hex_string ? Double.toHexString(d) : Double.toString(d));
+      }
+    }
+    sb.append('\n');
+  }
+
   /** Convert this Frame to a CSV (in an {@link InputStream}), that optionally
    *  is compatible with R 3.1's recent change to read.csv()'s behavior.
    *  @return An InputStream containing this Frame as a CSV */
@@ -1258,46 +1351,20 @@ public class Frame extends Lockable<Frame> {
     CSVStream(boolean headers, boolean hex_string) {
       _curChkIdx=0;
       _hex_string = hex_string;
-      StringBuilder sb = new StringBuilder();
-      Vec vs[] = vecs();
-      if( headers ) {
-        sb.append('"').append(_names[0]).append('"');
-        for(int i = 1; i < vs.length; i++)
-          sb.append(',').append('"').append(_names[i]).append('"');
-        sb.append('\n');
-      }
-      _line = sb.toString().getBytes();
+      _line = headers ? csvHeader() : new byte[0];
     }
 
     byte[] getBytesForRow() {
       StringBuilder sb = new StringBuilder();
       Vec vs[] = vecs();
-      for( int i = 0; i < vs.length; i++ ) {
-        if(i > 0) sb.append(',');
-        if(!vs[i].isNA(_row)) {
-          if( vs[i].isEnum() ) sb.append('"').append(vs[i].factor(vs[i].at8(_row))).append('"');
-          else if( vs[i].isUUID() ) sb.append(PrettyPrint.UUID(vs[i].at16l(_row), vs[i].at16h(_row)));
-          else if( vs[i].isInt() ) sb.append(vs[i].at8(_row));
-          else if (vs[i].isString()) sb.append('"').append(vs[i].atStr(new ValueString(), _row)).append('"');
-          else {
-            double d = vs[i].at(_row);
-            // R 3.1 unfortunately changed the behavior of read.csv().
-            // (Really type.convert()).
-            //
-            // Numeric values with too much precision now trigger a type conversion in R 3.1 into a factor.
-            //
-            // See these discussions:
-            //   https://bugs.r-project.org/bugzilla/show_bug.cgi?id=15751
-            //   https://stat.ethz.ch/pipermail/r-devel/2014-April/068778.html
-            //   http://stackoverflow.com/questions/23072988/preserve-old-pre-3-1-0-type-convert-behavior
-            String s = _hex_string ? Double.toHexString(d) : Double.toString(d);
-            sb.append(s);
-          }
-        }
+      if( _chks == null || _chks[0].cidx() != _curChkIdx ) {
+        _chks = new Chunk[vs.length];
+        for( int i = 0; i < vs.length; i++ ) _chks[i] = vs[i].chunkForChunkIdx(_curChkIdx);
       }
-      sb.append('\n');
+      appendCSVRow(sb, _chks, (int)(_row - _chks[0]._start), _hex_string);
       return sb.toString().getBytes();
     }
+    private Chunk[] _chks;           // Chunks of the current row
 
     @Override public int available() throws IOException {
       // Case 1:  There is more data left to read from the current line.
@@ -0,0 +1,200 @@
+package water.fvec;
+
+import water.*;
+import water.persist.Persist;
+import water.util.FileUtils;
+import water.util.Log;
+import water.util.UnsafeUtils;
+
+import java.io.*;
+import java.net.URI;
+
+/**
+ * Native binary save and reload of a Frame.
+ *
+ * A snapshot is a directory holding one metadata file plus one file per chunk
+ * index.  The metadata file has the column names, types and domains, the
+ * shared row layout (espc), and each column's rollup stats.  Each chunk file
+ * has the compressed byte payload of that chunk for every column, exactly as
+ * it sits in the K/V store.
+ *
+ * Chunk files are written and read in parallel, each by the node homing the
+ * chunk, so a reload neither re-parses nor re-compresses anything.  On a
+ * multi-node cloud the directory must be visible to every node (HDFS, S3 or a
+ * shared file system); the local file system works for a single node.
+ *
+ * Columns of wrapped Vecs (e.g. enum-adapted or subset views) are
+ * materialized into plain compressed chunks on save.
+ */
+public final class FrameSnapshot {
+  /** Name of the metadata file inside a snapshot directory */
+  public static final String METAFILE = "__h2o_frame.mbin";
+  private static final int MAGIC = 0x48324F46; // "H2OF"
+  private static final int VERSION = 1;
+
+  private FrameSnapshot() {}
+
+  static String chunkFile(String dir, int cidx) { return dir + "/chunk_" + cidx + ".bin"; }
+
+  /**
+   * Save a frame into the given directory.
+   *
+   * @param fr Frame to save
+   * @param dir Destination directory (hdfs, s3, local)
+   * @param overwrite Replace existing snapshot files
+   */
+  public static void save(Frame fr, URI dir, boolean overwrite) throws IOException {
+    assert dir.getQuery() == null : "Query parameters are not allowed in URI.";
+    Persist persist = H2O.getPM().getPersistForURI(dir);
+    String sdir = dir.toString();
+    if( !persist.mkdirs(sdir) ) Log.warn("Directory " + dir + " already exists.");
+    // Claim the metadata file first, so an existing snapshot fails fast
+    OutputStream os = persist.create(sdir + "/" + METAFILE, overwrite);
+    try {
+      saveImpl(fr, sdir, overwrite, os);
+    } finally {
+      FileUtils.close(os);
+    }
+  }
+
+  private static void saveImpl(Frame fr, String sdir, boolean overwrite, OutputStream os) throws IOException {
+    Vec[] vecs = fr.vecs();
+    // Rollups go into the metadata; compute any missing ones in parallel
+    Futures fs = new Futures();
+    for( Vec v : vecs ) RollupStats.start(v, fs, false);
+    fs.blockForPending();
+    new SaveChunks(sdir, overwrite).doAll(fr);
+
+    AutoBuffer ab = new AutoBufferWithoutTypeIds();
+    ab.put4(MAGIC).put4(VERSION);
+    ab.putStr(fr._key == null ? null : fr._key.toString());
+    ab.putAStr(fr.names());
+    byte[] types = new byte[vecs.length];
+    String[][] domains = new String[vecs.length][];
+    for( int i = 0; i < vecs.length; i++ ) {
+      types[i] = vecs[i].get_type();
+      domains[i] = vecs[i].domain();
+    }
+    ab.putA1(types).putAAStr(domains).putA8(fr.anyVec()._espc);
+    for( Vec v : vecs ) ab.put(RollupStats.get(v));
+    os.write(ab.buf());
+  }
+
+  /**
+   * Load a frame saved by {@link #save}.
+   *
+   * @param dir Source directory (hdfs, s3, local) holding the snapshot
+   * @param key Key to load the frame under, or null for the saved key
+   * @return The loaded frame, already in the DKV
+   */
+  public static Frame load(URI dir, Key key) throws IOException {
+    Persist persist = H2O.getPM().getPersistForURI(dir);
+    String sdir = dir.toString();
+    AutoBuffer ab;
+    InputStream is = persist.open(sdir + "/" + METAFILE);
+    try {
+      ab = new AutoBufferWithoutTypeIds(readAll(is));
+    } finally {
+      FileUtils.close(is);
+    }
+    if( ab.get4() != MAGIC ) throw new IOException("Not an H2O frame snapshot: " + dir);
+    int version = ab.get4();
+    if( version != VERSION ) throw new IOException("Unsupported frame snapshot version " + version + ": " + dir);
+    String skey = ab.getStr();
+    String[] names = ab.getAStr();
+    byte[] types = ab.getA1();
+    String[][] domains = ab.getAAStr();
+    long[] espc = ab.getA8();
+    RollupStats[] rs = new RollupStats[names.length];
+    for( int i = 0; i < rs.length; i++ ) rs[i] = ab.get(RollupStats.class);
+    if( key == null ) key = Key.make(skey == null ? Key.rand() : skey);
+
+    Key[] keys = new Vec.VectorGroup().addVecs(names.length);
+    Vec[] vecs = new Vec[names.length];
+    for( int i = 0; i < vecs.length; i++ )
+      vecs[i] = new Vec(keys[i], espc, domains[i], types[i]);
+    Frame fr = new Frame(key, names, vecs);
+    fr.delete_and_lock(null);
+    // Chunks are restored on their home nodes; chunk i of every column is
+    // homed with chunk i of the first column.
+    int nchunks = espc.length - 1;
+    Key[] ckeys = new Key[nchunks];
+    for( int i = 0; i < nchunks; i++ ) ckeys[i] = vecs[0].chunkKey(i);
+    new LoadChunks(sdir, keys).doAll(ckeys);
+    Futures fs = new Futures();
+    for( int i = 0; i < vecs.length; i++ ) {
+      DKV.put(vecs[i]._key, vecs[i], fs);
+      if( rs[i] != null ) DKV.put(vecs[i].rollupStatsKey(), rs[i], fs);
+    }
+    fs.blockForPending();
+    fr.update(null);
+    fr.unlock(null);
+    return fr;
+  }
+
+  private static byte[] readAll(InputStream is) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    byte[] buf = new byte[1 << 16];
+    int n;
+    while( (n = is.read(buf)) != -1 ) bos.write(buf, 0, n);
+    return bos.toByteArray();
+  }
+
+  // Write one file per chunk index, holding each column's chunk payload as
+  // the chunk class name followed by the length-prefixed bytes.
+  private static class SaveChunks extends MRTask<SaveChunks> {
+    final String _dir;
+    final boolean _overwrite;
+    SaveChunks(String dir, boolean overwrite) { _dir = dir; _overwrite = overwrite; }
+    @Override public void map(Chunk[] cs) {
+      String path = chunkFile(_dir, cs[0].cidx());
+      DataOutputStream os = null;
+      try {
+        os = new DataOutputStream(new BufferedOutputStream(H2O.getPM().getPersistForURI(URI.create(path)).create(path, _overwrite)));
+        os.writeInt(cs.length);
+        for( Chunk c : cs ) {
+          // Wrapped chunks compute their values from another Vec; store them flat
+          Chunk s = c._vec instanceof WrappedVec ? c.inflate_impl(new NewChunk(c)).compress() : c;
+          byte[] mem = s.getBytes();
+          os.writeUTF(s.getClass().getName());
+          os.writeInt(mem.length);
+          os.write(mem);
+        }
+      } catch( IOException e ) {
+        throw new RuntimeException("Cannot write " + path, e);
+      } finally {
+        FileUtils.close(os);
+      }
+    }
+  }
+
+  // Install the saved chunk payloads of one chunk index, on its home node,
+  // as serialized Values; they are decoded lazily on first use.
+  private static class LoadChunks extends MRTask<LoadChunks> {
+    final String _dir;
+    final Key[] _vecKeys;
+    LoadChunks(String dir, Key[] vecKeys) { _dir = dir; _vecKeys = vecKeys; }
+    @Override public void map(Key ckey) {
+      int cidx = UnsafeUtils.get4(ckey._kb, 6);
+      String path = chunkFile(_dir, cidx);
+      DataInputStream is = null;
+      try {
+        is = new DataInputStream(new BufferedInputStream(H2O.getPM().getPersistForURI(URI.create(path)).open(path)));
+        int ncols = is.readInt();
+        if( ncols != _vecKeys.length )
+          throw new IOException("Expected " + _vecKeys.length + " columns but found " + ncols + " in " + path);
+        for( Key vkey : _vecKeys ) {
+          short type = (short)TypeMap.onIce(is.readUTF());
+          byte[] mem = MemoryManager.malloc1(is.readInt());
+          is.readFully(mem);
+          Key k = Vec.chunkKey(vkey, cidx);
+          DKV.put(k, new Value(k, mem.length, mem, type, Value.ICE), _fs);
+        }
+      } catch( IOException e ) {
+        throw new RuntimeException("Cannot read " + path, e);
+      } finally {
+        FileUtils.close(is);
+      }
+    }
+  }
+}
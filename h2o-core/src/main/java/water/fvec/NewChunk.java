@@ -10,6 +10,7 @@ import water.util.PrettyPrint;
 import water.util.UnsafeUtils;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -64,7 +65,17 @@ public class NewChunk extends Chunk {
 
   public int _timCnt = 0;
   protected static final int MIN_SPARSE_RATIO = 32;
+  static final int MIN_RLE_LEN = 1024; // Smallest chunk considered for CRLEChunk/CFORChunk
   private int _sparseRatio = MIN_SPARSE_RATIO;
+  // Store values that need a floating point representation as 4-byte floats
+  // (C4FChunk, or a 4-byte CXDChunk when sparse) instead of 8-byte doubles,
+  // provided every value is exactly representable as a float.  Integer and
+  // scaled-integer encodings are still used when they fit.
+  public boolean _float32;
+  // With _float32, round such values to the nearest float rather than demand
+  // exactness; values beyond the float range still keep the chunk in
+  // doubles.  Set by a float32 parse.
+  public boolean _float32Round;
 
   public NewChunk( Vec vec, int cidx ) { _vec = vec; _cidx = cidx; }
 
@@ -714,8 +725,11 @@ public class NewChunk extends Chunk {
     byte mode = type();
     if( mode==AppendableVec.NA ) // ALL NAs, nothing to do
       return new C0DChunk(Double.NaN, sparseLen());
-    if( mode==AppendableVec.STRING )
-      return new CStrChunk(_sslen, _ss, sparseLen(), _len, _is);
+    if( mode==AppendableVec.STRING ) {
+      if( sparseLen() != _len ) cancel_sparse();
+      Chunk dict = chunkStrDict();
+      return dict != null ? dict : new CStrChunk(_sslen, _ss, sparseLen(), _len, _is);
+    }
     boolean rerun=false;
     if(mode == AppendableVec.ENUM){
       for( int i=0; i< sparseLen(); i++ )
@@ -767,8 +781,10 @@ public class NewChunk extends Chunk {
       }
       if(isConstant)
         return isInteger? new C0LChunk((long)constVal, _len): new C0DChunk(constVal,_len);
-      if(!isInteger)
-        return  sparse? new CXDChunk(_len, sparseLen(), 8, bufD(8)): chunkD();
+      if(!isInteger) {
+        final int valsz = asFloats() ? 4 : 8;
+        return  sparse? new CXDChunk(_len, sparseLen(), valsz, bufD(valsz)): valsz == 4 ? chunkF() : chunkD();
+      }
       // Else flip to longs
       _ls = new long[_ds.length];
       _xs = new int [_ds.length];
@@ -865,7 +881,10 @@ public class NewChunk extends Chunk {
     final boolean fpoint = xmin < 0 || min < Long.MIN_VALUE || max > Long.MAX_VALUE;
 
     if( sparse ) {
-      if(fpoint) return new CXDChunk(_len, sparseLen(),8,bufD(8));
+      if(fpoint) {
+        final int valsz = asFloats() ? 4 : 8;
+        return new CXDChunk(_len, sparseLen(),valsz,bufD(valsz));
+      }
       int sz = 8;
       if( Short.MIN_VALUE <= min && max <= Short.MAX_VALUE ) sz = 2;
       else if( Integer.MIN_VALUE <= min && max <= Integer.MAX_VALUE ) sz = 4;
@@ -883,7 +902,7 @@ public class NewChunk extends Chunk {
     // and if that fits in a byte/short - then it's worth compressing.  Other
     // wise we just flip to a float or double representation.
     if( overflow || (fpoint && floatOverflow) || -35 > xmin || xmin > 35 )
-      return chunkD();
+      return fpoint && asFloats() ? chunkF() : chunkD();
     final long leRange = leRange(lemin,lemax);
     if( fpoint ) {
       if( (int)lemin == lemin && (int)lemax == lemax ) {
@@ -898,9 +917,19 @@ public class NewChunk extends Chunk {
         long bias = 2147483647l + lemin;
         return new C4SChunk( bufX(bias,xmin,C4SChunk._OFF,2),bias,PrettyPrint.pow10(xmin));
       }
-      return chunkD();
+      return asFloats() ? chunkF() : chunkD();
     } // else an integer column
 
+    // Long runs or small ranges within blocks of rows beat a fixed width.
+    // Small chunks are cheap either way, and fixed width decodes fastest.
+    if( _len >= MIN_RLE_LEN ) {
+      final boolean c1n = xmin == 0 && 0 <= lemin && lemax <= 255 && (_naCnt + _enumCnt) == 0;
+      final int fixedLog = (c1n || leRange < 255) ? 0 : leRange < 65535 ? 1
+        : (Integer.MIN_VALUE < min && max <= Integer.MAX_VALUE) ? 2 : 3;
+      Chunk rle = chunkRLEorFOR(fixedLog);
+      if( rle != null ) return rle;
+    }
+
     // Compress column into a byte
     if(xmin == 0 &&  0<=lemin && lemax <= 255 && ((_naCnt + _enumCnt)==0) )
       return new C1NChunk( bufX(0,0,C1NChunk._OFF,0));
@@ -1027,6 +1056,108 @@ public class NewChunk extends Chunk {
     return bs;
   }
 
+  // Value of a dense integer row, NA as C8Chunk._NA
+  private long lval( int i ) { return isNA2(i) ? C8Chunk._NA : _ls[i]*PrettyPrint.pow10i(_xs[i]); }
+
+  // Run-length or blocked frame-of-reference encoding of a dense integer
+  // column.  Both cost more to decode than the fixed-width chunks, so they are
+  // only used when they save at least a quarter of the fixed-width size.
+  // Returns null if neither does.
+  private Chunk chunkRLEorFOR( int fixedLog ) {
+    final long limit = ((long)_len<<fixedLog) - (((long)_len<<fixedLog)>>2);
+    // Count runs, and size the frame-of-reference blocks
+    int nruns = 0;
+    long forsz = CFORChunk._OFF + ((long)CFORChunk.nblocks(_len)<<4);
+    long prev = 0;
+    for( int b = 0; b < _len; b += CFORChunk.BLK ) {
+      int e = Math.min(_len, b+CFORChunk.BLK);
+      int w = forWidth(b,e);
+      if( w < 0 ) forsz = Long.MAX_VALUE;
+      else if( forsz != Long.MAX_VALUE ) forsz += (long)w*(e-b);
+      for( int i = b; i < e; i++ ) {
+        long v = lval(i);
+        if( i==0 || v != prev ) nruns++;
+        prev = v;
+      }
+    }
+    final long rlesz = CRLEChunk._OFF + 12L*nruns;
+    if( rlesz < limit && rlesz <= forsz ) {
+      int[] ends = MemoryManager.malloc4(nruns);
+      long[] vals = MemoryManager.malloc8(nruns);
+      int r = -1;
+      for( int i = 0; i < _len; i++ ) {
+        long v = lval(i);
+        if( i==0 || v != vals[r] ) vals[++r] = v;
+        ends[r] = i+1;
+      }
+      return new CRLEChunk(_len, nruns, ends, vals);
+    }
+    if( forsz < limit )
+      return new CFORChunk(bufFOR((int)forsz));
+    return null;
+  }
+
+  // Bytes per row needed for the frame-of-reference block [b,e), 0 for a
+  // constant (or all-NA) block, -1 if the block range does not fit an int.
+  private int forWidth( int b, int e ) {
+    long lo = Long.MAX_VALUE, hi = Long.MIN_VALUE;
+    boolean nas = false;
+    for( int i = b; i < e; i++ ) {
+      if( isNA2(i) ) { nas = true; continue; }
+      long v = lval(i);
+      if( v < lo ) lo = v;
+      if( v > hi ) hi = v;
+    }
+    if( lo > hi ) return 0;     // All NAs
+    if( !nas && lo == hi ) return 0;
+    long range = leRange(lo,hi); // Largest offset is reserved for NA
+    return range < 0xFFL ? 1 : range < 0xFFFFL ? 2 : range < 0xFFFFFFFFL ? 4 : -1;
+  }
+
+  // Compute a blocked frame-of-reference buffer
+  private byte[] bufFOR( int sz ) {
+    final byte[] bs = MemoryManager.malloc1(sz);
+    UnsafeUtils.set4(bs,0,_len);
+    int off = CFORChunk._OFF + (CFORChunk.nblocks(_len)<<4);
+    for( int b = 0, h = CFORChunk._OFF; b < _len; b += CFORChunk.BLK, h += 16 ) {
+      int e = Math.min(_len, b+CFORChunk.BLK);
+      int w = forWidth(b,e);
+      long base = Long.MAX_VALUE;
+      for( int i = b; i < e; i++ )
+        if( !isNA2(i) ) base = Math.min(base,lval(i));
+      if( base == Long.MAX_VALUE ) base = C8Chunk._NA; // All NAs
+      UnsafeUtils.set8(bs,h,base);
+      UnsafeUtils.set4(bs,h+8,off);
+      UnsafeUtils.set4(bs,h+12,w);
+      for( int i = b; i < e && w > 0; i++, off += w ) {
+        long d = isNA2(i) ? -1 : lval(i)-base; // -1 is all-ones: the NA marker
+        switch( w ) {
+        case 1: bs[off] = (byte)d; break;
+        case 2: UnsafeUtils.set2(bs,off,(short)d); break;
+        case 4: UnsafeUtils.set4(bs,off,(int)d); break;
+        default: throw H2O.fail();
+        }
+      }
+    }
+    assert off == sz;
+    return bs;
+  }
+
+  // Store floating point values as 4-byte floats?  Only for a float32 column,
+  // and only if every value survives the narrowing: exactly, or for a
+  // rounding column within the float range.  Floats have less range and
+  // precision than the doubles and scaled longs held here.
+  private boolean asFloats() {
+    if( !_float32 ) return false;
+    for( int j = 0; j < sparseLen(); ++j ) {
+      double d = _ds != null?_ds[j]:(isNA2(j)||isEnum(j))?Double.NaN:_ls[j]*PrettyPrint.pow10(_xs[j]);
+      float f = (float)d;
+      if( f == d || Double.isNaN(d) ) continue;
+      if( !_float32Round || Float.isInfinite(f) || f == 0 ) return false;
+    }
+    return true;
+  }
+
   // Compute a compressed double buffer
   private Chunk chunkD() {
     final byte [] bs = MemoryManager.malloc1(_len *8,true);
@@ -1043,6 +1174,22 @@ public class NewChunk extends Chunk {
     return new C8DChunk(bs);
   }
 
+  // Compute a compressed float buffer
+  private Chunk chunkF() {
+    final byte [] bs = MemoryManager.malloc1(_len *4,true);
+    int j = 0;
+    for(int i = 0; i < _len; ++i){
+      double d = 0;
+      if(_id == null || _id.length == 0 || (j < _id.length && _id[j] == i)) {
+        d = _ds != null?_ds[j]:(isNA2(j)||isEnum(j))?Double.NaN:_ls[j]*PrettyPrint.pow10(_xs[j]);
+        ++j;
+      }
+      UnsafeUtils.set4f(bs, 4*i, (float)d);
+    }
+    assert j == sparseLen() :"j = " + j + ", _len = " + sparseLen();
+    return new C4FChunk(bs);
+  }
+
   // Compute a compressed UUID buffer
   private Chunk chunkUUID() {
     final byte [] bs = MemoryManager.malloc1(_len *16,true);
@@ -1063,6 +1210,39 @@ public class NewChunk extends Chunk {
     return new C16Chunk(bs);
   }
 
+  // Dictionary-encode the strings if there are few distinct values.  Returns
+  // null if the plain CStrChunk layout would be no larger.
+  private Chunk chunkStrDict() {
+    final int plain = CStrChunk._OFF + (_len<<2) + _sslen;
+    HashMap<ValueString,Integer> dict = new HashMap<>();
+    int[] ids = MemoryManager.malloc4(_len);
+    int[] offs = new int[16];
+    int dictBytes = 0;
+    ValueString vs = new ValueString();
+    for( int i = 0; i < _len; i++ ) {
+      if( _is[i] == CStrChunk.NA ) { ids[i] = -1; continue; }
+      int len = 0;
+      while( _ss[_is[i]+len] != 0 ) len++;
+      Integer id = dict.get(vs.set(_ss,_is[i],len));
+      if( id == null ) {
+        if( dict.size() == CStrDictChunk.MAX_DICT ) return null;
+        id = dict.size();
+        dict.put(new ValueString().set(_ss,_is[i],len),id);
+        if( id == offs.length ) offs = Arrays.copyOf(offs,id<<1);
+        offs[id] = _is[i];
+        dictBytes += len+1;
+        // Give up early once the dictionary alone is as big as plain storage
+        if( CStrDictChunk._OFF + (dict.size()<<2) + dictBytes >= plain ) return null;
+      }
+      ids[i] = id;
+    }
+    final int log = dict.size() < 255 ? 0 : 1;
+    if( CStrDictChunk._OFF + (_len<<log) + (dict.size()<<2) + dictBytes >= plain ) return null;
+    final int na = log==0 ? 0xFF : 0xFFFF;
+    for( int i = 0; i < _len; i++ ) if( ids[i] == -1 ) ids[i] = na;
+    return new CStrDictChunk(_len, ids, dict.size(), offs, dictBytes, _ss);
+  }
+
   // Compute compressed boolean buffer
   private byte[] bufB(int bpv) {
     assert bpv == 1 || bpv == 2 : "Only bit vectors with/without NA are supported";
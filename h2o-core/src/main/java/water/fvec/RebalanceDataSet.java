@@ -1,10 +1,12 @@
 package water.fvec;
 
 import jsr166y.CountedCompleter;
+import water.DKV;
 import water.Futures;
 import water.H2O;
 import water.Key;
 import water.MRTask;
+import water.util.Log;
 
 import java.util.Arrays;
 import java.util.Iterator;
@@ -18,6 +20,12 @@ import java.util.Iterator;
  *  It *does not* guarantee even chunk-node placement.  (This can not currently
  *  be done in H2O, since the placement of chunks is governed only by key-hash
  *  /vector group/ for Vecs)
+ *
+ *  With {@link #preserveLocality}, chunk sizes may differ from the even split
+ *  by up to 1/4 in exchange for moving fewer rows between nodes: chunk
+ *  boundaries shift onto source chunk boundaries wherever that keeps more rows
+ *  on the node already holding them.  In either mode, a chunk with exactly the
+ *  rows of a source chunk is copied as-is, without decompressing it.
  */
 public class RebalanceDataSet extends H2O.H2OCountedCompleter {
   final Frame _in;
@@ -27,6 +35,8 @@ public class RebalanceDataSet extends H2O.H2OCountedCompleter {
   final Key _jobKey;
   final transient Vec.VectorGroup _vg;
   transient long [] _espc;
+  boolean _locality;
+  transient RebalanceTask _task;
 
   /**
    * Constructor for make-compatible task.
@@ -56,6 +66,11 @@ public class RebalanceDataSet extends H2O.H2OCountedCompleter {
 
   public Frame getResult(){join(); return _out;}
 
+  /** Trade even chunk sizes for fewer rows moved between nodes.  Ignored when
+   *  making a frame compatible with another one, whose layout is fixed.
+   *  @return this, for flow-coding */
+  public RebalanceDataSet preserveLocality() { _locality = true; return this; }
+
   @Override public void compute2() {
     // Simply create a bogus new vector (don't even put it into KV) with
     // appropriate number of lines per chunk and then use it as a source to do
@@ -65,32 +80,140 @@ public class RebalanceDataSet extends H2O.H2OCountedCompleter {
     long[] espc;
     if (_espc != null) espc = _espc;
     else {
-      int rpc = (int) (_in.numRows() / _nchunks);
-      int rem = (int) (_in.numRows() % _nchunks);
-      espc = new long[_nchunks + 1];
-      Arrays.fill(espc, rpc);
-      for (int i = 0; i < rem; ++i) ++espc[i];
-      long sum = 0;
-      for (int i = 0; i < espc.length; ++i) {
-        long s = espc[i];
-        espc[i] = sum;
-        sum += s;
+      espc = evenEspc(_in.numRows(), _nchunks);
+      if( _locality && H2O.CLOUD.size() > 1 ) {
+        Vec src = _in.anyVec();
+        long[] local = localEspc(src, _nchunks);
+        Log.info("Rebalancing " + _in.numRows() + " rows into " + _nchunks + " chunks moves " +
+                 movedRows(src, local) + " rows between nodes, instead of " + movedRows(src, espc));
+        espc = local;
       }
-      assert espc[espc.length - 1] == _in.numRows() : "unexpected number of rows, expected " + _in.numRows() + ", got " + espc[espc.length - 1];
     }
     final Vec[] srcVecs = _in.vecs();
     _out = new Frame(_okey,_in.names(), new Vec(_vg.addVec(),espc).makeCons(srcVecs.length,0L,_in.domains(),_in.types()));
     _out.delete_and_lock(_jobKey);
-    new RebalanceTask(this,srcVecs).asyncExec(_out);
+    (_task = new RebalanceTask(this,srcVecs)).asyncExec(_out);
   }
 
   @Override public void onCompletion(CountedCompleter caller) {
     assert _out.numRows() == _in.numRows();
     Vec vec = _out.anyVec();
     assert vec.nChunks() == _nchunks;
+    if( _task != null && _task._reused > 0 )
+      Log.info("Rebalance copied " + _task._reused + " of " + (long)vec.nChunks()*_out.numCols() + " chunks as-is");
     _out.update(_jobKey);
     _out.unlock(_jobKey);
   }
+
+  // Even layout: every chunk has the same number of rows +/-1
+  static long[] evenEspc( long nrows, int nchunks ) {
+    long rpc = nrows / nchunks;
+    long rem = nrows % nchunks;
+    long[] espc = new long[nchunks + 1];
+    Arrays.fill(espc, rpc);
+    for (int i = 0; i < rem; ++i) ++espc[i];
+    long sum = 0;
+    for (int i = 0; i < espc.length; ++i) {
+      long s = espc[i];
+      espc[i] = sum;
+      sum += s;
+    }
+    assert espc[espc.length - 1] == nrows : "unexpected number of rows, expected " + nrows + ", got " + espc[espc.length - 1];
+    return espc;
+  }
+
+  // Most source chunk boundaries considered for each target chunk boundary
+  private static final int MAX_CANDIDATES = 8;
+
+  /** Layout of {@code nchunks} chunks over the rows of {@code src} moving the
+   *  fewest rows between nodes.  Chunk homes depend only on the chunk index,
+   *  so each target chunk has a known home, and every boundary of the even
+   *  layout may instead move to a nearby source chunk boundary - by at most
+   *  1/8 of the even chunk size, so no chunk shrinks or grows by more than
+   *  1/4.  A dynamic program over the boundary choices minimizes the rows
+   *  whose home changes; ties keep the even boundary. */
+  static long[] localEspc( Vec src, int nchunks ) {
+    long[] even = evenEspc(src.length(), nchunks);
+    long slack = (even[1] - even[0]) >> 3;
+    if( slack == 0 || nchunks == 1 ) return even;
+    long[] sespc = src._espc;
+    int[] shome = homes(src, src.nChunks());
+    int[] thome = homes(src, nchunks);
+    // Candidate positions of every boundary: the even one first
+    long[][] cands = new long[nchunks+1][];
+    cands[0] = new long[]{0};
+    cands[nchunks] = new long[]{even[nchunks]};
+    for( int j=1; j<nchunks; j++ ) {
+      long e = even[j];
+      int lo = Arrays.binarySearch(sespc, e - slack);
+      if( lo < 0 ) lo = -lo-1;
+      int hi = Arrays.binarySearch(sespc, e + slack);
+      if( hi < 0 ) hi = -hi-2;
+      // Source boundaries in the window, nearest first
+      int n = Math.max(0, hi-lo+1);
+      long[] cs = new long[1+Math.min(n,MAX_CANDIDATES)];
+      cs[0] = e;
+      int k = 1, l = Arrays.binarySearch(sespc, lo, hi+1, e), r;
+      if( l < 0 ) { r = -l-1; l = r-1; } else { r = l+1; l = l-1; }
+      while( k < cs.length && (l >= lo || r <= hi) ) {
+        if( r > hi || (l >= lo && e-sespc[l] <= sespc[r]-e) ) cs[k++] = sespc[l--];
+        else                                                   cs[k++] = sespc[r++];
+      }
+      cands[j] = k < cs.length ? Arrays.copyOf(cs,k) : cs;
+    }
+    // cost[j][k]: fewest rows moved by chunks 0..j-1 when boundary j is at
+    // cands[j][k]; from[j][k]: the boundary j-1 choice achieving it
+    long[] cost = new long[]{0};
+    int[][] from = new int[nchunks+1][];
+    for( int j=1; j<=nchunks; j++ ) {
+      long[] cj = cands[j], cp = cands[j-1];
+      long[] c2 = new long[cj.length];
+      from[j] = new int[cj.length];
+      for( int k=0; k<cj.length; k++ ) {
+        c2[k] = Long.MAX_VALUE;
+        for( int p=0; p<cp.length; p++ ) {
+          if( cp[p] >= cj[k] || cost[p] == Long.MAX_VALUE ) continue;
+          long c = cost[p] + moved(sespc, shome, thome[j-1], cp[p], cj[k]);
+          if( c < c2[k] ) { c2[k] = c; from[j][k] = p; } // Strict: earlier (nearer even) choices win ties
+        }
+      }
+      cost = c2;
+    }
+    long[] espc = new long[nchunks+1];
+    for( int j=nchunks, k=0; j>=0; k=from[j--][k] ) {
+      espc[j] = cands[j][k];
+      if( j == 0 ) break;
+    }
+    return espc;
+  }
+
+  /** Rows of {@code src} that a rebalance into {@code espc} moves between
+   *  nodes */
+  static long movedRows( Vec src, long[] espc ) {
+    int nchunks = espc.length-1;
+    int[] shome = homes(src, src.nChunks()), thome = homes(src, nchunks);
+    long n = 0;
+    for( int j=0; j<nchunks; j++ ) n += moved(src._espc, shome, thome[j], espc[j], espc[j+1]);
+    return n;
+  }
+
+  // Home node index of chunks 0..n-1 of any Vec shaped like v
+  private static int[] homes( Vec v, int n ) {
+    int[] hs = new int[n];
+    for( int i=0; i<n; i++ ) hs[i] = v.chunkKey(i).home_node().index();
+    return hs;
+  }
+
+  // Rows [lo,hi) whose source chunk is not homed on node home
+  private static long moved( long[] sespc, int[] shome, int home, long lo, long hi ) {
+    int i = Arrays.binarySearch(sespc, lo);
+    if( i < 0 ) i = -i-2;
+    long n = 0;
+    for( ; i < shome.length && sespc[i] < hi; i++ )
+      if( shome[i] != home )
+        n += Math.min(hi,sespc[i+1]) - Math.max(lo,sespc[i]);
+    return n;
+  }
   @Override public boolean onExceptionalCompletion(Throwable t, CountedCompleter caller) {
     t.printStackTrace();
     if( _out != null ) _out.delete(_jobKey,new Futures()).blockForPending();
@@ -99,10 +222,27 @@ public class RebalanceDataSet extends H2O.H2OCountedCompleter {
 
   public static class RebalanceTask extends MRTask<RebalanceTask> {
     final Vec [] _srcVecs;
+    long _reused;               // Chunks copied as-is
     public RebalanceTask(H2O.H2OCountedCompleter cmp, Vec... srcVecs){super(cmp);_srcVecs = srcVecs;}
 
     @Override public boolean logVerbose() { return false; }
 
+    // A chunk with exactly the rows of a source chunk is a copy of it.  Only
+    // plain Vecs: wrapping Vecs hand out views that are not stored as-is.
+    private boolean reuseChunk(Vec srcVec, Chunk chk){
+      if( srcVec.getClass() != Vec.class ) return false;
+      int sidx = srcVec.elem2ChunkIdx(chk._start);
+      if( srcVec._espc[sidx] != chk._start || srcVec._espc[sidx+1] != chk._start+chk._len ) return false;
+      Chunk c2 = (Chunk)srcVec.chunkForChunkIdx(sidx).clone();
+      c2._vec=null;
+      c2._start=-1;
+      c2._cidx=-1;
+      c2._mem = c2.copyBytes();
+      DKV.put(chk._vec.chunkKey(chk.cidx()), c2, _fs, true);
+      if( chk._vec._cache == chk ) chk._vec._cache = null;
+      return true;
+    }
+
     private void rebalanceChunk(Vec srcVec, Chunk chk){
       NewChunk dst = new NewChunk(chk);
       dst.set_len(0);
@@ -143,7 +283,9 @@ public class RebalanceDataSet extends H2O.H2OCountedCompleter {
     }
     @Override public void map(Chunk [] chks){
       for(int i = 0; i < chks.length; ++i)
-        rebalanceChunk(_srcVecs[i],chks[i]);
+        if( reuseChunk(_srcVecs[i],chks[i]) ) _reused++;
+        else rebalanceChunk(_srcVecs[i],chks[i]);
     }
+    @Override public void reduce(RebalanceTask rt) { _reused += rt._reused; }
   }
 }
@@ -78,6 +78,9 @@ class RollupStats extends Iced {
     boolean isUUID = c._vec.isUUID();
     boolean isString = c._vec.isString();
     ValueString vs = new ValueString();
+    double[] vals = null;       // Bulk loaded numeric values ...
+    int[] ids = null;           // ... their rows, if sparse
+    int nvals = 0;
     if (isString) _isInt = false;
     // Checksum support
     long checksum = 0;
@@ -148,12 +151,25 @@ class RollupStats extends Iced {
       }
 
     } else {                    // Numeric
+      // Bulk load all rows, or just the non-zeros of a sparse Chunk; the
+      // sigma pass below reuses the loaded values.
+      if( c.isSparse() ) {
+        vals = MemoryManager.malloc8d(c.sparseLen());
+        ids = MemoryManager.malloc4(c.sparseLen());
+        nvals = c.getSparseDoubles(vals,ids);
+      } else {
+        vals = c.getDoubles(MemoryManager.malloc8d(c._len),0,c._len);
+        nvals = c._len;
+      }
+      final boolean hasFloat = c.hasFloat();
       double sum = 0;
-      for( int i=c.nextNZ(-1); i< c._len; i=c.nextNZ(i) ) {
-        double d = c.atd(i);
+      for( int j=0; j<nvals; j++ ) {
+        final int i = ids == null ? j : ids[j];
+        double d = vals[j];
         if( Double.isNaN(d) ) _naCnt++;
         else {                  // All other columns have useful rollups
-          l = c.hasFloat()?Double.doubleToRawLongBits(d):c.at8(i);
+          // Checksum the long value; a double holds it exactly below 2^53
+          l = hasFloat ? Double.doubleToRawLongBits(d) : (Math.abs(d) < 0x1p53 ? (long)d : c.at8(i));
           if( d == Double.POSITIVE_INFINITY ) _pinfs++;
           else if( d == Double.NEGATIVE_INFINITY ) _ninfs++;
           else {
@@ -190,8 +206,8 @@ class RollupStats extends Iced {
       int zeros = c._len - c.sparseLen();
       double sigma = mean*mean*zeros;
       // Handle all non-zero rows
-      for( int i=c.nextNZ(-1); i< c._len; i=c.nextNZ(i) ) {
-        double d = c.atd(i);
+      for( int j=0; j<nvals; j++ ) {
+        double d = vals[j];
         if( !Double.isNaN(d) ) {
           d -= mean;
           sigma += d*d;
@@ -312,13 +328,16 @@ class RollupStats extends Iced {
     Histo( H2OCountedCompleter cmp, RollupStats rs, int nbins ) { super(cmp);_base = rs.h_base(); _stride = rs.h_stride(nbins); _nbins = nbins; }
     @Override public void map( Chunk c ) {
       _bins = new long[_nbins];
-      for( int i=c.nextNZ(-1); i< c._len; i=c.nextNZ(i) ) {
-        double d = c.atd(i);
+      final int slen = c.sparseLen();  // All rows, or just the non-zeros
+      double[] vals = MemoryManager.malloc8d(slen);
+      int n = c.isSparse() ? c.getSparseDoubles(vals,MemoryManager.malloc4(slen)) : c.getDoubles(vals,0,c._len).length;
+      for( int j=0; j<n; j++ ) {
+        double d = vals[j];
         if( !Double.isNaN(d) ) _bins[idx(d)]++;
       }
       // Sparse?  We skipped all the zeros; do them now
       if( c.isSparse() )
-        _bins[idx(0.0)] += (c._len - c.sparseLen());
+        _bins[idx(0.0)] += (c._len - n);
     }
     private int idx( double d ) { int idx = (int)((d-_base)/_stride); return Math.min(idx,_bins.length-1); }
 
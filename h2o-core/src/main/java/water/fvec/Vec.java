@@ -186,6 +186,7 @@ public class Vec extends Keyed<Vec> {
   public static final byte T_ENUM =  4; // Integer, with a enum/factor String mapping
   public static final byte T_TIME =  5; // Long msec since the Unix Epoch - with a variety of display/parse options
   byte _type;                   // Vec Type
+  byte _replicas;               // Nodes holding each chunk, home included; 0 or 1 for home only.  See Frame.replicate
   public static final String[] TYPE_STR=new String[] { "BAD", "UUID", "String", "Numeric", "Enum", "Time", "Time", "Time"};
 
   public static final boolean DO_HISTOGRAMS = true;
@@ -256,6 +257,11 @@ public class Vec extends Keyed<Vec> {
    *  @return Number of chunks */
   public int nChunks() { return _espc.length-1; }
 
+  /** Number of nodes holding a copy of each chunk, the home node included;
+   *  see {@link Frame#replicate}.
+   *  @return Chunk replication factor, at least 1 */
+  public int replicas() { return Math.max(1,_replicas); }
+
   /** Convert a chunk-index into a starting row #.  For constant-sized chunks
    *  this is a little shift-and-add math.  For variable-sized chunks this is a
    *  table lookup. */
@@ -382,7 +388,7 @@ public class Vec extends Keyed<Vec> {
         c2._vec=null;
         c2._start=-1;
         c2._cidx=-1;
-        c2._mem = c2._mem.clone();
+        c2._mem = c2.copyBytes();
         DKV.put(v.chunkKey(c.cidx()), c2, _fs);
       }
     }.doAll(this);
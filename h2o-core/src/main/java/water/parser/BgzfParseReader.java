@@ -0,0 +1,29 @@
+package water.parser;
+
+import water.fvec.ByteVec;
+
+/**
+ * Parser data taken from a BGZF file, one group of gzip members per chunk of
+ * the compressed ByteVec (see {@link ZipUtil#bgzfGroups}).  The chunk's own
+ * group is inflated whole; of the following groups, only enough to finish
+ * the last line.
+ */
+class BgzfParseReader implements ParseReader {
+  final ByteVec _vec;
+  final long[] _groups;
+  final int _idx;
+  byte[] _bits;
+  int _bidx = -1;
+  BgzfParseReader( ByteVec vec, long[] groups, int cidx ) { _vec = vec; _groups = groups; _idx = cidx; }
+  @Override public byte[] getChunkData(int cidx) {
+    if( cidx == _bidx ) return _bits;
+    _bidx = cidx;
+    if( cidx == _idx ) return _bits = ZipUtil.inflateRange(_vec,_groups[cidx],_groups[cidx+1],false);
+    // Skip empty groups: the line goes on in the next group with data
+    int g = cidx;
+    while( g < _groups.length-1 && _groups[g] == _groups[g+1] ) g++;
+    return _bits = g == _groups.length-1 ? null : ZipUtil.inflateRange(_vec,_groups[g],_groups[g+1],true);
+  }
+  @Override public int  getChunkDataStart(int cidx) { return -1; }
+  @Override public void setChunkDataStart(int cidx, int offset) { }
+}
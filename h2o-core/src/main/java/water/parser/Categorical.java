@@ -3,6 +3,7 @@ package water.parser;
 import water.AutoBuffer;
 import water.H2O;
 import water.Iced;
+import water.MemoryManager;
 import water.nbhm.NonBlockingHashMap;
 
 import java.util.Arrays;
@@ -15,8 +16,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  *  In the first pass, we just collect set of unique strings per column
  *  (if there are less than MAX_ENUM_SIZE unique elements).
  *  
- *  After pass1, the keys are sorted and indexed alphabetically.
- *  In the second pass, map is used only for lookup and never updated.
+ *  After pass1, each node sorts its own keys; the sorted keys of all nodes
+ *  merge into the alphabetical global domain, and each node maps its token
+ *  ids to indices in that domain.  The map is never updated again.
  *  
  *  Categorical objects are shared among threads on the local nodes!
  *
@@ -33,13 +35,6 @@ public final class Categorical extends Iced {
 
   Categorical() { _map = new NonBlockingHashMap<>(); }
 
-  private Categorical(int id, NonBlockingHashMap<ValueString, Integer> map) {
-    _id = new AtomicInteger(id);
-    _map = map;
-  }
-  Categorical deepCopy() {
-    return new Categorical(_id.get(), _map==null ? null : (NonBlockingHashMap<ValueString,Integer>)_map.clone());
-  }
   /** Add key to this map (treated as hash set in this case). */
   int addKey(ValueString str) {
     // _map is shared and be cast to null (if enum is killed) -> grab local copy
@@ -61,32 +56,31 @@ public final class Categorical extends Iced {
 
   int getTokenId( ValueString str ) { return _map.get(str); }
   
-  void merge(Categorical other){
-    if( this == other ) return;
-    if( isMapFull() ) return;
-    if( !other.isMapFull() ) {   // do the merge
-      Map<ValueString, Integer> myMap = _map;
-      Map<ValueString, Integer> otMap = other._map;
-      if( myMap == otMap ) return;
-      for( ValueString str : otMap.keySet() )
-        myMap.put(str, 1);
-      if( myMap.size() <= MAX_ENUM_SIZE ) return;
-    }
-    maxEnumExceeded = true; // too many values, enum should be killed!
-  }
   int maxId() { return _maxId == -1 ? _id.get() : _maxId; }
   int size() { return _map.size(); }
   boolean isMapFull() { return maxEnumExceeded; }
 
   // assuming single threaded
-  ValueString [] computeColumnDomain() {
+  /** @return The keys in alphabetical order; token ids are left as they are */
+  ValueString [] sortedKeys() {
     ValueString vs[] = _map.keySet().toArray(new ValueString[_map.size()]);
     Arrays.sort(vs);            // Alpha sort to be nice
-    for( int j = 0; j < vs.length; ++j )
-      _map.put(vs[j], j);       // Renumber in the map
     return vs;
   }
 
+  /** @param domain Sorted global domain, holding all the keys of this map
+   *  @return The index in the domain of each token id, -1 for unused ids */
+  int[] remap( ValueString[] domain ) {
+    int[] map = MemoryManager.malloc4(maxId() + 1);
+    Arrays.fill(map, -1);
+    for( Map.Entry<ValueString, Integer> e : _map.entrySet() ) {
+      int j = Arrays.binarySearch(domain, e.getKey());
+      assert j >= 0 : "Missing from the domain: " + e.getKey();
+      map[e.getValue()] = j;
+    }
+    return map;
+  }
+
   // Since this is a *concurrent* hashtable, writing it whilst its being
   // updated is tricky.  If the table is NOT being updated, then all is written
   // as expected.  If the table IS being updated we only promise to write the
@@ -5,6 +5,7 @@ import water.exceptions.H2OParseSetupException;
 import water.fvec.Vec;
 import water.fvec.FileVec;
 import water.Key;
+import water.util.UnsafeUtils;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -73,8 +74,14 @@ class CsvParser extends Parser {
     dout.newLine();
 
     final boolean forceable = dout instanceof FVecParseWriter && ((FVecParseWriter)dout)._ctypes != null && _setup._column_types != null;
+    // Plain lines of this chunk go through the word-at-a-time tokenizer
+    final Fields fields = CHAR_SEPARATOR != CHAR_SPACE && CHAR_SEPARATOR != GUESS_SEP ? new Fields() : null;
 MAIN_LOOP:
     while (true) {
+      if( state == POSSIBLE_EMPTY_LINE && fields != null && firstChunk ) {
+        int next = parseLines(bits, offset, dout, forceable, fields);
+        if( next != offset ) c = bits[offset = next];
+      }
       boolean forcedEnum = forceable && colIdx < _setup._column_types.length && _setup._column_types[colIdx] == Vec.T_ENUM;
       boolean forcedString = forceable && colIdx < _setup._column_types.length && _setup._column_types[colIdx] == Vec.T_STR;
 
@@ -113,16 +120,7 @@ MAIN_LOOP:
             assert str.getBuffer() != bits;
             str.addBuff(bits);
           }
-          if( _setup._na_strings != null
-                  && _setup._na_strings.length > colIdx
-                  && _setup._na_strings[colIdx] != null) {
-            for (String s : _setup._na_strings[colIdx]) {
-              if (str.equals(s)) {
-                isNa = true;
-                break;
-              }
-            }
-          }
+          isNa = isNaString(colIdx, str);
           if (!isNa)
             dout.addStrCol(colIdx, str);
           else {
@@ -455,6 +453,162 @@ MAIN_LOOP:
     return dout;
   }
 
+  private boolean isNaString(int colIdx, ValueString str) {
+    if( _setup._na_strings != null
+            && _setup._na_strings.length > colIdx
+            && _setup._na_strings[colIdx] != null) {
+      for (String s : _setup._na_strings[colIdx])
+        if (str.equals(s))
+          return true;
+    }
+    return false;
+  }
+
+  // ==========================================================================
+  // Word-at-a-time tokenizer.  Lines are split with 8-byte (SWAR) scans for
+  // the line end and the separators, and the fields parsed from the located
+  // spans - rather than a trip around the state machine per byte.  Only plain
+  // lines are handled: none of quotes, NUL bytes, currency or percent signs
+  // or numbers of more than 18 digits.  Anything else, and the last line of
+  // the chunk (which may run into the next chunk), is left to the state
+  // machine, with results identical for the lines handled here.
+
+  private static final long ONES = 0x0101010101010101L, HIGHS = 0x8080808080808080L;
+  private static long broadcast(byte b) { return (b & 0xFFL)*ONES; }
+  // High bit set in the bytes of w equal to the bytes of pattern p.  Borrows
+  // can flag bytes above a true match, but the lowest flag is always exact.
+  private static long matches(long w, long p) { long x = w ^ p; return (x - ONES) & ~x & HIGHS; }
+  private static int firstMatch(long m) { return Long.numberOfTrailingZeros(m) >>> 3; }
+
+  // Kinds of fields
+  private static final byte F_EMPTY = 0, F_NUM = 1, F_STR = 2;
+
+  // The fields of one line, as parsed before any goes out to the ParseWriter
+  private static final class Fields {
+    int _n;
+    int[] _starts = new int[16], _ends = new int[16], _exps = new int[16];
+    long[] _nums = new long[16];
+    byte[] _kinds = new byte[16];
+    final ValueString _str = new ValueString();
+    void add(byte kind, int start, int end, long num, int exp) {
+      if( _n == _kinds.length ) {
+        int len = _n << 1;
+        _starts = Arrays.copyOf(_starts, len);  _ends = Arrays.copyOf(_ends, len);
+        _exps = Arrays.copyOf(_exps, len);      _nums = Arrays.copyOf(_nums, len);
+        _kinds = Arrays.copyOf(_kinds, len);
+      }
+      _kinds[_n] = kind; _starts[_n] = start; _ends[_n] = end; _nums[_n] = num; _exps[_n] = exp;
+      _n++;
+    }
+  }
+
+  /** Parse the plain lines starting at offset, which must be a line start.
+   *  @return the offset of the first line not parsed */
+  private int parseLines(byte[] bits, int offset, ParseWriter dout, boolean forceable, Fields fs) {
+    final boolean quoting = CHAR_SEPARATOR != HIVE_SEP;
+    final long lf = broadcast(CHAR_LF), cr = broadcast(CHAR_CR);
+    final long dq = quoting ? broadcast(CHAR_DOUBLE_QUOTE) : lf;
+    final long sq = quoting && _setup._single_quotes ? broadcast(CHAR_SINGLE_QUOTE) : lf;
+    final int len = bits.length;
+    while( true ) {
+      // Find the line end, giving up on a quote or NUL byte
+      int eol = offset;
+      long m = 0;
+      for( ; eol+8 <= len; eol += 8 ) {
+        long w = UnsafeUtils.get8(bits, eol);
+        m = matches(w, lf) | matches(w, cr) | matches(w, 0) | matches(w, dq) | matches(w, sq);
+        if( m != 0 ) break;
+      }
+      if( m != 0 ) eol += firstMatch(m);
+      else
+        while( eol < len && !isEOL(bits[eol]) && bits[eol] != 0 && (!quoting || (bits[eol] != CHAR_DOUBLE_QUOTE
+                && (!_setup._single_quotes || bits[eol] != CHAR_SINGLE_QUOTE))) ) eol++;
+      if( eol == len || !isEOL(bits[eol]) ) return offset;
+      int next = eol+1;
+      if( bits[eol] == CHAR_CR && next < len && bits[next] == CHAR_LF ) next++;
+      if( next >= len ) return offset; // The state machine steps into the next chunk
+      if( eol > offset ) {      // Else an empty line
+        if( !splitLine(bits, offset, eol, fs) ) return offset;
+        for( int i = 0; i < fs._n; i++ ) {
+          boolean forced = forceable && i < _setup._column_types.length
+                  && (_setup._column_types[i] == Vec.T_ENUM || _setup._column_types[i] == Vec.T_STR);
+          byte kind = fs._kinds[i];
+          if( kind == F_EMPTY ) dout.addInvalidCol(i);
+          else if( kind == F_NUM && !forced && !dout.isString(i) ) dout.addNumCol(i, fs._nums[i], fs._exps[i]);
+          else {
+            ValueString str = fs._str.set(bits, fs._starts[i], fs._ends[i] - fs._starts[i]);
+            if( isNaString(i, str) ) dout.addInvalidCol(i);
+            else dout.addStrCol(i, str);
+          }
+        }
+        dout.newLine();
+      }
+      offset = next;
+    }
+  }
+
+  // Split bits[lo,hi) at the separators and parse the fields.
+  // @return false if a field is not plain
+  private boolean splitLine(byte[] bits, int lo, int hi, Fields fs) {
+    final long sep = broadcast(CHAR_SEPARATOR);
+    fs._n = 0;
+    while( true ) {
+      int end = lo;
+      long m = 0;
+      for( ; end+8 <= hi; end += 8 )
+        if( (m = matches(UnsafeUtils.get8(bits, end), sep)) != 0 ) break;
+      if( m != 0 ) end += firstMatch(m);
+      else while( end < hi && bits[end] != CHAR_SEPARATOR ) end++;
+      if( !parseField(bits, lo, end, fs) ) return false;
+      if( end == hi ) return true;
+      lo = end+1;
+    }
+  }
+
+  // Parse one field, the way the state machine does.
+  // @return false if the field is not plain
+  private boolean parseField(byte[] bits, int lo, int hi, Fields fs) {
+    while( lo < hi && (bits[lo] == CHAR_SPACE || (bits[lo] == CHAR_TAB && CHAR_TAB != CHAR_SEPARATOR)) ) lo++;
+    if( lo == hi ) { fs.add(F_EMPTY, lo, hi, 0, 0); return true; }
+    byte c = bits[lo];
+    if( c == '$' ) return false;
+    if( !((c >= '0' && c <= '9') || c == '-' || c == '+' || c == CHAR_DECIMAL_SEP) ) {
+      fs.add(F_STR, lo, hi, 0, 0);
+      return true;
+    }
+    int i = lo;
+    if( c == '-' || c == '+' ) i++;
+    long number = 0;
+    int digits = 0, fractionDigits = 0;
+    for( ; i < hi && (c = bits[i]) >= '0' && c <= '9'; i++, digits++ ) {
+      if( number >= LARGEST_DIGIT_NUMBER ) return false;
+      number = number*10 + (c-'0');
+    }
+    if( i < hi && bits[i] == CHAR_DECIMAL_SEP )
+      for( i++; i < hi && (c = bits[i]) >= '0' && c <= '9'; i++, digits++, fractionDigits++ ) {
+        if( number >= LARGEST_DIGIT_NUMBER ) return false;
+        number = number*10 + (c-'0');
+      }
+    if( digits == 0 ) return false; // The state machine reads a lone sign or dot as 0
+    int exp = 0;
+    if( i < hi && (bits[i] == 'e' || bits[i] == 'E') ) {
+      int sgnExp = 1;
+      for( i++; i < hi && (bits[i] == '-' || bits[i] == '+'); i++ )
+        if( bits[i] == '-' ) sgnExp = -sgnExp;
+      if( i == hi || bits[i] < '0' || bits[i] > '9' ) { fs.add(F_STR, lo, hi, 0, 0); return true; }
+      for( ; i < hi && (c = bits[i]) >= '0' && c <= '9'; i++ ) exp = exp*10 + (c-'0');
+      exp *= sgnExp;
+    }
+    while( i < hi && (bits[i] == CHAR_SPACE || bits[i] == CHAR_TAB) ) i++;
+    if( i < hi ) {
+      if( bits[i] == '%' ) return false;
+      fs.add(F_STR, lo, hi, 0, 0);
+      return true;
+    }
+    fs.add(F_NUM, lo, hi, bits[lo] == '-' ? -number : number, exp - fractionDigits);
+    return true;
+  }
+
   @Override protected int fileHasHeader(byte[] bits, ParseSetup ps) {
     boolean hasHdr = true;
     String[] lines = getFirstLines(bits);
@@ -9,6 +9,8 @@ import water.fvec.AppendableVec;
 import water.fvec.NewChunk;
 import water.fvec.Vec;
 
+import java.util.Arrays;
+
 /** Parsed data output specialized for fluid vecs.
  * @author tomasnykodym
  */
@@ -25,9 +27,44 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
   boolean _closedVecs = false;
   int _nChunks;
   private final Vec.VectorGroup _vg;
+  // Column projection: output column of each parsed column, -1 if skipped
+  private transient int[] _colMap;
+  private transient boolean _skipped; // Current line has values in skipped columns
+  // Row filter: the current line is held back until it ends, and only then
+  // written if the filtered column passed.  Held strings are copied.
+  private transient ParseSetup.RowFilter _filter;
+  private transient byte[] _held;     // Kind of value held, per output column
+  private transient long[] _nums;
+  private transient int[] _exps;
+  private transient double[] _dbls;
+  private transient byte[][] _bufs;
+  private transient ValueString[] _strs;
+  private transient boolean _keep;    // Current line passed the row filter
+  private static final byte HELD_NONE = 0, HELD_NUM = 1, HELD_NA = 2, HELD_STR = 3, HELD_DBL = 4, HELD_TIME = 5;
 
   public int nChunks(){return _nChunks;}
 
+  /**
+   * A writer that leaves out columns and rows as it parses.  Skipped columns
+   * have no NewChunk and their values are dropped on arrival.
+   *
+   * @param colMap Output column of each parsed column, -1 for the skipped ones; null keeps all
+   * @param filter Filter rows are kept by, on a parsed column; null keeps all
+   */
+  FVecParseWriter(Vec.VectorGroup vg, int cidx, Categorical[] enums, byte[] ctypes, int chunkSize, AppendableVec[] avs, int[] colMap, ParseSetup.RowFilter filter){
+    this(vg, cidx, enums, ctypes, chunkSize, avs);
+    _colMap = colMap;
+    if( (_filter = filter) != null ) {
+      _held = new byte[_nCols];
+      _nums = new long[_nCols];
+      _exps = new int[_nCols];
+      _dbls = new double[_nCols];
+      _bufs = new byte[_nCols][];
+      _strs = new ValueString[_nCols];
+      for( int i = 0; i < _nCols; ++i ) _strs[i] = new ValueString();
+    }
+  }
+
   public FVecParseWriter(Vec.VectorGroup vg, int cidx, Categorical[] enums, byte[] ctypes, int chunkSize, AppendableVec[] avs){
     if (ctypes != null) _ctypes = ctypes;
     else _ctypes = new byte[avs.length];
@@ -76,7 +113,7 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
     return this;
   }
   @Override public FVecParseWriter nextChunk(){
-    return  new FVecParseWriter(_vg, _cidx+1, _enums, _ctypes, _chunkSize, _vecs);
+    return  new FVecParseWriter(_vg, _cidx+1, _enums, _ctypes, _chunkSize, _vecs, _colMap, _filter);
   }
 
   /* never called
@@ -102,14 +139,50 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
   } */
 
   @Override public void newLine() {
-    if(_col >= 0){
+    if( _held != null ) {       // Write out the held line if it passed the row filter
+      if( _keep )
+        for( int i = 0; i < _nCols; ++i )
+          switch( _held[i] ) {
+          case HELD_NUM:  num (i, _nums[i], _exps[i]); break;
+          case HELD_NA:   na  (i);                     break;
+          case HELD_STR:  str (i, _strs[i]);           break;
+          case HELD_DBL:  dbl (i, _dbls[i]);           break;
+          case HELD_TIME: time(i, _nums[i]);           break;
+          }
+      else _skipped = false;    // Filtered out, never written
+      Arrays.fill(_held, HELD_NONE);
+      _keep = false;
+    }
+    if(_col >= 0 || _skipped){
       ++_nLines;
       for(int i = _col+1; i < _nCols; ++i)
-        addInvalidCol(i);
+        na(i);
     }
     _col = -1;
+    _skipped = false;
+  }
+
+  // Output column of the parsed column colIdx, or -1 if it is skipped
+  private int col(int colIdx) {
+    if( _colMap == null ) return colIdx;
+    if( colIdx >= _colMap.length ) return -1;
+    if( _colMap[colIdx] < 0 ) _skipped = true; // Line has values, all may be skipped
+    return _colMap[colIdx];
   }
+  // Hold the value of an output column until the line passes the row filter
+  private boolean hold(int colIdx, byte kind) {
+    if( _held == null || colIdx >= _nCols ) return false;
+    _held[colIdx] = kind;
+    return true;
+  }
+
   @Override public void addNumCol(int colIdx, long number, int exp) {
+    if( _held != null && colIdx == _filter._col ) _keep = _filter.test(number, exp);
+    if( (colIdx = col(colIdx)) < 0 ) return;
+    if( hold(colIdx, HELD_NUM) ) { _nums[colIdx] = number; _exps[colIdx] = exp; }
+    else num(colIdx, number, exp);
+  }
+  private void num(int colIdx, long number, int exp) {
     if( colIdx < _nCols ) {
       _nvs[_col = colIdx].addNum(number, exp);
       if(_ctypes[colIdx] == Vec.T_BAD ) _ctypes[colIdx] = Vec.T_NUM;
@@ -117,14 +190,38 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
   }
 
   @Override public final void addInvalidCol(int colIdx) {
+    if( _held != null && colIdx == _filter._col ) _keep = false;
+    if( (colIdx = col(colIdx)) < 0 ) return;
+    if( !hold(colIdx, HELD_NA) ) na(colIdx);
+  }
+  private void na(int colIdx) {
     if(colIdx < _nCols) _nvs[_col = colIdx].addNA();
   }
-  @Override public boolean isString(int colIdx) { return (colIdx < _nCols) && (_ctypes[colIdx] == Vec.T_ENUM || _ctypes[colIdx] == Vec.T_STR);}
+
+  // Skipped columns count as strings, saving the parser a number parse
+  @Override public boolean isString(int colIdx) {
+    if( _colMap != null ) {
+      if( colIdx >= _colMap.length ) return false;
+      if( (colIdx = _colMap[colIdx]) < 0 ) return true;
+    }
+    return (colIdx < _nCols) && (_ctypes[colIdx] == Vec.T_ENUM || _ctypes[colIdx] == Vec.T_STR);
+  }
 
   @Override public void addStrCol(int colIdx, ValueString str) {
+    if( _held != null && colIdx == _filter._col ) _keep = _filter.test(str);
+    if( (colIdx = col(colIdx)) < 0 ) return;
+    if( hold(colIdx, HELD_STR) ) {
+      // The parser reuses its buffers, so keep a copy of the string
+      byte[] buf = _bufs[colIdx];
+      if( buf == null || buf.length < str.length() ) buf = _bufs[colIdx] = new byte[Math.max(str.length(), 16)];
+      System.arraycopy(str.getBuffer(), str.getOffset(), buf, 0, str.length());
+      _strs[colIdx].set(buf, 0, str.length());
+    } else str(colIdx, str);
+  }
+  private void str(int colIdx, ValueString str) {
     if(colIdx < _nvs.length){
       if(_ctypes[colIdx] == Vec.T_NUM){ // support enforced types
-        addInvalidCol(colIdx);
+        na(colIdx);
         return;
       }
       if(_ctypes[colIdx] == Vec.T_BAD && ParseTime.isTime(str))
@@ -134,11 +231,8 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
 
       if( _ctypes[colIdx] == Vec.T_TIME ) {
         long l = ParseTime.attemptTimeParse(str);
-        if( l == Long.MIN_VALUE ) addInvalidCol(colIdx);
-        else {
-          addNumCol(colIdx, l, 0);               // Record time in msec
-          _nvs[_col]._timCnt++; // Count histo of time parse patterns
-        }
+        if( l == Long.MIN_VALUE ) na(colIdx);
+        else time(colIdx, l);
       } else if( _ctypes[colIdx] == Vec.T_UUID ) { // UUID column?  Only allow UUID parses
         long[] uuid = ParseUUID.attemptUUIDParse(str);
         // FIXME: what if colIdx > _nCols
@@ -173,6 +267,38 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
       addNumCol(colIdx, number, exp);
     }
   }
+  /** Adds a double value to the column as is, without a decimal exponent. */
+  public void addDoubleCol(int colIdx, double d) {
+    if( Double.isNaN(d) ) { addInvalidCol(colIdx); return; }
+    if( _held != null && colIdx == _filter._col ) _keep = _filter.test(d);
+    if( (colIdx = col(colIdx)) < 0 ) return;
+    if( hold(colIdx, HELD_DBL) ) _dbls[colIdx] = d;
+    else dbl(colIdx, d);
+  }
+  private void dbl(int colIdx, double d) {
+    if( colIdx < _nCols ) {
+      _nvs[_col = colIdx].addNum(d);
+      if(_ctypes[colIdx] == Vec.T_BAD ) _ctypes[colIdx] = Vec.T_NUM;
+    }
+  }
+
+  /** Adds a time value, in msec since the epoch, to the column. */
+  public void addTimeCol(int colIdx, long msec) {
+    if( _held != null && colIdx == _filter._col ) _keep = _filter.test(msec);
+    if( (colIdx = col(colIdx)) < 0 ) return;
+    if( hold(colIdx, HELD_TIME) ) _nums[colIdx] = msec;
+    else time(colIdx, msec);
+  }
+  private void time(int colIdx, long msec) {
+    if( colIdx < _nCols ) {
+      num(colIdx, msec, 0);
+      _nvs[colIdx]._timCnt++; // Count histo of time parse patterns
+    }
+  }
+
+  /** Counts lines written column by column, without newLine() calls. */
+  void addLines(long n) { _nLines += n; }
+
   @Override public void setColumnNames(String [] names){}
   @Override public final void rollbackLine() {}
   @Override public void invalidLine(String err) { newLine(); }
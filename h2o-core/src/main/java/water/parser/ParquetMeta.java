@@ -0,0 +1,315 @@
+package water.parser;
+
+import water.Iced;
+import water.exceptions.H2OParseException;
+import water.fvec.ByteVec;
+import water.fvec.Vec;
+import water.util.UnsafeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The parts of a Parquet file footer a parse needs: the schema, and the
+ * byte range and codec of every column chunk of every row group.
+ *
+ * Only flat schemas are supported: a root holding REQUIRED or OPTIONAL
+ * primitive columns.  The footer is Thrift compact-protocol encoded, read
+ * here with a minimal decoder skipping all the fields not listed.
+ */
+final class ParquetMeta extends Iced {
+  static final byte[] MAGIC = {'P','A','R','1'};
+
+  // Physical types
+  static final byte BOOLEAN=0, INT32=1, INT64=2, INT96=3, FLOAT=4, DOUBLE=5, BYTE_ARRAY=6, FIXED_LEN_BYTE_ARRAY=7;
+  // Converted types with a bearing on the parse
+  static final int UTF8=0, ENUM=4, DECIMAL=5, DATE=6, TIME_MILLIS=7, TIME_MICROS=8, TIMESTAMP_MILLIS=9, TIMESTAMP_MICROS=10, UINT_32=13;
+
+  String[] _names;              // Per column
+  byte[] _ptypes;               // Physical type, per column
+  int[] _ctypes;                // Converted type or -1, per column
+  int[] _scales;                // Decimal scale, per column
+  int[] _typeLens;              // Width of FIXED_LEN_BYTE_ARRAY values, per column
+  byte[] _optional;             // 1 if values may be null, per column
+  long[] _rgRows;               // Rows, per row group
+  long[][] _colOffs, _colLens;  // Column chunk byte range, per row group and column
+  int[][] _codecs;              // Column chunk codec, per row group and column
+
+  // Layout over the chunks of the file's ByteVec, for a parallel parse; see layout()
+  int[] _rgOrder;               // Row groups by start offset
+  int[] _rgChunk;               // First output chunk of each row group, in _rgOrder
+  int[] _rgSpan;                // Output chunks each row group is spread over, in _rgOrder
+
+  static boolean isParquet( byte[] bits ) {
+    return bits.length >= MAGIC.length && Arrays.equals(Arrays.copyOf(bits,MAGIC.length),MAGIC);
+  }
+
+  int ncols() { return _names.length; }
+
+  /** Read the footer of the Parquet file in the ByteVec */
+  static ParquetMeta read( ByteVec bv ) {
+    long len = bv.length();
+    if( len < 12 ) throw new H2OParseException("Not a Parquet file: too short.");
+    byte[] tail = bv.getBytes(len-8,8);
+    if( !Arrays.equals(Arrays.copyOfRange(tail,4,8),MAGIC) )
+      throw new H2OParseException("Not a Parquet file: missing trailing magic number.");
+    int flen = UnsafeUtils.get4(tail,0);
+    if( flen <= 0 || flen > len-12 ) throw new H2OParseException("Malformed Parquet file: footer length "+flen);
+    ParquetMeta pm = new ParquetMeta();
+    pm.readFileMetaData(new Thrift(bv.getBytes(len-8-flen,flen),0));
+    return pm;
+  }
+
+  /** H2O column types for the columns */
+  byte[] columnTypes() {
+    byte[] types = new byte[ncols()];
+    for( int i = 0; i < types.length; i++ ) {
+      switch( _ptypes[i] ) {
+      case INT96: types[i] = Vec.T_TIME; break;
+      case BYTE_ARRAY:
+      case FIXED_LEN_BYTE_ARRAY:
+        types[i] = _ctypes[i] == DECIMAL ? Vec.T_NUM : (_ctypes[i] == UTF8 || _ctypes[i] == ENUM ? Vec.T_ENUM : Vec.T_STR);
+        break;
+      default:
+        types[i] = _ctypes[i] == DATE || _ctypes[i] == TIMESTAMP_MILLIS || _ctypes[i] == TIMESTAMP_MICROS ? Vec.T_TIME : Vec.T_NUM;
+      }
+    }
+    return types;
+  }
+
+  /** Lay the row groups over the {@code espc} chunk boundaries of the file.
+   *  A row group is parsed by the chunk holding its first byte.  The last
+   *  row group starting in a chunk spreads its rows over that chunk and the
+   *  following ones, up to the chunk of the next row group; so large row
+   *  groups do not all land in one output chunk. */
+  void layout( long[] espc ) {
+    int nrg = _rgRows.length, n = espc.length-1;
+    final long[] starts = new long[nrg];
+    Integer[] order = new Integer[nrg];
+    for( int r = 0; r < nrg; r++ ) {
+      order[r] = r;
+      long s = Long.MAX_VALUE;
+      for( long off : _colOffs[r] ) s = Math.min(s,off);
+      starts[r] = s;
+    }
+    Arrays.sort(order, new java.util.Comparator<Integer>() {
+        @Override public int compare( Integer a, Integer b ) { return Long.compare(starts[a],starts[b]); }
+      });
+    _rgOrder = new int[nrg];
+    _rgChunk = new int[nrg];
+    _rgSpan  = new int[nrg];
+    for( int i = 0; i < nrg; i++ ) {
+      _rgOrder[i] = order[i];
+      int c = Arrays.binarySearch(espc,starts[order[i]]);
+      _rgChunk[i] = Math.min(n-1, c < 0 ? -c-2 : c);
+    }
+    for( int i = 0; i < nrg; i++ ) {
+      int next = i+1 < nrg ? _rgChunk[i+1] : n;
+      _rgSpan[i] = Math.max(1,next-_rgChunk[i]);
+    }
+  }
+
+  /** @return The chunk whose parse writes output chunk {@code cidx}: itself,
+   *  unless a row group started in an earlier chunk spreads over it */
+  int writerOf( int cidx ) {
+    for( int i = 0; i < _rgChunk.length; i++ )
+      if( _rgChunk[i] < cidx && cidx < _rgChunk[i]+_rgSpan[i] )
+        return _rgChunk[i];
+    return cidx;
+  }
+
+  // ------------------------------------------------------------------------
+  // FileMetaData: 2: schema, 4: row_groups
+  private void readFileMetaData( Thrift t ) {
+    t.begin();
+    for( int f; (f = t.field()) != 0; ) {
+      if( f == 2 && t._type == Thrift.LIST ) readSchema(t);
+      else if( f == 4 && t._type == Thrift.LIST ) readRowGroups(t);
+      else t.skip();
+    }
+    if( _names == null || _rgRows == null ) throw new H2OParseException("Malformed Parquet file: footer without schema or row groups.");
+  }
+
+  // SchemaElement: 1: type, 2: type_length, 3: repetition_type, 4: name,
+  // 5: num_children, 6: converted_type, 7: scale
+  private void readSchema( Thrift t ) {
+    int n = t.listSize() - 1;   // Less the root
+    if( n < 1 ) throw new H2OParseException("Parquet file with no columns.");
+    _names = new String[n];
+    _ptypes = new byte[n];
+    _ctypes = new int[n];
+    _scales = new int[n];
+    _typeLens = new int[n];
+    _optional = new byte[n];
+    for( int i = -1; i < n; i++ ) {
+      int ptype = -1, rep = 0, kids = 0, ctype = -1, scale = 0, tlen = 0;
+      String name = null;
+      t.begin();
+      for( int f; (f = t.field()) != 0; ) {
+        switch( f ) {
+        case 1: ptype = t.i32(); break;
+        case 2: tlen  = t.i32(); break;
+        case 3: rep   = t.i32(); break;
+        case 4: name  = t.string(); break;
+        case 5: kids  = t.i32(); break;
+        case 6: ctype = t.i32(); break;
+        case 7: scale = t.i32(); break;
+        default: t.skip();
+        }
+      }
+      if( i == -1 ) {           // Root
+        if( kids != n ) throw new H2OParseException("Nested Parquet schemas are not supported.");
+        continue;
+      }
+      if( kids > 0 || ptype < 0 ) throw new H2OParseException("Nested Parquet schemas are not supported; column "+name+" is a group.");
+      if( rep == 2 ) throw new H2OParseException("Repeated Parquet columns are not supported; column "+name+" is repeated.");
+      _names[i] = name;
+      _ptypes[i] = (byte)ptype;
+      _ctypes[i] = ctype;
+      _scales[i] = scale;
+      _typeLens[i] = tlen;
+      _optional[i] = (byte)(rep == 1 ? 1 : 0);
+    }
+  }
+
+  // RowGroup: 1: columns, 3: num_rows
+  private void readRowGroups( Thrift t ) {
+    int nrg = t.listSize();
+    _rgRows = new long[nrg];
+    _colOffs = new long[nrg][];
+    _colLens = new long[nrg][];
+    _codecs = new int[nrg][];
+    for( int r = 0; r < nrg; r++ ) {
+      t.begin();
+      for( int f; (f = t.field()) != 0; ) {
+        if( f == 1 && t._type == Thrift.LIST ) {
+          int n = t.listSize();
+          _colOffs[r] = new long[n];
+          _colLens[r] = new long[n];
+          _codecs[r] = new int[n];
+          for( int c = 0; c < n; c++ ) readColumnChunk(t,r,c);
+        } else if( f == 3 ) _rgRows[r] = t.i64();
+        else t.skip();
+      }
+      if( _colOffs[r] == null || _colOffs[r].length != ncols() )
+        throw new H2OParseException("Malformed Parquet file: row group "+r+" does not match the schema.");
+    }
+  }
+
+  // ColumnChunk: 1: file_path, 3: meta_data
+  // ColumnMetaData: 4: codec, 7: total_compressed_size, 9: data_page_offset, 11: dictionary_page_offset
+  private void readColumnChunk( Thrift t, int r, int c ) {
+    t.begin();
+    for( int f; (f = t.field()) != 0; ) {
+      if( f == 1 ) throw new H2OParseException("Parquet column chunks in external files are not supported.");
+      if( f != 3 ) { t.skip(); continue; }
+      long data = -1, dict = -1;
+      t.begin();
+      for( int g; (g = t.field()) != 0; ) {
+        switch( g ) {
+        case 4:  _codecs[r][c] = t.i32(); break;
+        case 7:  _colLens[r][c] = t.i64(); break;
+        case 9:  data = t.i64(); break;
+        case 11: dict = t.i64(); break;
+        default: t.skip();
+        }
+      }
+      _colOffs[r][c] = dict > 0 && dict < data ? dict : data;
+    }
+  }
+
+  // ------------------------------------------------------------------------
+  /** Reader of the Thrift compact protocol, enough for Parquet footers and
+   *  page headers.  Structs are read by begin(), then field() until it
+   *  returns 0. */
+  static final class Thrift {
+    static final int BOOL_TRUE=1, BOOL_FALSE=2, BYTE=3, I16=4, I32=5, I64=6, DOUBLE=7, BINARY=8, LIST=9, SET=10, MAP=11, STRUCT=12;
+    final byte[] _buf;
+    int _pos;
+    int _type;                  // Type of the field just read
+    private int[] _ids = new int[8]; // Last field id, per open struct
+    private int _depth = -1;
+
+    Thrift( byte[] buf, int pos ) { _buf = buf; _pos = pos; }
+
+    /** Start reading a struct: the top-level one, a struct field, or a
+     *  struct element of a list */
+    void begin() {
+      if( ++_depth == _ids.length ) _ids = Arrays.copyOf(_ids,_depth*2);
+      _ids[_depth] = 0;
+    }
+
+    /** Read the header of the next field of the current struct.
+     *  @return the field id, or 0 at the end of the struct */
+    int field() {
+      int b = _buf[_pos++] & 0xFF;
+      if( b == 0 ) { _depth--; return 0; }
+      int delta = b >>> 4;
+      _type = b & 0xF;
+      return _ids[_depth] = delta == 0 ? (short)zigzag(varint()) : _ids[_depth] + delta;
+    }
+
+    int i32() { return (int)zigzag(varint()); }
+    long i64() { return zigzag(varint()); }
+    boolean bool() { return _type == BOOL_TRUE; }
+    String string() {
+      int len = (int)varint();
+      String s = new String(_buf,_pos,len,StandardCharsets.UTF_8);
+      _pos += len;
+      return s;
+    }
+    /** @return Size of the list field just read; struct elements are then
+     *  each read with begin() */
+    int listSize() {
+      int b = _buf[_pos++] & 0xFF;
+      int size = b >>> 4;
+      return size == 15 ? (int)varint() : size;
+    }
+
+    /** Skip the value of the field just read */
+    void skip() { skip(_type); }
+    private void skip( int type ) {
+      switch( type ) {
+      case BOOL_TRUE: case BOOL_FALSE: break;
+      case BYTE: _pos++; break;
+      case I16: case I32: case I64: varint(); break;
+      case DOUBLE: _pos += 8; break;
+      case BINARY: { int len = (int)varint(); _pos += len; break; }
+      case LIST: case SET: {
+        int b = _buf[_pos++] & 0xFF;
+        int size = b >>> 4;
+        if( size == 15 ) size = (int)varint();
+        for( int i = 0; i < size; i++ ) skipElem(b & 0xF);
+        break;
+      }
+      case MAP: {
+        int size = (int)varint();
+        if( size == 0 ) break;
+        int kv = _buf[_pos++] & 0xFF;
+        for( int i = 0; i < size; i++ ) { skipElem(kv >>> 4); skipElem(kv & 0xF); }
+        break;
+      }
+      case STRUCT:
+        begin();
+        while( field() != 0 ) skip(_type);
+        break;
+      default: throw new H2OParseException("Malformed Parquet metadata: Thrift type "+type);
+      }
+    }
+    // Booleans in collections take a byte each
+    private void skipElem( int type ) {
+      if( type == BOOL_TRUE || type == BOOL_FALSE ) _pos++;
+      else skip(type);
+    }
+
+    long varint() {
+      long v = 0;
+      for( int shift = 0; ; shift += 7 ) {
+        int b = _buf[_pos++];
+        v |= (long)(b & 0x7F) << shift;
+        if( b >= 0 ) return v;
+      }
+    }
+    static long zigzag( long v ) { return (v >>> 1) ^ -(v & 1); }
+  }
+}
@@ -0,0 +1,391 @@
+package water.parser;
+
+import water.Key;
+import water.exceptions.H2OParseException;
+import water.fvec.ByteVec;
+import water.util.LZ4;
+import water.util.Snappy;
+import water.util.UnsafeUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static water.parser.ParquetMeta.*;
+
+/**
+ * Parser for Parquet files.
+ *
+ * There is no text to tokenize: each column chunk of a row group is read on
+ * its own, page by page, and its values go straight into the column's
+ * NewChunk.  A parse task handles the row groups starting in its chunk of
+ * the file (see {@link ParquetMeta#layout}); skipped columns are never read.
+ *
+ * Supported are the UNCOMPRESSED, SNAPPY, GZIP and LZ4_RAW codecs, version 1
+ * and 2 data pages, and the PLAIN, RLE and dictionary encodings.  Files using
+ * other codecs or encodings fail the parse.
+ */
+final class ParquetParser extends Parser {
+  // Page types
+  private static final int DATA_PAGE=0, DICTIONARY_PAGE=2, DATA_PAGE_V2=3;
+  // Encodings
+  private static final int PLAIN=0, PLAIN_DICTIONARY=2, RLE=3, RLE_DICTIONARY=8;
+  // Codecs
+  private static final int UNCOMPRESSED=0, SNAPPY=1, GZIP=2, LZ4_RAW=7;
+  // Julian day of the Unix epoch, for INT96 timestamps
+  private static final long JULIAN_EPOCH = 2440588;
+  private static final long DAY_MS = 24L*3600*1000;
+
+  private final ParquetMeta _meta;
+  private final ByteVec _vec;
+  private final int[] _cols;    // File columns parsed, in output order
+  private final ValueString _str = new ValueString();
+
+  ParquetParser( ParseSetup setup, Key jobKey, ParquetMeta meta, ByteVec vec ) {
+    super(setup, jobKey);
+    _meta = meta;
+    _vec = vec;
+    _cols = setup.keptColumns();
+  }
+
+  /** Setup for the Parquet file in the ByteVec, from its footer */
+  static ParseSetup guessSetup( ByteVec bv, ParseSetup userSetup ) {
+    ParquetMeta pm = ParquetMeta.read(bv);
+    byte[] types = pm.columnTypes();
+    if( userSetup._column_types != null && userSetup._column_types.length == types.length )
+      types = userSetup._column_types;
+    return new ParseSetup(ParserType.PARQUET, ParseSetup.GUESS_SEP, false, ParseSetup.HAS_HEADER,
+                          pm.ncols(), pm._names, types, null, null, new String[][]{pm._names});
+  }
+
+  // Parse the row groups starting in this chunk of the file
+  @Override ParseWriter parseChunk( int cidx, ParseReader din, ParseWriter dout ) {
+    FVecParseWriter w = (FVecParseWriter)dout;
+    for( int i = 0; i < _meta._rgOrder.length; i++ )
+      if( _meta._rgChunk[i] == cidx )
+        parseRowGroup(_meta._rgOrder[i], _meta._rgSpan[i], w);
+    return dout;
+  }
+
+  // Parse a row group, spreading its rows evenly over 'span' output chunks
+  private void parseRowGroup( int rg, int span, FVecParseWriter w ) {
+    long rows = _meta._rgRows[rg];
+    FVecParseWriter[] ws = new FVecParseWriter[span];
+    long[] splits = new long[span+1];
+    ws[0] = w;
+    for( int k = 1; k < span; k++ ) ws[k] = ws[k-1].nextChunk();
+    for( int k = 1; k <= span; k++ ) splits[k] = rows*k/span;
+    for( int j = 0; j < _cols.length; j++ )
+      parseColumn(rg, _cols[j], j, ws, splits);
+    for( int k = 0; k < span; k++ ) ws[k].addLines(splits[k+1]-splits[k]);
+    for( int k = 1; k < span; k++ ) { ws[k].close(); w.reduce(ws[k]); }
+  }
+
+  // Parse the pages of one column chunk into output column 'out'
+  private void parseColumn( int rg, int col, int out, FVecParseWriter[] ws, long[] splits ) {
+    long rows = _meta._rgRows[rg];
+    byte[] bs = _vec.getBytes(_meta._colOffs[rg][col], (int)_meta._colLens[rg][col]);
+    int codec = _meta._codecs[rg][col];
+    boolean optional = _meta._optional[col] != 0;
+    Values dict = null;
+    long row = 0;
+    int pos = 0;
+    while( row < rows ) {
+      if( pos >= bs.length ) throw new H2OParseException("Malformed Parquet file: column "+_meta._names[col]+" ends after "+row+" of "+rows+" rows.");
+      // PageHeader: 1: type, 2: uncompressed_page_size, 3: compressed_page_size,
+      // 5: data_page_header, 7: dictionary_page_header, 8: data_page_header_v2
+      Thrift t = new Thrift(bs,pos);
+      int type = -1, usize = 0, csize = 0;
+      int nvals = 0, enc = PLAIN, defEnc = RLE, defLen = 0, repLen = 0;
+      boolean compressed = true;
+      t.begin();
+      for( int f; (f = t.field()) != 0; ) {
+        switch( f ) {
+        case 1: type  = t.i32(); break;
+        case 2: usize = t.i32(); break;
+        case 3: csize = t.i32(); break;
+        case 5:                 // DataPageHeader: 1: num_values, 2: encoding, 3: definition_level_encoding
+          t.begin();
+          for( int g; (g = t.field()) != 0; ) {
+            if( g == 1 ) nvals = t.i32();
+            else if( g == 2 ) enc = t.i32();
+            else if( g == 3 ) defEnc = t.i32();
+            else t.skip();
+          }
+          break;
+        case 7:                 // DictionaryPageHeader: 1: num_values, 2: encoding, 3: is_sorted
+          t.begin();
+          for( int g; (g = t.field()) != 0; ) {
+            if( g == 1 ) nvals = t.i32();
+            else if( g == 2 ) enc = t.i32();
+            else t.skip();
+          }
+          break;
+        case 8:                 // DataPageHeaderV2: 1: num_values, 4: encoding, 5/6: level lengths, 7: is_compressed
+          t.begin();
+          for( int g; (g = t.field()) != 0; ) {
+            switch( g ) {
+            case 1: nvals  = t.i32(); break;
+            case 4: enc    = t.i32(); break;
+            case 5: defLen = t.i32(); break;
+            case 6: repLen = t.i32(); break;
+            case 7: compressed = t.bool(); break;
+            default: t.skip();
+            }
+          }
+          break;
+        default: t.skip();
+        }
+      }
+      int data = t._pos;
+      pos = data + csize;
+      switch( type ) {
+      case DICTIONARY_PAGE: {
+        byte[] page = decompress(codec, bs, data, csize, usize);
+        dict = decodePlain(col, page, 0, nvals);
+        break;
+      }
+      case DATA_PAGE: {
+        byte[] page = decompress(codec, bs, data, csize, usize);
+        int p = 0;
+        byte[] defs = null;
+        if( optional ) {
+          if( defEnc != RLE ) throw new H2OParseException("Unsupported Parquet definition level encoding "+defEnc+" in column "+_meta._names[col]);
+          int len = UnsafeUtils.get4(page,0);
+          defs = new Hybrid(page, 4, 1).levels(nvals);
+          p = 4+len;
+        }
+        row = emit(col, out, page, p, nvals, defs, enc, dict, ws, splits, row);
+        break;
+      }
+      case DATA_PAGE_V2: {
+        // Levels are never compressed; the values may be
+        byte[] defs = optional ? new Hybrid(bs, data+repLen, 1).levels(nvals) : null;
+        int lvls = repLen+defLen;
+        byte[] page = compressed
+          ? decompress(codec, bs, data+lvls, csize-lvls, usize-lvls)
+          : decompress(UNCOMPRESSED, bs, data+lvls, csize-lvls, csize-lvls);
+        row = emit(col, out, page, 0, nvals, defs, enc, dict, ws, splits, row);
+        break;
+      }
+      default:                  // Index pages carry no values
+      }
+    }
+  }
+
+  // Emit a page of values, switching output chunks at the splits
+  private long emit( int col, int out, byte[] page, int p, int nvals, byte[] defs, int enc,
+                     Values dict, FVecParseWriter[] ws, long[] splits, long row ) {
+    int nulls = 0;
+    if( defs != null ) for( byte d : defs ) if( d == 0 ) nulls++;
+    Values vals = null;
+    Hybrid idx = null;
+    switch( enc ) {
+    case PLAIN: vals = decodePlain(col, page, p, nvals-nulls); break;
+    case RLE:                   // Booleans only, length prefixed
+      if( _meta._ptypes[col] != BOOLEAN ) throw new H2OParseException("Unsupported Parquet RLE encoding of a non-boolean column "+_meta._names[col]);
+      vals = new Values(new long[nvals-nulls]);
+      Hybrid h = new Hybrid(page, p+4, 1);
+      for( int i = 0; i < vals._n; i++ ) vals._ls[i] = h.next();
+      break;
+    case PLAIN_DICTIONARY:
+    case RLE_DICTIONARY:
+      if( dict == null ) throw new H2OParseException("Malformed Parquet file: dictionary encoded page without a dictionary in column "+_meta._names[col]);
+      idx = new Hybrid(page, p+1, page[p]);
+      break;
+    default:
+      throw new H2OParseException("Unsupported Parquet encoding "+enc+" in column "+_meta._names[col]);
+    }
+    int k = 0;
+    for( int i = 0, v = 0; i < nvals; i++, row++ ) {
+      while( row >= splits[k+1] && k+1 < ws.length ) k++;
+      FVecParseWriter w = ws[k];
+      if( defs != null && defs[i] == 0 ) w.addInvalidCol(out);
+      else if( idx != null ) add(w, col, out, dict, idx.next());
+      else add(w, col, out, vals, v++);
+    }
+    return row;
+  }
+
+  // Add value i of 'vals' to output column 'out'
+  private void add( FVecParseWriter w, int col, int out, Values vals, int i ) {
+    switch( _meta._ptypes[col] ) {
+    case BOOLEAN:
+    case INT32:
+    case INT64: {
+      long x = vals._ls[i];
+      switch( _meta._ctypes[col] ) {
+      case DECIMAL:          w.addNumCol(out, x, -_meta._scales[col]); break;
+      case DATE:             w.addTimeCol(out, x*DAY_MS); break;
+      case TIMESTAMP_MILLIS: w.addTimeCol(out, x); break;
+      case TIMESTAMP_MICROS: w.addTimeCol(out, x/1000 - (x%1000 < 0 ? 1 : 0)); break;
+      case TIME_MICROS:      w.addNumCol(out, x, -3); break; // msec of the day
+      default:               w.addNumCol(out, x, 0);
+      }
+      break;
+    }
+    case INT96:
+      w.addTimeCol(out, vals._ls[i]);
+      break;
+    case FLOAT:
+    case DOUBLE:
+      w.addDoubleCol(out, vals._ds[i]);
+      break;
+    default:                    // BYTE_ARRAY, FIXED_LEN_BYTE_ARRAY
+      if( _meta._ctypes[col] == DECIMAL ) {
+        int off = vals._offs[i], len = vals._lens[i];
+        if( len > 8 ) { w.addInvalidCol(out); break; } // Does not fit a long
+        long x = len == 0 ? 0 : vals._buf[off];  // Big-endian two's complement
+        for( int b = 1; b < len; b++ ) x = x<<8 | (vals._buf[off+b]&0xFF);
+        w.addNumCol(out, x, -_meta._scales[col]);
+      } else
+        w.addStrCol(out, _str.set(vals._buf, vals._offs[i], vals._lens[i]));
+    }
+  }
+
+  // ------------------------------------------------------------------------
+  // A page of decoded values; byte array values are left in place
+  private static final class Values {
+    final int _n;
+    long[] _ls;
+    double[] _ds;
+    byte[] _buf;
+    int[] _offs, _lens;
+    Values( long[] ls ) { _n = ls.length; _ls = ls; }
+    Values( double[] ds ) { _n = ds.length; _ds = ds; }
+    Values( byte[] buf, int n ) { _n = n; _buf = buf; _offs = new int[n]; _lens = new int[n]; }
+  }
+
+  private Values decodePlain( int col, byte[] page, int p, int n ) {
+    Values vals;
+    switch( _meta._ptypes[col] ) {
+    case BOOLEAN:               // Bit-packed, LSB first
+      vals = new Values(new long[n]);
+      for( int i = 0; i < n; i++ ) vals._ls[i] = (page[p+(i>>3)] >> (i&7)) & 1;
+      break;
+    case INT32:
+      vals = new Values(new long[n]);
+      for( int i = 0; i < n; i++ ) vals._ls[i] = UnsafeUtils.get4(page, p+4*i);
+      if( _meta._ctypes[col] == UINT_32 )
+        for( int i = 0; i < n; i++ ) vals._ls[i] &= 0xFFFFFFFFL;
+      break;
+    case INT64:
+      vals = new Values(new long[n]);
+      for( int i = 0; i < n; i++ ) vals._ls[i] = UnsafeUtils.get8(page, p+8*i);
+      break;
+    case INT96:                 // Nanoseconds of the day, then the Julian day; kept as msec
+      vals = new Values(new long[n]);
+      for( int i = 0; i < n; i++ ) {
+        long nanos = UnsafeUtils.get8(page, p+12*i);
+        long day = UnsafeUtils.get4(page, p+12*i+8);
+        vals._ls[i] = (day-JULIAN_EPOCH)*DAY_MS + nanos/1000000;
+      }
+      break;
+    case FLOAT:
+      vals = new Values(new double[n]);
+      for( int i = 0; i < n; i++ ) vals._ds[i] = UnsafeUtils.get4f(page, p+4*i);
+      break;
+    case DOUBLE:
+      vals = new Values(new double[n]);
+      for( int i = 0; i < n; i++ ) vals._ds[i] = UnsafeUtils.get8d(page, p+8*i);
+      break;
+    case BYTE_ARRAY:            // Each value is length prefixed
+      vals = new Values(page, n);
+      for( int i = 0; i < n; i++ ) {
+        int len = UnsafeUtils.get4(page, p);
+        vals._offs[i] = p+4;
+        vals._lens[i] = len;
+        p += 4+len;
+      }
+      break;
+    case FIXED_LEN_BYTE_ARRAY:
+      vals = new Values(page, n);
+      int len = _meta._typeLens[col];
+      for( int i = 0; i < n; i++ ) { vals._offs[i] = p+len*i; vals._lens[i] = len; }
+      break;
+    default:
+      throw new H2OParseException("Unsupported Parquet type "+_meta._ptypes[col]+" of column "+_meta._names[col]);
+    }
+    return vals;
+  }
+
+  private byte[] decompress( int codec, byte[] bs, int off, int clen, int ulen ) {
+    switch( codec ) {
+    case UNCOMPRESSED:
+      return Arrays.copyOfRange(bs, off, off+clen);
+    case SNAPPY:
+      return Snappy.decompress(bs, off, clen);
+    case LZ4_RAW: {
+      byte[] page = new byte[ulen];
+      LZ4.decompress(bs, off, clen, page, 0, ulen);
+      return page;
+    }
+    case GZIP: {
+      byte[] page = new byte[ulen];
+      GZIPInputStream is = null;
+      try {
+        is = new GZIPInputStream(new ByteArrayInputStream(bs, off, clen));
+        for( int n = 0, len; n < ulen && (len = is.read(page, n, ulen-n)) >= 0; ) n += len;
+      } catch( IOException ioe ) {
+        throw new H2OParseException("Malformed gzip page in Parquet file: "+ioe.getMessage());
+      } finally {
+        try { if( is != null ) is.close(); } catch( IOException ignore ) { }
+      }
+      return page;
+    }
+    default:
+      throw new H2OParseException("Unsupported Parquet compression codec "+codec);
+    }
+  }
+
+  // ------------------------------------------------------------------------
+  // The RLE / bit-packing hybrid encoding of levels and dictionary indices:
+  // runs of one repeated value, or groups of 8 values packed LSB first.
+  private static final class Hybrid {
+    final byte[] _buf;
+    final int _width;
+    int _pos;                   // Next run header
+    int _left;                  // Values left in the current run
+    int _val;                   // Value of a repeated run
+    long _bit = -1;             // Next bit of a packed run, or -1 in a repeated run
+    Hybrid( byte[] buf, int pos, int width ) { _buf = buf; _pos = pos; _width = width; }
+
+    int next() {
+      if( _left == 0 ) run();
+      _left--;
+      if( _bit < 0 ) return _val;
+      int at = (int)(_bit >>> 3), shift = (int)(_bit & 7);
+      long word = 0;
+      for( int j = 0; j < 5 && at+j < _buf.length; j++ ) word |= (long)(_buf[at+j]&0xFF) << (8*j);
+      _bit += _width;
+      return (int)((word >>> shift) & ((1L<<_width)-1));
+    }
+
+    private void run() {
+      long h = 0;
+      for( int shift = 0; ; shift += 7 ) {
+        int b = _buf[_pos++];
+        h |= (long)(b & 0x7F) << shift;
+        if( b >= 0 ) break;
+      }
+      if( (h & 1) == 0 ) {      // Repeated run; the value takes whole bytes
+        _left = (int)(h >>> 1);
+        _val = 0;
+        for( int j = 0; j < (_width+7)/8; j++ ) _val |= (_buf[_pos++]&0xFF) << (8*j);
+        _bit = -1;
+      } else {                  // Packed run of groups of 8
+        int groups = (int)(h >>> 1);
+        _left = groups*8;
+        _bit = (long)_pos*8;
+        _pos += groups*_width;
+      }
+    }
+
+    byte[] levels( int n ) {
+      byte[] ls = new byte[n];
+      for( int i = 0; i < n; i++ ) ls[i] = (byte)next();
+      return ls;
+    }
+  }
+}
@@ -4,7 +4,6 @@ import jsr166y.CountedCompleter;
 import jsr166y.ForkJoinTask;
 import jsr166y.RecursiveAction;
 import water.*;
-import water.H2O.H2OCountedCompleter;
 import water.exceptions.H2OIllegalArgumentException;
 import water.exceptions.H2OParseException;
 import water.fvec.*;
@@ -81,6 +80,21 @@ public final class ParseDataset extends Job<Frame> {
     for( String x : conflictingNames )
     if ( !x.equals(""))
       throw new IllegalArgumentException("Found duplicate column name "+x);
+    if( setup._skipped_columns != null ) {
+      if( setup._parse_type == ParserType.SVMLight )
+        throw new IllegalArgumentException("Skipping columns is not supported for SVMLight files");
+      for( int c : setup._skipped_columns )
+        if( c < 0 || c >= setup._number_columns )
+          throw new IllegalArgumentException("Skipped column index "+c+" is out of range for "+setup._number_columns+" columns");
+      if( setup.keptColumns().length == 0 )
+        throw new IllegalArgumentException("Cannot skip all columns");
+    }
+    if( setup._filter_column >= 0 ) {
+      if( setup._parse_type == ParserType.SVMLight || setup._parse_type == ParserType.PARQUET )
+        throw new IllegalArgumentException("Row filters are not supported for "+setup._parse_type+" files");
+      if( setup._filter_column >= setup._number_columns )
+        throw new IllegalArgumentException("Filter column index "+setup._filter_column+" is out of range for "+setup._number_columns+" columns");
+    }
     // Some quick sanity checks: no overwriting your input key, and a resource check.
     long totalParseSize=0;
     for( int i=0; i<keys.length; i++ ) {
@@ -202,9 +216,14 @@ public final class ParseDataset extends Job<Frame> {
 
     //create a list of keys that are greater than 0-bytes
     List<Key> keyList = new ArrayList<>(fkeys.length);
-    for (int i=0; i < fkeys.length; i++)
-      if (getByteVec(fkeys[i]).length() > 0)
+    long inputBytes = 0;
+    for (int i=0; i < fkeys.length; i++) {
+      long len = getByteVec(fkeys[i]).length();
+      if (len > 0) {
         keyList.add(fkeys[i]);
+        inputBytes += len;
+      }
+    }
     fkeys = keyList.toArray(new Key[keyList.size()]);
 
     job.update(0, "Ingesting files.");
@@ -215,6 +234,8 @@ public final class ParseDataset extends Job<Frame> {
     if ( job.isCancelledOrCrashed()) return;
 
     final AppendableVec [] avs = mfpt.vecs();
+    if( setup._skipped_columns != null && setup._column_names != null )
+      setup._column_names = ArrayUtils.select(setup._column_names, setup.keptColumns());
     setup._column_names = getColumnNames(avs.length, setup._column_names);
 
     Frame fr = null;
@@ -228,44 +249,21 @@ public final class ParseDataset extends Job<Frame> {
     final int[] ecols = Arrays.copyOf(ecols2, n);
     // If we have any, go gather unified enum domains
     if( n > 0 ) {
-      EnumFetchTask eft = new EnumFetchTask(mfpt._eKey, ecols).doAllNodes();
-      final Categorical[] enums = eft._gEnums;
-      final ValueString[][] ds = new ValueString[ecols.length][];
-      EnumMapping [] emaps = new EnumMapping[H2O.CLOUD.size()];
-      H2OCountedCompleter[] domtasks = new H2OCountedCompleter[ecols.length];
-      // In parallel, compute enum column domains.  Includes expensive sort.
-      for( int k = 0; k<ecols.length; k++ ) {
-        final int fk = k;
-        H2O.submitTask(domtasks[k] = new H2OCountedCompleter() {
-            @Override public void compute2() {
-              int ei = ecols[fk];
-              avs[ei].setDomain(ValueString.toString(ds[fk] = enums[ei].computeColumnDomain()));
-              tryComplete();
-            }
-          });
+      // Each node sorts its own levels and the sorted lists merge up the
+      // reduce tree into the global domains; then each node maps its own enum
+      // ids into those domains.
+      ValueString[][] gds;
+      try { gds = new EnumFetchTask(mfpt._eKey, ecols).doAllNodes()._gDomains; }
+      catch( RuntimeException re ) { // E.g. too many levels: EnumRemapTask never runs
+        new EnumDropTask(mfpt._eKey).doAllNodes();
+        throw re;
       }
-      for( int k = 0; k<ecols.length; k++ ) domtasks[k].join();
-
-      for(int nodeId = 0; nodeId < H2O.CLOUD.size(); ++nodeId) {
-        if(eft._lEnums[nodeId] == null)continue;
-        int[][] emap = new int[ecols.length][];
-        for (int i = 0; i < ecols.length; ++i) {
-          final Categorical e = eft._lEnums[nodeId][ecols[i]];
-          if(e == null) continue;
-          int maxid = e.maxId();
-          emap[i] = MemoryManager.malloc4(maxid + 1);
-          Arrays.fill(emap[i], -1);
-          for (int j = 0; j < ds[i].length; ++j) {
-            ValueString vs = ds[i][j];
-            if (e.containsKey(vs)) {
-              int tokid = e.getTokenId(vs);
-              assert tokid <= maxid : "maxIdx = " + maxid + ", got " + tokid;
-              emap[i][tokid] = j;
-            }
-          }
-        }
-        emaps[nodeId] = new EnumMapping(emap);
+      final ValueString[][] ds = gds == null ? new ValueString[ecols.length][] : gds;
+      for( int k = 0; k<ecols.length; k++ ) {
+        if( ds[k] == null ) ds[k] = new ValueString[0];
+        avs[ecols[k]].setDomain(ValueString.toString(ds[k]));
       }
+      EnumMapping [] emaps = new EnumRemapTask(mfpt._eKey, ecols, ds).doAllNodes()._emaps;
       // Check for job cancellation
       if ( job.isCancelledOrCrashed()) return;
 
@@ -309,6 +307,12 @@ public final class ParseDataset extends Job<Frame> {
     if (setup._parse_type == ParserType.SVMLight)
       new SVFTask(fr).doAllNodes();
 
+    // Optionally spread the parsed frame over the cores of the current cloud
+    if( setup._chunks_per_core > 0 ) {
+      rebalance(job, fr, setup._chunks_per_core, inputBytes);
+      if ( job.isCancelledOrCrashed()) return;
+    }
+
     // Log any errors
     if( mfpt._errors != null )
       for( String err : mfpt._errors )
@@ -326,6 +330,39 @@ public final class ParseDataset extends Job<Frame> {
         assert DKV.get(k) == null : "Input key "+k+" not deleted during parse";
   }
 
+  // --------------------------------------------------------------------------
+  // The parse chunk size is picked from the input size and column count alone,
+  // so small files on large clouds get too few chunks (idle cores in every
+  // later MRTask) and wide files can get many tiny ones.  Redistribute the
+  // rows to about chunksPerCore chunks per core, without packing more than
+  // the default chunk size of input into any one chunk.  Chunk counts within
+  // a factor of 2 of the target are left alone.
+  private static void rebalance(ParseDataset job, Frame fr, int chunksPerCore, long inputBytes) {
+    int cores = chunksPerCore * H2O.NUMCPUS * H2O.CLOUD.size();
+    int floor = (int)Math.min(Integer.MAX_VALUE, (inputBytes + FileVec.DFLT_CHUNK_SIZE - 1) / FileVec.DFLT_CHUNK_SIZE);
+    int have = fr.anyVec().nChunks();
+    int want;
+    if( have < cores ) want = cores; // Too few chunks to keep every core busy
+    else if( have > 2 * Math.max(cores, floor) ) want = Math.max(cores, floor); // Many tiny chunks
+    else return;
+    want = (int)Math.min(want, fr.numRows());
+    if( want <= 0 || want == have ) return;
+
+    job.update(0,"Rebalancing into " + want + " chunks.");
+    Log.info("Rebalancing parsed frame " + fr._key + " from " + have + " into " + want + " chunks.");
+    Key tmp = Key.make(fr._key + ".rebalance" + want);
+    RebalanceDataSet rb = new RebalanceDataSet(fr, tmp, want, null, job._key);
+    H2O.submitTask(rb);
+    Frame out = rb.getResult();
+    // Swap the rebalanced Vecs in, drop the originals and the scratch Frame
+    Futures fs = new Futures();
+    Vec[] old = fr.vecs();
+    fr.restructure(fr.names(), out.vecs());
+    for( Vec v : old ) v.remove(fs);
+    DKV.remove(tmp, fs);
+    fs.blockForPending();
+  }
+
   // --------------------------------------------------------------------------
   /** Task to update enum (categorical) values to match the global numbering scheme.
    *  Performs update in place so that values originally numbered using
@@ -364,53 +401,113 @@ public final class ParseDataset extends Job<Frame> {
   }
 
   // --------------------------------------------------------------------------
+  // Gather the sorted global enum domains.  Each node sorts the levels of its
+  // own columns in parallel; sorted lists are merged pairwise, in parallel
+  // over the columns, as results come up the reduce tree.  No node hashes or
+  // sorts the whole domain.
   private static class EnumFetchTask extends MRTask<EnumFetchTask> {
     private final Key _k;
     private final int[] _ecols;
-    private Categorical[] _gEnums;      // global enums per column
-    public Categorical[][] _lEnums;    // local enums per node per column
+    private ValueString[][] _gDomains; // Sorted levels per enum column, null for none
     private EnumFetchTask(Key k, int[] ecols){_k = k;_ecols = ecols;}
     @Override public void setupLocal() {
-      _lEnums = new Categorical[H2O.CLOUD.size()][];
-      if( !MultiFileParseTask._enums.containsKey(_k) ) return;
-      _lEnums[H2O.SELF.index()] = _gEnums = MultiFileParseTask._enums.get(_k);
-      // Null out any empty Enum structs; no need to ship these around.
-      for( int i=0; i<_gEnums.length; i++ )
-        if( _gEnums[i].size()==0 ) _gEnums[i] = null;
-
-      // if we are the original node (i.e. there will be no sending over wire),
-      // we have to clone the enums not to share the same object (causes
-      // problems when computing column domain and renumbering maps).
-//      if( H2O.SELF.index() == _homeNode ) {
-      // fixme: looks like need to clone even if not on home node in h2o-dev
-        _gEnums = _gEnums.clone();
-        for(int i = 0; i < _gEnums.length; ++i)
-          if( _gEnums[i] != null ) _gEnums[i] = _gEnums[i].deepCopy();
-//      }
-      MultiFileParseTask._enums.remove(_k);
-    }
-
-    @Override public void reduce(EnumFetchTask etk) {
-      if(_gEnums == null) {
-        _gEnums = etk._gEnums;
-        _lEnums = etk._lEnums;
-      } else if (etk._gEnums != null) {
-        for( int i : _ecols ) {
-          if( _gEnums[i] == null ) _gEnums[i] = etk._gEnums[i];
-          else if( etk._gEnums[i] != null ) {
-            _gEnums[i].merge(etk._gEnums[i]);
-            if (_gEnums[i].isMapFull())
-              throw new H2OParseException("Column contains over "+Categorical.MAX_ENUM_SIZE
-              +" unique values and exceeds limits.  Consider parsing this column as string values.");
-          }
+      final Categorical[] enums = MultiFileParseTask._enums.get(_k);
+      if( enums == null ) return;
+      final ValueString[][] ds = _gDomains = new ValueString[_ecols.length][];
+      ArrayList<RecursiveAction> rs = new ArrayList<>();
+      for( int i = 0; i < _ecols.length; ++i ) {
+        final Categorical e = enums[_ecols[i]];
+        if( e.size() == 0 ) continue; // No need to ship empty columns around
+        final int fi = i;
+        rs.add(new RecursiveAction() {
+          @Override protected void compute() { ds[fi] = checkSize(e.sortedKeys()); }
+        });
+      }
+      ForkJoinTask.invokeAll(rs);
+    }
+
+    @Override public void reduce(final EnumFetchTask etk) {
+      if( _gDomains == null ) _gDomains = etk._gDomains;
+      else if( etk._gDomains != null && _gDomains != etk._gDomains ) {
+        ArrayList<RecursiveAction> rs = new ArrayList<>();
+        for( int i = 0; i < _gDomains.length; ++i ) {
+          if( etk._gDomains[i] == null ) continue;
+          if( _gDomains[i] == null ) { _gDomains[i] = etk._gDomains[i]; continue; }
+          final int fi = i;
+          rs.add(new RecursiveAction() {
+            @Override protected void compute() { _gDomains[fi] = checkSize(union(_gDomains[fi], etk._gDomains[fi])); }
+          });
         }
-        for( int i = 0; i < _lEnums.length; ++i )
-          if( _lEnums[i] == null ) _lEnums[i] = etk._lEnums[i];
-          else assert etk._lEnums[i] == null;
+        ForkJoinTask.invokeAll(rs);
+      }
+    }
+
+    private static ValueString[] checkSize(ValueString[] vs) {
+      if( vs.length > Categorical.MAX_ENUM_SIZE )
+        throw new H2OParseException("Column contains over "+Categorical.MAX_ENUM_SIZE
+          +" unique values and exceeds limits.  Consider parsing this column as string values.");
+      return vs;
+    }
+
+    // Union of two sorted lists of distinct levels
+    private static ValueString[] union(ValueString[] a, ValueString[] b) {
+      ValueString[] res = new ValueString[a.length + b.length];
+      int i = 0, j = 0, n = 0;
+      while( i < a.length && j < b.length ) {
+        int c = a[i].compareTo(b[j]);
+        res[n++] = c <= 0 ? a[i++] : b[j++];
+        if( c == 0 ) j++;       // Same level on both sides
       }
+      while( i < a.length ) res[n++] = a[i++];
+      while( j < b.length ) res[n++] = b[j++];
+      return n == res.length ? res : Arrays.copyOf(res, n);
     }
   }
 
+  // --------------------------------------------------------------------------
+  // Each node maps its own enum ids to indices in the global domains, by
+  // binary search, in parallel over the columns; the maps of all nodes are
+  // gathered for the EnumUpdateTask.  Drops the node-local enums.
+  private static class EnumRemapTask extends MRTask<EnumRemapTask> {
+    private final Key _k;
+    private final int[] _ecols;
+    private ValueString[][] _gDomains;
+    private EnumMapping[] _emaps;     // Enum id maps per node, null for nodes without enums
+    private EnumRemapTask(Key k, int[] ecols, ValueString[][] gDomains){_k = k;_ecols = ecols;_gDomains = gDomains;}
+    @Override public void setupLocal() {
+      _emaps = new EnumMapping[H2O.CLOUD.size()];
+      final Categorical[] enums = MultiFileParseTask._enums.remove(_k);
+      if( enums == null ) return;
+      final int[][] emap = new int[_ecols.length][];
+      ArrayList<RecursiveAction> rs = new ArrayList<>();
+      for( int i = 0; i < _ecols.length; ++i ) {
+        final Categorical e = enums[_ecols[i]];
+        if( e.size() == 0 ) continue;
+        final int fi = i;
+        rs.add(new RecursiveAction() {
+          @Override protected void compute() { emap[fi] = e.remap(_gDomains[fi]); }
+        });
+      }
+      ForkJoinTask.invokeAll(rs);
+      _emaps[H2O.SELF.index()] = new EnumMapping(emap);
+    }
+
+    @Override public void reduce(EnumRemapTask ert) {
+      if( _emaps != ert._emaps )
+        for( int i = 0; i < _emaps.length; ++i )
+          if( _emaps[i] == null ) _emaps[i] = ert._emaps[i];
+          else assert ert._emaps[i] == null;
+    }
+    @Override public void closeLocal() { _gDomains = null; } // Do not ship the domains back
+  }
+
+  // Drops the node-local enums of a parse that failed before EnumRemapTask
+  private static class EnumDropTask extends MRTask<EnumDropTask> {
+    private final Key _k;
+    private EnumDropTask(Key k){_k = k;}
+    @Override public void setupLocal() { MultiFileParseTask._enums.remove(_k); }
+  }
+
   // --------------------------------------------------------------------------
   // Run once on all nodes; fill in missing zero chunks
   private static class SVFTask extends MRTask<SVFTask> {
@@ -573,13 +670,15 @@ public final class ParseDataset extends Job<Frame> {
     }
 
     private FVecParseWriter makeDout(ParseSetup localSetup, int chunkOff, int nchunks) {
-      AppendableVec [] avs = new AppendableVec[localSetup._number_columns];
+      AppendableVec [] avs = new AppendableVec[localSetup.keptColumns().length];
       long [] espc = MemoryManager.malloc8(nchunks);
-      for(int i = 0; i < avs.length; ++i)
+      for(int i = 0; i < avs.length; ++i) {
         avs[i] = new AppendableVec(_vg.vecKey(i + _vecIdStart), espc, chunkOff);
+        avs[i]._float32 = _parseSetup._float32;
+      }
       return localSetup._parse_type == ParserType.SVMLight
         ?new SVMLightFVecParseWriter(_vg, _vecIdStart,chunkOff, _parseSetup._chunk_size, avs)
-        :new FVecParseWriter(_vg, chunkOff, enums(_eKey,localSetup._number_columns), localSetup._column_types, _parseSetup._chunk_size, avs);
+        :new FVecParseWriter(_vg, chunkOff, enums(_eKey,avs.length), localSetup.keptColumnTypes(), _parseSetup._chunk_size, avs, localSetup.columnMap(), localSetup.rowFilter());
     }
 
     // Called once per file
@@ -593,20 +692,22 @@ public final class ParseDataset extends Job<Frame> {
       byte[] zips = vec.getFirstBytes();
       ZipUtil.Compression cpr = ZipUtil.guessCompressionMethod(zips);
 
-      if (localSetup._check_header == ParseSetup.HAS_HEADER) //check for header on local file
+      if (localSetup._check_header == ParseSetup.HAS_HEADER && localSetup._parse_type != ParserType.PARQUET) //check for header on local file
         localSetup._check_header = localSetup.parser(_jobKey).fileHasHeader(ZipUtil.unzipBytes(zips,cpr, localSetup._chunk_size), localSetup);
 
       // Parse the file
       try {
         switch( cpr ) {
         case NONE:
-          if( _parseSetup._parse_type._parallelParseSupported ) {
-            DistributedParse dp = new DistributedParse(_vg, localSetup, _vecIdStart, chunkStartIdx, this, key, vec.nChunks());
-            addToPendingCount(1);
-            dp.setCompleter(this);
-            dp.asyncExec(vec);
-            for( int i = 0; i < vec.nChunks(); ++i )
-              _chunk2Enum[chunkStartIdx + i] = vec.chunkKey(i).home_node().index();
+          if( _parseSetup._parse_type == ParserType.PARQUET ) {
+            // Columnar file; parse the row groups where they live
+            ParquetMeta pm = ParquetMeta.read(vec);
+            if( pm.ncols() != _parseSetup._number_columns )
+              throw new H2OParseException("Parquet file has " + pm.ncols() + " columns, expected " + _parseSetup._number_columns + ".");
+            pm.layout(vec.chunkOffsets());
+            distributedParse(localSetup, chunkStartIdx, key, vec, null, pm);
+          } else if( _parseSetup._parse_type._parallelParseSupported ) {
+            distributedParse(localSetup, chunkStartIdx, key, vec, null, null);
           } else {
             InputStream bvs = vec.openStream(_jobKey);
             _dout[_lo] = streamParse(bvs, localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()), bvs);
@@ -631,6 +732,12 @@ public final class ParseDataset extends Job<Frame> {
           break;
         }
         case GZIP: {
+          // BGZF file; members decompress independently, so parse in parallel
+          long[] groups = _parseSetup._parse_type._parallelParseSupported ? ZipUtil.bgzfGroups(vec) : null;
+          if( groups != null ) {
+            distributedParse(localSetup, chunkStartIdx, key, vec, groups, null);
+            break;
+          }
           InputStream bvs = vec.openStream(_jobKey);
           // Zipped file; no parallel decompression;
           _dout[_lo] = streamParse(new GZIPInputStream(bvs),localSetup,makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs);
@@ -647,6 +754,18 @@ public final class ParseDataset extends Job<Frame> {
       }
     }
 
+    // Parse the file's chunks in parallel where they live; for a BGZF file,
+    // each chunk parses the gzip members starting in it, and for a Parquet
+    // file the row groups starting in it.
+    private void distributedParse( ParseSetup localSetup, int chunkStartIdx, Key key, ByteVec vec, long[] bgzfGroups, ParquetMeta parquet ) {
+      DistributedParse dp = new DistributedParse(_vg, localSetup, _vecIdStart, chunkStartIdx, this, key, vec.nChunks(), bgzfGroups, parquet);
+      addToPendingCount(1);
+      dp.setCompleter(this);
+      dp.asyncExec(vec);
+      for( int i = 0; i < vec.nChunks(); ++i )
+        _chunk2Enum[chunkStartIdx + i] = vec.chunkKey(parquet == null ? i : parquet.writerOf(i)).home_node().index();
+    }
+
     // Reduce: combine errors from across files.
     // Roll-up other meta data
     @Override public void reduce( MultiFileParseTask mfpt ) {
@@ -697,8 +816,10 @@ public final class ParseDataset extends Job<Frame> {
       private transient NonBlockingSetInt _visited;
       private transient long [] _espc;
       final int _nchunks;
+      private final long[] _bgzfGroups; // Compressed offsets of the member groups of a BGZF file, or null
+      private final ParquetMeta _parquet; // Footer of a Parquet file, or null
 
-      DistributedParse(VectorGroup vg, ParseSetup setup, int vecIdstart, int startChunkIdx, MultiFileParseTask mfpt, Key srckey, int nchunks) {
+      DistributedParse(VectorGroup vg, ParseSetup setup, int vecIdstart, int startChunkIdx, MultiFileParseTask mfpt, Key srckey, int nchunks, long[] bgzfGroups, ParquetMeta parquet) {
         super(mfpt);
         _vg = vg;
         _setup = setup;
@@ -709,6 +830,8 @@ public final class ParseDataset extends Job<Frame> {
         _jobKey = mfpt._jobKey;
         _srckey = srckey;
         _nchunks = nchunks;
+        _bgzfGroups = bgzfGroups;
+        _parquet = parquet;
       }
       @Override public void setupLocal(){
         super.setupLocal();
@@ -717,24 +840,37 @@ public final class ParseDataset extends Job<Frame> {
       }
       @Override public void map( Chunk in ) {
         if (((Job)DKV.getGet(_jobKey)).isCancelledOrCrashed()) return;
-        AppendableVec [] avs = new AppendableVec[_setup._number_columns];
-        for(int i = 0; i < avs.length; ++i)
+        if( _parquet != null && _parquet.writerOf(in.cidx()) != in.cidx() ) {
+          Job.update(in._len, _jobKey); // Rows written by the row group of an earlier chunk
+          return;
+        }
+        int[] kept = _setup.keptColumns();
+        AppendableVec [] avs = new AppendableVec[kept.length];
+        for(int i = 0; i < avs.length; ++i) {
           avs[i] = new AppendableVec(_vg.vecKey(_vecIdStart + i), _espc, _startChunkIdx);
+          avs[i]._float32 = _setup._float32;
+        }
         // Break out the input & output vectors before the parse loop
-        FVecParseReader din = new FVecParseReader(in);
+        ParseReader din = _bgzfGroups == null ? new FVecParseReader(in) : new BgzfParseReader((ByteVec)in.vec(), _bgzfGroups, in.cidx());
         FVecParseWriter dout;
         Parser p;
         switch(_setup._parse_type) {
           case ARFF:
           case CSV:
-            Categorical [] enums = enums(_eKey,_setup._number_columns);
+            Categorical [] enums = enums(_eKey,kept.length);
             p = new CsvParser(_setup, _jobKey);
-            dout = new FVecParseWriter(_vg,_startChunkIdx + in.cidx(), enums, _setup._column_types, _setup._chunk_size, avs); //TODO: use _setup._domains instead of enums
+            dout = new FVecParseWriter(_vg,_startChunkIdx + in.cidx(), enums, _setup.keptColumnTypes(), _setup._chunk_size, avs, _setup.columnMap(), _setup.rowFilter()); //TODO: use _setup._domains instead of enums
           break;
         case SVMLight:
           p = new SVMLightParser(_setup, _jobKey);
           dout = new SVMLightFVecParseWriter(_vg, _vecIdStart, in.cidx() + _startChunkIdx, _setup._chunk_size, avs);
           break;
+        case PARQUET:
+          byte[] ctypes = new byte[kept.length];
+          for( int i = 0; i < kept.length; ++i ) ctypes[i] = _setup._column_types[kept[i]];
+          p = new ParquetParser(_setup, _jobKey, _parquet, (ByteVec)in.vec());
+          dout = new FVecParseWriter(_vg, _startChunkIdx + in.cidx(), enums(_eKey,kept.length), ctypes, _setup._chunk_size, avs);
+          break;
         default:
           throw H2O.unimpl();
         }
@@ -766,7 +902,10 @@ public final class ParseDataset extends Job<Frame> {
           }
         }
       }
-      @Override public void reduce(DistributedParse dp) { _dout.reduce(dp._dout); }
+      @Override public void reduce(DistributedParse dp) {
+        if( _dout == null ) _dout = dp._dout; // Chunks covered by a Parquet row group write nothing
+        else _dout.reduce(dp._dout);
+      }
 
       @Override public void postGlobal() {
         super.postGlobal();
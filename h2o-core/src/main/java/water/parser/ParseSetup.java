@@ -13,6 +13,8 @@ import water.fvec.Vec;
 import water.fvec.UploadFileVec;
 import water.fvec.FileVec;
 import water.fvec.ByteVec;
+import water.util.ArrayUtils;
+import water.util.PrettyPrint;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -41,12 +43,26 @@ public final class ParseSetup extends Iced {
   String[][] _na_strings;       // Strings for NA in a given column
   String[][] _data;           // First few rows of parsed/tokenized data
   int _chunk_size = FileVec.DFLT_CHUNK_SIZE;  // Optimal chunk size to be used store values
+  int _chunks_per_core = 0;   // Rebalance the parsed frame to this many chunks per core; 0 keeps the parse layout
+  boolean _float32;           // Round non-integral numeric columns to 4-byte floats
+  int[] _skipped_columns;     // Columns left out of the parsed frame, by index; null keeps all
+  int _filter_column = -1;    // Column the rows are filtered on, by index; -1 keeps all rows
+  double _filter_min = Double.NEGATIVE_INFINITY; // Numeric range kept by the row filter
+  double _filter_max = Double.POSITIVE_INFINITY;
+  String _filter_value;       // String kept by the row filter; null filters on the numeric range
   PreviewParseWriter _column_previews = null;
 
   public ParseSetup(ParseSetup ps) {
     this(ps._parse_type,
             ps._separator, ps._single_quotes, ps._check_header, ps._number_columns,
             ps._column_names, ps._column_types, ps._domains, ps._na_strings, ps._data, ps._chunk_size);
+    _chunks_per_core = ps._chunks_per_core;
+    _float32 = ps._float32;
+    _skipped_columns = ps._skipped_columns;
+    _filter_column = ps._filter_column;
+    _filter_min = ps._filter_min;
+    _filter_max = ps._filter_max;
+    _filter_value = ps._filter_value;
   }
 
   public ParseSetup(ParserType t, byte sep, boolean singleQuotes, int checkHeader, int ncols, String[] columnNames, byte[] ctypes, String[][] domains, String[][] naStrings, String[][] data, int chunkSize) {
@@ -77,6 +93,9 @@ public final class ParseSetup extends Iced {
             null, ps.na_strings, null, ps.chunk_size);
     if(ps.parse_type == null) _parse_type = ParserType.GUESS;
     if(ps.separator == 0) _separator = GUESS_SEP;
+    _chunks_per_core = ps.chunks_per_core;
+    _float32 = ps.float32;
+    _skipped_columns = ps.skipped_columns;
   }
 
   /**
@@ -111,6 +130,128 @@ public final class ParseSetup extends Iced {
   public String[] getColumnNames() { return _column_names; }
   public String[][] getData() { return _data; }
 
+  /**
+   * Set the post-parse rebalancing policy.  Parse picks the chunk size from
+   * the file size alone; when this is positive the parsed frame is
+   * redistributed to roughly {@code n} chunks per core of the current cloud.
+   *
+   * @param n Target chunks per core, or 0 to keep the chunking chosen by parse
+   * @return this setup
+   */
+  public ParseSetup setChunksPerCore(int n) {
+    if( n < 0 ) throw new H2OIllegalArgumentException("chunks_per_core", "setChunksPerCore", n);
+    _chunks_per_core = n;
+    return this;
+  }
+
+  /**
+   * Request float32 storage for the parsed frame.  Numeric columns that do
+   * not fit an integer or scaled-integer encoding are rounded to 4-byte
+   * floats as they are parsed, instead of stored as 8-byte doubles, halving
+   * their memory.  Integer columns keep their integer encodings, and chunks
+   * holding values beyond the float range stay in doubles.
+   *
+   * @param float32 true to store floating point columns as floats
+   * @return this setup
+   */
+  public ParseSetup setFloat32(boolean float32) {
+    _float32 = float32;
+    return this;
+  }
+
+  /**
+   * Leave columns out of the parsed frame.  Columnar formats (PARQUET) never
+   * read the skipped columns at all; for the others the skipped columns are
+   * tokenized but never stored.
+   *
+   * @param cols Indices of the columns to skip, or null to keep all columns
+   * @return this setup
+   */
+  public ParseSetup setSkippedColumns(int[] cols) {
+    _skipped_columns = cols;
+    return this;
+  }
+
+  /**
+   * Keep only the rows whose value in a column lies in a numeric range.
+   * Rows with a missing or non-numeric value in the column are dropped.
+   *
+   * @param col Index of the column to filter on
+   * @param min Smallest value kept, inclusive
+   * @param max Largest value kept, inclusive
+   * @return this setup
+   */
+  public ParseSetup setRowFilter(int col, double min, double max) {
+    if( !(min <= max) ) throw new H2OIllegalArgumentException("filter_max", "setRowFilter", max);
+    _filter_column = col;
+    _filter_min = min;
+    _filter_max = max;
+    _filter_value = null;
+    return this;
+  }
+
+  /**
+   * Keep only the rows whose string value in a column equals the given one.
+   * Rows with a missing or numeric value in the column are dropped.
+   *
+   * @param col Index of the column to filter on
+   * @param value String kept
+   * @return this setup
+   */
+  public ParseSetup setRowFilter(int col, String value) {
+    _filter_column = col;
+    _filter_value = value;
+    return this;
+  }
+
+  /** @return Indices of the columns kept in the parsed frame, in order */
+  int[] keptColumns() {
+    int[] map = columnMap();
+    if( map == null ) return ArrayUtils.seq(0, _number_columns);
+    int[] kept = new int[_number_columns];
+    int n = 0;
+    for( int i = 0; i < map.length; i++ )
+      if( map[i] >= 0 ) kept[n++] = i;
+    return Arrays.copyOf(kept, n);
+  }
+
+  /** @return Index in the parsed frame of each column, -1 for the skipped
+   *  columns; null when no column is skipped */
+  int[] columnMap() {
+    if( _skipped_columns == null ) return null;
+    int[] map = new int[_number_columns];
+    for( int c : _skipped_columns ) map[c] = -1;
+    for( int i = 0, n = 0; i < map.length; i++ )
+      if( map[i] == 0 ) map[i] = n++;
+    return map;
+  }
+
+  /** @return Types of the kept columns; the setup's own array when no
+   *  column is skipped, or null if the types are not set */
+  byte[] keptColumnTypes() {
+    return _column_types == null || _skipped_columns == null ? _column_types : ArrayUtils.select(_column_types, keptColumns());
+  }
+
+  /** @return The row filter, or null to keep all rows */
+  RowFilter rowFilter() {
+    return _filter_column < 0 ? null : new RowFilter(_filter_column, _filter_min, _filter_max, _filter_value);
+  }
+
+  /** Keeps the rows whose value in one column lies in a numeric range, or
+   *  equals a string. */
+  static final class RowFilter extends Iced {
+    final int _col;
+    final double _min, _max;
+    final String _value;
+    RowFilter(int col, double min, double max, String value) { _col = col; _min = min; _max = max; _value = value; }
+    boolean test(double d) { return _value == null && _min <= d && d <= _max; }
+    boolean test(long number, int exp) {
+      // Divide by exact powers of ten, rounding as a parse of the token would
+      return test(exp < 0 ? number / PrettyPrint.pow10(-exp) : number * PrettyPrint.pow10(exp));
+    }
+    boolean test(ValueString str) { return _value != null && str.equals(_value); }
+  }
+
   public String[] getColumnTypeStrings() {
     String[] types = new String[_column_types.length];
     for(int i=0; i< types.length; i++)
@@ -218,6 +359,9 @@ public final class ParseSetup extends Iced {
       } else {
         t._gblSetup._chunk_size = FileVec.calcOptimalChunkSize(t._totalParseSize, t._gblSetup._number_columns);
       }
+      t._gblSetup._chunks_per_core = userSetup._chunks_per_core;
+      t._gblSetup._float32 = userSetup._float32;
+      t._gblSetup._skipped_columns = userSetup._skipped_columns;
 
     return t._gblSetup;
   }
@@ -276,6 +420,16 @@ public final class ParseSetup extends Iced {
         else  // avoid numerical distortion of file size when not compressed
           _totalParseSize += bv.length();
 
+        // Parquet is binary, with its setup in the footer
+        if( ParquetMeta.isParquet(bits) || _userSetup._parse_type == ParserType.PARQUET ) {
+          try {
+            _gblSetup = ParquetParser.guessSetup(bv, _userSetup);
+          } catch (H2OParseException pse) {
+            throw new H2OParseSetupException(key, pse);
+          }
+          return;
+        }
+
         // Check for supported character encodings
         checkCharEncoding(bits);
 
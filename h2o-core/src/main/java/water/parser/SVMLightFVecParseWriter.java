@@ -17,8 +17,10 @@ public class SVMLightFVecParseWriter extends FVecParseWriter {
     _vg = vg;
     _vecIdStart = vecIdStart;
     _nvs = new NewChunk[avs.length];
-    for(int i = 0; i < _nvs.length; ++i)
+    for(int i = 0; i < _nvs.length; ++i) {
       _nvs[i] = new NewChunk(_vecs[i], _cidx, true);
+      _nvs[i]._float32 = _nvs[i]._float32Round = _vecs[i]._float32;
+    }
     _col = 0;
   }
 
@@ -53,7 +55,9 @@ public class SVMLightFVecParseWriter extends FVecParseWriter {
       for(int i = oldColCnt; i < newColCnt; ++i) {
         _vecs[i] = new AppendableVec(_vg.vecKey(i+_vecIdStart),_vecs[0]._tmp_espc,_vecs[0]._chunkOff);
         _vecs[i].setPrecedingChunkTypes(_cidx, AppendableVec.NUMBER);
+        _vecs[i]._float32 = _vecs[0]._float32;
         _nvs[i] = new NewChunk(_vecs[i], _cidx, true);
+        _nvs[i]._float32 = _nvs[i]._float32Round = _vecs[i]._float32;
         _ctypes[i] = Vec.T_NUM;
       }
       _nCols = newColCnt;
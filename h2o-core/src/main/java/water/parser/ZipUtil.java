@@ -3,7 +3,10 @@ package water.parser;
 import java.io.*;
 import java.util.Arrays;
 import java.util.zip.*;
+import water.MRTask;
+import water.MemoryManager;
 import water.fvec.ByteVec;
+import water.fvec.Chunk;
 import water.fvec.FileVec;
 import water.util.Log;
 import water.util.UnsafeUtils;
@@ -100,4 +103,110 @@ abstract class ZipUtil {
     }
     return cnt;
   }
+
+  // ------------------------------------------------------------------------
+  // BGZF (as written by bgzip) is a series of gzip members of at most 64K
+  // each, which decompress independently.  Each member's header carries a
+  // "BC" extra field with the member's compressed size, so the member starts
+  // can be found without inflating anything.  Plain multi-member gzip has no
+  // such field; its members are only found by inflating the stream in order.
+  private static final int BGZF_HDR = 18; // Header bytes, up to and including BSIZE
+
+  // Is there a BGZF member header at bs[p]?  Only the layout bgzip writes
+  // (XLEN of 6, holding just the BC subfield) is recognized.
+  private static boolean isBgzfHeader( byte[] bs, int p ) {
+    return p+BGZF_HDR <= bs.length &&
+      bs[p] == 0x1f && bs[p+1] == (byte)0x8b && bs[p+2] == 8 && (bs[p+3]&4) != 0 &&
+      UnsafeUtils.get2(bs,p+10) == 6 && bs[p+12] == 'B' && bs[p+13] == 'C' &&
+      UnsafeUtils.get2(bs,p+14) == 2;
+  }
+  // Compressed size of the BGZF member at bs[p]
+  private static int bgzfMemberSize( byte[] bs, int p ) { return (UnsafeUtils.get2(bs,p+16)&0xFFFF)+1; }
+
+  /** Split a BGZF file along its member boundaries, into one group of members
+   *  per Chunk of the ByteVec: the members starting within that Chunk.
+   *  @return the compressed offset of each group, then the file length, or
+   *  null if the file is not BGZF or is a single Chunk.  A Chunk holding no
+   *  member start gets an empty group. */
+  static long[] bgzfGroups( ByteVec bv ) {
+    int n = bv.nChunks();
+    if( n < 2 || !isBgzfHeader(bv.getFirstBytes(),0) ) return null;
+    long[] found = new BgzfScan().doAll(bv)._found;
+    long[] first = new long[n], exit = new long[n];
+    Arrays.fill(first,-1);
+    Arrays.fill(exit ,-1);
+    for( int k = 0; found != null && k < found.length; k += 3 ) {
+      first[(int)found[k]] = found[k+1];
+      exit [(int)found[k]] = found[k+2];
+    }
+    long[] espc = bv.chunkOffsets();
+    long[] groups = new long[n+1];
+    long next = 0;              // Next member start, or -1 if only the Chunks past it know
+    for( int i = 0; i < n; i++ ) {
+      if( next != -1 && next < espc[i] ) next = -1; // Its header was split over the Chunk start
+      if( next >= espc[i+1] ) { groups[i] = -1; continue; } // A member spans this whole Chunk
+      if( next == -1 ) next = first[i];
+      if( next == -1 ) { groups[i] = -1; continue; }
+      groups[i] = next;
+      if( next+BGZF_HDR > espc[i+1] ) next = -1;    // Header split over the Chunk end
+      else if( first[i] != next ) return null;      // Broken member chain
+      else next = exit[i];
+    }
+    if( next != -1 && next != espc[n] ) return null; // Not ending at the file end
+    groups[n] = espc[n];
+    for( int i = n-1; i >= 0; i-- ) // Empty groups start where the next one does
+      if( groups[i] == -1 ) groups[i] = groups[i+1];
+    return groups;
+  }
+
+  // Find, per Chunk, the first member header within it, and walk the member
+  // chain from there to the first member whose header is not all in this
+  // Chunk.  Only Chunks holding a header report, as (cidx, first, exit)
+  // triples, so the result stays proportional to the Chunk count.
+  private static class BgzfScan extends MRTask<BgzfScan> {
+    long[] _found;
+    @Override public void map( Chunk c ) {
+      byte[] bs = c.getBytes();
+      int p = 0;
+      while( p+BGZF_HDR <= bs.length && !isBgzfHeader(bs,p) ) p++;
+      if( p+BGZF_HDR > bs.length ) return;
+      long first = c.start()+p;
+      while( p+BGZF_HDR <= bs.length && isBgzfHeader(bs,p) )
+        p += bgzfMemberSize(bs,p);
+      _found = new long[]{c.cidx(), first, c.start()+p};
+    }
+    @Override public void reduce( BgzfScan bs ) {
+      if( bs._found == null ) return;
+      if( _found == null ) { _found = bs._found; return; }
+      int len = _found.length;
+      _found = Arrays.copyOf(_found,len+bs._found.length);
+      System.arraycopy(bs._found,0,_found,len,bs._found.length);
+    }
+  }
+
+  /** Inflate the gzip members in the compressed range [lo,hi) of the ByteVec.
+   *  If toEOL, stop as soon as a line end is inflated.
+   *  @return the inflated bytes, or null if none */
+  static byte[] inflateRange( ByteVec bv, long lo, long hi, boolean toEOL ) {
+    if( lo == hi ) return null;
+    byte[] zs = bv.getBytes(lo,(int)(hi-lo));
+    InputStream is = null;
+    try {
+      is = new GZIPInputStream(new ByteArrayInputStream(zs));
+      byte[] bs = MemoryManager.malloc1(zs.length*4);
+      int off = 0, len;
+      while( (len = is.read(bs,off,bs.length-off)) >= 0 ) {
+        if( toEOL )
+          for( int i = off; i < off+len; i++ )
+            if( bs[i] == '\n' || bs[i] == '\r' ) return Arrays.copyOf(bs,off+len);
+        off += len;
+        if( off == bs.length ) bs = Arrays.copyOf(bs,bs.length*2);
+      }
+      return off == 0 ? null : Arrays.copyOf(bs,off);
+    } catch( IOException ioe ) {
+      throw Log.throwErr(ioe);
+    } finally {
+      try { if( is != null ) is.close(); } catch( IOException ignore ) { }
+    }
+  }
 }
@@ -24,6 +24,10 @@ public abstract class Persist {
   /** Load a previously stored Value */
   abstract public byte[] load(Value v) throws IOException;
 
+  /** Map a previously stored Value for reading in place, or null if this
+   *  backend cannot */
+  public OffHeap loadMapped(Value v) throws IOException { return null; }
+
   /** Reclaim space from a previously stored Value */
   abstract public void delete(Value v);
 
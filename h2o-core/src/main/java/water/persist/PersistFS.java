@@ -2,6 +2,8 @@ package water.persist;
 
 import java.io.*;
 import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 
 import water.*;
@@ -55,6 +57,20 @@ final class PersistFS extends Persist {
       }
   }
 
+  // Map the spill file read-only.  Fixed-width Chunks read it in place; the
+  // OS page cache keeps hot spilled data resident and evicts the rest.  The
+  // mapping lives as long as the returned OffHeap.
+  @Override public OffHeap loadMapped(Value v) throws IOException {
+    File f = getFile(v);
+    if( f.length() < v._max ) { // Racey delete of a spilled value
+      assert !v.isPersisted() : f.length() + " " + v._max + " " + v._key;
+      return null;
+    }
+    try (FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+      return new OffHeap(fc.map(FileChannel.MapMode.READ_ONLY, 0, v._max), v._max);
+    }
+  }
+
   // Store Value v to disk.
   @Override public void store(Value v) {
     assert !v.isPersisted();
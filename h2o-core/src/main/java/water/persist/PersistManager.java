@@ -2,6 +2,7 @@ package water.persist;
 
 import water.H2O;
 import water.Key;
+import water.OffHeap;
 import water.Value;
 import water.exceptions.H2OIllegalArgumentException;
 import water.fvec.UploadFileVec;
@@ -144,6 +145,15 @@ public class PersistManager {
     return arr;
   }
 
+  public OffHeap loadMapped(int backend, Value v) throws IOException {
+    OffHeap oh = I[backend].loadMapped(v);
+    if( oh != null ) {
+      stats[backend].load_count.incrementAndGet();
+      stats[backend].load_bytes.addAndGet(oh._len);
+    }
+    return oh;
+  }
+
   /** Get the current Persist flavor for user-mode swapping. */
   public Persist getIce() { return I[Value.ICE]; }
 
@@ -136,6 +136,7 @@ public abstract class ASTOp extends AST {
     putPrefix(new ASTCharacter());
     putPrefix(new ASTFactor());
     putPrefix(new ASTAsNumeric());
+    putPrefix(new ASTAsFloat32());
     putPrefix(new ASTIsFactor());
     putPrefix(new ASTIsCharacter());
     putPrefix(new ASTIsNumeric());
@@ -4711,6 +4712,40 @@ class ASTAsNumeric extends ASTUniPrefixOp {
   }
 }
 
+// Round the floating point columns of a frame to 4-byte floats and store them
+// as such, halving their memory.  Values beyond the float range are kept as
+// doubles.  Integer, categorical, time, string and UUID columns are copied
+// unchanged.
+class ASTAsFloat32 extends ASTUniPrefixOp {
+  ASTAsFloat32() { super(new String[]{"as.float32", "ary"}); }
+  @Override String opStr() { return "as.float32"; }
+  @Override ASTOp make() {return new ASTAsFloat32(); }
+  @Override void apply(Env env) {
+    Frame ary = env.peekAry();
+    Vec[] nvecs = new Vec[ary.numCols()];
+    Vec vv;
+    for (int c = 0; c < ary.numCols(); ++c) {
+      vv = ary.vecs()[c];
+      nvecs[c] = vv.isNumeric() && !vv.isInt() ? toFloat32(vv) : vv.makeCopy(vv.domain());
+    }
+    Frame v = new Frame(ary._names, nvecs);
+    env.poppush(1, new ValFrame(v));
+  }
+
+  static private Vec toFloat32(final Vec vv) {
+    return new MRTask() {
+      @Override public void map(Chunk c, NewChunk nc) {
+        nc._float32 = true;
+        double[] ds = c.getDoubles(MemoryManager.malloc8d(c._len), 0, c._len);
+        for( double d : ds ) {
+          float f = (float)d;
+          nc.addNum(Float.isInfinite(f) || (f == 0 && d != 0) ? d : f);
+        }
+      }
+    }.doAll(1,vv).outputFrame().anyVec();
+  }
+}
+
 class ASTFactor extends ASTUniPrefixOp {
   private static int LEVELSCAP = 50000000;
   ASTFactor() { super(new String[]{"", "ary"});}
@@ -1,14 +1,61 @@
 package water.rapids;
 
 import water.DKV;
+import water.H2O;
 import water.MRTask;
+import water.fvec.CStrDictChunk;
 import water.fvec.Chunk;
 import water.fvec.Frame;
 import water.fvec.NewChunk;
+import water.parser.ValueString;
 
 import java.util.*;
 public class ASTStringOps {
   //merp
+
+  /** Applies one of the String->String ops to every value of a String column,
+   *  producing a new String column.  Dictionary-encoded chunks run the op once
+   *  per distinct value instead of once per row. */
+  static class StrMapTask extends MRTask<StrMapTask> {
+    static final byte TOLOWER=0, TOUPPER=1, TRIM=2, SUB=3, GSUB=4;
+    byte _op;
+    String _pattern, _replacement;
+    boolean _ignoreCase;
+    StrMapTask(byte op) { this(op,null,null,false); }
+    StrMapTask(byte op, String pattern, String replacement, boolean ignoreCase) {
+      _op = op; _pattern = pattern; _replacement = replacement; _ignoreCase = ignoreCase;
+    }
+
+    String op(String s) {
+      switch( _op ) {
+      case TOLOWER: return s.toLowerCase(Locale.ENGLISH);
+      case TOUPPER: return s.toUpperCase(Locale.ENGLISH);
+      case TRIM:    return s.trim();
+      case SUB:     return (_ignoreCase ? s.toLowerCase(Locale.ENGLISH) : s).replaceFirst(_pattern, _replacement);
+      case GSUB:    return (_ignoreCase ? s.toLowerCase(Locale.ENGLISH) : s).replaceAll(_pattern, _replacement);
+      default: throw H2O.fail();
+      }
+    }
+
+    @Override public void map(Chunk c, NewChunk nc) {
+      ValueString vstr = new ValueString();
+      if( c instanceof CStrDictChunk ) {
+        CStrDictChunk dc = (CStrDictChunk)c;
+        ValueString[] dict = new ValueString[dc.dictSize()];
+        for( int d = 0; d < dict.length; ++d )
+          dict[d] = new ValueString(op(dc.dictStr(vstr,d).toString()));
+        for( int i = 0; i < c._len; ++i ) {
+          int d = dc.dictIdx(i);
+          nc.addStr(d == -1 ? null : dict[d]);
+        }
+      } else {
+        for( int i = 0; i < c._len; ++i )
+          nc.addStr(c.isNA(i) ? null : new ValueString(op(c.atStr(vstr,i).toString())));
+      }
+    }
+
+    Frame apply(Frame fr) { return doAll(1,fr).outputFrame(fr.names(),null); }
+  }
 }
 
 class ASTStrSplit extends ASTUniPrefixOp {
@@ -99,6 +146,7 @@ class ASTToLower extends ASTUniPrefixOp {
     if( !env.isAry() ) { throw new IllegalArgumentException("tolower only operates on a single vector!"); }
     Frame fr = env.popAry();
     if (fr.numCols() != 1) throw new IllegalArgumentException("tolower only takes a single column of data. Got "+ fr.numCols()+" columns.");
+    if( fr.anyVec().isString() ) { env.pushAry(new ASTStringOps.StrMapTask(ASTStringOps.StrMapTask.TOLOWER).apply(fr)); return; }
     String[] dom = fr.anyVec().domain();
     for (int i = 0; i < dom.length; ++i)
       dom[i] = dom[i].toLowerCase(Locale.ENGLISH);
@@ -115,6 +163,7 @@ class ASTToUpper extends ASTUniPrefixOp {
     if( !env.isAry() ) { throw new IllegalArgumentException("toupper only operates on a single vector!"); }
     Frame fr = env.popAry();
     if (fr.numCols() != 1) throw new IllegalArgumentException("toupper only takes a single column of data. Got "+ fr.numCols()+" columns.");
+    if( fr.anyVec().isString() ) { env.pushAry(new ASTStringOps.StrMapTask(ASTStringOps.StrMapTask.TOUPPER).apply(fr)); return; }
     String[] dom = fr.anyVec().domain();
     for (int i = 0; i < dom.length; ++i)
       dom[i] = dom[i].toUpperCase(Locale.ENGLISH);
@@ -147,6 +196,7 @@ class ASTStrSub extends ASTUniPrefixOp {
     if (fr.numCols() != 1) throw new IllegalArgumentException("sub works on a single column at a time.");
     final String replacement = _replacement;
     final String pattern = _pattern;
+    if( fr.anyVec().isString() ) { env.pushAry(new ASTStringOps.StrMapTask(ASTStringOps.StrMapTask.SUB,pattern,replacement,_ignoreCase).apply(fr)); return; }
     String[] doms = fr.anyVec().domain();
     for (int i = 0; i < doms.length; ++i)
       doms[i] = _ignoreCase
@@ -168,6 +218,7 @@ class ASTGSub extends ASTStrSub {
     if (fr.numCols() != 1) throw new IllegalArgumentException("sub works on a single column at a time.");
     final String replacement = _replacement;
     final String pattern = _pattern;
+    if( fr.anyVec().isString() ) { env.pushAry(new ASTStringOps.StrMapTask(ASTStringOps.StrMapTask.GSUB,pattern,replacement,_ignoreCase).apply(fr)); return; }
     String[] doms = fr.anyVec().domain();
     for (int i = 0; i < doms.length; ++i)
       doms[i] = _ignoreCase
@@ -187,6 +238,7 @@ class ASTTrim extends ASTUniPrefixOp {
   @Override void apply(Env env) {
     Frame fr = env.popAry();
     if (fr.numCols() != 1) throw new IllegalArgumentException("trim works on a single column at a time.");
+    if( fr.anyVec().isString() ) { env.pushAry(new ASTStringOps.StrMapTask(ASTStringOps.StrMapTask.TRIM).apply(fr)); return; }
     if( !fr.anyVec().isEnum() ) throw new IllegalArgumentException("column must be character.");
     String[] doms = fr.anyVec().domain();
     for (int i = 0; i < doms.length; ++i) doms[i] = doms[i].trim();
@@ -895,6 +895,13 @@ public class ArrayUtils {
     return res;
   }
 
+  public static byte[] select(byte[] ary, int[] idxs) {
+    byte [] res  = new byte[idxs.length];
+    for(int i = 0; i < res.length; ++i)
+      res[i] = ary[idxs[i]];
+    return res;
+  }
+
   /**
    * Sort an integer array of indices based on values
    * Updates indices in place, keeps values the same
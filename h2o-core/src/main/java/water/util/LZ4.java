@@ -0,0 +1,114 @@
+package water.util;
+
+/**
+ * A small, fast LZ77 codec producing the LZ4 block format.
+ *
+ * Favors speed over ratio: a single-probe hash of 4-byte sequences, no
+ * lazy matching.  Meant for shipping large, repetitive binary payloads
+ * (histograms, Gram matrices, chunk bytes) between nodes, where a few
+ * hundred MB/s per core beats the network.  Blocks carry no length or
+ * checksum; callers frame them.
+ */
+public final class LZ4 {
+  private static final int MIN_MATCH = 4;
+  private static final int MF_LIMIT = 12;   // No match may start in the last 12 bytes
+  private static final int LAST_LITERALS = 5; // The last 5 bytes are always literals
+  private static final int MAX_OFFSET = 65535;
+  private static final int HASH_LOG = 12;
+
+  private LZ4() {}
+
+  /** @return Worst-case compressed size of {@code len} bytes */
+  public static int maxCompressedLength( int len ) { return len + len/255 + 16; }
+
+  /** Compress {@code src[soff,soff+slen)} into {@code dst} at {@code doff};
+   *  dst must have {@link #maxCompressedLength} room.
+   *  @return Compressed length */
+  public static int compress( byte[] src, int soff, int slen, byte[] dst, int doff ) {
+    final int end = soff + slen;
+    int anchor = soff, p = soff, d = doff;
+    if( slen >= MF_LIMIT+1 ) {
+      final int mflimit = end - MF_LIMIT, mlimit = end - LAST_LITERALS;
+      final int[] table = new int[1<<HASH_LOG]; // Position+1 of the last sequence with this hash
+      while( p < mflimit ) {
+        int seq = UnsafeUtils.get4(src, p);
+        int h = hash(seq);
+        int ref = table[h] - 1;
+        table[h] = p + 1;
+        if( ref < soff || p - ref > MAX_OFFSET || UnsafeUtils.get4(src, ref) != seq ) {
+          p += 1 + ((p - anchor) >>> 6); // Skip faster through incompressible runs
+          continue;
+        }
+        // Extend backwards over literals, then forwards
+        while( p > anchor && ref > soff && src[p-1] == src[ref-1] ) { p--; ref--; }
+        int mlen = MIN_MATCH;
+        while( p + mlen < mlimit && src[p+mlen] == src[ref+mlen] ) mlen++;
+        d = sequence(src, anchor, p - anchor, p - ref, mlen, dst, d);
+        p += mlen;
+        anchor = p;
+        if( p < mflimit ) table[hash(UnsafeUtils.get4(src, p-2))] = p - 1;
+      }
+    }
+    // Trailing literals
+    int lit = end - anchor;
+    int token = d++;
+    dst[token] = (byte)(Math.min(lit, 15) << 4);
+    if( lit >= 15 ) d = length(lit - 15, dst, d);
+    System.arraycopy(src, anchor, dst, d, lit);
+    return d + lit - doff;
+  }
+
+  /** Decompress a block of {@code slen} bytes into exactly {@code dlen} bytes
+   *  of {@code dst} at {@code doff}.
+   *  @return dlen
+   *  @throws IllegalArgumentException on a malformed block */
+  public static int decompress( byte[] src, int soff, int slen, byte[] dst, int doff, int dlen ) {
+    final int send = soff + slen;
+    int s = soff, d = doff;
+    try {
+      while( true ) {
+        int token = src[s++] & 0xFF;
+        int lit = token >>> 4;
+        if( lit == 15 ) { int b; do { b = src[s++] & 0xFF; lit += b; } while( b == 255 ); }
+        System.arraycopy(src, s, dst, d, lit);
+        s += lit; d += lit;
+        if( s >= send ) break;  // Last sequence has literals only
+        int off = (src[s++] & 0xFF) | (src[s++] & 0xFF) << 8;
+        int mlen = token & 15;
+        if( mlen == 15 ) { int b; do { b = src[s++] & 0xFF; mlen += b; } while( b == 255 ); }
+        mlen += MIN_MATCH;
+        int ref = d - off;
+        if( off == 0 || ref < doff ) throw new IllegalArgumentException("Malformed LZ4 block: offset " + off + " at " + (d - doff));
+        if( off >= mlen ) System.arraycopy(dst, ref, dst, d, mlen);
+        else for( int i = 0; i < mlen; i++ ) dst[d+i] = dst[ref+i]; // Overlapping copy repeats the pattern
+        d += mlen;
+      }
+    } catch( ArrayIndexOutOfBoundsException e ) {
+      throw new IllegalArgumentException("Malformed LZ4 block", e);
+    }
+    if( s != send || d - doff != dlen )
+      throw new IllegalArgumentException("Malformed LZ4 block: decoded " + (d - doff) + " of " + dlen + " bytes");
+    return dlen;
+  }
+
+  private static int hash( int seq ) { return (seq * -1640531535) >>> (32 - HASH_LOG); }
+
+  private static int sequence( byte[] src, int lit0, int lit, int off, int mlen, byte[] dst, int d ) {
+    int ml = mlen - MIN_MATCH;
+    int token = d++;
+    dst[token] = (byte)(Math.min(lit, 15) << 4 | Math.min(ml, 15));
+    if( lit >= 15 ) d = length(lit - 15, dst, d);
+    System.arraycopy(src, lit0, dst, d, lit);
+    d += lit;
+    dst[d++] = (byte)off;
+    dst[d++] = (byte)(off >>> 8);
+    if( ml >= 15 ) d = length(ml - 15, dst, d);
+    return d;
+  }
+
+  private static int length( int n, byte[] dst, int d ) {
+    while( n >= 255 ) { dst[d++] = (byte)255; n -= 255; }
+    dst[d++] = (byte)n;
+    return d;
+  }
+}
@@ -0,0 +1,73 @@
+package water.util;
+
+/**
+ * Decoder for the Snappy raw block format, as used for the pages of Parquet
+ * files.  A block is the varint uncompressed length, then a series of
+ * literals and back-references; there is no framing or checksum.
+ */
+public final class Snappy {
+  private Snappy() {}
+
+  /** @return Uncompressed length of the block at {@code src[soff]} */
+  public static int uncompressedLength( byte[] src, int soff ) {
+    int len = 0;
+    for( int shift = 0; ; shift += 7 ) {
+      int b = src[soff++];
+      len |= (b & 0x7F) << shift;
+      if( b >= 0 ) return len;
+    }
+  }
+
+  /** Decompress the block {@code src[soff,soff+slen)}.
+   *  @return The uncompressed bytes
+   *  @throws IllegalArgumentException on a malformed block */
+  public static byte[] decompress( byte[] src, int soff, int slen ) {
+    final int send = soff + slen;
+    int s = soff;
+    while( src[s] < 0 ) s++;   // Skip the length varint
+    s++;
+    byte[] dst = new byte[uncompressedLength(src, soff)];
+    int d = 0;
+    try {
+      while( s < send ) {
+        int tag = src[s++] & 0xFF;
+        int len, off;
+        switch( tag & 3 ) {
+        case 0:                 // Literal; long lengths follow in 1-4 bytes
+          len = tag >>> 2;
+          if( len >= 60 ) {
+            int n = len - 59;
+            len = 0;
+            for( int i = 0; i < n; i++ ) len |= (src[s++] & 0xFF) << (8*i);
+          }
+          len++;
+          System.arraycopy(src, s, dst, d, len);
+          s += len; d += len;
+          continue;
+        case 1:                 // Copy of 4-11 bytes, 11-bit offset
+          len = ((tag >>> 2) & 7) + 4;
+          off = (tag >>> 5) << 8 | (src[s++] & 0xFF);
+          break;
+        case 2:                 // Copy of 1-64 bytes, 16-bit offset
+          len = (tag >>> 2) + 1;
+          off = (src[s++] & 0xFF) | (src[s++] & 0xFF) << 8;
+          break;
+        default:                // Copy of 1-64 bytes, 32-bit offset
+          len = (tag >>> 2) + 1;
+          off = UnsafeUtils.get4(src, s);
+          s += 4;
+        }
+        int ref = d - off;
+        if( off <= 0 || ref < 0 ) throw new IllegalArgumentException("Malformed Snappy block: offset " + off + " at " + d);
+        if( off >= len ) System.arraycopy(dst, ref, dst, d, len);
+        else for( int i = 0; i < len; i++ ) dst[d+i] = dst[ref+i]; // Overlapping copy repeats the pattern
+        d += len;
+      }
+    } catch( ArrayIndexOutOfBoundsException e ) {
+      throw new IllegalArgumentException("Malformed Snappy block", e);
+    }
+    if( s != send || d != dst.length )
+      throw new IllegalArgumentException("Malformed Snappy block: decoded " + d + " of " + dst.length + " bytes");
+    return dst;
+  }
+}
@@ -6,6 +6,11 @@ import water.nbhm.UtilUnsafe;
 public class UnsafeUtils {
   private static final Unsafe _unsafe = UtilUnsafe.getUnsafe();
   private static final long _Bbase  = _unsafe.arrayBaseOffset(byte[].class);
+  private static final long _BUFadr = fieldOffset(java.nio.Buffer.class,"address");
+  private static long fieldOffset( Class clz, String name ) {
+    try { return _unsafe.objectFieldOffset(clz.getDeclaredField(name)); }
+    catch( NoSuchFieldException e ) { throw new RuntimeException(e); }
+  }
   public static int    get2 ( byte[] buf, int off ) { return _unsafe.getShort (buf, _Bbase+off); }
   public static int    get4 ( byte[] buf, int off ) { return _unsafe.getInt   (buf, _Bbase+off); }
   public static long   get8 ( byte[] buf, int off ) { return _unsafe.getLong  (buf, _Bbase+off); }
@@ -17,4 +22,18 @@ public class UnsafeUtils {
   public static int set4f(byte[] buf, int off, float f ) {_unsafe.putFloat (buf, _Bbase+off, f); return 4;}
   public static int set8 (byte[] buf, int off, long x  ) {_unsafe.putLong  (buf, _Bbase+off, x); return 8;}
   public static int set8d(byte[] buf, int off, double x) {_unsafe.putDouble(buf, _Bbase+off, x); return 8;}
+
+  // Raw memory outside the Java heap; addresses are never moved by the GC
+  public static long malloc( long bytes ) { return _unsafe.allocateMemory(bytes); }
+  public static void free  ( long adr   ) { _unsafe.freeMemory(adr); }
+  public static void copyOut( byte[] buf, long adr ) { _unsafe.copyMemory(buf, _Bbase, null, adr, buf.length); }
+  public static void copyIn ( long adr, byte[] buf ) { _unsafe.copyMemory(null, adr, buf, _Bbase, buf.length); }
+  // Address of the first byte of a direct or mapped buffer
+  public static long address( java.nio.Buffer buf ) { return _unsafe.getLong(buf, _BUFadr); }
+  public static int    get1 ( long adr ) { return _unsafe.getByte  (adr); }
+  public static int    get2 ( long adr ) { return _unsafe.getShort (adr); }
+  public static int    get4 ( long adr ) { return _unsafe.getInt   (adr); }
+  public static long   get8 ( long adr ) { return _unsafe.getLong  (adr); }
+  public static float  get4f( long adr ) { return _unsafe.getFloat (adr); }
+  public static double get8d( long adr ) { return _unsafe.getDouble(adr); }
 }
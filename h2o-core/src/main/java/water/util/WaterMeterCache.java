@@ -0,0 +1,80 @@
+package water.util;
+
+import water.*;
+import water.api.API;
+import water.api.Schema;
+
+/** Snapshot of the read cache of remote keys ({@link DKVCache}) of one or
+ *  all nodes. */
+public class WaterMeterCache extends Iced {
+  public static class CacheStatsEntry extends Schema<Iced, CacheStatsEntry> {
+    @API(help="Node index (0-based)", direction = API.Direction.OUTPUT)
+    public int node;
+
+    @API(help="Number of cached remote keys", direction = API.Direction.OUTPUT)
+    public long entries;
+
+    @API(help="Bytes held by cached remote keys", direction = API.Direction.OUTPUT)
+    public long bytes;
+
+    @API(help="Cache bound in bytes, 0 if unbounded", direction = API.Direction.OUTPUT)
+    public long limit;
+
+    @API(help="Reads served by a cached remote key", direction = API.Direction.OUTPUT)
+    public long hits;
+
+    @API(help="Reads that fetched a remote key from its home node", direction = API.Direction.OUTPUT)
+    public long misses;
+
+    @API(help="Invalidates received from home nodes", direction = API.Direction.OUTPUT)
+    public long invalidates;
+
+    @API(help="Cached remote keys dropped to stay under the bound", direction = API.Direction.OUTPUT)
+    public long evictions;
+  }
+
+  // Input
+  public int nodeidx;
+
+  // Output
+  public CacheStatsEntry cache_stats[];
+
+  public void doIt(boolean allNodes) {
+    if (! allNodes) {
+      cache_stats = new CacheStatsEntry[] { doIt(nodeidx) };
+      return;
+    }
+    cache_stats = new CacheStatsEntry[H2O.CLOUD.size()];
+    for (int i = 0; i < cache_stats.length; i++)
+      cache_stats[i] = doIt(i);
+  }
+
+  private static CacheStatsEntry doIt(int idx) {
+    H2ONode node = H2O.CLOUD._memary[idx];
+    GetTask t = new GetTask();
+    // Synchronous RPC call to get stats from remote (possibly this) node.
+    new RPC<>(node, t).call().get();
+    t._stats.node = idx;
+    return t._stats;
+  }
+
+  private static class GetTask extends DTask<GetTask> {
+    private CacheStatsEntry _stats;
+
+    @Override public void compute2() {
+      CacheStatsEntry e = _stats = new CacheStatsEntry();
+      e.entries = DKVCache.entries();
+      e.bytes = DKVCache.bytes();
+      e.limit = DKVCache.limit();
+      e.hits = DKVCache.HITS.get();
+      e.misses = DKVCache.MISSES.get();
+      e.invalidates = DKVCache.INVALIDATES.get();
+      e.evictions = DKVCache.EVICTIONS.get();
+      tryComplete();
+    }
+
+    @Override public byte priority() {
+      return H2O.MIN_HI_PRIORITY;
+    }
+  }
+}
@@ -24,6 +24,12 @@ public class WaterMeterIo extends Iced {
 
     @API(help="Cumulative loaded bytes", direction = API.Direction.OUTPUT)
     public long load_bytes;
+
+    @API(help="Cumulative stored bytes before compression", direction = API.Direction.OUTPUT)
+    public long store_uncompressed_bytes;
+
+    @API(help="Cumulative loaded bytes after decompression", direction = API.Direction.OUTPUT)
+    public long load_uncompressed_bytes;
   }
 
   // Input
@@ -55,6 +61,8 @@ public class WaterMeterIo extends Iced {
         persist_stats[j].delete_count += io.persist_stats[j].delete_count;
         persist_stats[j].load_count += io.persist_stats[j].load_count;
         persist_stats[j].load_bytes += io.persist_stats[j].load_bytes;
+        persist_stats[j].store_uncompressed_bytes += io.persist_stats[j].store_uncompressed_bytes;
+        persist_stats[j].load_uncompressed_bytes += io.persist_stats[j].load_uncompressed_bytes;
       }
     }
   }
@@ -80,8 +88,8 @@ public class WaterMeterIo extends Iced {
       PersistManager.PersistStatsEntry s[] = H2O.getPM().getStats();
 
       int[] backendsToQuery = new int[] {Value.NFS, Value.HDFS, Value.S3, Value.ICE};
-      _persist_stats = new IoStatsEntry[backendsToQuery.length];
-      for (int i = 0; i < _persist_stats.length; i++) {
+      _persist_stats = new IoStatsEntry[backendsToQuery.length+1];
+      for (int i = 0; i < backendsToQuery.length; i++) {
         int j = backendsToQuery[i];
         _persist_stats[i] = new IoStatsEntry();
         IoStatsEntry dest_e = _persist_stats[i];
@@ -107,8 +115,20 @@ public class WaterMeterIo extends Iced {
         dest_e.delete_count = src_e.delete_count.get();
         dest_e.load_count = src_e.load_count.get();
         dest_e.load_bytes = src_e.load_bytes.get();
+        dest_e.store_uncompressed_bytes = dest_e.store_bytes;
+        dest_e.load_uncompressed_bytes = dest_e.load_bytes;
       }
 
+      // Compressed node-to-node messages: store is sending, load is receiving
+      IoStatsEntry tcp = _persist_stats[backendsToQuery.length] = new IoStatsEntry();
+      tcp.backend = "tcp";
+      tcp.store_count = TCPCompression.SENT_COUNT.get();
+      tcp.store_bytes = TCPCompression.SENT_WIRE.get();
+      tcp.store_uncompressed_bytes = TCPCompression.SENT_RAW.get();
+      tcp.load_count = TCPCompression.RECV_COUNT.get();
+      tcp.load_bytes = TCPCompression.RECV_WIRE.get();
+      tcp.load_uncompressed_bytes = TCPCompression.RECV_RAW.get();
+
       int[] backendsToZeroCheck = new int[] {0, 5, 6, 7};
       for (int j : backendsToZeroCheck) {
         PersistManager.PersistStatsEntry src_e = s[j];
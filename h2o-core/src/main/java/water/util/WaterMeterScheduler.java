@@ -0,0 +1,92 @@
+package water.util;
+
+import water.*;
+import water.api.API;
+import water.api.Schema;
+
+/** Snapshot of the job scheduler ({@link JobScheduler}) of one or all
+ *  nodes. */
+public class WaterMeterScheduler extends Iced {
+  public static class SchedulerStatsEntry extends Schema<Iced, SchedulerStatsEntry> {
+    @API(help="Node index (0-based)", direction = API.Direction.OUTPUT)
+    public int node;
+
+    @API(help="Jobs waiting for admission", direction = API.Direction.OUTPUT)
+    public int queued;
+
+    @API(help="Admitted jobs running", direction = API.Direction.OUTPUT)
+    public int admitted;
+
+    @API(help="Most admitted jobs running at once, 0 if unbounded", direction = API.Direction.OUTPUT)
+    public int max_jobs;
+
+    @API(help="Jobs holding a map/reduce slot", direction = API.Direction.OUTPUT)
+    public int holders;
+
+    @API(help="Jobs waiting for a map/reduce slot", direction = API.Direction.OUTPUT)
+    public int waiting;
+
+    @API(help="Map/reduce slots shared by jobs, 0 if unscheduled", direction = API.Direction.OUTPUT)
+    public int job_slots;
+
+    @API(help="Map/reduce passes that waited for a slot", direction = API.Direction.OUTPUT)
+    public long waits;
+
+    @API(help="Total msecs map/reduce passes waited for a slot", direction = API.Direction.OUTPUT)
+    public long wait_ms;
+
+    @API(help="Tasks queued in the low priority F/J pools", direction = API.Direction.OUTPUT)
+    public int lo_tasks;
+
+    @API(help="Tasks queued in the high priority F/J pools", direction = API.Direction.OUTPUT)
+    public int hi_tasks;
+  }
+
+  // Input
+  public int nodeidx;
+
+  // Output
+  public SchedulerStatsEntry scheduler_stats[];
+
+  public void doIt(boolean allNodes) {
+    if (! allNodes) {
+      scheduler_stats = new SchedulerStatsEntry[] { doIt(nodeidx) };
+      return;
+    }
+    scheduler_stats = new SchedulerStatsEntry[H2O.CLOUD.size()];
+    for (int i = 0; i < scheduler_stats.length; i++)
+      scheduler_stats[i] = doIt(i);
+  }
+
+  private static SchedulerStatsEntry doIt(int idx) {
+    H2ONode node = H2O.CLOUD._memary[idx];
+    GetTask t = new GetTask();
+    // Synchronous RPC call to get stats from remote (possibly this) node.
+    new RPC<>(node, t).call().get();
+    t._stats.node = idx;
+    return t._stats;
+  }
+
+  private static class GetTask extends DTask<GetTask> {
+    private SchedulerStatsEntry _stats;
+
+    @Override public void compute2() {
+      SchedulerStatsEntry e = _stats = new SchedulerStatsEntry();
+      e.queued = JobScheduler.queued();
+      e.admitted = JobScheduler.admitted();
+      e.max_jobs = H2O.ARGS.max_jobs;
+      e.holders = JobScheduler.holders();
+      e.waiting = JobScheduler.waiting();
+      e.job_slots = H2O.ARGS.job_slots;
+      e.waits = JobScheduler.WAITS.get();
+      e.wait_ms = JobScheduler.WAIT_MS.get();
+      e.lo_tasks = JobScheduler.queuedTasks(false);
+      e.hi_tasks = JobScheduler.queuedTasks(true);
+      tryComplete();
+    }
+
+    @Override public byte priority() {
+      return H2O.MIN_HI_PRIORITY;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package water;
+
+import org.junit.*;
+
+public class DKVBatchTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  // Count of keys that read back "v"+index, on every node
+  private static class ReadAll extends MRTask<ReadAll> {
+    final Key[] _ks;
+    int _ok;
+    ReadAll( Key[] ks ) { _ks = ks; }
+    @Override protected void setupLocal() {
+      Value[] got = DKV.getAll(_ks);
+      for( int i=0; i<got.length; i++ )
+        if( got[i] != null && ("v"+i).equals(new String(got[i].memOrLoad())) ) _ok++;
+    }
+    @Override public void reduce( ReadAll r ) { _ok += r._ok; }
+  }
+
+  @Test public void testPutGetAll() {
+    final int N = 600;          // More than one batch per node
+    Key[] ks = new Key[N+2];
+    Value[] vs = new Value[N+2];
+    for( int i=0; i<N; i++ ) {
+      ks[i] = Key.make(H2O.CLOUD._memary[i%H2O.CLOUD.size()]);
+      vs[i] = new Value(ks[i],"v"+i);
+    }
+    ks[N] = ks[0];              // Repeated key: last value wins
+    vs[N] = new Value(ks[0],"last");
+    // ks[N+1] is null: skipped
+    try {
+      Futures fs = new Futures();
+      DKV.putAll(ks,vs,fs);
+      fs.blockForPending();
+      // Visible through single and batched gets
+      Assert.assertEquals("v1", new String(DKV.get(ks[1]).memOrLoad()));
+      Value[] got = DKV.getAll(ks);
+      Assert.assertEquals(ks.length, got.length);
+      Assert.assertEquals("last", new String(got[0].memOrLoad()));
+      for( int i=1; i<N; i++ )
+        Assert.assertEquals("v"+i, new String(got[i].memOrLoad()));
+      Assert.assertNull(got[N+1]);
+      Assert.assertEquals((N-1)*H2O.CLOUD.size(), new ReadAll(ks).doAllNodes()._ok);
+      // Batched removes
+      Value[] nulls = new Value[ks.length];
+      DKV.putAll(ks,nulls,fs);
+      fs.blockForPending();
+      for( Value v : DKV.getAll(ks) ) Assert.assertNull(v);
+    } finally {
+      Futures fs = new Futures();
+      for( int i=0; i<N; i++ ) DKV.remove(ks[i],fs);
+      fs.blockForPending();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package water;
+
+import org.junit.*;
+
+import water.util.WaterMeterCache;
+
+public class DKVCacheTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  // Keys homed on another node, not cached here
+  private static Key[] remoteKeys( int n, int len ) {
+    H2ONode other = H2O.CLOUD._memary[(H2O.SELF.index()+1)%H2O.CLOUD.size()];
+    Key[] ks = new Key[n];
+    Futures fs = new Futures();
+    for( int i=0; i<n; i++ ) {
+      ks[i] = Key.make(other);
+      byte[] bs = new byte[len];
+      bs[0] = (byte)i;
+      DKV.put(ks[i], new Value(ks[i],bs), fs, true);
+    }
+    fs.blockForPending();
+    return ks;
+  }
+
+  private static void check( Key[] ks, int len ) {
+    for( int i=0; i<ks.length; i++ ) {
+      byte[] bs = DKV.get(ks[i]).memOrLoad();
+      Assert.assertEquals(len, bs.length);
+      Assert.assertEquals((byte)i, bs[0]);
+    }
+  }
+
+  @Test public void testCache() {
+    final int N = 30, LEN = 100000;
+    int mb = H2O.ARGS.dkv_cache_mb;
+    Key[] ks = remoteKeys(N,LEN), ks2 = remoteKeys(N,LEN);
+    try {
+      boolean remote = H2O.CLOUD.size() > 1;
+      H2O.ARGS.dkv_cache_mb = 0;
+      long misses = DKVCache.MISSES.get(), hits = DKVCache.HITS.get();
+      // One batched fetch, then all hits
+      for( RPC rpc : TaskGetKeys.start(ks) ) rpc.get();
+      check(ks,LEN);
+      if( remote ) {
+        Assert.assertEquals(N, DKVCache.MISSES.get()-misses);
+        Assert.assertTrue(DKVCache.HITS.get()-hits >= N);
+        Assert.assertTrue(DKVCache.bytes() >= (long)N*LEN);
+      }
+      // Bounded: older copies make room, and are fetched again on use
+      H2O.ARGS.dkv_cache_mb = 1;
+      long evictions = DKVCache.EVICTIONS.get();
+      DKV.prefetch(ks2);
+      check(ks2,LEN);
+      check(ks,LEN);
+      if( remote ) {
+        Assert.assertTrue(DKVCache.EVICTIONS.get() > evictions);
+        Assert.assertTrue(DKVCache.bytes() <= (1<<20)+LEN);
+      }
+      // Reported per node
+      WaterMeterCache wmc = new WaterMeterCache();
+      wmc.doIt(true);
+      Assert.assertEquals(H2O.CLOUD.size(), wmc.cache_stats.length);
+      Assert.assertEquals(DKVCache.MISSES.get(), wmc.cache_stats[H2O.SELF.index()].misses);
+    } finally {
+      H2O.ARGS.dkv_cache_mb = mb;
+      Futures fs = new Futures();
+      for( Key k : ks  ) DKV.remove(k,fs);
+      for( Key k : ks2 ) DKV.remove(k,fs);
+      fs.blockForPending();
+    }
+  }
+
+  // Batches past the byte cap are answered in part; the rest follow
+  @Test public void testByteCappedBatch() {
+    final int N = 12, LEN = 1<<20;
+    Key[] ks = remoteKeys(N,LEN);
+    try {
+      Value[] vals = DKV.getAll(ks);
+      for( int i=0; i<N; i++ ) Assert.assertEquals((byte)i, vals[i].memOrLoad()[0]);
+      check(ks,LEN);
+    } finally {
+      Futures fs = new Futures();
+      for( Key k : ks ) DKV.remove(k,fs);
+      fs.blockForPending();
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package water;
+
+import org.junit.*;
+
+import water.fvec.Chunk;
+import water.fvec.Vec;
+
+public class IceMmapTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testMappedReload() throws java.io.IOException {
+    final boolean old_mmap = H2O.ARGS.ice_mmap;
+    Vec vcon = null, vrnd = null;
+    try {
+      vcon = Vec.makeCon(0, 10000, 10);
+      vrnd = vcon.makeRand(0x123456L);
+      double[] expect = new double[(int) vrnd.length()];
+      for( int i=0; i<expect.length; i++ ) expect[i] = vrnd.at(i);
+
+      // Spill every Chunk to ICE and drop the heap copies
+      H2O.ARGS.ice_mmap = true;
+      for( int i=0; i<vrnd.nChunks(); i++ ) {
+        Value val = vrnd.chunkIdx(i);
+        val.storePersist();
+        Assert.assertTrue(val.isPersisted());
+        val.freePOJO();
+        val.freeMem();
+      }
+
+      // Reload through the mapped files, read in place
+      Vec vrnd2 = DKV.getGet(vrnd._key); // Fresh Vec, no cached Chunk
+      for( int i=0; i<expect.length; i++ ) Assert.assertEquals(expect[i], vrnd2.at(i), 0);
+      for( int i=0; i<vrnd.nChunks(); i++ ) {
+        Value val = vrnd.chunkIdx(i);
+        Assert.assertTrue(val.isMapped());
+        Assert.assertNull(val.rawMem());
+        Assert.assertTrue(((Chunk)val.rawPOJO()).isOffHeap());
+      }
+    } finally {
+      H2O.ARGS.ice_mmap = old_mmap;
+      if( vcon != null ) vcon.remove();
+      if( vrnd != null ) vrnd.remove();
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package water;
+
+import org.junit.*;
+
+import jsr166y.CountedCompleter;
+import water.fvec.Frame;
+import water.fvec.Vec;
+import water.util.WaterMeterScheduler;
+
+public class JobSchedulerTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  // A few map/reduce passes on every node, or a wait for the gate to open
+  private static class Work extends H2O.H2OCountedCompleter {
+    final int _passes;
+    final Key _gate;
+    Work( int passes, Key gate ) { _passes = passes; _gate = gate; }
+    @Override protected void compute2() {
+      while( _gate != null && DKV.get(_gate) == null )
+        try { Thread.sleep(10); } catch( InterruptedException ignore ) { }
+      for( int i=0; i<_passes; i++ ) new Spin().doAllNodes();
+      tryComplete();
+    }
+  }
+  private static class Spin extends MRTask<Spin> {
+    @Override protected void setupLocal() {
+      try { Thread.sleep(5); } catch( InterruptedException ignore ) { }
+    }
+  }
+
+  // A pass whose local setup throws, before the pass is ever submitted
+  private static class BadSetup extends MRTask<BadSetup> {
+    @Override protected void setupLocal() { throw new IllegalStateException("BadSetup"); }
+  }
+  private static class Failing extends H2O.H2OCountedCompleter {
+    @Override protected void compute2() {
+      try { new BadSetup().doAllNodes(); Assert.fail(); } catch( IllegalStateException expected ) { }
+      tryComplete();
+    }
+  }
+
+  // A pass noting whether it held its job's slot, once done
+  private static class Held extends MRTask<Held> {
+    boolean _held;
+    Held( H2O.H2OCountedCompleter cc ) { super(cc); }
+    @Override public void postGlobal() { _held = JobScheduler.holders() > 0; }
+  }
+  // Two passes, the second launched from the first one's completer
+  private static class Chained extends H2O.H2OCountedCompleter {
+    final Vec _vec;
+    Held _second;
+    Chained( Vec vec ) { _vec = vec; }
+    @Override protected void compute2() {
+      addToPendingCount(2);
+      new Held(new H2O.H2OCountedCompleter(this) {
+          @Override protected void compute2() { throw H2O.fail(); }
+          @Override public void onCompletion( CountedCompleter caller ) { _second = new Held(Chained.this).dfork(_vec); }
+        }).dfork(_vec);
+      tryComplete();
+    }
+  }
+
+  private static Job<Frame> start( int passes, Key gate ) {
+    return start(new Work(passes,gate));
+  }
+  private static Job<Frame> start( H2O.H2OCountedCompleter task ) {
+    Job<Frame> job = new Job<>(Key.<Frame>make(), "JobSchedulerTest");
+    return job.start(task, 1, true);
+  }
+
+  @Test public void testAdmission() {
+    int max_jobs = H2O.ARGS.max_jobs;
+    Key gate = Key.make();
+    Job[] jobs = new Job[4];
+    try {
+      H2O.ARGS.max_jobs = 2;
+      for( int i=0; i<jobs.length; i++ ) jobs[i] = start(1,gate);
+      Assert.assertEquals(2, JobScheduler.admitted());
+      Assert.assertEquals(2, JobScheduler.queued());
+      // Cancelled while queued: never runs, and does not block
+      jobs[3].cancel();
+      try { jobs[3].block(); Assert.fail(); } catch( Job.JobCancelledException expected ) { }
+      Assert.assertEquals(1, JobScheduler.queued());
+      // Open the gate; the queued job runs once a slot frees up
+      DKV.put(gate, new Value(gate,"open"));
+      for( int i=0; i<3; i++ ) { jobs[i].block(); jobs[i].done(); }
+      Assert.assertEquals(0, JobScheduler.admitted());
+      Assert.assertEquals(0, JobScheduler.queued());
+    } finally {
+      H2O.ARGS.max_jobs = max_jobs;
+      DKV.remove(gate);
+      for( Job j : jobs ) if( j != null ) j.remove();
+    }
+  }
+
+  @Test public void testFairShare() {
+    int slots = H2O.ARGS.job_slots;
+    Job[] jobs = new Job[3];
+    try {
+      H2O.ARGS.job_slots = 1;
+      long waits = JobScheduler.WAITS.get();
+      for( int i=0; i<jobs.length; i++ ) jobs[i] = start(5,null);
+      for( Job j : jobs ) { j.block(); j.done(); }
+      // One slot, three jobs: passes had to take turns
+      Assert.assertTrue(JobScheduler.WAITS.get() > waits);
+      Assert.assertEquals(0, JobScheduler.holders());
+      Assert.assertEquals(0, JobScheduler.waiting());
+      // Reported per node
+      WaterMeterScheduler wms = new WaterMeterScheduler();
+      wms.doIt(true);
+      Assert.assertEquals(H2O.CLOUD.size(), wms.scheduler_stats.length);
+      Assert.assertEquals(1, wms.scheduler_stats[H2O.SELF.index()].job_slots);
+    } finally {
+      H2O.ARGS.job_slots = slots;
+      for( Job j : jobs ) if( j != null ) j.remove();
+    }
+  }
+
+  // A pass launched from a completer is charged to the job all the same
+  @Test public void testCompleterPassCharged() {
+    int slots = H2O.ARGS.job_slots;
+    Vec vec = Vec.makeZero(1000);
+    Job job = null;
+    try {
+      H2O.ARGS.job_slots = 1;
+      Chained c = new Chained(vec);
+      job = start(c);
+      job.block(); job.done();
+      Assert.assertTrue(c._second._held);
+      Assert.assertEquals(0, JobScheduler.holders());
+    } finally {
+      H2O.ARGS.job_slots = slots;
+      vec.remove();
+      if( job != null ) job.remove();
+    }
+  }
+
+  // A pass failing in setup gives its job's slot back
+  @Test public void testSetupFailureReleasesSlot() {
+    int slots = H2O.ARGS.job_slots;
+    Job[] jobs = new Job[2];
+    try {
+      H2O.ARGS.job_slots = 1;
+      jobs[0] = start(new Failing());
+      jobs[0].block(); jobs[0].done();
+      Assert.assertEquals(0, JobScheduler.holders());
+      // The next job still gets the slot
+      jobs[1] = start(2,null);
+      jobs[1].block(); jobs[1].done();
+      Assert.assertEquals(0, JobScheduler.holders());
+    } finally {
+      H2O.ARGS.job_slots = slots;
+      for( Job j : jobs ) if( j != null ) j.remove();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package water;
+
+import org.junit.*;
+
+import water.fvec.Chunk;
+import water.fvec.Vec;
+import water.util.ArrayUtils;
+
+public class MRFanoutTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static final int NBINS = 1000;
+
+  // Row count plus a histogram of row index modulo NBINS
+  private static class Histo extends MRTask<Histo> {
+    long _n;
+    double[] _bins;
+    @Override public void map( Chunk c ) {
+      _bins = new double[NBINS];
+      for( int i=0; i<c._len; i++ ) _bins[(int)((c.start()+i)%NBINS)]++;
+      _n = c._len;
+    }
+    @Override public void reduce( Histo h ) { _n += h._n; _bins = ArrayUtils.add(_bins,h._bins); }
+    @Override protected double[] denseResult() { return _bins; }
+    @Override protected void denseResult( double[] ds ) { _bins = ds; }
+  }
+
+  private static class CountNodes extends MRTask<CountNodes> {
+    int _n;
+    @Override protected void setupLocal() { _n = 1; }
+    @Override public void reduce( CountNodes c ) { _n += c._n; }
+  }
+
+  private static void check( Histo h, long rows ) {
+    Assert.assertEquals(rows, h._n);
+    Assert.assertEquals(NBINS, h._bins.length);
+    for( int b=0; b<NBINS; b++ )
+      Assert.assertEquals(rows/NBINS + (b < rows%NBINS ? 1 : 0), h._bins[b], 0);
+  }
+
+  @Test public void testFanout() {
+    long rows = 1234567;
+    Vec vec = Vec.makeCon(0, rows, 12);
+    try {
+      for( int k : new int[]{2,3,4,16} )
+        check(new Histo().setFanout(k).doAll(vec), rows);
+      for( int k : new int[]{2,3} )
+        Assert.assertEquals(H2O.CLOUD.size(), new CountNodes().setFanout(k).doAllNodes()._n);
+    } finally {
+      vec.remove();
+    }
+  }
+
+  @Test public void testDenseReduce() {
+    long rows = 1234567;
+    Vec vec = Vec.makeCon(0, rows, 12);
+    try {
+      check(new Histo().setDenseReduce().doAll(vec), rows);
+      check(new Histo().setDenseReduce().setFanout(3).doAll(vec), rows);
+      // Fewer elements than nodes, and no elements at all
+      Histo h = new Histo() {
+        @Override public void map( Chunk c ) { super.map(c); _bins = new double[]{c._len}; }
+      }.setDenseReduce().doAll(vec);
+      Assert.assertArrayEquals(new double[]{rows}, h._bins, 0);
+      h = new Histo() {
+        @Override public void map( Chunk c ) { super.map(c); _bins = null; }
+      }.setDenseReduce().doAll(vec);
+      Assert.assertNull(h._bins);
+      Assert.assertEquals(rows, h._n);
+    } finally {
+      vec.remove();
+    }
+  }
+}
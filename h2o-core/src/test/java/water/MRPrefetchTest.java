@@ -0,0 +1,47 @@
+package water;
+
+import org.junit.*;
+
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+public class MRPrefetchTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  // Sum of all columns
+  private static class Sum extends MRTask<Sum> {
+    double _sum;
+    @Override public void map( Chunk cs[] ) {
+      for( Chunk c : cs )
+        for( int r=0; r<c._len; r++ ) _sum += c.atd(r);
+    }
+    @Override public void reduce( Sum s ) { _sum += s._sum; }
+  }
+
+  @Test public void testRunLocal() {
+    int ahead = H2O.ARGS.mr_prefetch;
+    Frame fr = null;
+    try {
+      Vec v = Vec.makeSeq(100000, true); // 1..100000, spread over the cloud
+      fr = new Frame(Key.make(), new String[]{"a","b"}, new Vec[]{v, v.makeCopy(null)});
+      DKV.put(fr);
+      final double expect = 2 * (100000.0*100001/2);
+      long fetched = MRPrefetcher.FETCHED.get(), mem = MemoryManager._taskMem.get();
+      // Mapping the whole frame on this node reads remote chunks ahead
+      H2O.ARGS.mr_prefetch = 4;
+      Assert.assertEquals(expect, new Sum().doAll(fr,true)._sum, 0);
+      if( H2O.CLOUD.size() > 1 )
+        Assert.assertTrue(MRPrefetcher.FETCHED.get() > fetched);
+      Assert.assertEquals(mem, MemoryManager._taskMem.get()); // Reservations all released
+      // Same answer once cached, and with no read-ahead
+      Assert.assertEquals(expect, new Sum().doAll(fr,true)._sum, 0);
+      H2O.ARGS.mr_prefetch = 0;
+      Assert.assertEquals(expect, new Sum().doAll(fr)._sum, 0);
+      Assert.assertEquals(expect, new Sum().doAll(fr,true)._sum, 0);
+    } finally {
+      H2O.ARGS.mr_prefetch = ahead;
+      if( fr != null ) fr.delete();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package water;
+
+import org.junit.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+public class MRSpeculateTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  // Sums rows; the last node of a multi-node cloud is a straggler
+  private static class SlowSum extends MRTask<SlowSum> {
+    long _n;
+    @Override public void map( Chunk c ) {
+      if( H2O.CLOUD.size() > 1 && H2O.SELF == H2O.CLOUD._memary[H2O.CLOUD.size()-1] )
+        try { Thread.sleep(50); } catch( InterruptedException ignore ) { }
+      _n += c._len;
+    }
+    @Override public void reduce( SlowSum s ) { _n += s._n; }
+  }
+
+  // A single-node child that runs until it is told to stop
+  private static class Straggler extends DTask<Straggler> {
+    final transient AtomicBoolean _stop;
+    Straggler( AtomicBoolean stop ) { _stop = stop; }
+    @Override public void compute2() {
+      long start = System.currentTimeMillis();
+      while( !_stop.get() && System.currentTimeMillis()-start < 30000 )
+        try { Thread.sleep(10); } catch( InterruptedException ignore ) { }
+      tryComplete();
+    }
+  }
+
+  // Any cloud size: a forced straggler, run as a child RPC to self, next to
+  // a spare copy that finishes at once.  Once the child passes MIN_MS the
+  // copy is launched and wins, and the child is cancelled and stopped.
+  @Test public void testStragglerSpeculated() throws InterruptedException {
+    final SlowSum top = new SlowSum().setSpeculative();
+    final AtomicBoolean stop = new AtomicBoolean();
+    final AtomicBoolean launched = new AtomicBoolean();
+    SlowSum copy = new SlowSum() {
+      @Override boolean specLaunch( H2O.H2OCountedCompleter cc ) { launched.set(true); cc.tryComplete(); return true; }
+    };
+    MRSpeculator.register(top.specKey(), stop);
+    try {
+      long start = System.currentTimeMillis();
+      MRSpeculator spec = new MRSpeculator(top, 1);
+      spec.local(0);              // No map work of its own
+      RPC<Straggler> rpc = new RPC<>(H2O.SELF, new Straggler(stop)).addCompleter(spec.completer(0)).call();
+      spec.child(0, rpc, H2O.SELF, copy);
+      spec.watch();
+      while( !(top.isDone() && stop.get()) && System.currentTimeMillis()-start < 20000 )
+        Thread.sleep(10);
+      Assert.assertTrue(top.isDone());
+      Assert.assertTrue(launched.get());
+      Assert.assertSame(copy, spec.winner(0));
+      Assert.assertTrue(rpc.isCancelled());
+      Assert.assertTrue(stop.get());
+      Assert.assertTrue(System.currentTimeMillis()-start >= MRSpeculator.MIN_MS);
+    } finally {
+      stop.set(true);
+      MRSpeculator.unregister(top.specKey());
+    }
+  }
+
+  // Copies of the straggler's chunks run on the other replica holders
+  @Test public void testSpeculate() {
+    long rows = 1234567;
+    Vec vec = Vec.makeCon(0, rows, 12);
+    try {
+      Assert.assertEquals(rows, new SlowSum().setSpeculative().doAll(vec)._n); // No replicas: plain run
+      Frame fr = new Frame(vec).replicate(2);
+      Assert.assertEquals(rows, new SlowSum().doAll(fr)._n);
+      long start = System.currentTimeMillis();
+      Assert.assertEquals(rows, new SlowSum().setSpeculative().doAll(fr)._n);
+      long spec = System.currentTimeMillis() - start;
+      start = System.currentTimeMillis();
+      Assert.assertEquals(rows, new SlowSum().setSpeculative().setFanout(3).doAll(fr)._n);
+      spec = Math.max(spec, System.currentTimeMillis() - start);
+      // With a straggler, the speculative copy wins well before the straggler is done
+      int nchks = vec.nChunks()/H2O.CLOUD.size();
+      if( H2O.CLOUD.size() >= 3 )
+        Assert.assertTrue("Took "+spec+"ms", spec < nchks*50*2/3);
+    } finally {
+      vec.remove();
+    }
+  }
+}
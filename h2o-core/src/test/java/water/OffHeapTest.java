@@ -0,0 +1,157 @@
+package water;
+
+import org.junit.*;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import water.fvec.Chunk;
+import water.fvec.Vec;
+
+public class OffHeapTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testMoveAndReload() throws InterruptedException {
+    final int old_mb = H2O.ARGS.off_heap_mb;
+    final long used0 = MemoryManager.OFF_HEAP_USED.get();
+    Vec vcon = null, vrnd = null;
+    try {
+      H2O.ARGS.off_heap_mb = 16;
+      vcon = Vec.makeCon(0, 10000, 10);
+      vrnd = vcon.makeRand(0x123456L);
+      final int nchks = vrnd.nChunks();
+      double[] expect = new double[(int) vrnd.length()];
+      for( int i=0; i<expect.length; i++ ) expect[i] = vrnd.at(i);
+
+      // Move every Chunk out of the heap
+      long moved = 0;
+      for( int i=0; i<nchks; i++ ) moved += moveOffHeap(vrnd.chunkIdx(i));
+      Assert.assertEquals(used0 + moved, MemoryManager.OFF_HEAP_USED.get());
+
+      // Reading leaves them off-heap; fixed-width Chunks read in place
+      Vec vrnd2 = DKV.getGet(vrnd._key); // Fresh Vec, no cached Chunk
+      for( int i=0; i<expect.length; i++ ) Assert.assertEquals(expect[i], vrnd2.at(i), 0);
+      for( int i=0; i<nchks; i++ ) {
+        Value val = vrnd.chunkIdx(i);
+        Assert.assertTrue(val.isOffHeap());
+        Assert.assertNull(val.rawMem());
+        Assert.assertTrue(((Chunk)val.rawPOJO()).isOffHeap());
+      }
+      Assert.assertEquals(used0 + moved, MemoryManager.OFF_HEAP_USED.get());
+
+      // Writes go to a heap copy; the off-heap bytes never change
+      Chunk c = vrnd2.chunkForChunkIdx(0);
+      c.set(0, 17);
+      Assert.assertEquals(17, c.atd(0), 0);
+      Assert.assertEquals(expect[0], readAgain(vrnd, 0), 0);
+
+      // Removing the Vec frees the tier, once no Chunk reads it
+      c = null;
+      vrnd2 = null;
+      vrnd.remove();
+      vrnd = null;
+      awaitFreed(used0);
+      Assert.assertEquals(used0, MemoryManager.OFF_HEAP_USED.get());
+    } finally {
+      H2O.ARGS.off_heap_mb = old_mb;
+      if( vcon != null ) vcon.remove();
+      if( vrnd != null ) vrnd.remove();
+    }
+  }
+
+  // Replacing a Value while readers hold the old one must not free the
+  // off-heap copy from under them.
+  @Test public void testGetRacingPut() throws Exception {
+    final int old_mb = H2O.ARGS.off_heap_mb;
+    final long used0 = MemoryManager.OFF_HEAP_USED.get();
+    final Key key = Key.make("offheap_race");
+    final AtomicBoolean done = new AtomicBoolean();
+    final AtomicReference<Throwable> err = new AtomicReference<>();
+    Thread[] readers = new Thread[4];
+    try {
+      H2O.ARGS.off_heap_mb = 16;
+      H2O.putIfMatch(key, offHeapValue(key, 0), null);
+      for( int t=0; t<readers.length; t++ ) {
+        readers[t] = new Thread() {
+          @Override public void run() {
+            try {
+              while( !done.get() ) {
+                Value val = H2O.get(key);
+                byte[] mem = val.memOrLoad();
+                for( byte b : mem ) if( b != mem[0] ) throw new AssertionError("Torn read of "+val);
+              }
+            } catch( Throwable e ) { err.compareAndSet(null, e); }
+          }
+        };
+        readers[t].start();
+      }
+      for( int i=1; i<20000 && err.get() == null; i++ ) replace(key, i);
+    } finally {
+      done.set(true);
+      for( Thread t : readers ) if( t != null ) t.join();
+      H2O.ARGS.off_heap_mb = old_mb;
+      H2O.raw_remove(key);
+    }
+    if( err.get() != null ) throw new AssertionError(err.get());
+    awaitFreed(used0);
+    Assert.assertEquals(used0, MemoryManager.OFF_HEAP_USED.get());
+  }
+
+  // Read row 0 through a fresh Chunk from the off-heap copy
+  private static double readAgain( Vec vec, int cidx ) {
+    Value val = vec.chunkIdx(cidx);
+    val.storeOffHeap();         // Drop the cached POJO
+    return ((Chunk)val.get()).atd(0);
+  }
+
+  private static int moveOffHeap( Value val ) {
+    int sz = val.storeOffHeap();
+    Assert.assertTrue(sz > 0);
+    Assert.assertTrue(val.isOffHeap());
+    Assert.assertNull(val.rawMem());
+    Assert.assertNull(val.rawPOJO());
+    Assert.assertEquals(0, val.storeOffHeap()); // Already moved
+    return sz;
+  }
+
+  private static void replace( Key key, int i ) {
+    Value old = H2O.get(key);
+    Assert.assertSame(old, H2O.putIfMatch(key, offHeapValue(key, i), old));
+  }
+
+  private static Value offHeapValue( Key key, int i ) {
+    byte[] mem = new byte[1024];
+    Arrays.fill(mem, (byte)i);
+    Value val = new Value(key, mem);
+    Assert.assertTrue(val.storeOffHeap() > 0);
+    return val;
+  }
+
+  // Off-heap copies are freed once the GC finds them unreachable
+  private static void awaitFreed( long used ) throws InterruptedException {
+    for( int i=0; i<100 && MemoryManager.OFF_HEAP_USED.get() != used; i++ ) {
+      System.gc();
+      Thread.sleep(10);
+      MemoryManager.freeDeadOffHeap();
+    }
+  }
+
+  @Test public void testTierFull() {
+    final int old_mb = H2O.ARGS.off_heap_mb;
+    Vec vcon = null, vrnd = null;
+    try {
+      H2O.ARGS.off_heap_mb = 0; // Disabled: nothing fits
+      vcon = Vec.makeCon(0, 10000, 10);
+      vrnd = vcon.makeRand(0x123456L);
+      Value val = vrnd.chunkIdx(0);
+      Assert.assertEquals(0, val.storeOffHeap());
+      Assert.assertFalse(val.isOffHeap());
+      Assert.assertNotNull(val.rawMem());
+    } finally {
+      H2O.ARGS.off_heap_mb = old_mb;
+      if( vcon != null ) vcon.remove();
+      if( vrnd != null ) vrnd.remove();
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package water.fvec;
+
+import org.junit.*;
+
+import water.TestUtil;
+import java.util.Random;
+
+public class BulkDecodeTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static final long NA = Long.MIN_VALUE+1;
+
+  // Build a Chunk from longs (C8Chunk._NA for missing) scaled by 10^exp, or
+  // doubles if ds != null
+  private static Chunk make(long[] ls, int exp, double[] ds) {
+    NewChunk nc = new NewChunk(null, 0);
+    int len = ds != null ? ds.length : ls.length;
+    for( int i = 0; i < len; i++ )
+      if( ds != null ) nc.addNum(ds[i]);
+      else if( ls[i] == C8Chunk._NA ) nc.addNA();
+      else nc.addNum(ls[i], exp);
+    return nc.compress();
+  }
+
+  private static void check(Chunk c) {
+    final int len = c._len;
+    Random r = new Random(42);
+    for( int k = 0; k < 20; k++ ) {
+      int from = k == 0 ? 0 : r.nextInt(len), to = k == 0 ? len : from + r.nextInt(len - from + 1);
+      double[] ds = c.getDoubles(new double[to - from], from, to);
+      long[] ls = c.getLongs(new long[to - from], from, to, NA);
+      for( int i = from; i < to; i++ ) {
+        Assert.assertEquals(c + " row " + i, c.atd(i), ds[i - from], 0);
+        Assert.assertEquals(c + " row " + i, c.isNA(i) ? NA : c.at8(i), ls[i - from]);
+      }
+    }
+    double[] vals = new double[len];
+    int[] ids = new int[len];
+    int n = c.getSparseDoubles(vals, ids);
+    int j = 0;
+    for( int i = 0; i < len; i++ ) {
+      double d = c.atd(i);
+      if( j < n && ids[j] == i ) Assert.assertEquals(c + " row " + i, d, vals[j++], 0);
+      else Assert.assertEquals(c + " row " + i, 0, d, 0); // Skipped rows are zero
+    }
+    Assert.assertEquals(n, j);
+  }
+
+  @Test public void testAllFlavors() {
+    final int len = 3000;
+    Random r = new Random(1234);
+    long[] ls = new long[len];
+    double[] ds = new double[len];
+
+    Class[] expect = new Class[]{C0LChunk.class, C0DChunk.class, C1NChunk.class, C1Chunk.class, C1SChunk.class,
+                                 C2Chunk.class, C2SChunk.class, C4Chunk.class, C4SChunk.class, C8Chunk.class,
+                                 C8DChunk.class, CBSChunk.class, CX0Chunk.class, CXIChunk.class, CXDChunk.class,
+                                 CRLEChunk.class, CFORChunk.class};
+    for( Class clz : expect ) {
+      boolean dbl = false;
+      int exp = 0;
+      for( int i = 0; i < len; i++ ) {
+        boolean na = r.nextInt(20) == 0;
+        if( clz == C0LChunk.class ) ls[i] = 17;
+        else if( clz == C0DChunk.class ) { dbl = true; ds[i] = 3.25; }
+        else if( clz == C1NChunk.class ) ls[i] = r.nextInt(256);
+        else if( clz == C1Chunk.class ) ls[i] = na ? C8Chunk._NA : r.nextInt(255);
+        else if( clz == C1SChunk.class ) ls[i] = na ? C8Chunk._NA : 1000 + r.nextInt(200);
+        else if( clz == C2Chunk.class ) ls[i] = na ? C8Chunk._NA : r.nextInt(60000) - 30000;
+        else if( clz == C2SChunk.class ) ls[i] = na ? C8Chunk._NA : 100000 + r.nextInt(60000);
+        else if( clz == C4Chunk.class ) ls[i] = na ? C8Chunk._NA : r.nextInt();
+        else if( clz == C4SChunk.class ) { exp = -2; ls[i] = na ? C8Chunk._NA : r.nextInt(100000000) + 1; }
+        else if( clz == C8Chunk.class ) ls[i] = na ? C8Chunk._NA : r.nextLong() >> 1;
+        else if( clz == C8DChunk.class ) { dbl = true; ds[i] = na ? Double.NaN : r.nextGaussian(); }
+        else if( clz == CBSChunk.class ) ls[i] = na ? C8Chunk._NA : r.nextInt(2);
+        else if( clz == CX0Chunk.class ) ls[i] = r.nextInt(100) == 0 ? 1 : 0;
+        else if( clz == CXIChunk.class ) ls[i] = r.nextInt(100) != 0 ? 0 : na ? C8Chunk._NA : r.nextInt(1000);
+        else if( clz == CXDChunk.class ) { dbl = true; ds[i] = r.nextInt(100) != 0 ? 0 : na ? Double.NaN : r.nextGaussian(); }
+        else if( clz == CRLEChunk.class ) ls[i] = (i / 300) % 3 == 1 ? C8Chunk._NA : (i / 300) * 1000000007L;
+        else if( clz == CFORChunk.class ) ls[i] = na ? C8Chunk._NA : 1420070400000L + i * 1000 + r.nextInt(100);
+      }
+      Chunk c = dbl ? make(null, 0, ds) : make(ls, exp, null);
+      Assert.assertEquals(clz, c.getClass());
+      check(c);
+    }
+  }
+
+  @Test public void testInflated() {
+    // Chunk being written to: bulk loaders read through the inflated NewChunk
+    Vec vec = Vec.makeCon(5, 100);
+    Chunk c = vec.chunkForChunkIdx(0);
+    c.set(3, 2.5);
+    c.setNA(7);
+    check(c);
+    vec.remove();
+  }
+}
@@ -0,0 +1,75 @@
+package water.fvec;
+
+import org.junit.*;
+
+import water.AutoBuffer;
+import water.TestUtil;
+import java.util.Arrays;
+
+public class CFORChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static void check(long[] vals, Chunk cc) {
+    Assert.assertEquals(vals.length, cc._len);
+    for (int i = 0; i < vals.length; ++i) {
+      if (vals[i] == C8Chunk._NA) {
+        Assert.assertTrue(cc.isNA(i));
+        Assert.assertTrue(Double.isNaN(cc.atd(i)));
+      } else {
+        Assert.assertFalse(cc.isNA(i));
+        Assert.assertEquals(vals[i], cc.at8(i));
+      }
+    }
+  }
+
+  private static Chunk roundTrip(long[] vals) {
+    NewChunk nc = new NewChunk(null, 0);
+    for (long v : vals)
+      if (v == C8Chunk._NA) nc.addNA(); else nc.addNum(v, 0);
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc instanceof CFORChunk);
+    check(vals, cc);
+
+    nc = new NewChunk(null, 0);
+    cc.inflate_impl(nc);
+    Assert.assertEquals(vals.length, nc._len);
+    Chunk cc2 = nc.compress();
+    Assert.assertTrue(cc2 instanceof CFORChunk);
+    check(vals, cc2);
+    Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
+
+    Chunk cc3 = ((Chunk) cc.clone()).read_impl(new AutoBuffer(cc.getBytes().clone()));
+    check(vals, cc3);
+    return cc;
+  }
+
+  // Millisecond timestamps: needs a C8Chunk as a whole, two bytes per row per block
+  @Test
+  public void test_timestamps() {
+    long[] vals = new long[3000];
+    long t = 1420070400000L;
+    for (int i = 0; i < vals.length; ++i) vals[i] = t += 1 + (i * 7919) % 50;
+    vals[17] = C8Chunk._NA;
+    vals[2999] = C8Chunk._NA;
+    Chunk cc = roundTrip(vals);
+    Assert.assertTrue(cc._mem.length < vals.length * 4);
+  }
+
+  // Mix of block widths: constant, all-NA, 1, 2 and 4 bytes
+  @Test
+  public void test_widths() {
+    long[] vals = new long[5 * CFORChunk.BLK + 10];
+    for (int i = 0; i < vals.length; ++i) {
+      int b = i / CFORChunk.BLK;
+      long base = (long) b << 40;
+      switch (b) {
+        case 0: vals[i] = base; break;
+        case 1: vals[i] = C8Chunk._NA; break;
+        case 2: vals[i] = base + (i % 200); break;
+        case 3: vals[i] = base + (i % 200) * 300; break;
+        default: vals[i] = base + (i % 200) * 10000000L; break;
+      }
+    }
+    roundTrip(vals);
+  }
+}
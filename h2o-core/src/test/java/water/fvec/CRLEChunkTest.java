@@ -0,0 +1,108 @@
+package water.fvec;
+
+import org.junit.*;
+
+import water.AutoBuffer;
+import water.TestUtil;
+import java.util.Arrays;
+
+public class CRLEChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  // Runs of 100 rows cycling through a few values, an NA run and a zero run
+  private static long[] vals(int len) {
+    long[] vals = new long[len];
+    for (int i = 0; i < len; ++i) {
+      int r = i / 100;
+      vals[i] = r % 5 == 3 ? C8Chunk._NA : r % 5 == 4 ? 0 : 1000000L * (r % 5) + 7;
+    }
+    return vals;
+  }
+
+  private static void check(long[] vals, Chunk cc) {
+    Assert.assertEquals(vals.length, cc._len);
+    for (int i = 0; i < vals.length; ++i) {
+      if (vals[i] == C8Chunk._NA) {
+        Assert.assertTrue(cc.isNA(i));
+        Assert.assertTrue(Double.isNaN(cc.atd(i)));
+      } else {
+        Assert.assertFalse(cc.isNA(i));
+        Assert.assertEquals(vals[i], cc.at8(i));
+        Assert.assertEquals((double) vals[i], cc.atd(i), 0);
+      }
+    }
+    // Random access, out of order
+    for (int i = vals.length - 1; i >= 0; i -= 37)
+      Assert.assertEquals(vals[i] == C8Chunk._NA, cc.isNA(i));
+  }
+
+  @Test
+  public void test_inflate_impl() {
+    long[] vals = vals(4000);
+    NewChunk nc = new NewChunk(null, 0);
+    for (long v : vals)
+      if (v == C8Chunk._NA) nc.addNA(); else nc.addNum(v, 0);
+
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc instanceof CRLEChunk);
+    Assert.assertEquals(40, ((CRLEChunk) cc).nruns());
+    check(vals, cc);
+
+    nc = new NewChunk(null, 0);
+    cc.inflate_impl(nc);
+    Assert.assertEquals(vals.length, nc._len);
+    for (int i = 0; i < vals.length; ++i)
+      Assert.assertEquals(vals[i] == C8Chunk._NA, nc.isNA(i));
+
+    Chunk cc2 = nc.compress();
+    Assert.assertTrue(cc2 instanceof CRLEChunk);
+    check(vals, cc2);
+    Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
+
+    Chunk cc3 = ((Chunk) cc.clone()).read_impl(new AutoBuffer(cc.getBytes().clone()));
+    Assert.assertTrue(cc3 instanceof CRLEChunk);
+    check(vals, cc3);
+  }
+
+  @Test
+  public void test_nextNZ() {
+    long[] vals = vals(4000);
+    NewChunk nc = new NewChunk(null, 0);
+    for (long v : vals) nc.addNum(v == C8Chunk._NA ? 0 : v, 0);
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc instanceof CRLEChunk);
+    int n = 0, steps = 0;
+    for (int i = cc.nextNZ(-1); i < cc._len; i = cc.nextNZ(i), steps++) {
+      Assert.assertTrue(cc.at8(i) != 0);
+      n++;
+    }
+    int nz = 0;
+    for (long v : vals) if (v != 0 && v != C8Chunk._NA) nz++;
+    Assert.assertEquals(nz, n);
+    Assert.assertEquals(nz, steps);
+    // Rows [300,500) are one zero run, skipped in a single step
+    Assert.assertEquals(500, cc.nextNZ(299));
+    Assert.assertEquals(500, cc.nextNZ(350));
+    Assert.assertEquals(cc._len, cc.nextNZ(cc._len - 1));
+  }
+
+  @Test
+  public void test_set() {
+    long[] vals = vals(2000);
+    Vec vec = new Vec(Vec.newKey(), new long[]{0, vals.length}).makeZero();
+    Vec.Writer w = vec.open();
+    for (int i = 0; i < vals.length; ++i)
+      if (vals[i] == C8Chunk._NA) w.setNA(i); else w.set(i, vals[i]);
+    w.close();
+    Chunk cc = vec.chunkForChunkIdx(0);
+    Assert.assertTrue(cc instanceof CRLEChunk);
+    check(vals, cc);
+
+    // Writes inflate to a NewChunk and recompress on close
+    cc.set(150, 3);
+    vals[150] = 3;
+    cc.close(0, new water.Futures()).blockForPending();
+    check(vals, vec.chunkForChunkIdx(0));
+    vec.remove();
+  }
+}
@@ -0,0 +1,72 @@
+package water.fvec;
+
+import org.junit.*;
+
+import water.AutoBuffer;
+import water.TestUtil;
+import water.parser.ValueString;
+import java.util.Arrays;
+
+public class CStrDictChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static NewChunk strs(int len, int ndistinct, int l) {
+    NewChunk nc = new NewChunk(null, 0);
+    if (l==1) nc.addNA();
+    for (int i = 0; i < len; i++) nc.addStr(new ValueString("level"+(i%ndistinct)));
+    nc.addNA();
+    return nc;
+  }
+
+  @Test
+  public void test_inflate_impl() {
+    for (int ndistinct : new int[]{1, 7, 300}) {
+      for (int l=0; l<2; ++l) {
+        final int len = 100000;
+        Chunk cc = strs(len, ndistinct, l).compress();
+        Assert.assertEquals(len + 1 + l, cc._len);
+        Assert.assertTrue(cc instanceof CStrDictChunk);
+        Assert.assertEquals(ndistinct, ((CStrDictChunk)cc).dictSize());
+        if (l==1) Assert.assertTrue(cc.isNA(0));
+        if (l==1) Assert.assertTrue(cc.isNA_abs(0));
+        ValueString vs = new ValueString();
+        for (int i = 0; i < len; ++i) Assert.assertEquals("level"+(i%ndistinct), cc.atStr(vs, l + i).toString());
+        for (int i = 0; i < len; ++i) Assert.assertEquals("level"+(i%ndistinct), cc.atStr_abs(vs, l + i).toString());
+        Assert.assertTrue(cc.isNA(len + l));
+        Assert.assertTrue(cc.isNA_abs(len + l));
+
+        NewChunk nc = cc.inflate_impl(new NewChunk(null, 0));
+        Assert.assertEquals(len + 1 + l, nc._len);
+        if (l==1) Assert.assertTrue(nc.isNA(0));
+        for (int i = 0; i < len; ++i) Assert.assertEquals("level"+(i%ndistinct), nc.atStr(vs, l + i).toString());
+        Assert.assertTrue(nc.isNA(len + l));
+
+        Chunk cc2 = nc.compress();
+        Assert.assertTrue(cc2 instanceof CStrDictChunk);
+        Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
+      }
+    }
+  }
+
+  @Test
+  public void test_serialization() {
+    Chunk cc = strs(1000, 3, 1).compress();
+    Assert.assertTrue(cc instanceof CStrDictChunk);
+    // Chunks ship as their raw _mem bytes, and are rebuilt by read_impl
+    Chunk cc2 = ((Chunk)cc.clone()).read_impl(new AutoBuffer(cc.getBytes().clone()));
+    Assert.assertTrue(cc2 instanceof CStrDictChunk);
+    Assert.assertEquals(cc._len, cc2._len);
+    ValueString vs = new ValueString();
+    Assert.assertTrue(cc2.isNA(0));
+    for (int i = 0; i < 1000; ++i) Assert.assertEquals("level"+(i%3), cc2.atStr(vs, 1 + i).toString());
+    Assert.assertTrue(cc2.isNA(1001));
+  }
+
+  @Test
+  public void test_high_cardinality() {
+    // Mostly unique strings are cheaper stored plainly
+    Chunk cc = strs(1000, 1000, 0).compress();
+    Assert.assertFalse(cc instanceof CStrDictChunk);
+    Assert.assertTrue(cc instanceof CStrChunk);
+  }
+}
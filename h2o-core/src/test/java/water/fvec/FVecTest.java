@@ -250,4 +250,44 @@ public class FVecTest extends TestUtil {
       if( vec != null ) vec.remove();
     }
   }
+
+  // The serial CSV stream and the per-chunk formatter used by the parallel
+  // export must produce the same text.
+  @Test public void testCSVParts() throws java.io.IOException {
+    Vec vcon = null;
+    Frame fr = null;
+    try {
+      vcon = Vec.makeCon(0, 5000, 8);
+      fr = new MRTask() {
+        @Override public void map(Chunk[] cs, NewChunk[] ncs) {
+          for( int i=0; i<cs[0]._len; i++ ) {
+            long r = cs[0]._start+i;
+            ncs[0].addNum(r);
+            if( r%5 == 0 ) ncs[1].addNA(); else ncs[1].addNum(r/3.0);
+            ncs[2].addEnum((int)(r%2));
+          }
+        }
+      }.doAll(3,vcon).outputFrame(Key.make("csv.hex"),new String[]{"i","d","e"},new String[][]{null,null,{"x","y"}});
+      assertTrue(fr.anyVec().nChunks() > 1);
+
+      java.io.InputStream is = fr.toCSV(true, false);
+      java.io.ByteArrayOutputStream bos = new java.io.ByteArrayOutputStream();
+      byte[] buf = new byte[1024];
+      int n;
+      while( (n = is.read(buf, 0, buf.length)) > 0 ) bos.write(buf, 0, n);
+      String serial = bos.toString();
+
+      StringBuilder sb = new StringBuilder(new String(fr.csvHeader()));
+      for( int c = 0; c < fr.anyVec().nChunks(); c++ ) {
+        Chunk[] cs = new Chunk[fr.numCols()];
+        for( int j = 0; j < cs.length; j++ ) cs[j] = fr.vec(j).chunkForChunkIdx(c);
+        for( int r = 0; r < cs[0]._len; r++ ) Frame.appendCSVRow(sb, cs, r, false);
+      }
+      assertEquals(serial, sb.toString());
+      assertTrue(serial.startsWith("\"i\",\"d\",\"e\"\n0,,\"x\"\n1,0.3333333333333333,\"y\"\n"));
+    } finally {
+      if( vcon != null ) vcon.remove();
+      if( fr != null ) fr.delete();
+    }
+  }
 }
@@ -0,0 +1,80 @@
+package water.fvec;
+
+import org.junit.*;
+
+import water.*;
+import water.parser.ValueString;
+
+import java.io.File;
+import java.nio.file.Files;
+
+public class FrameSnapshotTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testSaveAndLoad() throws Exception {
+    File dir = Files.createTempDirectory("h2o-snapshot").toFile();
+    Vec vcon = null;
+    Frame fr = null, fr2 = null;
+    try {
+      vcon = Vec.makeCon(0, 10000, 10);
+      // Integer, real, categorical and string columns over ~10 chunks
+      fr = new MRTask() {
+        @Override public void map(Chunk[] cs, NewChunk[] ncs) {
+          for( int i=0; i<cs[0]._len; i++ ) {
+            long r = cs[0]._start+i;
+            ncs[0].addNum(r);
+            if( r%7 == 0 ) ncs[1].addNA(); else ncs[1].addNum(r*0.25);
+            ncs[2].addEnum((int)(r%3));
+            ncs[3].addStr(new ValueString("s"+r));
+          }
+        }
+      }.doAll(4,vcon).outputFrame(Key.make("snap.hex"),new String[]{"i","d","e","s"},new String[][]{null,null,{"a","b","c"},null});
+      DKV.put(fr);
+      double mean = fr.vec(1).mean();
+      FrameSnapshot.save(fr, dir.toURI(), true);
+
+      Key k2 = Key.make("snap2.hex");
+      fr2 = FrameSnapshot.load(dir.toURI(), k2);
+      Assert.assertEquals(k2, fr2._key);
+      Assert.assertSame(fr2, DKV.getGet(k2));
+      Assert.assertArrayEquals(fr.names(), fr2.names());
+      Assert.assertArrayEquals(fr.anyVec()._espc, fr2.anyVec()._espc);
+      Assert.assertArrayEquals(fr.vec(2).domain(), fr2.vec(2).domain());
+      Assert.assertTrue(fr2.vec(3).isString());
+      Assert.assertEquals(mean, fr2.vec(1).mean(), 0);
+      ValueString vs = new ValueString();
+      for( long r=0; r<fr.numRows(); r++ ) {
+        Assert.assertEquals(fr.vec(0).at8(r), fr2.vec(0).at8(r));
+        Assert.assertEquals(fr.vec(1).isNA(r), fr2.vec(1).isNA(r));
+        if( !fr.vec(1).isNA(r) ) Assert.assertEquals(fr.vec(1).at(r), fr2.vec(1).at(r), 0);
+        Assert.assertEquals(fr.vec(2).at8(r), fr2.vec(2).at8(r));
+        Assert.assertEquals(fr.vec(3).atStr(vs,r).toString(), fr2.vec(3).atStr(new ValueString(),r).toString());
+      }
+      // Chunks come back in their saved compressed form
+      for( int c=0; c<fr.anyVec().nChunks(); c++ )
+        for( int j=0; j<fr.numCols(); j++ )
+          Assert.assertEquals(fr.vec(j).chunkForChunkIdx(c).getClass(), fr2.vec(j).chunkForChunkIdx(c).getClass());
+    } finally {
+      if( vcon != null ) vcon.remove();
+      if( fr  != null ) fr .delete();
+      if( fr2 != null ) fr2.delete();
+      for( File f : dir.listFiles() ) f.delete();
+      dir.delete();
+    }
+  }
+
+  @Test(expected = water.api.FSIOException.class)
+  public void testNoOverwrite() throws Exception {
+    File dir = Files.createTempDirectory("h2o-snapshot").toFile();
+    Frame fr = null;
+    try {
+      fr = frame(Key.make("snap3.hex"), new String[]{"x"}, new double[][]{{1},{2},{3}});
+      FrameSnapshot.save(fr, dir.toURI(), false);
+      FrameSnapshot.save(fr, dir.toURI(), false);
+    } finally {
+      if( fr != null ) fr.delete();
+      for( File f : dir.listFiles() ) f.delete();
+      dir.delete();
+    }
+  }
+}
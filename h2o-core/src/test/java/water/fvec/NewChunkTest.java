@@ -257,5 +257,64 @@ public class NewChunkTest extends TestUtil {
     } finally { remove(); }
   }
 
+  @Test public void testFloat32() {
+    // Dense doubles that are exact floats land in a C4FChunk instead of a C8DChunk
+    try { pre();
+      nc._float32 = true;
+      nc.addNA();
+      for (int k = 1; k < K; ++k) nc.addNum((float)(k*Math.PI));
+      post();
+      assertTrue(cc instanceof C4FChunk);
+      assertTrue(cc.isNA(0));
+      for (int k = 1; k < K; ++k) assertEquals((float)(k*Math.PI), cc.atd(k), 0);
+    } finally { remove(); }
+    // Doubles that would lose precision, or overflow, stay doubles
+    try { pre();
+      nc._float32 = true;
+      for (int k = 0; k < K; ++k) nc.addNum(k == 1 ? 1e300 : k*Math.PI);
+      post();
+      assertTrue(cc instanceof C8DChunk);
+      for (int k = 0; k < K; ++k) assertEquals(k == 1 ? 1e300 : k*Math.PI, cc.atd(k), 0);
+    } finally { remove(); }
+    // Sparse doubles use 4-byte values when exact, for both double and scaled inputs
+    try { pre();
+      nc._float32 = true;
+      for (int k = 0; k < K; ++k) if( k%100 == 0 ) nc.addNum(5,-1); else nc.addNum(0);
+      post();
+      assertTrue(cc instanceof CXDChunk);
+      assertEquals(4, ((CXDChunk)cc).valsz());
+      for (int k = 0; k < K; ++k) assertEquals(k%100 == 0 ? 0.5 : 0, cc.atd(k), 0);
+    } finally { remove(); }
+    try { pre();
+      nc._float32 = true;
+      for (int k = 0; k < K; ++k) nc.addNum(k%100 == 0 ? 0.1 : 0);
+      post();
+      assertTrue(cc instanceof CXDChunk);
+      assertEquals(8, ((CXDChunk)cc).valsz());
+      for (int k = 0; k < K; ++k) assertEquals(k%100 == 0 ? 0.1 : 0, cc.atd(k), 0);
+    } finally { remove(); }
+    // A rounding (parse) chunk narrows inexact values, dense and sparse
+    try { pre();
+      nc._float32 = nc._float32Round = true;
+      for (int k = 0; k < K; ++k) nc.addNum(k*Math.PI);
+      post();
+      assertTrue(cc instanceof C4FChunk);
+      for (int k = 0; k < K; ++k) assertEquals((float)(k*Math.PI), cc.atd(k), 0);
+    } finally { remove(); }
+    try { pre();
+      nc._float32 = nc._float32Round = true;
+      for (int k = 0; k < K; ++k) nc.addNum(k%100 == 0 ? 0.1 : 0);
+      post();
+      assertTrue(cc instanceof CXDChunk);
+      assertEquals(4, ((CXDChunk)cc).valsz());
+      for (int k = 0; k < K; ++k) assertEquals(k%100 == 0 ? 0.1f : 0, cc.atd(k), 0);
+    } finally { remove(); }
+    // Integers keep their integer encodings
+    try { pre();
+      nc._float32 = true;
+      for (int k = 0; k < K; ++k) nc.addNum(k%254);
+      post();
+      assertTrue(cc instanceof C1NChunk);
+    } finally { remove(); }
+  }
 }
-
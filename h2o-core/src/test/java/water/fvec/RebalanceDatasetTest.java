@@ -40,4 +40,56 @@ public class RebalanceDatasetTest extends TestUtil {
       }
     }
   }
+
+  // 10000 rows numbered from 0, in chunks of 256 rows
+  private static Frame seqFrame() {
+    Vec v = Vec.makeCon(0, 10000, 8, false);
+    new MRTask() {
+      @Override public void map(Chunk c) {
+        for (int r = 0; r < c._len; r++) c.set(r, c._start + r);
+      }
+    }.doAll(v);
+    return new Frame(Key.make(), new String[]{"a", "b"}, new Vec[]{v, v.makeCopy(null)});
+  }
+
+  @Test public void testLocality() {
+    Key rebalancedKey = Key.make("rebalanced");
+    Frame fr = null, rebalanced = null;
+    try {
+      fr = seqFrame();
+      DKV.put(fr);
+      int nchunks = 20;
+      RebalanceDataSet rb = new RebalanceDataSet(fr, rebalancedKey, nchunks).preserveLocality();
+      H2O.submitTask(rb);
+      rb.join();
+      rebalanced = DKV.get(rebalancedKey).get();
+      assertEquals(fr.numRows(), rebalanced.numRows());
+      assertEquals(nchunks, rebalanced.anyVec().nChunks());
+      assertTrue(isBitIdentical(fr, rebalanced));
+      // Chunks within 1/4 of the even size, and never more rows moved
+      long[] even = RebalanceDataSet.evenEspc(fr.numRows(), nchunks);
+      long[] local = RebalanceDataSet.localEspc(fr.anyVec(), nchunks);
+      for (int i = 0; i < nchunks; i++) {
+        long len = local[i+1] - local[i], avg = even[1] - even[0];
+        assertTrue(len >= avg - avg/4 && len <= avg + avg/4 + 1);
+      }
+      assertTrue(RebalanceDataSet.movedRows(fr.anyVec(), local) <= RebalanceDataSet.movedRows(fr.anyVec(), even));
+      // Same chunk count: boundaries snap back onto the source chunks, no
+      // row moves
+      int n = fr.anyVec().nChunks();
+      assertEquals(0, RebalanceDataSet.movedRows(fr.anyVec(), RebalanceDataSet.localEspc(fr.anyVec(), n)));
+      // Same layout: every chunk is copied as-is, and stays put
+      assertEquals(0, RebalanceDataSet.movedRows(fr.anyVec(), fr.anyVec()._espc));
+      rebalanced.delete();
+      rb = new RebalanceDataSet(fr, fr, rebalancedKey);
+      H2O.submitTask(rb);
+      rb.join();
+      rebalanced = DKV.get(rebalancedKey).get();
+      assertTrue(isBitIdentical(fr, rebalanced));
+      assertEquals((long)fr.anyVec().nChunks() * fr.numCols(), rb._task._reused);
+    } finally {
+      if (fr != null) fr.delete();
+      if (rebalanced != null) rebalanced.delete();
+    }
+  }
 }
@@ -0,0 +1,134 @@
+package water.fvec;
+
+import org.junit.*;
+
+import water.*;
+
+public class ReplicateTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  // Row count, the node (plus 1) that mapped each chunk, and how often
+  private static class Where extends MRTask<Where> {
+    long _n;
+    int[] _where, _maps;
+    @Override public void map( Chunk c ) {
+      _where = new int[c.vec().nChunks()];
+      _maps = new int[c.vec().nChunks()];
+      _where[c.cidx()] = H2O.SELF.index()+1;
+      _maps[c.cidx()] = 1;
+      _n += c._len;
+    }
+    @Override public void reduce( Where w ) {
+      _n += w._n;
+      for( int i=0; i<_where.length; i++ ) {
+        _where[i] = Math.max(_where[i],w._where[i]);
+        _maps[i] += w._maps[i];
+      }
+    }
+  }
+
+  // Every chunk was mapped exactly once, on one of its first rf replicas
+  private static void assertPlaced( Vec v, Where w, int rf ) {
+    for( int c=0; c<v.nChunks(); c++ ) {
+      Assert.assertEquals("chunk "+c+" maps", 1, w._maps[c]);
+      Key ck = v.chunkKey(c);
+      H2ONode node = H2O.CLOUD._memary[w._where[c]-1];
+      boolean holder = false;
+      for( int r=0; r<rf; r++ ) holder |= ck.replica_node(r) == node;
+      Assert.assertTrue("chunk "+c+" mapped on "+node, holder);
+    }
+  }
+
+  // Replica #0 is the home; the others follow it round the cloud
+  @Test public void testReplicaNodes() {
+    Vec v = Vec.makeCon(1, 1234567, 12);
+    try {
+      int sz = H2O.CLOUD.size();
+      for( int c=0; c<v.nChunks(); c++ ) {
+        Key ck = v.chunkKey(c);
+        Assert.assertSame(ck.home_node(), ck.replica_node(0));
+        for( int r=1; r<=3; r++ )
+          Assert.assertEquals((ck.home_node().index()+r)%sz, ck.replica_node(r).index());
+      }
+    } finally {
+      v.remove();
+    }
+  }
+
+  // Any cloud size: a Vec claiming more replicas than there are nodes still
+  // has each chunk mapped once, on one of the nodes replicas can be on
+  @Test public void testPlacementCappedByCloud() {
+    long rows = 1234567;
+    Vec v = Vec.makeCon(1, rows, 12);
+    try {
+      int sz = H2O.CLOUD.size();
+      v._replicas = (byte)(sz+1);
+      DKV.put(v);
+      Assert.assertEquals(sz+1, v.replicas());
+      Where w = new Where().doAll(new Frame(v));
+      Assert.assertEquals(rows, w._n);
+      assertPlaced(v, w, sz);
+      // Frame.replicate caps the factor at the cloud size
+      new Frame(v).replicate(sz+1);
+      Assert.assertEquals(sz, ((Vec)DKV.getGet(v._key)).replicas());
+    } finally {
+      v.remove();
+    }
+  }
+
+  // Chunks mapped away from their home node, while making a new Vec
+  private static class Away extends MRTask<Away> {
+    int _away;
+    @Override public void map( Chunk c, NewChunk nc ) {
+      if( c.vec().chunkKey(c.cidx()).home_node() != H2O.SELF ) _away++;
+      for( int i=0; i<c._len; i++ ) nc.addNum(c.atd(i));
+    }
+    @Override public void reduce( Away a ) { _away += a._away; }
+  }
+
+  // Tasks making Vecs map every chunk on its home, replicas or not
+  @Test public void testOutputsOnHome() {
+    long rows = 1234567;
+    Vec v = Vec.makeCon(1, rows, 12);
+    Frame fr = new Frame(v).replicate(2);
+    Frame out = null;
+    try {
+      Away a = new Away().doAll(1, fr);
+      out = a.outputFrame();
+      Assert.assertEquals(0, a._away);
+      Assert.assertEquals(rows, out.numRows());
+    } finally {
+      v.remove();
+      if( out != null ) out.delete();
+    }
+  }
+
+  @Test public void testReplicate() {
+    long rows = 1234567;
+    Vec v = Vec.makeCon(1, rows, 12);
+    Frame fr = new Frame(v);
+    try {
+      int rf = Math.min(2,H2O.CLOUD.size());
+      fr.replicate(2);
+      Assert.assertEquals(rf, fr.vec(0).replicas());
+      Assert.assertEquals(rf, ((Vec)DKV.getGet(v._key)).replicas());
+      // Each replica node holds its copies
+      for( int c=0; c<v.nChunks(); c++ ) {
+        Key ck = v.chunkKey(c);
+        for( int r=0; r<rf; r++ )
+          if( ck.replica_node(r) == H2O.SELF )
+            Assert.assertNotNull("chunk "+c+" replica "+r, H2O.get(ck));
+      }
+      Where w = new Where().doAll(fr);
+      Assert.assertEquals(rows, w._n);
+      assertPlaced(v, w, rf);
+      Assert.assertEquals(rows, v.mean()*rows, 0);
+      // Back to home-only
+      fr.replicate(1);
+      Assert.assertEquals(1, fr.vec(0).replicas());
+      Assert.assertEquals(rows, new Where().doAll(fr)._n);
+    } finally {
+      v.remove();
+    }
+  }
+}
@@ -2,12 +2,15 @@ package water.parser;
 
 import static org.junit.Assert.*;
 import org.junit.*;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 
 import water.*;
-import water.fvec.Vec;
-import water.fvec.Frame;
-import water.fvec.NFSFileVec;
+import water.fvec.*;
 
 public class ParseCompressedAndXLSTest extends TestUtil {
   @BeforeClass static public void setup() { stall_till_cloudsize(1); }
@@ -71,4 +74,56 @@ public class ParseCompressedAndXLSTest extends TestUtil {
       if( k1 != null ) k1.delete();
     }
   }
+
+  // One BGZF member holding bs[lo,hi)
+  private static void bgzfMember( ByteArrayOutputStream os, byte[] bs, int lo, int hi ) {
+    Deflater d = new Deflater(Deflater.DEFAULT_COMPRESSION,true);
+    d.setInput(bs,lo,hi-lo);
+    d.finish();
+    byte[] z = new byte[hi-lo+1024];
+    int zlen = d.deflate(z);
+    d.end();
+    CRC32 crc = new CRC32();
+    crc.update(bs,lo,hi-lo);
+    int bsize = 18+zlen+8-1;
+    os.write(new byte[]{0x1f,(byte)0x8b,8,4, 0,0,0,0, 0,(byte)0xff, 6,0, 'B','C', 2,0, (byte)bsize,(byte)(bsize>>8)},0,18);
+    os.write(z,0,zlen);
+    long c = crc.getValue(), n = hi-lo;
+    for( int i=0; i<4; i++ ) os.write((int)(c>>(8*i)));
+    for( int i=0; i<4; i++ ) os.write((int)(n>>(8*i)));
+  }
+
+  @Test public void testBgzf() throws IOException {
+    Frame k1 = null, k2 = null;
+    File f = File.createTempFile("bgzf",".csv.gz");
+    try {
+      StringBuilder sb = new StringBuilder("a,b,c\n");
+      for( int i=0; i<20000; i++ ) sb.append(i).append(',').append(i*0.5).append(",x").append(i%7).append('\n');
+      byte[] csv = sb.toString().getBytes();
+      ByteArrayOutputStream os = new ByteArrayOutputStream();
+      for( int lo=0; lo<csv.length; lo+=1000 ) bgzfMember(os,csv,lo,Math.min(csv.length,lo+1000));
+      bgzfMember(os,csv,0,0);   // BGZF end-of-file marker
+      byte[] gz = os.toByteArray();
+      FileOutputStream fos = new FileOutputStream(f);
+      try { fos.write(gz); } finally { fos.close(); }
+      // Parse from the file, in Chunks small enough that member headers get
+      // split between Chunks
+      NFSFileVec nfs = NFSFileVec.make(f);
+      ParseSetup ps = ParseSetup.guessSetup(new Key[]{nfs._key}, false, ParseSetup.GUESS_HEADER);
+      ps._chunk_size = 4096;
+      nfs.setChunkSize(ps._chunk_size);
+      long[] groups = ZipUtil.bgzfGroups(nfs);
+      assertNotNull(groups);
+      assertEquals(nfs.nChunks()+1,groups.length);
+      assertEquals(gz.length,groups[groups.length-1]);
+      k1 = ParseDataset.parse(Key.make(), new Key[]{nfs._key}, true, ps, true).get();
+      k2 = ParseDataset.parse(Key.make(), ParserTest.makeByteVec(sb.toString()));
+      assertEquals(20000,k1.numRows());
+      assertTrue(isBitIdentical(k1,k2));
+    } finally {
+      if( k1 != null ) k1.delete();
+      if( k2 != null ) k2.delete();
+      f.delete();
+    }
+  }
 }
@@ -0,0 +1,370 @@
+package water.parser;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import water.*;
+import water.fvec.*;
+import water.util.UnsafeUtils;
+
+public class ParseParquetTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  static final int ROWS = 5000, RG0 = 3000;
+  static final long T0 = 1400000000000L;
+
+  // Expected values of the test file
+  static long id( int i ) { return i; }
+  static boolean xNA( int i ) { return i%5 == 0; }
+  static double x( int i ) { return i*0.25; }
+  static String s( int i ) { return "v"+(i%3); }
+  static boolean b( int i ) { return (i/100)%2 == 1; }
+  static long t( int i ) { return T0+i*1000L; }
+
+  // Thrift compact protocol writer, enough for a footer and page headers
+  static final class Thrift {
+    final ByteArrayOutputStream _os = new ByteArrayOutputStream();
+    final int[] _last = new int[8];
+    int _depth;
+    Thrift field( int id, int type ) { _os.write((id-_last[_depth])<<4 | type); _last[_depth] = id; return this; }
+    Thrift i32( int id, int v ) { field(id,5); return varint(((v << 1) ^ (v >> 31)) & 0xFFFFFFFFL); }
+    Thrift i64( int id, long v ) { field(id,6); return varint((v << 1) ^ (v >> 63)); }
+    Thrift i16( int id, int v ) { field(id,4); return varint(((v << 1) ^ (v >> 31)) & 0xFFFFFFFFL); }
+    Thrift bool( int id, boolean v ) { return field(id, v ? 1 : 2); }
+    Thrift bin( int id, byte[] bs ) { field(id,8); return bytes(bs); }
+    Thrift str( int id, String s ) { field(id,8); return bytes(s.getBytes()); }
+    Thrift struct( int id ) { field(id,12); return elem(); }
+    Thrift list( int id, int type, int n ) { field(id,9); _os.write(n<<4 | type); return this; }
+    Thrift elem() { _last[++_depth] = 0; return this; } // Struct element of a list
+    Thrift end() { _os.write(0); _depth--; return this; }
+    Thrift varint( long v ) {
+      for( ; (v & ~0x7FL) != 0; v >>>= 7 ) _os.write((int)(v & 0x7F) | 0x80);
+      _os.write((int)v);
+      return this;
+    }
+    Thrift bytes( byte[] bs ) { varint(bs.length); _os.write(bs,0,bs.length); return this; }
+  }
+
+  // Bit-packed runs of the RLE / bit-packing hybrid encoding
+  static byte[] packed( int[] vals, int width ) {
+    int groups = (vals.length+7)/8;
+    Thrift hdr = new Thrift().varint(groups<<1 | 1);
+    byte[] bits = new byte[groups*width];
+    for( int i = 0; i < vals.length; i++ )
+      for( int j = 0; j < width; j++ )
+        if( (vals[i]>>j & 1) != 0 ) bits[(i*width+j)>>3] |= 1 << ((i*width+j)&7);
+    return cat(hdr._os.toByteArray(), bits);
+  }
+
+  static byte[] cat( byte[]... bss ) {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    for( byte[] bs : bss ) os.write(bs,0,bs.length);
+    return os.toByteArray();
+  }
+
+  static byte[] int4( int v ) { byte[] bs = new byte[4]; UnsafeUtils.set4(bs,0,v); return bs; }
+
+  // Snappy block made of literals only
+  static byte[] snappy( byte[] raw ) {
+    Thrift z = new Thrift().varint(raw.length);
+    for( int off = 0; off < raw.length; off += 65536 ) {
+      int len = Math.min(65536, raw.length-off);
+      z._os.write(61<<2);
+      z._os.write((len-1) & 0xFF);
+      z._os.write((len-1) >>> 8);
+      z._os.write(raw, off, len);
+    }
+    return z._os.toByteArray();
+  }
+
+  static byte[] gzip( byte[] raw ) {
+    try {
+      ByteArrayOutputStream os = new ByteArrayOutputStream();
+      GZIPOutputStream gz = new GZIPOutputStream(os);
+      gz.write(raw);
+      gz.close();
+      return os.toByteArray();
+    } catch( IOException ioe ) { throw new RuntimeException(ioe); }
+  }
+
+  // Page header then page; v1 data pages set 'nvals', v2 ones also 'lvls'
+  static byte[] page( int type, byte[] raw, byte[] stored, int nvals, int enc, int lvls ) {
+    Thrift t = new Thrift().i32(1,type).i32(2,raw.length).i32(3,stored.length);
+    if( type == 0 ) t.struct(5).i32(1,nvals).i32(2,enc).i32(3,3).i32(4,3).end();
+    if( type == 2 ) t.struct(7).i32(1,nvals).i32(2,0).end();
+    if( type == 3 ) t.struct(8).i32(1,nvals).i32(2,0).i32(3,nvals).i32(4,enc).i32(5,lvls).i32(6,0).bool(7,true).end();
+    t.end();
+    return cat(t._os.toByteArray(), stored);
+  }
+
+  // Column chunks of rows [lo,hi): pages, codec, dictionary page length
+  static byte[] idChunk( int lo, int hi ) {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    for( int p = lo; p < hi; p += 1000 ) { // Pages of 1000 rows
+      int n = Math.min(1000, hi-p);
+      byte[] raw = new byte[8*n];
+      for( int i = 0; i < n; i++ ) UnsafeUtils.set8(raw, 8*i, id(p+i));
+      byte[] pg = page(0, raw, raw, n, 0, 0);
+      os.write(pg,0,pg.length);
+    }
+    return os.toByteArray();
+  }
+  static byte[] xChunk( int lo, int hi ) {   // Optional, with definition levels
+    int[] defs = new int[hi-lo];
+    ArrayList<Double> xs = new ArrayList<>();
+    for( int i = lo; i < hi; i++ ) if( !xNA(i) ) { defs[i-lo] = 1; xs.add(x(i)); }
+    byte[] lvls = packed(defs, 1);
+    byte[] vals = new byte[8*xs.size()];
+    for( int i = 0; i < xs.size(); i++ ) UnsafeUtils.set8d(vals, 8*i, xs.get(i));
+    byte[] raw = cat(int4(lvls.length), lvls, vals);
+    return page(0, raw, raw, hi-lo, 0, 0);
+  }
+  static byte[][] sChunk( int lo, int hi ) { // Dictionary encoded, snappy
+    byte[] dict = new byte[0];
+    for( int k = 0; k < 3; k++ ) dict = cat(dict, int4(s(k).length()), s(k).getBytes());
+    int[] idx = new int[hi-lo];
+    for( int i = lo; i < hi; i++ ) idx[i-lo] = i%3;
+    byte[] raw = cat(new byte[]{2}, packed(idx, 2));
+    byte[] dp = page(2, dict, snappy(dict), 3, 0, 0);
+    return new byte[][]{cat(dp, page(0, raw, snappy(raw), hi-lo, 8, 0)), int4(dp.length)};
+  }
+  static byte[] bChunk( int lo, int hi ) {   // Data page v2, RLE runs
+    Thrift runs = new Thrift();
+    int i = lo;
+    while( i < hi ) {
+      int j = i;
+      while( j < hi && b(j) == b(i) ) j++;
+      runs.varint((j-i)<<1);
+      runs._os.write(b(i) ? 1 : 0);
+      i = j;
+    }
+    byte[] rle = runs._os.toByteArray();
+    byte[] raw = cat(int4(rle.length), rle);
+    return page(3, raw, raw, hi-lo, 3, 0);
+  }
+  static byte[] tChunk( int lo, int hi ) {   // Timestamps, gzip
+    byte[] raw = new byte[8*(hi-lo)];
+    for( int i = lo; i < hi; i++ ) UnsafeUtils.set8(raw, 8*(i-lo), t(i));
+    return page(0, raw, gzip(raw), hi-lo, 0, 0);
+  }
+
+  // A Parquet file of two row groups, columns: id INT64, x DOUBLE optional,
+  // s UTF8 dictionary/snappy, b BOOLEAN RLE/v2, t TIMESTAMP_MILLIS gzip
+  static byte[] parquetFile() {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    os.write(ParquetMeta.MAGIC,0,4);
+    int[] bounds = {0, RG0, ROWS};
+    long[][] offs = new long[2][5], lens = new long[2][5], dicts = new long[2][5];
+    for( int r = 0; r < 2; r++ ) {
+      int lo = bounds[r], hi = bounds[r+1];
+      byte[][] s = sChunk(lo,hi);
+      byte[][] cols = {idChunk(lo,hi), xChunk(lo,hi), s[0], bChunk(lo,hi), tChunk(lo,hi)};
+      for( int c = 0; c < 5; c++ ) {
+        offs[r][c] = os.size();
+        lens[r][c] = cols[c].length;
+        os.write(cols[c],0,cols[c].length);
+      }
+      dicts[r][2] = offs[r][2];
+      offs[r][2] += UnsafeUtils.get4(s[1],0);  // Data page after the dictionary
+    }
+    String[] names = {"id","x","s","b","t"};
+    int[] ptypes = {2, 5, 6, 0, 2}, ctypes = {-1, -1, 0, -1, 9}, codecs = {0, 0, 1, 0, 2};
+    Thrift t = new Thrift().i32(1,1);
+    t.list(2,12,6).elem().str(4,"schema").i32(5,5).end();
+    for( int c = 0; c < 5; c++ ) {
+      t.elem().i32(1,ptypes[c]).i32(3,c == 1 ? 1 : 0).str(4,names[c]);
+      if( ctypes[c] >= 0 ) t.i32(6,ctypes[c]);
+      t.end();
+    }
+    t.i64(3,ROWS);
+    t.list(4,12,2);
+    for( int r = 0; r < 2; r++ ) {
+      t.elem().list(1,12,5);
+      for( int c = 0; c < 5; c++ ) {
+        t.elem().i64(2,offs[r][c]+lens[r][c]).struct(3).i32(1,ptypes[c]);
+        t.list(2,5,1).varint(0);
+        t.list(3,8,1).bytes(names[c].getBytes());
+        t.i32(4,codecs[c]).i64(5,bounds[r+1]-bounds[r]).i64(6,lens[r][c]).i64(7,lens[r][c]).i64(9,offs[r][c]);
+        if( dicts[r][c] > 0 ) t.i64(11,dicts[r][c]);
+        t.end().end();
+      }
+      t.i64(2,0).i64(3,bounds[r+1]-bounds[r]).end();
+    }
+    t.end();
+    byte[] footer = t._os.toByteArray();
+    os.write(footer,0,footer.length);
+    byte[] len = int4(footer.length);
+    os.write(len,0,4);
+    os.write(ParquetMeta.MAGIC,0,4);
+    return os.toByteArray();
+  }
+
+  // A file laid out the way parquet-cpp (pyarrow) writes one: page headers
+  // with a CRC, a dictionary page header with is_sorted, data page
+  // statistics, and a footer with encoding stats, key/value metadata,
+  // created_by and column orders.  Columns: n INT32 UINT_32 with values past
+  // 2^31, s UTF8 dictionary encoded.
+  static final String[] COLORS = {"red","green","blue"};
+  static long n( int i ) { return i*800000000L; }
+  static String color( int i ) { return COLORS[i%3]; }
+  static byte[] writerFile() {
+    final int rows = 6;
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    os.write(ParquetMeta.MAGIC,0,4);
+    // n: one PLAIN data page
+    byte[] raw = new byte[4*rows];
+    for( int i = 0; i < rows; i++ ) UnsafeUtils.set4(raw, 4*i, (int)n(i));
+    Thrift h = new Thrift().i32(1,0).i32(2,raw.length).i32(3,raw.length).i32(4,0x1234abcd);
+    h.struct(5).i32(1,rows).i32(2,0).i32(3,3).i32(4,3);
+    h.struct(5).bin(1,int4((int)n(rows-1))).bin(2,int4(0)).i64(3,0).bin(5,int4((int)n(rows-1))).bin(6,int4(0)).end();
+    h.end().end();
+    byte[] nChunk = cat(h._os.toByteArray(), raw);
+    long nOff = os.size();
+    os.write(nChunk,0,nChunk.length);
+    // s: a dictionary page, then one RLE_DICTIONARY data page
+    byte[] dict = new byte[0];
+    for( String c : COLORS ) dict = cat(dict, int4(c.length()), c.getBytes());
+    Thrift dh = new Thrift().i32(1,2).i32(2,dict.length).i32(3,dict.length).i32(4,0x5678);
+    dh.struct(7).i32(1,COLORS.length).i32(2,0).bool(3,false).end().end();
+    int[] idx = new int[rows];
+    for( int i = 0; i < rows; i++ ) idx[i] = i%3;
+    byte[] ids = cat(new byte[]{2}, packed(idx, 2));
+    Thrift ph = new Thrift().i32(1,0).i32(2,ids.length).i32(3,ids.length).i32(4,0x9abc);
+    ph.struct(5).i32(1,rows).i32(2,8).i32(3,3).i32(4,3).struct(5).i64(3,0).end().end().end();
+    byte[] dictPage = cat(dh._os.toByteArray(), dict);
+    byte[] sChunk = cat(dictPage, ph._os.toByteArray(), ids);
+    long sOff = os.size();
+    os.write(sChunk,0,sChunk.length);
+
+    String[] names = {"n","s"};
+    int[] ptypes = {1, 6}, ctypes = {ParquetMeta.UINT_32, 0};
+    long[] offs = {nOff, sOff+dictPage.length}, lens = {nChunk.length, sChunk.length};
+    Thrift t = new Thrift().i32(1,2);
+    t.list(2,12,3).elem().str(4,"schema").i32(5,2).end();
+    for( int c = 0; c < 2; c++ )
+      t.elem().i32(1,ptypes[c]).i32(3,0).str(4,names[c]).i32(6,ctypes[c]).end();
+    t.i64(3,rows);
+    t.list(4,12,1).elem().list(1,12,2);
+    for( int c = 0; c < 2; c++ ) {
+      t.elem().i64(2,c == 0 ? nOff : sOff).struct(3).i32(1,ptypes[c]);
+      if( c == 0 ) t.list(2,5,2).varint(0).varint(6);        // PLAIN, RLE
+      else t.list(2,5,3).varint(0).varint(6).varint(16);     // PLAIN, RLE, RLE_DICTIONARY
+      t.list(3,8,1).bytes(names[c].getBytes());
+      t.i32(4,0).i64(5,rows).i64(6,lens[c]).i64(7,lens[c]).i64(9,offs[c]);
+      if( c == 1 ) t.i64(11,sOff);
+      t.struct(12).i64(3,0).end();
+      t.list(13,12,1).elem().i32(1,0).i32(2,c == 0 ? 0 : 8).i32(3,1).end();
+      t.end().end();
+    }
+    t.i64(2,nChunk.length+sChunk.length).i64(3,rows).i64(5,nOff).i64(6,nChunk.length+sChunk.length).i16(7,0).end();
+    t.list(5,12,1).elem().str(1,"ARROW:schema").str(2,"/////w==").end();
+    t.str(6,"parquet-cpp-arrow version 14.0.1");
+    t.list(7,12,2).elem().struct(1).end().end().elem().struct(1).end().end();
+    t.end();
+    byte[] footer = t._os.toByteArray();
+    os.write(footer,0,footer.length);
+    os.write(int4(footer.length),0,4);
+    os.write(ParquetMeta.MAGIC,0,4);
+    return os.toByteArray();
+  }
+
+  // The file in Chunks of 'csz' bytes
+  static ByteVec makeByteVec( byte[] bs, int csz ) {
+    int n = (bs.length+csz-1)/csz;
+    long[] espc = new long[n+1];
+    for( int i=0; i<n; i++ ) espc[i+1] = Math.min(bs.length,espc[i]+csz);
+    Futures fs = new Futures();
+    ByteVec bv = new ByteVec(Vec.newKey(),espc);
+    DKV.put(bv._key,bv,fs);
+    for( int i=0; i<n; i++ ) {
+      Key ck = bv.chunkKey(i);
+      DKV.put(ck, new Value(ck,new C1NChunk(Arrays.copyOfRange(bs,(int)espc[i],(int)espc[i+1]))),fs);
+    }
+    fs.blockForPending();
+    return bv;
+  }
+
+  @Test public void testMeta() {
+    ByteVec bv = makeByteVec(parquetFile(), 10000);
+    try {
+      ParquetMeta pm = ParquetMeta.read(bv);
+      assertArrayEquals(new String[]{"id","x","s","b","t"}, pm._names);
+      assertArrayEquals(new long[]{RG0, ROWS-RG0}, pm._rgRows);
+      assertArrayEquals(new byte[]{Vec.T_NUM, Vec.T_NUM, Vec.T_ENUM, Vec.T_NUM, Vec.T_TIME}, pm.columnTypes());
+      pm.layout(bv.chunkOffsets());
+      // The first row group is spread up to the chunk of the second, which
+      // is spread over the rest of the file
+      assertEquals(0, pm._rgChunk[0]);
+      assertTrue(pm._rgSpan[0] > 1);
+      assertEquals(pm._rgSpan[0], pm._rgChunk[1]);
+      assertEquals(bv.nChunks(), pm._rgChunk[1]+pm._rgSpan[1]);
+      assertEquals(0, pm.writerOf(1));
+    } finally {
+      bv.remove();
+    }
+  }
+
+  @Test public void testParse() {
+    Frame fr = null;
+    try {
+      fr = ParseDataset.parse(Key.make(), makeByteVec(parquetFile(), 10000)._key);
+      assertArrayEquals(new String[]{"id","x","s","b","t"}, fr.names());
+      assertEquals(ROWS, fr.numRows());
+      Vec vid = fr.vec("id"), vx = fr.vec("x"), vs = fr.vec("s"), vb = fr.vec("b"), vt = fr.vec("t");
+      assertTrue(vs.isEnum());
+      assertArrayEquals(new String[]{"v0","v1","v2"}, vs.domain());
+      assertTrue(vt.isTime());
+      for( int i = 0; i < ROWS; i++ ) {
+        assertEquals(id(i), vid.at8(i));
+        if( xNA(i) ) assertTrue(vx.isNA(i));
+        else assertEquals(x(i), vx.at(i), 0);
+        assertEquals(s(i), vs.domain()[(int)vs.at8(i)]);
+        assertEquals(b(i) ? 1 : 0, vb.at8(i));
+        assertEquals(t(i), vt.at8(i));
+      }
+    } finally {
+      if( fr != null ) fr.delete();
+    }
+  }
+
+  @Test public void testSkippedColumns() {
+    Frame fr = null;
+    try {
+      ByteVec bv = makeByteVec(parquetFile(), 4096);
+      ParseSetup ps = ParseSetup.guessSetup(new Key[]{bv._key}, false, ParseSetup.GUESS_HEADER);
+      assertEquals(ParserType.PARQUET, ps._parse_type);
+      ps.setSkippedColumns(new int[]{1,3});
+      fr = ParseDataset.parse(Key.make(), new Key[]{bv._key}, true, ps);
+      assertArrayEquals(new String[]{"id","s","t"}, fr.names());
+      assertEquals(ROWS, fr.numRows());
+      for( int i = 0; i < ROWS; i++ ) {
+        assertEquals(id(i), fr.vec("id").at8(i));
+        assertEquals(t(i), fr.vec("t").at8(i));
+      }
+    } finally {
+      if( fr != null ) fr.delete();
+    }
+  }
+
+  @Test public void testWriterLayout() {
+    Frame fr = null;
+    try {
+      fr = ParseDataset.parse(Key.make(), makeByteVec(writerFile(), 1<<20)._key);
+      assertArrayEquals(new String[]{"n","s"}, fr.names());
+      assertEquals(6, fr.numRows());
+      Vec vn = fr.vec("n"), vs = fr.vec("s");
+      assertTrue(vs.isEnum());
+      for( int i = 0; i < 6; i++ ) {
+        assertEquals(n(i), vn.at8(i));  // Unsigned, past 2^31
+        assertEquals(color(i), vs.domain()[(int)vs.at8(i)]);
+      }
+    } finally {
+      if( fr != null ) fr.delete();
+    }
+  }
+}
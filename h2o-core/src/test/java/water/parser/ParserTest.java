@@ -164,6 +164,43 @@ public class ParserTest extends TestUtil {
     }
   }
 
+  // Plain lines take the word-at-a-time tokenizer, while a quoted first field
+  // sends the whole line through the state machine: both must parse the same.
+  @Test public void testPlainLinesMatchStateMachine() {
+    String[] fields = new String[] {
+      "12", "-3", "+4", "0.5", ".25", "7.", "-1.5e3", "2E-2", "1e--2", "1e", "12 ab", "5 ",
+      "  6", "abc", "a b ", "", "-", "1.2.3", "99999999999999999", "007"
+    };
+    String[] eols = new String[] {"\n", "\r\n", "\r"};
+    Frame fr1 = null, fr2 = null;
+    try {
+      String[] plain = new String[4], quoted = new String[4];
+      int n = 0;
+      for( int c = 0; c < plain.length; c++ ) {
+        StringBuilder sb1 = new StringBuilder(), sb2 = new StringBuilder();
+        for( int l = 0; l < 50; l++, n++ ) {
+          StringBuilder line = new StringBuilder();
+          for( int j = 0; j < 5; j++ )
+            line.append(',').append(fields[(n*7 + j*3 + j*n) % fields.length]);
+          if( n % 11 == 0 ) line.append(',');
+          String eol = eols[n % eols.length];
+          sb1.append(n).append(line).append(eol);
+          sb2.append('"').append(n).append('"').append(line).append(eol);
+          if( n % 13 == 0 ) { sb1.append(eol); sb2.append(eol); }
+        }
+        plain[c] = sb1.toString();
+        quoted[c] = sb2.toString();
+      }
+      fr1 = ParseDataset.parse(Key.make(), new Key[]{makeByteVec(plain)}, true, false, ParseSetup.NO_HEADER);
+      fr2 = ParseDataset.parse(Key.make(), new Key[]{makeByteVec(quoted)}, true, false, ParseSetup.NO_HEADER);
+      Assert.assertEquals(n, fr1.numRows());
+      Assert.assertTrue("parsed values do not match!", isBitIdentical(fr1, fr2));
+    } finally {
+      if( fr1 != null ) fr1.delete();
+      if( fr2 != null ) fr2.delete();
+    }
+  }
+
   @Test public void testNondecimalColumns() {
     String data[] = {
          "1| 2|one\n"
@@ -232,4 +232,131 @@ public class ParserTest2 extends TestUtil {
     Key k = ParserTest.makeByteVec(data);
     ParserTest.testParsed(ParseDataset.parse(Key.make(), k),exp,33);
   }
+
+  // Small input parses into a single chunk; chunks_per_core spreads it over
+  // the cores of the cloud while keeping the data and the enum domain.
+  @Test public void testRebalanceAfterParse() {
+    final int nrows = 10000;
+    StringBuilder sb = new StringBuilder();
+    for( int i=0; i<nrows; i++ ) sb.append(i).append(',').append(i%3==0 ? "a" : "b").append('\n');
+    Key k = ParserTest.makeByteVec(sb.toString());
+    ParseSetup ps = ParseSetup.guessSetup(new Key[]{k}, new ParseSetup(ParserType.CSV, (byte)',', false, ParseSetup.NO_HEADER, 2, null).setChunksPerCore(2));
+    Frame fr = ParseDataset.parse(Key.make(), new Key[]{k}, true, ps);
+    try {
+      int want = Math.min(2 * H2O.NUMCPUS * H2O.CLOUD.size(), nrows);
+      Assert.assertEquals(want, fr.anyVec().nChunks());
+      Assert.assertEquals(nrows, fr.numRows());
+      Assert.assertArrayEquals(new String[]{"a","b"}, fr.vec(1).domain());
+      for( int i=0; i<nrows; i++ ) {
+        Assert.assertEquals(i, fr.vec(0).at8(i));
+        Assert.assertEquals(i%3==0 ? 0 : 1, fr.vec(1).at8(i));
+      }
+    } finally {
+      fr.delete();
+    }
+  }
+
+  @Test public void testFloat32Parse() {
+    // Column 0 holds exact floats; column 2 decimals that are not, rounded
+    // to floats; column 3 a value beyond the float range, kept in doubles
+    Key k = ParserTest.makeByteVec("1.5,1,3.141592653589793,0.5\n3.140625,2,0.1234567891,1e300\n-2.5,3,2.5,1\n,4,-9876.54321012,2\n1125899906842624,5,0,3\n");
+    ParseSetup ps = ParseSetup.guessSetup(new Key[]{k}, new ParseSetup(ParserType.CSV, (byte)',', false, ParseSetup.NO_HEADER, 4, null).setFloat32(true));
+    Frame fr = ParseDataset.parse(Key.make(), new Key[]{k}, true, ps);
+    try {
+      Assert.assertTrue(fr.vec(0).chunkForChunkIdx(0) instanceof C4FChunk);
+      Assert.assertEquals(3.140625, fr.vec(0).at(1), 0);
+      Assert.assertTrue(fr.vec(0).isNA(3));
+      Assert.assertEquals(1125899906842624.0, fr.vec(0).at(4), 0);
+      Assert.assertFalse(fr.vec(1).chunkForChunkIdx(0) instanceof C4FChunk);
+      Assert.assertEquals(3, fr.vec(1).at8(2));
+      Assert.assertTrue(fr.vec(2).chunkForChunkIdx(0) instanceof C4FChunk);
+      Assert.assertEquals((float)Math.PI, fr.vec(2).at(0), 0);
+      Assert.assertEquals(0.1234567891f, fr.vec(2).at(1), 0);
+      Assert.assertEquals(-9876.54321012f, fr.vec(2).at(3), 0);
+      Assert.assertTrue(fr.vec(3).chunkForChunkIdx(0) instanceof C8DChunk);
+      Assert.assertEquals(1e300, fr.vec(3).at(1), 0);
+    } finally {
+      fr.delete();
+    }
+  }
+
+  // Skipped columns never make it into the frame; the kept ones keep their
+  // values, across chunk boundaries too.
+  @Test public void testSkippedColumns() {
+    Key k = ParserTest.makeByteVec("0,x,a,0\n1,x,b,2\n2,", "x,c,4\n3,x,a,6\n4\n");
+    ParseSetup ps = ParseSetup.guessSetup(new Key[]{k}, new ParseSetup(ParserType.CSV, (byte)',', false, ParseSetup.NO_HEADER, 4, null));
+    ps.setSkippedColumns(new int[]{1,3});
+    Frame fr = ParseDataset.parse(Key.make(), new Key[]{k}, true, ps);
+    try {
+      Assert.assertEquals(2, fr.numCols());
+      Assert.assertEquals(5, fr.numRows());
+      Assert.assertArrayEquals(new String[]{"a","b","c"}, fr.vec(1).domain());
+      for( int i=0; i<4; i++ ) {
+        Assert.assertEquals(i, fr.vec(0).at8(i));
+        Assert.assertEquals(i%3, fr.vec(1).at8(i));
+      }
+      Assert.assertTrue(fr.vec(1).isNA(4));
+    } finally {
+      fr.delete();
+    }
+  }
+
+  // Rows failing the filter are dropped before they are stored, so their
+  // levels stay out of the domains; the filter column may be skipped.
+  @Test public void testRowFilter() {
+    StringBuilder sb = new StringBuilder();
+    for( int i=0; i<100; i++ ) sb.append(i).append(',').append(i < 50 ? "lo" : "hi").append(i%10).append(',').append(i%2==0 ? "even" : "odd").append('\n');
+    Key k = ParserTest.makeByteVec(sb.toString());
+    ParseSetup ps = ParseSetup.guessSetup(new Key[]{k}, new ParseSetup(ParserType.CSV, (byte)',', false, ParseSetup.NO_HEADER, 3, null));
+    ps.setRowFilter(0, 10, 19.5);
+    Frame fr = ParseDataset.parse(Key.make(), new Key[]{k}, false, ps);
+    try {
+      Assert.assertEquals(10, fr.numRows());
+      for( int i=0; i<10; i++ ) Assert.assertEquals(10+i, fr.vec(0).at8(i));
+      Assert.assertEquals(10, fr.vec(1).domain().length);
+      Assert.assertEquals("lo0", fr.vec(1).domain()[0]);
+    } finally {
+      fr.delete();
+    }
+    ps = new ParseSetup(ps).setRowFilter(2, "odd").setSkippedColumns(new int[]{2});
+    fr = ParseDataset.parse(Key.make(), new Key[]{k}, true, ps);
+    try {
+      Assert.assertEquals(2, fr.numCols());
+      Assert.assertEquals(50, fr.numRows());
+      for( int i=0; i<50; i++ ) Assert.assertEquals(2*i+1, fr.vec(0).at8(i));
+    } finally {
+      fr.delete();
+    }
+  }
+
+  // A high-cardinality column spread over many chunks, and so over the nodes
+  // of the cloud: the unified domain is sorted and every row maps back to
+  // its own level.
+  @Test public void testHighCardinalityEnum() {
+    final int nrows = 20000, nchunks = 8;
+    String[] data = new String[nchunks];
+    for( int c = 0; c < nchunks; c++ ) {
+      StringBuilder sb = new StringBuilder();
+      for( int i = c; i < nrows; i += nchunks ) sb.append("id").append((i*7919) % nrows).append(",x").append(i%3).append('\n');
+      data[c] = sb.toString();
+    }
+    Key k = ParserTest.makeByteVec(data);
+    ParseSetup ps = ParseSetup.guessSetup(new Key[]{k}, new ParseSetup(ParserType.CSV, (byte)',', false, ParseSetup.NO_HEADER, 2, null));
+    ps._column_types[0] = Vec.T_ENUM; // Unique levels guess as a string column
+    Frame fr = ParseDataset.parse(Key.make(), new Key[]{k}, true, ps);
+    try {
+      String[] dom = fr.vec(0).domain();
+      Assert.assertEquals(nrows, dom.length);
+      for( int i = 1; i < dom.length; i++ ) Assert.assertTrue(dom[i-1].compareTo(dom[i]) < 0);
+      Assert.assertArrayEquals(new String[]{"x0","x1","x2"}, fr.vec(1).domain());
+      long row = 0;
+      for( int c = 0; c < nchunks; c++ )
+        for( int i = c; i < nrows; i += nchunks, row++ ) {
+          Assert.assertEquals("id" + (i*7919) % nrows, dom[(int)fr.vec(0).at8(row)]);
+          Assert.assertEquals(i%3, fr.vec(1).at8(row));
+        }
+    } finally {
+      fr.delete();
+    }
+  }
 }
@@ -5,8 +5,14 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import water.DKV;
 import water.Key;
+import water.MRTask;
 import water.TestUtil;
+import water.fvec.C4FChunk;
+import water.fvec.Chunk;
 import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+import water.parser.ValueString;
 
 public class RapidsTest extends TestUtil {
   @BeforeClass public static void setup() { stall_till_cloudsize(1); }
@@ -102,6 +108,47 @@ public class RapidsTest extends TestUtil {
     r.delete();
   }
 
+  @Test public void testStringOps() {
+    Frame fr = null, r = null;
+    Vec v = vec(0,1,2,0,1,2);
+    try {
+      fr = new MRTask() {
+        @Override public void map(Chunk c, NewChunk nc) {
+          for( int i=0; i<c._len; i++ ) nc.addStr(new ValueString("  Lvl "+c.at8(i)+" "));
+        }
+      }.doAll(1,v).outputFrame(Key.make("s.hex"),new String[]{"s"},null);
+      DKV.put(fr);
+      Assert.assertTrue(fr.vec(0).isString());
+      Env env = Exec.exec("(trim (toupper %s.hex))");
+      r = env.popAry();
+      Assert.assertTrue(r.vec(0).isString());
+      ValueString vs = new ValueString();
+      for( int i=0; i<6; i++ ) Assert.assertEquals("LVL "+(i%3), r.vec(0).atStr(vs,i).toString());
+    } finally {
+      v.remove();
+      if( fr != null ) fr.delete();
+      if( r  != null ) r.delete();
+    }
+  }
+
+  @Test public void testAsFloat32() {
+    Frame fr = null, r = null;
+    try {
+      fr = frame(Key.make("f.hex"), new String[]{"d","i"}, new double[][]{{Math.PI,1},{Math.E,2},{Double.NaN,3},{-1e-3,4}});
+      Env env = Exec.exec("(as.float32 %f.hex)");
+      r = env.popAry();
+      Assert.assertTrue(r.vec(0).chunkForChunkIdx(0) instanceof C4FChunk);
+      Assert.assertFalse(r.vec(1).chunkForChunkIdx(0) instanceof C4FChunk);
+      for( int i=0; i<4; i++ ) {
+        Assert.assertEquals((float)fr.vec(0).at(i), r.vec(0).at(i), 0);
+        Assert.assertEquals(fr.vec(1).at8(i), r.vec(1).at8(i));
+      }
+    } finally {
+      if( fr != null ) fr.delete();
+      if( r  != null ) r.delete();
+    }
+  }
+
   @Test public void testMerge() {
     Frame l=null,r=null,f=null;
     try {
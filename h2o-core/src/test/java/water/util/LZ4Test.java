@@ -0,0 +1,52 @@
+package water.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class LZ4Test {
+
+  private static void roundTrip(byte[] raw) {
+    byte[] z = new byte[2+LZ4.maxCompressedLength(raw.length)];
+    int clen = LZ4.compress(raw, 0, raw.length, z, 2);
+    Assert.assertTrue(clen <= LZ4.maxCompressedLength(raw.length));
+    byte[] back = new byte[raw.length+3];
+    Assert.assertEquals(raw.length, LZ4.decompress(z, 2, clen, back, 3, raw.length));
+    Assert.assertArrayEquals(raw, Arrays.copyOfRange(back, 3, back.length));
+  }
+
+  @Test public void testRoundTrip() {
+    Random rng = new Random(0xdecafL);
+    roundTrip(new byte[0]);
+    roundTrip(new byte[]{1,2,3});
+    for( int len : new int[]{12, 13, 100, 4096, 65536, 300000} ) {
+      byte[] zeros = new byte[len];
+      roundTrip(zeros);
+      byte[] rand = new byte[len];
+      rng.nextBytes(rand);
+      roundTrip(rand);
+      // Doubles with a few distinct values, like histogram bins
+      byte[] dbls = new byte[len & ~7];
+      for( int i = 0; i < dbls.length; i += 8 ) UnsafeUtils.set8d(dbls, i, rng.nextInt(10)*0.5);
+      roundTrip(dbls);
+    }
+  }
+
+  @Test public void testCompresses() {
+    byte[] raw = new byte[65536];
+    for( int i = 0; i < raw.length; i += 8 ) UnsafeUtils.set8d(raw, i, (i>>3)%17);
+    byte[] z = new byte[LZ4.maxCompressedLength(raw.length)];
+    int clen = LZ4.compress(raw, 0, raw.length, z, 0);
+    Assert.assertTrue("compressed to "+clen, clen < raw.length/10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformed() {
+    byte[] raw = new byte[1000];
+    byte[] z = new byte[LZ4.maxCompressedLength(raw.length)];
+    int clen = LZ4.compress(raw, 0, raw.length, z, 0);
+    LZ4.decompress(z, 0, clen, new byte[1000], 0, 999);
+  }
+}
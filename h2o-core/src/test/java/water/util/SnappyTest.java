@@ -0,0 +1,45 @@
+package water.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+public class SnappyTest {
+
+  private static byte[] block(int len, int... elems) {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    for( int v = len; ; v >>>= 7 ) {
+      if( v < 0x80 ) { os.write(v); break; }
+      os.write(v & 0x7F | 0x80);
+    }
+    for( int e : elems ) os.write(e);
+    return os.toByteArray();
+  }
+
+  @Test public void testLiteralsAndCopies() {
+    byte[] z = block(13,
+                     2<<2, 'a', 'b', 'c',          // Literal "abc"
+                     1 | (5-4)<<2, 3,              // 1-byte offset copy: "abcab"
+                     2 | (3-1)<<2, 1, 0,           // 2-byte offset copy, overlapping: "bbb"
+                     3 | (2-1)<<2, 13-1-7, 0, 0, 0); // 4-byte offset copy: "ab"
+    Assert.assertEquals(13, Snappy.uncompressedLength(z, 0));
+    Assert.assertEquals("abcabcabbbbab", new String(Snappy.decompress(z, 0, z.length)));
+  }
+
+  @Test public void testLongLiteral() {
+    byte[] raw = new byte[300];
+    for( int i = 0; i < raw.length; i++ ) raw[i] = (byte)(i*7);
+    byte[] hdr = block(raw.length, 61<<2, (raw.length-1) & 0xFF, (raw.length-1) >>> 8);
+    byte[] z = new byte[2+hdr.length+raw.length];
+    System.arraycopy(hdr, 0, z, 2, hdr.length);
+    System.arraycopy(raw, 0, z, 2+hdr.length, raw.length);
+    Assert.assertArrayEquals(raw, Snappy.decompress(z, 2, z.length-2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformed() {
+    byte[] z = block(8, 2<<2, 'a', 'b', 'c', 1 | (5-4)<<2, 9);  // Offset before the start
+    Snappy.decompress(z, 0, z.length);
+  }
+}
@@ -89,6 +89,8 @@ def parse(setup, h2o_name, first_line_is_header=(-1, 0, 1)):
         'check_header'  : None,
         'number_columns' : None,
         'chunk_size'    : None,
+        'chunks_per_core' : None,
+        'float32'       : None,
         'delete_on_done' : True,
         'blocking' : False,
         }
@@ -673,17 +675,18 @@ def init(ip="localhost", port=54321, size=1, start_h2o=False, enable_assertions=
   return None
 
 
-def export_file(frame,path,force=False):
+def export_file(frame,path,force=False,parallel=False):
   """
   Export a given H2OFrame to a path on the machine this python session is currently connected to. To view the current session, call h2o.cluster_info().
 
   :param frame: The Frame to save to disk.
   :param path: The path to the save point on disk.
   :param force: Overwrite any preexisting file with the same path
+  :param parallel: Treat path as a directory and write one part-file per chunk, in parallel across the cluster
   :return: None
   """
   frame._eager()
-  H2OJob(H2OConnection.get_json("Frames/"+frame._id+"/export/"+path+"/overwrite/"+("true" if force else "false")), "Export File").poll()
+  H2OJob(H2OConnection.get_json("Frames/"+frame._id+"/export/"+path+"/overwrite/"+("true" if force else "false"), parallel=("true" if parallel else "false")), "Export File").poll()
 
 
 def cluster_info():